@@ -24,8 +24,52 @@ import org.fabric3.api.model.type.component.Binding;
  * Configures a service to be exposed as a JAX-RS resource.
  */
 public class RsBinding extends Binding {
+    public static final int DEFAULT = -1;
+
+    private int connectTimeout = DEFAULT;
+    private int readTimeout = DEFAULT;
+    private int asyncThreads = DEFAULT;
 
     public RsBinding(String name, URI serviceUri) {
         super(name, serviceUri, "rs");
     }
+
+    /**
+     * Returns the time in milliseconds a reference waits to establish a connection or {@link #DEFAULT} to use the client default.
+     *
+     * @return the connect timeout
+     */
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    /**
+     * Returns the time in milliseconds a reference waits for a response or {@link #DEFAULT} to use the client default.
+     *
+     * @return the read timeout
+     */
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    /**
+     * Returns the number of threads used to dispatch asynchronous reference invocations or {@link #DEFAULT} to use the client default.
+     *
+     * @return the number of threads
+     */
+    public int getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public void setAsyncThreads(int asyncThreads) {
+        this.asyncThreads = asyncThreads;
+    }
 }
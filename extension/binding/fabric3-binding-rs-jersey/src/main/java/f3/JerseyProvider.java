@@ -10,6 +10,7 @@ import org.fabric3.binding.rs.runtime.RsSourceWireAttacher;
 import org.fabric3.binding.rs.runtime.RsTargetWireAttacher;
 import org.fabric3.binding.rs.runtime.builder.ProviderBuilder;
 import org.fabric3.binding.rs.runtime.bytecode.ProviderGeneratorImpl;
+import org.fabric3.binding.rs.runtime.container.RsClientManagerImpl;
 import org.fabric3.binding.rs.runtime.container.RsContainerManagerImpl;
 import org.fabric3.binding.rs.runtime.provider.NameBindingFilterProviderImpl;
 import org.fabric3.binding.rs.runtime.provider.ProviderRegistryImpl;
@@ -25,6 +26,7 @@ public class JerseyProvider {
     public static Composite getComposite() {
         CompositeBuilder compositeBuilder = CompositeBuilder.newBuilder(QNAME);
         compositeBuilder.component(SystemComponentBuilder.newBuilder(RsContainerManagerImpl.class).build());
+        compositeBuilder.component(SystemComponentBuilder.newBuilder(RsClientManagerImpl.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(ProviderRegistryImpl.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(ProviderGeneratorImpl.class).build());
         compositeBuilder.component(SystemComponentBuilder.newBuilder(NameBindingFilterProviderImpl.class).build());
@@ -122,9 +122,17 @@ public class RsSourceWireAttacher implements SourceWireAttacher<RsWireSource> {
 
     public void detach(RsWireSource source, PhysicalWireTarget target) {
         URI sourceUri = source.getUri();
-        String mapping = creatingMappingUri(sourceUri);
-        servletHost.unregisterMapping(mapping);
-        containerManager.unregister(sourceUri);
+        RsContainer container = containerManager.get(sourceUri);
+        if (container != null) {
+            container.removeResource(source.getRsClass());
+            if (container.isEmpty()) {
+                // the last resource deployed with the binding URI was removed
+                String mapping = creatingMappingUri(sourceUri);
+                servletHost.unregisterMapping(mapping);
+                containerManager.unregister(sourceUri);
+                container.destroy();
+            }
+        }
         Path pathAnnotation = source.getRsClass().getAnnotation(Path.class);
         String uri = sourceUri.toString();
         if (pathAnnotation != null && !pathAnnotation.value().equals("/")) {
@@ -158,7 +166,7 @@ public class RsSourceWireAttacher implements SourceWireAttacher<RsWireSource> {
         try {
             Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
             Resource resource = createResource(handler);
-            container.addResource(resource);
+            container.addResource(source.getRsClass(), resource);
         } finally {
             Thread.currentThread().setContextClassLoader(old);
         }
@@ -3,32 +3,43 @@ package org.fabric3.binding.rs.runtime;
 import java.net.URI;
 import java.util.List;
 
+import javax.ws.rs.client.Client;
+
 import org.fabric3.api.annotation.wire.Key;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.binding.rs.provision.RsWireTarget;
 import org.fabric3.binding.rs.runtime.container.RsClientInterceptor;
+import org.fabric3.binding.rs.runtime.container.RsClientManager;
 import org.fabric3.spi.container.builder.TargetWireAttacher;
 import org.fabric3.spi.container.wire.InvocationChain;
 import org.fabric3.spi.container.wire.Wire;
 import org.fabric3.spi.model.physical.PhysicalOperation;
 import org.fabric3.spi.model.physical.PhysicalWireSource;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Attaches a reference to the RS binding.
  */
 @Key("org.fabric3.binding.rs.provision.RsWireTarget")
 public class RsTargetWireAttacher implements TargetWireAttacher<RsWireTarget> {
+    private RsClientManager clientManager;
+
+    public RsTargetWireAttacher(@Reference RsClientManager clientManager) {
+        this.clientManager = clientManager;
+    }
 
     public void attach(PhysicalWireSource sourceDefinition, RsWireTarget target, Wire wire) throws Fabric3Exception {
         List<InvocationChain> invocationChains = wire.getInvocationChains();
         URI uri = target.getUri();
         Class<?> interfaceClass = target.getProxyInterface();
+        // clients are shared by all references with the same configuration so connections are reused
+        Client client = clientManager.getClient(target.getConnectTimeout(), target.getReadTimeout(), target.getAsyncThreads());
         try {
             for (InvocationChain chain : invocationChains) {
                 PhysicalOperation operation = chain.getPhysicalOperation();
                 String operationName = operation.getName();
                 List<Class<?>> targetParameterTypes = operation.getTargetParameterTypes();
-                chain.addInterceptor(new RsClientInterceptor(operationName, interfaceClass, uri, targetParameterTypes));
+                chain.addInterceptor(new RsClientInterceptor(operationName, interfaceClass, uri, targetParameterTypes, client));
             }
         } catch (Exception e) {
             throw new Fabric3Exception(e);
@@ -22,6 +22,7 @@ import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.client.Client;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.net.URI;
@@ -37,8 +38,8 @@ import org.oasisopen.sca.ServiceRuntimeException;
 public class RsClientInterceptor implements Interceptor {
     private RsClientResponse response;
 
-    public RsClientInterceptor(String operName, Class<?> interfaze, URI uri, List<Class<?>> classes) throws Exception {
-        response = createResponseConfiguration(uri, interfaze, operName, classes);
+    public RsClientInterceptor(String operName, Class<?> interfaze, URI uri, List<Class<?>> classes, Client client) throws Exception {
+        response = createResponseConfiguration(uri, interfaze, operName, classes, client);
     }
 
     public Message invoke(Message message) {
@@ -65,12 +66,12 @@ public class RsClientInterceptor implements Interceptor {
         return null;
     }
 
-    private RsClientResponse createResponseConfiguration(URI uri, Class<?> interfaze, String operation, List<Class<?>> args) throws Exception {
+    private RsClientResponse createResponseConfiguration(URI uri, Class<?> interfaze, String operation, List<Class<?>> args, Client client) throws Exception {
         ClassLoader old = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
             Method m = interfaze.getMethod(operation, args.toArray(new Class[args.size()]));
-            RsClientResponse cfg = new RsClientResponse(m.getReturnType(), uri);
+            RsClientResponse cfg = new RsClientResponse(m.getReturnType(), m.getGenericReturnType(), uri, client);
             cfg = cfg.
                     // Class level
                             withPath(interfaze.getAnnotation(Path.class)).
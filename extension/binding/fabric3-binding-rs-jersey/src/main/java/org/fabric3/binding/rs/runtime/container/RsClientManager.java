@@ -0,0 +1,41 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.client.Client;
+
+/**
+ * Manages JAX-RS clients shared by reference bindings. Clients are pooled by configuration so that references with the same settings reuse the same client and
+ * its connections, regardless of the target URI.
+ * <p>
+ * Clients use the default Jersey connector, which is backed by {@link java.net.HttpURLConnection}. Connection pool limits and keep-alive are therefore not
+ * configurable per binding: they are governed JVM-wide by the JDK keep-alive cache through the <code>http.keepAlive</code> and
+ * <code>http.maxConnections</code> system properties.
+ */
+public interface RsClientManager {
+
+    /**
+     * Returns a client for the given settings, creating one if necessary.
+     *
+     * @param connectTimeout the connect timeout in milliseconds or -1 for the default
+     * @param readTimeout    the read timeout in milliseconds or -1 for the default
+     * @param asyncThreads   the number of threads for asynchronous invocations or -1 for the default
+     * @return the client
+     */
+    Client getClient(int connectTimeout, int readTimeout, int asyncThreads);
+
+}
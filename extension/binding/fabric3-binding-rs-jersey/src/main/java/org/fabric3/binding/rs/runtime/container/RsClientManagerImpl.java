@@ -0,0 +1,68 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.oasisopen.sca.annotation.Destroy;
+
+/**
+ * Default {@link RsClientManager} that caches a Jersey client per timeout and thread pool configuration and closes the clients when the runtime stops.
+ */
+public class RsClientManagerImpl implements RsClientManager {
+    private Map<String, Client> clients = new ConcurrentHashMap<>();
+
+    @Destroy
+    public void destroy() {
+        clients.values().forEach(Client::close);
+        clients.clear();
+    }
+
+    public Client getClient(int connectTimeout, int readTimeout, int asyncThreads) {
+        String key = connectTimeout + ":" + readTimeout + ":" + asyncThreads;
+        return clients.computeIfAbsent(key, k -> createClient(connectTimeout, readTimeout, asyncThreads));
+    }
+
+    private Client createClient(int connectTimeout, int readTimeout, int asyncThreads) {
+        ClassLoader old = Thread.currentThread().getContextClassLoader();
+        try {
+            // set the class loader to the runtime one so Jersey loads its providers properly
+            Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+            ClientConfig config = new ClientConfig();
+            config.register(JacksonJaxbJsonProvider.class);
+            if (connectTimeout >= 0) {
+                config.property(ClientProperties.CONNECT_TIMEOUT, connectTimeout);
+            }
+            if (readTimeout >= 0) {
+                config.property(ClientProperties.READ_TIMEOUT, readTimeout);
+            }
+            if (asyncThreads > 0) {
+                config.property(ClientProperties.ASYNC_THREADPOOL_SIZE, asyncThreads);
+            }
+            return ClientBuilder.newClient(config);
+        } finally {
+            Thread.currentThread().setContextClassLoader(old);
+        }
+    }
+
+}
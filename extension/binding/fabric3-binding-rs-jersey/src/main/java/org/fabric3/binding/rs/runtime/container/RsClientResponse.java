@@ -10,25 +10,32 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.client.Client;
-import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
+import javax.ws.rs.client.InvocationCallback;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Future;
 
-import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 import org.glassfish.jersey.internal.util.collection.StringKeyIgnoreCaseMultivaluedMap;
 
 /**
  * Builds Jersey Client REST Responses.
+ * <p>
+ * Operations that return a {@link Future}, {@link CompletableFuture} or {@link CompletionStage} are dispatched asynchronously and return a future completed
+ * with the response entity.
  */
 public class RsClientResponse {
 
@@ -40,11 +47,22 @@ public class RsClientResponse {
     private String[] consumesTypes = new String[]{MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML};
     private final URI uri;
     private final Class<?> resultType;
+    private final boolean async;
     private Client clientAPI;
 
-    public RsClientResponse(Class<?> resType, URI wr) {
+    public RsClientResponse(Class<?> resType, Type genericType, URI wr, Client client) {
         this.uri = wr;
-        this.resultType = resType != void.class ? resType : null;
+        this.clientAPI = client;
+        this.async = resType == Future.class || resType == CompletableFuture.class || resType == CompletionStage.class;
+        if (async) {
+            Type entityType = genericType instanceof ParameterizedType ? ((ParameterizedType) genericType).getActualTypeArguments()[0] : null;
+            if (entityType instanceof ParameterizedType) {
+                entityType = ((ParameterizedType) entityType).getRawType();
+            }
+            this.resultType = entityType instanceof Class && entityType != Void.class ? (Class<?>) entityType : null;
+        } else {
+            this.resultType = resType != void.class ? resType : null;
+        }
     }
 
     public <T extends Annotation> RsClientResponse withAction(T annotation) {
@@ -93,7 +111,11 @@ public class RsClientResponse {
 
         Invocation.Builder builder = wr.request(producesTypes);
         builder.accept(consumesTypes);
-        Response response = handleAction(builder, paramValues, producesTypes[0]);
+        Invocation invocation = handleAction(builder, paramValues, producesTypes[0]);
+        if (async) {
+            return submit(invocation);
+        }
+        Response response = invocation.invoke();
         Object result;
         int st = response.getStatus();
         if (st >= 400) {
@@ -132,12 +154,6 @@ public class RsClientResponse {
             }
         }
 
-        if (clientAPI == null) {
-            //Web Resource Config details
-            clientAPI = ClientBuilder.newClient();
-            clientAPI.register(JacksonJaxbJsonProvider.class);
-        }
-
         //Apply path params
         URI buildURI = builder.path(path).buildFromMap(pathElements);
 
@@ -151,22 +167,59 @@ public class RsClientResponse {
         return resource;
     }
 
-    private Response handleAction(Invocation.Builder builder, Object[] paramValues, String mediaType) {
+    /**
+     * Dispatches the invocation asynchronously.
+     *
+     * @param invocation the invocation
+     * @return a future completed with the response entity
+     */
+    private CompletableFuture<Object> submit(Invocation invocation) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        invocation.submit(new InvocationCallback<Response>() {
+            public void completed(Response response) {
+                ClassLoader old = Thread.currentThread().getContextClassLoader();
+                try {
+                    Thread.currentThread().setContextClassLoader(RsClientResponse.class.getClassLoader());
+                    int st = response.getStatus();
+                    if (st >= 400) {
+                        response.close();
+                        future.completeExceptionally(new WebApplicationException(st));
+                    } else if (resultType != null) {
+                        future.complete(response.readEntity(resultType));
+                    } else {
+                        response.close();
+                        future.complete(null);
+                    }
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                } finally {
+                    Thread.currentThread().setContextClassLoader(old);
+                }
+            }
+
+            public void failed(Throwable throwable) {
+                future.completeExceptionally(throwable);
+            }
+        });
+        return future;
+    }
+
+    private Invocation handleAction(Invocation.Builder builder, Object[] paramValues, String mediaType) {
         if (action == null) {
-            return null;
+            throw new WebApplicationException(Response.Status.PRECONDITION_FAILED.getStatusCode());
         } else if (action.annotationType() == PUT.class) {
             for (int i = 0; i < paramValues.length; i++) {
                 String query = queryParamNames.get(i);
                 String path = pathParamNames.get(i);
                 if (query == null && path == null) {
                     // First non query/path parameter
-                    return builder.buildPut(Entity.entity(paramValues[i], mediaType)).invoke();
+                    return builder.buildPut(Entity.entity(paramValues[i], mediaType));
                 }
             }
         } else if (action.annotationType() == POST.class) {
             throw new UnsupportedOperationException();
         } else if (action.annotationType() == GET.class) {
-            return builder.get();
+            return builder.buildGet();
         }
         throw new WebApplicationException(Response.Status.PRECONDITION_FAILED.getStatusCode());
     }
@@ -35,10 +35,9 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.security.Principal;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
 
@@ -56,6 +55,10 @@ import org.glassfish.jersey.servlet.ServletContainer;
 /**
  * Dispatches to resources under a common binding URI path defined in a deployable contribution. Specifically, all binding.rs resources configured with the same
  * URI.
+ * <p>
+ * Resources added or removed during a deployment are staged and the Jersey container is rebuilt once when the changes are committed at the end of the
+ * deployment, so configuration errors are reported to the deployment. If resources are committed before the servlet host initializes this servlet, the
+ * container is built during initialization. The new container is swapped in atomically and the previous one is destroyed.
  */
 @SuppressWarnings("NonSerializableFieldInSerializableClass")
 public final class RsContainer extends HttpServlet {
@@ -65,31 +68,100 @@ public final class RsContainer extends HttpServlet {
     private ProviderRegistry providerRegistry;
     private NameBindingFilterProvider provider;
 
-    private ServletContainer servlet;
-    private ServletConfig servletConfig;
-    private List<Resource> resources;
+    private volatile ServletContainer servlet;
+    private volatile ServletConfig servletConfig;
+    private Map<Class<?>, Resource> resources;
+    private Map<Class<?>, Resource> committed;
+    private boolean dirty;
 
     public RsContainer(String path, ProviderRegistry providerRegistry, NameBindingFilterProvider provider) {
         this.path = path;
         this.providerRegistry = providerRegistry;
         this.provider = provider;
-        this.resources = new ArrayList<>();
+        this.resources = new LinkedHashMap<>();
+        this.committed = new LinkedHashMap<>();
     }
 
-    public void addResource(Resource resource) throws Fabric3Exception {
-        resources.add(resource);
-        reload();
+    /**
+     * Stages a resource to be added when changes are committed.
+     *
+     * @param type     the JAX-RS resource type
+     * @param resource the resource
+     */
+    public synchronized void addResource(Class<?> type, Resource resource) {
+        resources.put(type, resource);
+        dirty = true;
+    }
+
+    /**
+     * Stages a resource to be removed when changes are committed.
+     *
+     * @param type the JAX-RS resource type
+     */
+    public synchronized void removeResource(Class<?> type) {
+        if (resources.remove(type) != null) {
+            dirty = true;
+        }
+    }
+
+    /**
+     * Commits staged resource changes by rebuilding the Jersey container. If the container cannot be built, the staged changes are discarded and the previous
+     * container remains active.
+     *
+     * @throws Fabric3Exception if the container cannot be built
+     */
+    public synchronized void commit() throws Fabric3Exception {
+        if (!dirty) {
+            return;
+        }
+        try {
+            rebuild();
+            committed = new LinkedHashMap<>(resources);
+            dirty = false;
+        } catch (Fabric3Exception e) {
+            resources = new LinkedHashMap<>(committed);
+            dirty = false;
+            throw e;
+        }
+    }
+
+    /**
+     * Returns true if no resources are deployed to the container.
+     *
+     * @return true if no resources are deployed to the container
+     */
+    public synchronized boolean isEmpty() {
+        return resources.isEmpty();
     }
 
-    public void init(ServletConfig config) {
+    public synchronized void init(ServletConfig config) throws ServletException {
         servletConfig = config;
+        try {
+            if (!committed.isEmpty()) {
+                rebuild(committed);
+            }
+        } catch (Fabric3Exception e) {
+            throw new ServletException(e.getCause());
+        }
     }
 
     public ServletConfig getServletConfig() {
         return servletConfig;
     }
 
+    public synchronized void destroy() {
+        if (servlet != null) {
+            servlet.destroy();
+            servlet = null;
+        }
+    }
+
     protected void service(HttpServletRequest req, HttpServletResponse res) throws ServletException, IOException {
+        ServletContainer container = servlet;
+        if (container == null) {
+            res.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
         req = new HttpServletRequestWrapper(req);
 
         ClassLoader old = Thread.currentThread().getContextClassLoader();
@@ -99,7 +171,7 @@ public final class RsContainer extends HttpServlet {
 
             workContext.setHeader("fabric3.httpRequest", req);
             workContext.setHeader("fabric3.httpResponse", res);
-            servlet.service(req, res);
+            container.service(req, res);
         } catch (ServletException | IOException se) {
             se.printStackTrace();
             throw se;
@@ -112,7 +184,28 @@ public final class RsContainer extends HttpServlet {
         }
     }
 
-    private void reload() throws Fabric3Exception {
+    /**
+     * Builds a Jersey container for the staged set of resources and swaps it in, destroying the previous container. If the servlet host has not yet
+     * initialized this servlet, the build is deferred to {@link #init(ServletConfig)}.
+     *
+     * @throws Fabric3Exception if the container cannot be built, in which case the previous container remains active
+     */
+    private void rebuild() throws Fabric3Exception {
+        if (servletConfig == null) {
+            return;
+        }
+        rebuild(resources);
+    }
+
+    private void rebuild(Map<Class<?>, Resource> snapshot) throws Fabric3Exception {
+        ServletContainer previous = servlet;
+        servlet = snapshot.isEmpty() ? null : build(snapshot);
+        if (previous != null) {
+            previous.destroy();
+        }
+    }
+
+    private ServletContainer build(Map<Class<?>, Resource> snapshot) throws Fabric3Exception {
         try {
             // register contribution resources
             ResourceConfig resourceConfig = new ResourceConfig();
@@ -124,10 +217,11 @@ public final class RsContainer extends HttpServlet {
             globalProviders.forEach(resourceConfig::register);
             resourceConfig.register(provider);
 
-            resources.forEach(resourceConfig::registerResources);
+            snapshot.values().forEach(resourceConfig::registerResources);
 
-            servlet = new ServletContainer(resourceConfig);
-            servlet.init(servletConfig);
+            ServletContainer container = new ServletContainer(resourceConfig);
+            container.init(servletConfig);
+            return container;
         } catch (Throwable t) {
             throw new Fabric3Exception(t);
         }
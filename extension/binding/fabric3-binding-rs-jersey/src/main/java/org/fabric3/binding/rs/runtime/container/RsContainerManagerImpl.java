@@ -20,10 +20,15 @@ import java.net.URI;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.container.builder.DeploymentListener;
+import org.oasisopen.sca.annotation.Service;
+
 /**
- *
+ * Manages active containers and commits their staged resource changes once per deployment.
  */
-public class RsContainerManagerImpl implements RsContainerManager {
+@Service({RsContainerManager.class, DeploymentListener.class})
+public class RsContainerManagerImpl implements RsContainerManager, DeploymentListener {
     private Map<URI, RsContainer> containers = new ConcurrentHashMap<>();
 
     public void register(URI name, RsContainer container) {
@@ -37,4 +42,20 @@ public class RsContainerManagerImpl implements RsContainerManager {
     public RsContainer get(URI name) {
         return containers.get(name);
     }
+
+    public void onDeploymentCompleted() throws Fabric3Exception {
+        Fabric3Exception error = null;
+        for (RsContainer container : containers.values()) {
+            try {
+                container.commit();
+            } catch (Fabric3Exception e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
 }
@@ -0,0 +1,54 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.client.Client;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class RsClientManagerImplTestCase extends TestCase {
+    private RsClientManagerImpl manager = new RsClientManagerImpl();
+
+    public void testShareClientForSameConfiguration() throws Exception {
+        Client client1 = manager.getClient(1000, 2000, 5);
+        Client client2 = manager.getClient(1000, 2000, 5);
+        assertSame(client1, client2);
+    }
+
+    public void testDifferentConfigurationCreatesClient() throws Exception {
+        Client client1 = manager.getClient(1000, 2000, 5);
+        assertNotSame(client1, manager.getClient(1000, 2000, -1));
+        assertNotSame(client1, manager.getClient(-1, 2000, 5));
+        assertNotSame(client1, manager.getClient(1000, -1, 5));
+    }
+
+    public void testDestroyClosesClients() throws Exception {
+        Client client = manager.getClient(-1, -1, -1);
+        manager.destroy();
+        try {
+            client.target("http://localhost");
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertNotSame(client, manager.getClient(-1, -1, -1));
+    }
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.core.MediaType;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpServer;
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class RsClientResponseTestCase extends TestCase {
+    private HttpServer server;
+    private RsClientManagerImpl manager;
+    private URI uri;
+
+    public void testAsyncDispatch() throws Exception {
+        RsClientResponse response = createResponse("message");
+
+        Object result = response.build(new Object[0]);
+
+        assertTrue(result instanceof CompletableFuture);
+        assertEquals("hello", ((CompletableFuture<?>) result).get(5, TimeUnit.SECONDS));
+    }
+
+    public void testAsyncDispatchError() throws Exception {
+        RsClientResponse response = createResponse("error");
+
+        CompletableFuture<?> future = (CompletableFuture<?>) response.build(new Object[0]);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof WebApplicationException);
+            assertEquals(500, ((WebApplicationException) e.getCause()).getResponse().getStatus());
+        }
+    }
+
+    public void testSyncDispatch() throws Exception {
+        Method method = TestResource.class.getMethod("syncMessage");
+        Client client = manager.getClient(-1, -1, -1);
+        RsClientResponse response = new RsClientResponse(method.getReturnType(), method.getGenericReturnType(), uri, client);
+        response.withAction(method.getAnnotation(GET.class)).withPath(method.getAnnotation(Path.class));
+
+        assertEquals("hello", response.build(new Object[0]));
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/test/message", exchange -> {
+            byte[] body = "hello".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", MediaType.TEXT_PLAIN);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream stream = exchange.getResponseBody()) {
+                stream.write(body);
+            }
+        });
+        server.createContext("/test/error", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/test");
+        manager = new RsClientManagerImpl();
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        manager.destroy();
+        server.stop(0);
+    }
+
+    private RsClientResponse createResponse(String name) throws NoSuchMethodException {
+        Method method = TestResource.class.getMethod(name);
+        Client client = manager.getClient(-1, -1, 2);
+        RsClientResponse response = new RsClientResponse(method.getReturnType(), method.getGenericReturnType(), uri, client);
+        response.withAction(method.getAnnotation(GET.class)).withPath(method.getAnnotation(Path.class));
+        return response;
+    }
+
+    public interface TestResource {
+
+        @GET
+        @Path("message")
+        CompletableFuture<String> message();
+
+        @GET
+        @Path("error")
+        CompletableFuture<String> error();
+
+        @GET
+        @Path("message")
+        String syncMessage();
+
+    }
+}
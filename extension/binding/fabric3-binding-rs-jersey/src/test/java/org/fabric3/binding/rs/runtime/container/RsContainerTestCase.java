@@ -0,0 +1,165 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.runtime.container;
+
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.Response;
+import java.net.URI;
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.binding.rs.runtime.provider.NameBindingFilterProviderImpl;
+import org.fabric3.binding.rs.runtime.provider.ProviderRegistryImpl;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
+
+/**
+ *
+ */
+public class RsContainerTestCase extends TestCase {
+    private RsContainer container;
+    private LifecycleCounter counter;
+    private ServletConfig config;
+
+    public void testDeferBuildUntilInit() throws Exception {
+        container.addResource(String.class, createResource("foo"));
+        container.addResource(Integer.class, createResource("bar"));
+        container.commit();
+        assertEquals(0, counter.started);
+
+        container.init(config);
+        assertEquals(1, counter.started);
+    }
+
+    public void testRebuildOncePerCommit() throws Exception {
+        container.init(config);
+        assertEquals(0, counter.started);
+
+        container.addResource(String.class, createResource("foo"));
+        container.addResource(Integer.class, createResource("bar"));
+        container.addResource(Long.class, createResource("baz"));
+        assertEquals(0, counter.started);
+
+        container.commit();
+        assertEquals(1, counter.started);
+        assertEquals(0, counter.shutdown);
+
+        // no staged changes
+        container.commit();
+        assertEquals(1, counter.started);
+
+        container.removeResource(String.class);
+        container.removeResource(Integer.class);
+        container.commit();
+        assertEquals(2, counter.started);
+        assertEquals(1, counter.shutdown);
+
+        container.removeResource(Long.class);
+        assertTrue(container.isEmpty());
+        container.commit();
+        assertEquals(2, counter.started);
+        assertEquals(2, counter.shutdown);
+    }
+
+    public void testInvalidResourceFailsCommit() throws Exception {
+        container.init(config);
+        container.addResource(String.class, createResource("foo"));
+        container.commit();
+
+        Resource.Builder builder = Resource.builder("bar");
+        builder.addMethod("GET").handledBy(context -> Response.ok().build());
+        builder.addMethod("GET").handledBy(context -> Response.ok().build());
+        container.addResource(Integer.class, builder.build());
+        try {
+            container.commit();
+            fail();
+        } catch (Fabric3Exception e) {
+            // expected
+        }
+
+        // the previous container remains active and the staged changes are discarded
+        assertEquals(0, counter.shutdown);
+        container.removeResource(String.class);
+        assertTrue(container.isEmpty());
+    }
+
+    public void testDestroy() throws Exception {
+        container.init(config);
+        container.addResource(String.class, createResource("foo"));
+        container.commit();
+
+        container.destroy();
+        assertEquals(1, counter.shutdown);
+    }
+
+    public void testNotFoundWhenEmpty() throws Exception {
+        container.init(config);
+
+        HttpServletRequest request = EasyMock.createMock(HttpServletRequest.class);
+        HttpServletResponse response = EasyMock.createMock(HttpServletResponse.class);
+        response.sendError(HttpServletResponse.SC_NOT_FOUND);
+        EasyMock.replay(request, response);
+
+        container.service(request, response);
+
+        EasyMock.verify(request, response);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        counter = new LifecycleCounter();
+        ProviderRegistryImpl registry = new ProviderRegistryImpl();
+        registry.registerGlobalProvider(URI.create("counter"), counter);
+        container = new RsContainer("/test", registry, new NameBindingFilterProviderImpl(registry));
+
+        ServletContext context = EasyMock.createNiceMock(ServletContext.class);
+        EasyMock.expect(context.getInitParameterNames()).andReturn(Collections.emptyEnumeration()).anyTimes();
+        config = EasyMock.createNiceMock(ServletConfig.class);
+        EasyMock.expect(config.getServletContext()).andReturn(context).anyTimes();
+        EasyMock.expect(config.getInitParameterNames()).andReturn(Collections.emptyEnumeration()).anyTimes();
+        EasyMock.replay(context, config);
+    }
+
+    private Resource createResource(String path) {
+        Resource.Builder builder = Resource.builder(path);
+        builder.addMethod("GET").handledBy(context -> Response.ok().build());
+        return builder.build();
+    }
+
+    private class LifecycleCounter implements ContainerLifecycleListener {
+        private int started;
+        private int shutdown;
+
+        public void onStartup(Container container) {
+            started++;
+        }
+
+        public void onReload(Container container) {
+        }
+
+        public void onShutdown(Container container) {
+            shutdown++;
+        }
+    }
+
+}
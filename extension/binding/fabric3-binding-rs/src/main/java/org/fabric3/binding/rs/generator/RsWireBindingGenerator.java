@@ -47,7 +47,12 @@ public class RsWireBindingGenerator implements WireBindingGenerator<RsBinding> {
 
     public RsWireTarget generateTarget(LogicalBinding<RsBinding> binding, ServiceContract contract, List<LogicalOperation> operations) {
         Class<?> interfaceClass = ((JavaServiceContract) contract).getInterfaceClass();
-        return new RsWireTarget(binding.getDefinition().getTargetUri(), interfaceClass);
+        RsBinding definition = binding.getDefinition();
+        RsWireTarget target = new RsWireTarget(definition.getTargetUri(), interfaceClass);
+        target.setConnectTimeout(definition.getConnectTimeout());
+        target.setReadTimeout(definition.getReadTimeout());
+        target.setAsyncThreads(definition.getAsyncThreads());
+        return target;
     }
 
 }
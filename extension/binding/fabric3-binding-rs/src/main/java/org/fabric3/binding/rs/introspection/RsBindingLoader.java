@@ -40,7 +40,7 @@ import org.oasisopen.sca.annotation.EagerInit;
 public class RsBindingLoader extends AbstractValidatingTypeLoader<RsBinding> {
 
     public RsBindingLoader() {
-        addAttributes("requires", "name", "policySets", "uri");
+        addAttributes("requires", "name", "policySets", "uri", "connectTimeout", "readTimeout", "asyncThreads");
     }
 
     public RsBinding load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -63,10 +63,26 @@ public class RsBindingLoader extends AbstractValidatingTypeLoader<RsBinding> {
             return null;
         }
         RsBinding binding = new RsBinding(bindingName, uri);
+        binding.setConnectTimeout(parseInt("connectTimeout", reader, context));
+        binding.setReadTimeout(parseInt("readTimeout", reader, context));
+        binding.setAsyncThreads(parseInt("asyncThreads", reader, context));
 
         validateAttributes(reader, context, binding);
 
         LoaderUtil.skipToEndElement(reader);
         return binding;
     }
+
+    private int parseInt(String name, XMLStreamReader reader, IntrospectionContext context) {
+        String value = reader.getAttributeValue(null, name);
+        if (value != null) {
+            try {
+                return Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                InvalidValue error = new InvalidValue("The " + name + " attribute must be a valid number", reader.getLocation());
+                context.addError(error);
+            }
+        }
+        return RsBinding.DEFAULT;
+    }
 }
@@ -27,6 +27,9 @@ import org.fabric3.spi.model.physical.PhysicalWireTarget;
  */
 public class RsWireTarget extends PhysicalWireTarget {
     private Class<?> rsInterface;
+    private int connectTimeout = -1;
+    private int readTimeout = -1;
+    private int asyncThreads = -1;
 	
     public RsWireTarget(URI targetURI, Class<?> clazz) {
 		super();
@@ -37,5 +40,29 @@ public class RsWireTarget extends PhysicalWireTarget {
 	public Class<?> getProxyInterface() {
 		return rsInterface;
 	}
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public int getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+
+    public int getAsyncThreads() {
+        return asyncThreads;
+    }
+
+    public void setAsyncThreads(int asyncThreads) {
+        this.asyncThreads = asyncThreads;
+    }
     
 }
@@ -0,0 +1,81 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.rs.introspection;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import junit.framework.TestCase;
+import org.fabric3.api.binding.rs.model.RsBinding;
+import org.fabric3.spi.introspection.DefaultIntrospectionContext;
+import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.xml.InvalidValue;
+
+/**
+ *
+ */
+public class RsBindingLoaderTestCase extends TestCase {
+    private static final String CLIENT_CONFIG = "<binding.rs uri='http://localhost/test' connectTimeout='100' readTimeout='200' asyncThreads='4'/>";
+    private static final String DEFAULT_CONFIG = "<binding.rs uri='http://localhost/test'/>";
+    private static final String INVALID_CONFIG = "<binding.rs uri='http://localhost/test' readTimeout='abc'/>";
+
+    private XMLInputFactory xmlFactory;
+    private RsBindingLoader loader;
+
+    public void testLoadClientConfiguration() throws Exception {
+        IntrospectionContext context = new DefaultIntrospectionContext();
+        RsBinding binding = loader.load(createReader(CLIENT_CONFIG), context);
+        assertFalse(context.hasErrors());
+
+        assertEquals(100, binding.getConnectTimeout());
+        assertEquals(200, binding.getReadTimeout());
+        assertEquals(4, binding.getAsyncThreads());
+    }
+
+    public void testLoadDefaults() throws Exception {
+        IntrospectionContext context = new DefaultIntrospectionContext();
+        RsBinding binding = loader.load(createReader(DEFAULT_CONFIG), context);
+        assertFalse(context.hasErrors());
+
+        assertEquals(RsBinding.DEFAULT, binding.getConnectTimeout());
+        assertEquals(RsBinding.DEFAULT, binding.getReadTimeout());
+        assertEquals(RsBinding.DEFAULT, binding.getAsyncThreads());
+    }
+
+    public void testInvalidTimeout() throws Exception {
+        IntrospectionContext context = new DefaultIntrospectionContext();
+        loader.load(createReader(INVALID_CONFIG), context);
+        assertTrue(context.getErrors().get(0) instanceof InvalidValue);
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        xmlFactory = XMLInputFactory.newInstance();
+        loader = new RsBindingLoader();
+    }
+
+    private XMLStreamReader createReader(String xml) throws XMLStreamException {
+        InputStream in = new ByteArrayInputStream(xml.getBytes());
+        XMLStreamReader reader = xmlFactory.createXMLStreamReader(in);
+        reader.nextTag();
+        return reader;
+    }
+
+}
@@ -18,19 +18,24 @@
 package org.fabric3.binding.ws.metro.generator.java;
 
 import javax.jws.WebService;
+import javax.xml.namespace.QName;
 import javax.xml.parsers.ParserConfigurationException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import org.fabric3.api.annotation.resilience.Resilient;
 import org.fabric3.api.annotation.wire.Key;
 import org.fabric3.api.binding.ws.model.WsBinding;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.api.model.type.contract.Operation;
 import org.fabric3.binding.ws.metro.generator.GenerationHelper;
 import org.fabric3.binding.ws.metro.generator.MetroGeneratorDelegate;
 import org.fabric3.binding.ws.metro.generator.java.codegen.GeneratedInterface;
@@ -55,6 +60,7 @@ import org.oasisopen.sca.annotation.Reference;
  */
 @Key("org.fabric3.spi.model.type.java.JavaServiceContract")
 public class JavaGeneratorDelegate implements MetroGeneratorDelegate<JavaServiceContract> {
+    private static final QName RESILIENCE = QName.valueOf(Resilient.RESILIENCE);
 
     private EndpointSynthesizer synthesizer;
     private InterfaceGenerator interfaceGenerator;
@@ -216,12 +222,29 @@ public class JavaGeneratorDelegate implements MetroGeneratorDelegate<JavaService
                                                                        retries,
                                                                        bidirectional,
                                                                        handlers);
+        targetDefinition.setResilientOperations(getResilientOperations(contract));
         if (binding.isCallback()) {
             targetDefinition.setUri(binding.getParent().getUri());
         }
         return targetDefinition;
     }
 
+    /**
+     * Returns the names of operations configured with a resilience policy, which performs its own retries.
+     *
+     * @param contract the service contract
+     * @return the operation names
+     */
+    private Set<String> getResilientOperations(JavaServiceContract contract) {
+        Set<String> operations = new HashSet<>();
+        for (Operation operation : contract.getOperations()) {
+            if (operation.getMetadata(RESILIENCE, Object.class) != null) {
+                operations.add(operation.getName());
+            }
+        }
+        return operations;
+    }
+
     /**
      * Returns the WSDL location if one is defined in the binding configuration or null.
      *
@@ -17,8 +17,10 @@
 package org.fabric3.binding.ws.metro.provision;
 
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.fabric3.spi.model.physical.PhysicalBindingHandler;
 
@@ -32,6 +34,7 @@ public class MetroJavaWireTarget extends MetroWireTarget {
     private URL wsdlLocation;
     private Class<?> interfaze;
     private int retries;
+    private Set<String> resilientOperations = Collections.emptySet();
 
     /**
      * Constructor.
@@ -98,4 +101,22 @@ public class MetroJavaWireTarget extends MetroWireTarget {
     public int getRetries() {
         return retries;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the names of operations retried by a resilience policy. The binding does not retry these operations so that retries are not compounded.
+     *
+     * @return the operation names
+     */
+    public Set<String> getResilientOperations() {
+        return resilientOperations;
+    }
+
+    /**
+     * Sets the names of operations retried by a resilience policy.
+     *
+     * @param resilientOperations the operation names
+     */
+    public void setResilientOperations(Set<String> resilientOperations) {
+        this.resilientOperations = resilientOperations;
+    }
+}
@@ -142,7 +142,9 @@ public class MetroJavaTargetWireAttacher extends AbstractMetroTargetWireAttacher
                 }
             }
             boolean oneWay = chain.getPhysicalOperation().isOneWay();
-            MetroJavaTargetInterceptor targetInterceptor = new MetroJavaTargetInterceptor(factory, method, oneWay, retries, monitor);
+            // operations with a resilience policy are retried with backoff by the policy instead of the binding
+            int operationRetries = target.getResilientOperations().contains(chain.getPhysicalOperation().getName()) ? 0 : retries;
+            MetroJavaTargetInterceptor targetInterceptor = new MetroJavaTargetInterceptor(factory, method, oneWay, operationRetries, monitor);
             chain.addInterceptor(targetInterceptor);
         }
     }
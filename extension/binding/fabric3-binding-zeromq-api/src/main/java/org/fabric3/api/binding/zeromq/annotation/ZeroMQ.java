@@ -111,4 +111,40 @@ public @interface ZeroMQ {
      */
     public String wireFormat() default "";
 
+    /**
+     * Specifies the time in milliseconds to wait for a request-reply response.
+     *
+     * @return the time in milliseconds to wait for a response
+     */
+    public long requestTimeout() default -1;
+
+    /**
+     * Specifies the maximum number of request-reply requests that may be awaiting a response at the same time. For services, this is the maximum number of
+     * received messages that may be processed at the same time.
+     *
+     * @return the maximum number of outstanding requests
+     */
+    public int maxInFlight() default -1;
+
+    /**
+     * Specifies the number of dedicated worker threads used to process messages received by a service. If not specified, the runtime executor is used.
+     *
+     * @return the number of worker threads
+     */
+    public int workers() default -1;
+
+    /**
+     * Specifies the strategy for selecting between service endpoints: round.robin, least.outstanding, latency, power.of.two or weighted.
+     *
+     * @return the strategy
+     */
+    public String loadBalancing() default "";
+
+    /**
+     * Specifies the relative weight published for a service endpoint and used by clients configured with the weighted load balancing strategy.
+     *
+     * @return the weight
+     */
+    public int weight() default -1;
+
 }
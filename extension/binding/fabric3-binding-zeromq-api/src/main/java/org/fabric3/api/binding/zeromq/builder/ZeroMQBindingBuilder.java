@@ -107,4 +107,34 @@ public class ZeroMQBindingBuilder extends AbstractBuilder {
         return this;
     }
 
+    public ZeroMQBindingBuilder requestTimeout(long value) {
+        checkState();
+        binding.getZeroMQMetadata().setRequestTimeout(value);
+        return this;
+    }
+
+    public ZeroMQBindingBuilder maxInFlight(int value) {
+        checkState();
+        binding.getZeroMQMetadata().setMaxInFlight(value);
+        return this;
+    }
+
+    public ZeroMQBindingBuilder workers(int value) {
+        checkState();
+        binding.getZeroMQMetadata().setWorkers(value);
+        return this;
+    }
+
+    public ZeroMQBindingBuilder loadBalancing(String value) {
+        checkState();
+        binding.getZeroMQMetadata().setLoadBalancing(value);
+        return this;
+    }
+
+    public ZeroMQBindingBuilder weight(int value) {
+        checkState();
+        binding.getZeroMQMetadata().setWeight(value);
+        return this;
+    }
+
 }
@@ -0,0 +1,47 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api.binding.zeromq.model;
+
+/**
+ * The strategies for selecting between service endpoints.
+ */
+public final class LoadBalancing {
+    public static final String ROUND_ROBIN = "round.robin";
+    public static final String LEAST_OUTSTANDING = "least.outstanding";
+    public static final String LATENCY = "latency";
+    public static final String POWER_OF_TWO = "power.of.two";
+    public static final String WEIGHTED = "weighted";
+
+    /**
+     * Returns true if the strategy name is known.
+     *
+     * @param name the strategy name or null for the default
+     * @return true if the strategy name is known
+     */
+    public static boolean isSupported(String name) {
+        return name == null
+               || name.isEmpty()
+               || ROUND_ROBIN.equals(name)
+               || LEAST_OUTSTANDING.equals(name)
+               || LATENCY.equals(name)
+               || POWER_OF_TWO.equals(name)
+               || WEIGHTED.equals(name);
+    }
+
+    private LoadBalancing() {
+    }
+}
@@ -37,6 +37,11 @@ public class ZeroMQMetadata implements Serializable {
     private long receiveBuffer = -1;
     private String wireFormat;
     private long timeout = 10;  // in milliseconds; default to 10
+    private long requestTimeout = -1;
+    private int maxInFlight = -1;
+    private int workers = -1;
+    private String loadBalancing;
+    private int weight = -1;
 
     /**
      * Returns the list of hosts to connect or bind to or null if not explicitly set.
@@ -199,4 +204,96 @@ public class ZeroMQMetadata implements Serializable {
     public void setTimeout(long timeout) {
         this.timeout = timeout;
     }
+
+    /**
+     * Returns the time in milliseconds to wait for a request-reply response.
+     *
+     * @return the time in milliseconds to wait for a response or -1 if not specified
+     */
+    public long getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Sets the time in milliseconds to wait for a request-reply response.
+     *
+     * @param requestTimeout the time in milliseconds to wait for a response
+     */
+    public void setRequestTimeout(long requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Returns the maximum number of request-reply requests that may be awaiting a response at the same time. For services, this is the maximum number of
+     * received messages that may be processed at the same time.
+     *
+     * @return the maximum number of outstanding requests or -1 if not specified
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of request-reply requests that may be awaiting a response at the same time. For services, this is the maximum number of received
+     * messages that may be processed at the same time.
+     *
+     * @param maxInFlight the maximum number of outstanding requests
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Returns the number of dedicated worker threads used to process messages received by a service.
+     *
+     * @return the number of worker threads or -1 if messages are processed using the runtime executor
+     */
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Sets the number of dedicated worker threads used to process messages received by a service.
+     *
+     * @param workers the number of worker threads
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    /**
+     * Returns the strategy for selecting between service endpoints: round.robin, least.outstanding, latency, power.of.two or weighted.
+     *
+     * @return the strategy or null if not specified, in which case round-robin is used
+     */
+    public String getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    /**
+     * Sets the strategy for selecting between service endpoints.
+     *
+     * @param loadBalancing the strategy
+     */
+    public void setLoadBalancing(String loadBalancing) {
+        this.loadBalancing = loadBalancing;
+    }
+
+    /**
+     * Returns the relative weight published for a service endpoint and used by clients configured with the weighted load balancing strategy.
+     *
+     * @return the weight or -1 if not specified
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Sets the relative weight published for a service endpoint.
+     *
+     * @param weight the weight
+     */
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
 }
@@ -26,6 +26,7 @@ import java.util.List;
 
 import org.fabric3.api.Namespaces;
 import org.fabric3.api.annotation.wire.Key;
+import org.fabric3.api.binding.zeromq.model.LoadBalancing;
 import org.fabric3.api.binding.zeromq.model.SocketAddressDefinition;
 import org.fabric3.api.binding.zeromq.model.ZeroMQBinding;
 import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
@@ -55,7 +56,12 @@ public class ZeroMQBindingLoader extends AbstractValidatingTypeLoader<ZeroMQBind
                       "multicast.recovery",
                       "send.buffer",
                       "receive.buffer",
-                      "wireFormat");
+                      "wireFormat",
+                      "request.timeout",
+                      "max.in.flight",
+                      "workers",
+                      "load.balancing",
+                      "weight");
     }
 
     public ZeroMQBinding load(XMLStreamReader reader, IntrospectionContext context) throws XMLStreamException {
@@ -94,6 +100,11 @@ public class ZeroMQBindingLoader extends AbstractValidatingTypeLoader<ZeroMQBind
         long sendBuffer = parseLong("send.buffer", reader, context);
         long receiveBuffer = parseLong("receive.buffer", reader, context);
         String wireFormat = reader.getAttributeValue(null, "wireFormat");
+        long requestTimeout = parseLong("request.timeout", reader, context);
+        long maxInFlight = parseLong("max.in.flight", reader, context);
+        long workers = parseLong("workers", reader, context);
+        String loadBalancing = reader.getAttributeValue(null, "load.balancing");
+        long weight = parseLong("weight", reader, context);
 
         if (addresses != null) {
             List<SocketAddressDefinition> addressDefinitions = new ArrayList<>();
@@ -121,6 +132,15 @@ public class ZeroMQBindingLoader extends AbstractValidatingTypeLoader<ZeroMQBind
         metadata.setSendBuffer(sendBuffer);
         metadata.setReceiveBuffer(receiveBuffer);
         metadata.setWireFormat(wireFormat);
+        metadata.setRequestTimeout(requestTimeout);
+        metadata.setMaxInFlight((int) maxInFlight);
+        metadata.setWorkers((int) workers);
+        if (LoadBalancing.isSupported(loadBalancing)) {
+            metadata.setLoadBalancing(loadBalancing);
+        } else {
+            context.addError(new InvalidValue("Invalid load balancing strategy: " + loadBalancing, startLocation, binding));
+        }
+        metadata.setWeight((int) weight);
 
         validateAttributes(reader, context, binding);
 
@@ -25,6 +25,7 @@ import java.util.Collections;
 import java.util.List;
 
 import org.fabric3.api.binding.zeromq.annotation.ZeroMQ;
+import org.fabric3.api.binding.zeromq.model.LoadBalancing;
 import org.fabric3.api.binding.zeromq.model.SocketAddressDefinition;
 import org.fabric3.api.binding.zeromq.model.ZeroMQBinding;
 import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
@@ -87,6 +88,14 @@ public class ZeroMQPostProcessor extends AbstractBindingPostProcessor<ZeroMQ> {
         parseAddresses(annotation, metadata, object, implClass, context);
 
         processMetadata(annotation, metadata);
+        if (!LoadBalancing.isSupported(annotation.loadBalancing())) {
+            String strategy = annotation.loadBalancing();
+            InvalidAnnotation error = new InvalidAnnotation("Invalid load balancing strategy specified on ZeroMQ annotation: " + strategy,
+                                                            object,
+                                                            annotation,
+                                                            implClass);
+            context.addError(error);
+        }
         return binding;
     }
 
@@ -106,6 +115,13 @@ public class ZeroMQPostProcessor extends AbstractBindingPostProcessor<ZeroMQ> {
         metadata.setMulticastRecovery(annotation.multicastRecovery());
         metadata.setSendBuffer(annotation.sendBuffer());
         metadata.setWireFormat(annotation.wireFormat());
+        metadata.setRequestTimeout(annotation.requestTimeout());
+        metadata.setMaxInFlight(annotation.maxInFlight());
+        metadata.setWorkers(annotation.workers());
+        if (annotation.loadBalancing().length() > 0) {
+            metadata.setLoadBalancing(annotation.loadBalancing());
+        }
+        metadata.setWeight(annotation.weight());
     }
 
     private void parseAddresses(ZeroMQ annotation, ZeroMQMetadata metadata, AnnotatedElement element, Class<?> implClass, IntrospectionContext context) {
@@ -31,6 +31,7 @@ public class SocketAddress implements Serializable {
     private String protocol;
     private String address;
     private Port port;
+    private int weight = 1;
 
     /**
      * Constructor.
@@ -53,6 +54,24 @@ public class SocketAddress implements Serializable {
         return port;
     }
 
+    /**
+     * Returns the relative weight used when selecting between addresses for load balancing.
+     *
+     * @return the weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Sets the relative weight used when selecting between addresses for load balancing.
+     *
+     * @param weight the weight
+     */
+    public void setWeight(int weight) {
+        this.weight = weight;
+    }
+
     public String toProtocolString() {
         return protocol + "://" + address + ":" + port.getNumber();
     }
@@ -61,6 +80,10 @@ public class SocketAddress implements Serializable {
         return protocol + "://" + address + ":" + port.getNumber();
     }
 
+    /**
+     * Addresses are equal if they have the same protocol, address and port number. The weight is not part of the identity so that an address can be updated
+     * with a new weight without reconnecting; callers replace the existing address instance when the weight changes.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -72,8 +95,7 @@ public class SocketAddress implements Serializable {
 
         SocketAddress address1 = (SocketAddress) o;
 
-        return !(address != null ? !address.equals(address1.address) : address1.address != null) && !(
-                port != null ? !port.equals(address1.port) : address1.port != null) && !(
+        return !(address != null ? !address.equals(address1.address) : address1.address != null) && getPortNumber() == address1.getPortNumber() && !(
                 protocol != null ? !protocol.equals(address1.protocol) : address1.protocol != null);
 
     }
@@ -82,7 +104,11 @@ public class SocketAddress implements Serializable {
     public int hashCode() {
         int result = protocol != null ? protocol.hashCode() : 0;
         result = 31 * result + (address != null ? address.hashCode() : 0);
-        result = 31 * result + (port != null ? port.hashCode() : 0);
+        result = 31 * result + getPortNumber();
         return result;
     }
+
+    private int getPortNumber() {
+        return port != null ? port.getNumber() : -1;
+    }
 }
@@ -43,6 +43,7 @@ import org.fabric3.binding.zeromq.runtime.interceptor.RequestReplyInterceptor;
 import org.fabric3.binding.zeromq.runtime.interceptor.UnwrappingInterceptor;
 import org.fabric3.binding.zeromq.runtime.interceptor.WrappingInterceptor;
 import org.fabric3.binding.zeromq.runtime.management.ZeroMQManagementService;
+import org.fabric3.binding.zeromq.runtime.message.AddressUpdater;
 import org.fabric3.binding.zeromq.runtime.message.DelegatingOneWaySender;
 import org.fabric3.binding.zeromq.runtime.message.DynamicOneWaySender;
 import org.fabric3.binding.zeromq.runtime.message.NonReliableOneWayReceiver;
@@ -231,7 +232,7 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
         if (oneWay) {
             receiver = new NonReliableOneWayReceiver(manager, address, chains, executorService, metadata, monitor);
         } else {
-            receiver = new NonReliableRequestReplyReceiver(manager, address, chains, executorService, pollTimeout, metadata, monitor);
+            receiver = new NonReliableRequestReplyReceiver(manager, address, chains, executorService, metadata, monitor);
         }
         receiver.start();
 
@@ -240,6 +241,9 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
         entry.setAddress(address.getAddress());
         entry.setPort(address.getPort().getNumber());
         entry.setTransport("tcp");
+        if (metadata.getWeight() > 0) {
+            entry.setWeight(metadata.getWeight());
+        }
 
         if (discoveryAgent != null) {
             discoveryAgent.register(entry);
@@ -344,14 +348,14 @@ public class ZeroMQWireBrokerImpl implements ZeroMQWireBroker, DynamicOneWaySend
             }
             List<ServiceEntry> entries = discoveryAgent.getServiceEntries(endpointId);
             addresses = entries.stream().
-                    map(e -> new SocketAddress(e.getTransport(), e.getAddress(), new SpecifiedPort(e.getPort()))).collect(toList());
+                    map(AddressUpdater::createAddress).collect(toList());
         }
 
         Sender sender;
         if (oneWay) {
             sender = new NonReliableOneWaySender(endpointId, manager, addresses, pollTimeout, metadata, monitor);
         } else {
-            sender = new NonReliableRequestReplySender(endpointId, manager, addresses, pollTimeout, metadata, monitor);
+            sender = new NonReliableRequestReplySender(endpointId, manager, addresses, metadata, monitor);
         }
         SenderHolder holder = new SenderHolder(sender);
         sender.start();
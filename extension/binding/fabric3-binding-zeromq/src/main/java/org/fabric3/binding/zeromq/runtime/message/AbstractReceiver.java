@@ -20,7 +20,12 @@ package org.fabric3.binding.zeromq.runtime.message;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
@@ -39,7 +44,16 @@ import org.zeromq.ZMQ;
 import org.zeromq.ZMQ.Socket;
 
 /**
+ * Base receiver implementation.
  *
+ * Messages are read from the socket by a single thread and dispatched to workers using {@link #dispatch(Runnable)}. By default, the runtime executor is used
+ * for dispatching; if {@link ZeroMQMetadata#getWorkers()} is set, a dedicated pool of that size is created for the receiver so that its service is isolated
+ * from other work. If {@link ZeroMQMetadata#getMaxInFlight()} is set, the socket thread stops reading messages while that number of dispatched messages are
+ * being processed, leaving subsequent messages queued in ZeroMQ. A dedicated pool is always bounded this way, by default to its number of workers, so its
+ * work queue never grows beyond the in-flight limit.
+ *
+ * The socket thread blocks polling the socket. Work completed on other threads, such as a queued response or a released dispatch permit, wakes it through an
+ * inproc socket using {@link #wakeup()}.
  */
 public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExceptionHandler {
 
@@ -52,10 +66,13 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
     protected Interceptor[] interceptors;
     protected MessagingMonitor monitor;
 
-    protected Receiver receiver;
+    protected volatile Receiver receiver;
     protected ZeroMQMetadata metadata;
     protected String id = getClass().getName() + ":" + UUID.randomUUID().toString();
 
+    private ExecutorService workers;
+    private Semaphore permits;
+
     /**
      * Constructor.
      *
@@ -85,10 +102,26 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
         this.socketType = socketType;
         this.metadata = metadata;
         this.monitor = monitor;
+        if (metadata.getMaxInFlight() > 0) {
+            permits = new Semaphore(metadata.getMaxInFlight());
+        } else if (metadata.getWorkers() > 0) {
+            permits = new Semaphore(metadata.getWorkers());
+        }
     }
 
     public void start() {
         if (receiver == null) {
+            if (metadata.getWorkers() > 0) {
+                int size = metadata.getWorkers();
+                // dispatched messages are bounded by the in-flight permits, so the queue is sized to hold all of them
+                int capacity = metadata.getMaxInFlight() > 0 ? metadata.getMaxInFlight() : size;
+                workers = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(capacity), r -> {
+                    Thread thread = new Thread(r, "ZeroMQ receiver worker: " + address.toProtocolString());
+                    thread.setDaemon(true);
+                    thread.setUncaughtExceptionHandler(this);
+                    return thread;
+                });
+            }
             receiver = new Receiver();
             schedule();
         }
@@ -99,6 +132,10 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
             receiver.stop();
         } finally {
             receiver = null;
+            if (workers != null) {
+                workers.shutdown();
+                workers = null;
+            }
         }
     }
 
@@ -142,6 +179,50 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
         }
     }
 
+    /**
+     * Wakes the socket thread so that it calls {@link #response(Socket)}. Called after work completed on another thread has been made visible to the socket
+     * thread.
+     */
+    protected void wakeup() {
+        Receiver current = receiver;
+        if (current != null) {
+            current.wakeup.signal();
+        }
+    }
+
+    /**
+     * Dispatches a decoded message for processing on a worker thread. Implementations must dispatch at most one unit of work per call to {@link
+     * #invoke(Socket)} and return the result of this method from it.
+     *
+     * @param work the work
+     * @return true if the work was dispatched, false if it was rejected by the executor
+     */
+    protected boolean dispatch(Runnable work) {
+        ExecutorService executor = workers != null ? workers : executorService;
+        try {
+            executor.execute(() -> {
+                try {
+                    work.run();
+                } finally {
+                    if (permits != null) {
+                        permits.release();
+                        wakeup();
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            monitor.error(e);
+            return false;
+        }
+    }
+
+    /**
+     * Reads a message from the socket and dispatches it using {@link #dispatch(Runnable)}.
+     *
+     * @param socket the socket
+     * @return true if a message was dispatched, false if no message was read, the message was invalid or it could not be dispatched
+     */
     protected abstract boolean invoke(Socket socket);
 
     protected abstract void response(Socket socket);
@@ -152,8 +233,12 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
     private class Receiver implements Runnable {
         private Socket socket;
         private Socket controlSocket;
+        private WakeupSocket wakeup = new WakeupSocket();
 
+        // polls the control, wake-up and receiver sockets
         private ZMQ.Poller poller;
+        // polls the control and wake-up sockets; used while the maximum number of dispatched messages are being processed
+        private ZMQ.Poller wakeupPoller;
         private AtomicBoolean active = new AtomicBoolean(true);
 
         /**
@@ -162,6 +247,7 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
          */
         public synchronized void stop() {
             active.set(false);
+            wakeup.signal();
         }
 
         public void run() {
@@ -173,30 +259,34 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
                         monitor.error("Failed to initialize ZeroMQ socket, aborting receiver");
                         return;
                     }
-                    long val = poller.poll();
-                    if (val > 0) {
-                        byte[] controlPayload = controlSocket.recv(ZMQ.NOBLOCK);
-                        if (controlPayload != null) {
+                    // stop reading messages while the maximum number of dispatched messages are being processed
+                    boolean available = permits == null || permits.availablePermits() > 0;
+                    ZMQ.Poller current = available ? poller : wakeupPoller;
+                    if (current.poll() > 0) {
+                        if (current.pollin(0) && controlSocket.recv(ZMQ.NOBLOCK) != null) {
                             try {
-                                socket.close();
-                                controlSocket.close();
+                                close();
                             } finally {
                                 manager.release(id);
                             }
                             return;
                         }
-
-                        if (!invoke(socket)) {
-                            continue;
+                        if (current.pollin(1)) {
+                            wakeup.reset();
+                        }
+                        // only the socket thread acquires permits, so one is available if it was when polling
+                        if (available && poller.pollin(2) && (permits == null || permits.tryAcquire())) {
+                            if (!invoke(socket) && permits != null) {
+                                permits.release();
+                            }
                         }
-                        response(socket);
                     }
+                    response(socket);
                 }
                 // the socket must be closed here on this thread!
                 if (socket != null) {
                     try {
-                        socket.close();
-                        controlSocket.close();
+                        close();
                     } finally {
                         manager.release(id);
                     }
@@ -224,9 +314,22 @@ public abstract class AbstractReceiver implements Receiver, Thread.UncaughtExcep
 
             controlSocket = manager.createControlSocket();
 
+            Socket wakeupSocket = wakeup.open(manager.getContext(), id);
+
             poller = manager.getContext().poller();
             poller.register(controlSocket, ZMQ.Poller.POLLIN);
+            poller.register(wakeupSocket, ZMQ.Poller.POLLIN);
             poller.register(socket, ZMQ.Poller.POLLIN);
+
+            wakeupPoller = manager.getContext().poller();
+            wakeupPoller.register(controlSocket, ZMQ.Poller.POLLIN);
+            wakeupPoller.register(wakeupSocket, ZMQ.Poller.POLLIN);
+        }
+
+        private void close() {
+            socket.close();
+            controlSocket.close();
+            wakeup.close();
         }
 
     }
@@ -0,0 +1,114 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.spi.host.Port;
+import org.zeromq.ZMQ;
+
+/**
+ * Base multiplexer implementation that manages the lifecycle of sockets connected to a set of addresses. Subclasses implement a selection algorithm.
+ *
+ * Note: Due to restrictions imposed by ZeroMQ, an instance of this class must be called on the same thread at all times.
+ */
+public abstract class AbstractSocketMultiplexer implements SocketMultiplexer {
+    private ContextManager manager;
+    private int socketType;
+    private ZeroMQMetadata metadata;
+
+    private Map<SocketAddress, ZMQ.Socket> sockets;
+
+    private String seed = UUID.randomUUID().toString();
+
+    public AbstractSocketMultiplexer(ContextManager manager, int socketType, ZeroMQMetadata metadata) {
+        this.manager = manager;
+        this.socketType = socketType;
+        this.metadata = metadata;
+        sockets = new HashMap<>();
+    }
+
+    public void update(List<SocketAddress> addresses) {
+        Set<SocketAddress> toClose = new HashSet<>(sockets.keySet());
+        toClose.removeAll(addresses);
+
+        Set<SocketAddress> toAdd = new HashSet<>(addresses);
+        toAdd.removeAll(sockets.keySet());
+
+        try {
+            for (SocketAddress address : toClose) {
+                sockets.remove(address).close();
+            }
+        } finally {
+            for (SocketAddress address : toClose) {
+                manager.release(getClass().getName() + ":" + seed + address.toProtocolString());
+            }
+        }
+
+        for (SocketAddress address : addresses) {
+            if (!toAdd.contains(address)) {
+                // re-key retained sockets with the current address instance, which may have a new weight
+                sockets.put(address, sockets.remove(address));
+            }
+        }
+
+        for (SocketAddress address : toAdd) {
+            String addressString = address.toProtocolString();
+            manager.reserve(getClass().getName() + ":" + seed + addressString);
+            ZMQ.Socket socket = manager.getContext().socket(socketType);
+            SocketHelper.configure(socket, metadata);
+            address.getPort().bind(Port.TYPE.TCP);
+            socket.connect(addressString);
+            sockets.put(address, socket);
+        }
+        onUpdate(sockets);
+    }
+
+    public Collection<ZMQ.Socket> getAll() {
+        return sockets.values();
+    }
+
+    public void close() {
+        try {
+            for (ZMQ.Socket socket : sockets.values()) {
+                socket.close();
+            }
+        } finally {
+            for (SocketAddress address : sockets.keySet()) {
+                manager.release(getClass().getName() + ":" + seed + address.toProtocolString());
+            }
+
+        }
+    }
+
+    /**
+     * Called when the set of connected sockets has changed.
+     *
+     * @param sockets the connected sockets keyed by address
+     */
+    protected abstract void onUpdate(Map<SocketAddress, ZMQ.Socket> sockets);
+
+}
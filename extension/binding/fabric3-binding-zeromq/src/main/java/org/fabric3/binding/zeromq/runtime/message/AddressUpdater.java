@@ -5,6 +5,7 @@ import java.util.List;
 import org.fabric3.binding.zeromq.runtime.broker.SpecifiedPort;
 import org.fabric3.spi.discovery.AbstractEntry;
 import org.fabric3.spi.discovery.EntryChange;
+import org.fabric3.spi.discovery.ServiceEntry;
 import org.fabric3.binding.zeromq.runtime.SocketAddress;
 import org.fabric3.spi.host.Port;
 import static java.util.stream.Collectors.toList;
@@ -14,19 +15,43 @@ import static java.util.stream.Collectors.toList;
  */
 public class AddressUpdater {
 
+    /**
+     * Applies a discovery change to a list of addresses. A registered or updated entry replaces an existing address for the same endpoint so that changes such
+     * as a new weight take effect.
+     *
+     * @param change the change
+     * @param entry  the entry
+     * @param old    the current addresses
+     * @return the updated addresses
+     */
     public static List<SocketAddress> accept(EntryChange change, AbstractEntry entry, List<SocketAddress> old) {
         if (change == EntryChange.DELETE || change == EntryChange.EXPIRE) {
-            return old.stream().filter(address -> !address.getAddress().equals(entry.getAddress()) && address.getPort().getNumber() == entry.getPort()).collect(
+            return old.stream().filter(address -> !(address.getAddress().equals(entry.getAddress()) && address.getPort().getNumber() == entry.getPort())).collect(
                     toList());
 
         } else {
-            Port port = new SpecifiedPort(entry.getPort());
-            SocketAddress address = new SocketAddress(entry.getTransport(), entry.getAddress(), port);
-            old.add(address);
-            return old;
+            SocketAddress address = createAddress(entry);
+            List<SocketAddress> addresses = old.stream().filter(current -> !current.equals(address)).collect(toList());
+            addresses.add(address);
+            return addresses;
         }
     }
 
+    /**
+     * Creates a socket address for a service entry.
+     *
+     * @param entry the entry
+     * @return the socket address
+     */
+    public static SocketAddress createAddress(AbstractEntry entry) {
+        Port port = new SpecifiedPort(entry.getPort());
+        SocketAddress address = new SocketAddress(entry.getTransport(), entry.getAddress(), port);
+        if (entry instanceof ServiceEntry) {
+            address.setWeight(((ServiceEntry) entry).getWeight());
+        }
+        return address;
+    }
+
     private AddressUpdater() {
     }
 }
@@ -0,0 +1,149 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+
+/**
+ * Tracks request statistics and health for a service endpoint used by a {@link LoadBalancingSocketMultiplexer}.
+ *
+ * Statistics are updated by the sender dispatcher thread and by caller threads on timeout, and may be read by management threads.
+ */
+public class EndpointStatistics {
+    private static final double ALPHA = 0.3;
+
+    private volatile SocketAddress address;
+    private long ejectionTime;
+
+    private AtomicInteger outstanding = new AtomicInteger();
+    private AtomicLong requests = new AtomicLong();
+    private AtomicLong timeouts = new AtomicLong();
+    private volatile double latency = -1;  // EWMA of response times in nanoseconds, -1 if no response has been received
+    private volatile long ejectedUntil;
+
+    /**
+     * Constructor.
+     *
+     * @param address      the endpoint address
+     * @param ejectionTime the time in milliseconds an endpoint is excluded from selection after a timeout
+     */
+    public EndpointStatistics(SocketAddress address, long ejectionTime) {
+        this.address = address;
+        this.ejectionTime = TimeUnit.MILLISECONDS.toNanos(ejectionTime);
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    /**
+     * Updates the endpoint address, for example when discovery publishes a new weight. Statistics are retained.
+     *
+     * @param address the address
+     */
+    public void setAddress(SocketAddress address) {
+        this.address = address;
+    }
+
+    public int getWeight() {
+        return address.getWeight();
+    }
+
+    /**
+     * Returns the number of requests sent to the endpoint awaiting a response.
+     *
+     * @return the number of outstanding requests
+     */
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Returns the total number of requests sent to the endpoint.
+     *
+     * @return the total number of requests
+     */
+    public long getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * Returns the total number of requests to the endpoint that timed out.
+     *
+     * @return the total number of timeouts
+     */
+    public long getTimeouts() {
+        return timeouts.get();
+    }
+
+    /**
+     * Returns the exponentially weighted moving average of the endpoint response time in nanoseconds.
+     *
+     * @return the average response time or -1 if no response has been received
+     */
+    public double getLatency() {
+        return latency;
+    }
+
+    /**
+     * Returns true if the endpoint is temporarily excluded from selection because of a timeout.
+     *
+     * @return true if the endpoint is excluded from selection
+     */
+    public boolean isEjected() {
+        return ejectedUntil != 0 && System.nanoTime() - ejectedUntil < 0;
+    }
+
+    /**
+     * Records a request sent to the endpoint.
+     */
+    public void onSend() {
+        outstanding.incrementAndGet();
+        requests.incrementAndGet();
+    }
+
+    /**
+     * Records a response received from the endpoint.
+     *
+     * @param time the response time in nanoseconds
+     */
+    public void onResponse(long time) {
+        outstanding.decrementAndGet();
+        double current = latency;
+        latency = current < 0 ? time : ALPHA * time + (1 - ALPHA) * current;
+        ejectedUntil = 0;
+    }
+
+    /**
+     * Records a request to the endpoint that timed out. The endpoint is excluded from selection for the ejection time.
+     */
+    public void onTimeout() {
+        outstanding.decrementAndGet();
+        timeouts.incrementAndGet();
+        ejectedUntil = System.nanoTime() + ejectionTime;
+    }
+
+    public String toString() {
+        String average = latency < 0 ? "n/a" : TimeUnit.NANOSECONDS.toMicros((long) latency) + "us";
+        return "outstanding=" + getOutstanding() + ", requests=" + getRequests() + ", timeouts=" + getTimeouts() + ", latency=" + average + ", weight="
+               + getWeight() + ", ejected=" + isEjected();
+    }
+}
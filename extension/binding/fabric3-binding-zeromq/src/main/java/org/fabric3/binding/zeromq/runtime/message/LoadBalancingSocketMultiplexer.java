@@ -0,0 +1,130 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.zeromq.ZMQ;
+
+/**
+ * Selects sockets using a {@link SelectionStrategy} based on per-endpoint request statistics.
+ *
+ * Callers report request outcomes using the {@link EndpointStatistics} returned from {@link #getStatistics(ZMQ.Socket)}. Endpoints that time out are excluded
+ * from selection for a period of time unless no other endpoint is available.
+ *
+ * Note: Due to restrictions imposed by ZeroMQ, an instance of this class must be called on the same thread at all times.
+ */
+public class LoadBalancingSocketMultiplexer extends AbstractSocketMultiplexer {
+    private SelectionStrategy strategy;
+    private long ejectionTime;
+
+    private ZMQ.Socket[] zmqSockets = new ZMQ.Socket[0];
+    private volatile EndpointStatistics[] endpoints = new EndpointStatistics[0];
+    private EndpointStatistics[] healthy = new EndpointStatistics[0];
+    private int[] healthyIndexes = new int[0];
+    private Map<ZMQ.Socket, EndpointStatistics> statistics = new IdentityHashMap<>();
+    private Map<SocketAddress, EndpointStatistics> retained = new LinkedHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param manager      the ZeroMQ Context manager
+     * @param socketType   the socket type as defined by ZeroMQ
+     * @param metadata     metadata
+     * @param strategy     the selection strategy
+     * @param ejectionTime the time in milliseconds an endpoint is excluded from selection after a timeout
+     */
+    public LoadBalancingSocketMultiplexer(ContextManager manager, int socketType, ZeroMQMetadata metadata, SelectionStrategy strategy, long ejectionTime) {
+        super(manager, socketType, metadata);
+        this.strategy = strategy;
+        this.ejectionTime = ejectionTime;
+    }
+
+    public ZMQ.Socket get() {
+        EndpointStatistics[] endpoints = this.endpoints;
+        int count = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            if (!endpoints[i].isEjected()) {
+                healthy[count] = endpoints[i];
+                healthyIndexes[count] = i;
+                count++;
+            }
+        }
+        if (count == endpoints.length || count == 0) {
+            // select from all endpoints if none or all are ejected
+            return zmqSockets[strategy.select(endpoints, endpoints.length)];
+        }
+        return zmqSockets[healthyIndexes[strategy.select(healthy, count)]];
+    }
+
+    public boolean isAvailable() {
+        return zmqSockets.length > 0;
+    }
+
+    /**
+     * Returns the statistics for the endpoint the socket is connected to.
+     *
+     * @param socket the socket
+     * @return the statistics or null if the socket is not managed by this multiplexer
+     */
+    public EndpointStatistics getStatistics(ZMQ.Socket socket) {
+        return statistics.get(socket);
+    }
+
+    /**
+     * Returns the statistics for all endpoints. This method may be called from any thread.
+     *
+     * @return the statistics
+     */
+    public EndpointStatistics[] getStatistics() {
+        return endpoints;
+    }
+
+    protected void onUpdate(Map<SocketAddress, ZMQ.Socket> sockets) {
+        Map<SocketAddress, EndpointStatistics> current = new LinkedHashMap<>();
+        Map<ZMQ.Socket, EndpointStatistics> socketStatistics = new IdentityHashMap<>();
+        ZMQ.Socket[] newSockets = new ZMQ.Socket[sockets.size()];
+        EndpointStatistics[] newEndpoints = new EndpointStatistics[sockets.size()];
+        int i = 0;
+        for (Map.Entry<SocketAddress, ZMQ.Socket> entry : sockets.entrySet()) {
+            SocketAddress address = entry.getKey();
+            EndpointStatistics endpoint = retained.get(address);
+            if (endpoint == null) {
+                endpoint = new EndpointStatistics(address, ejectionTime);
+            } else if (endpoint.getAddress() != address) {
+                endpoint.setAddress(address);
+            }
+            current.put(address, endpoint);
+            socketStatistics.put(entry.getValue(), endpoint);
+            newSockets[i] = entry.getValue();
+            newEndpoints[i] = endpoint;
+            i++;
+        }
+        retained = current;
+        statistics = socketStatistics;
+        zmqSockets = newSockets;
+        healthy = new EndpointStatistics[newEndpoints.length];
+        healthyIndexes = new int[newEndpoints.length];
+        endpoints = newEndpoints;
+    }
+
+}
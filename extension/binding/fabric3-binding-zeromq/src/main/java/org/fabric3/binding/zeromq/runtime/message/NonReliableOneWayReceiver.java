@@ -76,7 +76,7 @@ public class NonReliableOneWayReceiver extends AbstractReceiver implements Threa
             frames[i] = socket.recv(0);
             i++;
         }
-        executorService.submit(new Runnable() {
+        return dispatch(new Runnable() {
             public void run() {
                 Message request = MessageCache.getAndResetMessage();
                 try {
@@ -94,7 +94,6 @@ public class NonReliableOneWayReceiver extends AbstractReceiver implements Threa
                 }
             }
         });
-        return true;
     }
 
     protected void response(ZMQ.Socket socket) {
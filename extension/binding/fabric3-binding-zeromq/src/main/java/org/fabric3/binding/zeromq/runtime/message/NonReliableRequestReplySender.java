@@ -18,21 +18,24 @@
  */
 package org.fabric3.binding.zeromq.runtime.message;
 
-import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.FutureTask;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
 import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
@@ -52,38 +55,57 @@ import org.zeromq.ZMQ.Socket;
  *
  * Since ZeroMQ requires the creating socket thread to dispatch messages, a looping thread is used for sending messages. Messages are provided to the thread via
  * a queue.
+ *
+ * Requests are pipelined: each request is tagged with a correlation id that is echoed by the receiver, allowing the dispatcher thread to send queued requests
+ * without waiting for outstanding responses. Responses are matched to waiting callers through a correlation map. The dispatcher blocks polling the sockets
+ * for responses; callers queuing a request wake it through an inproc socket.
+ *
+ * The time to wait for a response and the maximum number of outstanding requests are configured per wire using {@link ZeroMQMetadata}.
+ *
+ * Requests are distributed across service endpoints using the {@link SelectionStrategy} configured for the wire. Response times and timeouts are recorded per
+ * endpoint and endpoints that time out are temporarily excluded from selection.
  */
+@Management
 public class NonReliableRequestReplySender implements RequestReplySender, Thread.UncaughtExceptionHandler {
-    private static final Callable<byte[]> CALLABLE = () -> null;
-    private static final Request SHUTDOWN = new Request(null, 0, null);
+    private static final long DEFAULT_REQUEST_TIMEOUT = 100000; // milliseconds
+    private static final long EJECTION_TIME = 10000;  // milliseconds
+    private static final Request SHUTDOWN = new Request(0, null, 0, null);
 
     private String id;
     private ContextManager manager;
     private List<SocketAddress> addresses;
-    private long pollTimeout;
+    private long requestTimeout;
     private MessagingMonitor monitor;
 
     private Dispatcher dispatcher;
+    private WakeupSocket wakeup;
 
-    private RoundRobinSocketMultiplexer multiplexer;
-    private Map<Socket, ZMQ.Poller> pollers;
+    private LoadBalancingSocketMultiplexer multiplexer;
 
     private LinkedBlockingQueue<Request> queue;
+    private Map<Long, Request> pending;
+    private AtomicLong correlationCounter;
+    private Semaphore permits;
 
     public NonReliableRequestReplySender(String id,
                                          ContextManager manager,
                                          List<SocketAddress> addresses,
-                                         long pollTimeout,
                                          ZeroMQMetadata metadata,
                                          MessagingMonitor monitor) {
         this.id = id;
         this.manager = manager;
         this.addresses = addresses;
-        this.pollTimeout = pollTimeout;
         this.monitor = monitor;
-        multiplexer = new RoundRobinSocketMultiplexer(manager, ZMQ.XREQ, metadata);
+        this.requestTimeout = metadata.getRequestTimeout() > 0 ? metadata.getRequestTimeout() : DEFAULT_REQUEST_TIMEOUT;
+        if (metadata.getMaxInFlight() > 0) {
+            permits = new Semaphore(metadata.getMaxInFlight());
+        }
+        SelectionStrategy strategy = SelectionStrategies.create(metadata.getLoadBalancing());
+        multiplexer = new LoadBalancingSocketMultiplexer(manager, ZMQ.XREQ, metadata, strategy, EJECTION_TIME);
         queue = new LinkedBlockingQueue<>();
-        pollers = new ConcurrentHashMap<>();
+        pending = new ConcurrentHashMap<>();
+        correlationCounter = new AtomicLong();
+        wakeup = new WakeupSocket();
     }
 
     public void start() {
@@ -98,6 +120,7 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
         try {
             dispatcher.stop();
             queue.put(SHUTDOWN);
+            wakeup.signal();
         } catch (InterruptedException e) {
             monitor.error(e);
         } finally {
@@ -109,25 +132,57 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
         return id;
     }
 
+    @ManagementOperation(description = "Request statistics for each service endpoint")
+    public Map<String, String> getEndpoints() {
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        for (EndpointStatistics statistics : multiplexer.getStatistics()) {
+            endpoints.put(statistics.getAddress().toString(), statistics.toString());
+        }
+        return endpoints;
+    }
+
     public void accept(EntryChange change, ServiceEntry entry) {
         // refresh socket
         this.addresses = AddressUpdater.accept(change, entry, addresses);
         dispatcher.refresh();
+        wakeup.signal();
     }
 
     public byte[] sendAndReply(byte[] message, int index, WorkContext workContext) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(requestTimeout);
+        boolean acquired = false;
+        Request request = null;
         try {
             byte[] serializedWorkContext = serialize(workContext);
-            Request request = new Request(message, index, serializedWorkContext);
+            if (permits != null) {
+                acquired = permits.tryAcquire(requestTimeout, TimeUnit.MILLISECONDS);
+                if (!acquired) {
+                    throw new ServiceUnavailableException("Maximum number of outstanding requests exceeded for: " + id);
+                }
+            }
+            request = new Request(correlationCounter.incrementAndGet(), message, index, serializedWorkContext);
+            pending.put(request.getCorrelationId(), request);
             queue.put(request);
-            return request.get(100000, TimeUnit.MILLISECONDS);
+            wakeup.signal();
+            return request.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
         } catch (InterruptedException e) {
             Thread.interrupted();
             throw new ServiceRuntimeException(e);
         } catch (ExecutionException e) {
+            if (e.getCause() instanceof ServiceUnavailableException) {
+                throw (ServiceUnavailableException) e.getCause();
+            }
             throw new ServiceRuntimeException(e);
         } catch (TimeoutException | Fabric3Exception e) {
             throw new ServiceUnavailableException(e);
+        } finally {
+            if (request != null) {
+                // remove the request if it timed out so a late response is discarded
+                pending.remove(request.getCorrelationId());
+            }
+            if (acquired) {
+                permits.release();
+            }
         }
     }
 
@@ -158,12 +213,50 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
     }
 
     /**
-     * Dispatches requests to the ZeroMQ socket.
+     * Encodes a correlation id as a message frame.
+     *
+     * @param correlationId the correlation id
+     * @return the frame
+     */
+    static byte[] encode(long correlationId) {
+        byte[] frame = new byte[8];
+        for (int i = 7; i >= 0; i--) {
+            frame[i] = (byte) correlationId;
+            correlationId >>>= 8;
+        }
+        return frame;
+    }
+
+    /**
+     * Decodes a correlation id from a message frame.
+     *
+     * @param frame the frame
+     * @return the correlation id or -1 if the frame is invalid
+     */
+    static long decode(byte[] frame) {
+        if (frame.length != 8) {
+            return -1;
+        }
+        long correlationId = 0;
+        for (int i = 0; i < 8; i++) {
+            correlationId = (correlationId << 8) | (frame[i] & 0xFF);
+        }
+        return correlationId;
+    }
+
+    /**
+     * Dispatches requests to the ZeroMQ socket and receives responses.
      */
     private class Dispatcher implements Runnable {
         private AtomicBoolean active = new AtomicBoolean(true);
         private AtomicBoolean doRefresh = new AtomicBoolean(true);
         private Socket controlSocket;
+        private Socket wakeupSocket;
+        private ZMQ.Poller poller;
+        private Socket[] sockets;
+
+        // requests sent and awaiting a response in send order; only accessed by the dispatcher thread
+        private Map<Long, Request> inFlight = new LinkedHashMap<>();
 
         /**
          * Signals to closes the old socket and establish a new one when publisher addresses have changed in the domain.
@@ -186,75 +279,146 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
 
                     // handle pending requests
                     List<Request> drained = new ArrayList<>();
-                    Request value = queue.poll(pollTimeout, TimeUnit.MICROSECONDS);
-                    if (SHUTDOWN == value) {
-                        multiplexer.close();
-                        controlSocket.close();
-                        return;
-                    }
-                    // if no available socket, drop the message
-                    if (!multiplexer.isAvailable()) {
-                        monitor.dropMessage();
-                        continue;
-                    }
-
-                    if (value != null) {
-                        drained.add(value);
-                        queue.drainTo(drained);
-                    }
+                    queue.drainTo(drained);
                     for (Request request : drained) {
-                        Socket socket = multiplexer.get();
-
-                        socket.send(request.getPayload(), ZMQ.SNDMORE);
-
-                        // serialize the operation index
-                        int index = request.getIndex();
-                        byte[] serializedIndex = ByteBuffer.allocate(4).putInt(index).array();
-
-                        byte[] context = request.getWorkContext();
-                        if (context != null && context.length > 0) {
-                            socket.send(serializedIndex, ZMQ.SNDMORE);
-                            socket.send(context, 0);
-                        } else {
-                            socket.send(serializedIndex, 0);
-                        }
-
-                        ZMQ.Poller poller = pollers.get(socket);
-                        long val = poller.poll(pollTimeout);
-                        if (val < 0) {
-                            // response timed out, return an error to the waiting thread
-                            //noinspection ThrowableInstanceNeverThrown
-                            request.setException(new ServiceUnavailableException("Timeout waiting on response"));
-                            request.run();
-                            continue;
-                        }
-                        byte[] controlPayload = controlSocket.recv(ZMQ.NOBLOCK);
-                        if (controlPayload != null) {
-                            multiplexer.close();
-                            if (controlSocket != null) {
-                                controlSocket.close();
-                            }
+                        if (SHUTDOWN == request) {
+                            close();
                             return;
                         }
+                        send(request);
+                    }
 
-                        byte[] response = socket.recv(0);
-                        request.set(response);
-                        request.run();
+                    // wait for responses or until woken by a new request
+                    if (!receive()) {
+                        close();
+                        return;
                     }
+                    expire();
                 } catch (RuntimeException e) {
                     // exception, make sure the thread is rescheduled
                     schedule();
                     throw e;
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
                 }
 
             }
-            multiplexer.close();
-            if (controlSocket != null) {
-                controlSocket.close();
+            close();
+        }
+
+        /**
+         * Sends a request.
+         *
+         * @param request the request
+         */
+        private void send(Request request) {
+            if (request.isDone() || !pending.containsKey(request.getCorrelationId())) {
+                // the caller timed out before the request was sent
+                return;
+            }
+            // if no available socket, drop the message
+            if (!multiplexer.isAvailable()) {
+                monitor.dropMessage();
+                request.completeExceptionally(new ServiceUnavailableException("No endpoints available for: " + id));
+                return;
+            }
+            Socket socket = multiplexer.get();
+            EndpointStatistics endpoint = multiplexer.getStatistics(socket);
+            endpoint.onSend();
+            request.setEndpoint(endpoint);
+            inFlight.put(request.getCorrelationId(), request);
+
+            socket.send(encode(request.getCorrelationId()), ZMQ.SNDMORE);
+            socket.send(request.getPayload(), ZMQ.SNDMORE);
+
+            // serialize the operation index
+            int index = request.getIndex();
+            byte[] serializedIndex = new byte[]{(byte) (index >>> 24), (byte) (index >>> 16), (byte) (index >>> 8), (byte) index};
+
+            byte[] context = request.getWorkContext();
+            if (context != null && context.length > 0) {
+                socket.send(serializedIndex, ZMQ.SNDMORE);
+                socket.send(context, 0);
+            } else {
+                socket.send(serializedIndex, 0);
+            }
+        }
+
+        /**
+         * Polls the sockets for responses and completes the corresponding requests. Polling blocks until a response is received, the dispatcher is woken or
+         * the oldest request sent expires.
+         *
+         * @return false if a shutdown was signalled on the control socket
+         */
+        private boolean receive() {
+            if (poller.poll(getWaitTime()) <= 0) {
+                return true;
+            }
+            if (poller.pollin(0) && controlSocket.recv(ZMQ.NOBLOCK) != null) {
+                return false;
+            }
+            if (poller.pollin(1)) {
+                wakeup.reset();
+            }
+            for (int i = 0; i < sockets.length; i++) {
+                // the control and wake-up sockets are registered first
+                if (!poller.pollin(i + 2)) {
+                    continue;
+                }
+                Socket socket = sockets[i];
+                byte[] correlationFrame;
+                while ((correlationFrame = socket.recv(ZMQ.NOBLOCK)) != null) {
+                    if (!socket.hasReceiveMore()) {
+                        monitor.error("Invalid response: missing response body");
+                        continue;
+                    }
+                    byte[] response = socket.recv(0);
+                    while (socket.hasReceiveMore()) {
+                        // discard unexpected frames
+                        socket.recv(0);
+                    }
+                    long correlationId = decode(correlationFrame);
+                    Request sent = inFlight.remove(correlationId);
+                    if (sent != null) {
+                        sent.getEndpoint().onResponse(System.nanoTime() - sent.getSent());
+                    }
+                    Request request = pending.remove(correlationId);
+                    if (request != null) {
+                        request.complete(response);
+                    }
+                }
             }
+            return true;
+        }
 
+        /**
+         * Returns the time in milliseconds until the oldest request sent expires, or -1 to wait indefinitely if no requests are awaiting a response.
+         *
+         * @return the time to wait
+         */
+        private long getWaitTime() {
+            if (inFlight.isEmpty()) {
+                return -1;
+            }
+            Request oldest = inFlight.values().iterator().next();
+            long remaining = TimeUnit.MILLISECONDS.toNanos(requestTimeout) - (System.nanoTime() - oldest.getSent());
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+        }
+
+        /**
+         * Records requests that have not received a response within the request timeout against the endpoint they were sent to.
+         */
+        private void expire() {
+            long timeout = TimeUnit.MILLISECONDS.toNanos(requestTimeout);
+            long now = System.nanoTime();
+            Iterator<Request> iterator = inFlight.values().iterator();
+            while (iterator.hasNext()) {
+                Request request = iterator.next();
+                if (now - request.getSent() < timeout) {
+                    // requests are ordered by send time
+                    return;
+                }
+                iterator.remove();
+                request.getEndpoint().onTimeout();
+            }
         }
 
         /**
@@ -266,35 +430,53 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
             }
             if (controlSocket == null) {
                 controlSocket = manager.createControlSocket();
+                wakeupSocket = wakeup.open(manager.getContext(), id + ":" + UUID.randomUUID().toString());
             }
 
             multiplexer.update(addresses);
-            Collection<Socket> sockets = multiplexer.getAll();
-            pollers.clear();
+            poller = manager.getContext().poller();
+            poller.register(controlSocket, ZMQ.Poller.POLLIN);
+            poller.register(wakeupSocket, ZMQ.Poller.POLLIN);
+            sockets = multiplexer.getAll().toArray(new Socket[0]);
             for (Socket socket : sockets) {
-                ZMQ.Poller poller = manager.getContext().poller();
                 poller.register(socket, ZMQ.Poller.POLLIN);
-                poller.register(controlSocket, ZMQ.Poller.POLLIN);
-                pollers.put(socket, poller);
+            }
+        }
+
+        private void close() {
+            multiplexer.close();
+            if (controlSocket != null) {
+                controlSocket.close();
+            }
+            wakeup.close();
+            for (Request request : pending.values()) {
+                request.completeExceptionally(new ServiceUnavailableException("Sender stopped: " + id));
             }
         }
     }
 
     /**
-     * A {@link Future} used to pass a request payload to the ZeroMQ socket thread and retrieve the invocation return value on completion.
+     * A {@link CompletableFuture} used to pass a request payload to the ZeroMQ socket thread and retrieve the invocation return value on completion.
      */
-    private static class Request extends FutureTask<byte[]> {
+    private static class Request extends CompletableFuture<byte[]> {
+        private long correlationId;
         private byte[] payload;
         private byte[] workContext;
         private int index;
+        private EndpointStatistics endpoint;
+        private long sent;
 
-        public Request(byte[] payload, int index, byte[] workContext) {
-            super(CALLABLE);
+        public Request(long correlationId, byte[] payload, int index, byte[] workContext) {
+            this.correlationId = correlationId;
             this.payload = payload;
             this.index = index;
             this.workContext = workContext;
         }
 
+        public long getCorrelationId() {
+            return correlationId;
+        }
+
         public byte[] getPayload() {
             return payload;
         }
@@ -307,15 +489,19 @@ public class NonReliableRequestReplySender implements RequestReplySender, Thread
             return workContext;
         }
 
-        @Override
-        public void set(byte[] s) {
-            super.set(s);
+        public EndpointStatistics getEndpoint() {
+            return endpoint;
         }
 
-        @Override
-        protected void setException(Throwable t) {
-            super.setException(t);
+        public long getSent() {
+            return sent;
         }
+
+        public void setEndpoint(EndpointStatistics endpoint) {
+            this.endpoint = endpoint;
+            this.sent = System.nanoTime();
+        }
+
     }
 
 }
@@ -0,0 +1,181 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.fabric3.api.binding.zeromq.model.LoadBalancing;
+import org.fabric3.api.host.Fabric3Exception;
+
+/**
+ * Creates {@link SelectionStrategy} instances.
+ */
+public final class SelectionStrategies {
+
+    /**
+     * Creates a strategy.
+     *
+     * @param name the strategy name or null for the default, round-robin
+     * @return the strategy
+     * @throws Fabric3Exception if the strategy name is not known
+     */
+    public static SelectionStrategy create(String name) throws Fabric3Exception {
+        if (name == null || name.isEmpty() || LoadBalancing.ROUND_ROBIN.equals(name)) {
+            return new RoundRobinStrategy();
+        } else if (LoadBalancing.LEAST_OUTSTANDING.equals(name)) {
+            return new LeastOutstandingStrategy();
+        } else if (LoadBalancing.LATENCY.equals(name)) {
+            return new LatencyStrategy();
+        } else if (LoadBalancing.POWER_OF_TWO.equals(name)) {
+            return new PowerOfTwoStrategy();
+        } else if (LoadBalancing.WEIGHTED.equals(name)) {
+            return new WeightedStrategy();
+        }
+        throw new Fabric3Exception("Unknown load balancing strategy: " + name);
+    }
+
+    /**
+     * Cycles through the candidates.
+     */
+    private static class RoundRobinStrategy implements SelectionStrategy {
+        private int index;
+
+        public int select(EndpointStatistics[] candidates, int count) {
+            if (index >= count) {
+                index = 0;
+            }
+            return index++;
+        }
+    }
+
+    /**
+     * Selects the candidate with the fewest requests awaiting a response. Ties are broken by rotating the starting position.
+     */
+    private static class LeastOutstandingStrategy implements SelectionStrategy {
+        private int offset;
+
+        public int select(EndpointStatistics[] candidates, int count) {
+            offset = offset + 1 >= count ? 0 : offset + 1;
+            int selected = offset;
+            int min = candidates[offset].getOutstanding();
+            for (int i = 1; i < count && min > 0; i++) {
+                int index = (offset + i) % count;
+                int outstanding = candidates[index].getOutstanding();
+                if (outstanding < min) {
+                    min = outstanding;
+                    selected = index;
+                }
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * Selects the candidate with the lowest expected wait, estimated as the average response time multiplied by the number of requests awaiting a response
+     * plus one. Candidates without a recorded response are preferred so that their latency can be measured.
+     */
+    private static class LatencyStrategy implements SelectionStrategy {
+
+        public int select(EndpointStatistics[] candidates, int count) {
+            int selected = 0;
+            double min = Double.MAX_VALUE;
+            for (int i = 0; i < count; i++) {
+                double latency = candidates[i].getLatency();
+                if (latency < 0) {
+                    return i;
+                }
+                double cost = latency * (candidates[i].getOutstanding() + 1);
+                if (cost < min) {
+                    min = cost;
+                    selected = i;
+                }
+            }
+            return selected;
+        }
+    }
+
+    /**
+     * Picks two candidates at random and selects the one with fewer requests awaiting a response.
+     */
+    private static class PowerOfTwoStrategy implements SelectionStrategy {
+
+        public int select(EndpointStatistics[] candidates, int count) {
+            if (count == 1) {
+                return 0;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(count);
+            int second = random.nextInt(count - 1);
+            if (second >= first) {
+                second++;
+            }
+            return candidates[second].getOutstanding() < candidates[first].getOutstanding() ? second : first;
+        }
+    }
+
+    /**
+     * Selects candidates in proportion to their weight as published in the discovery service entry using smooth weighted round-robin.
+     */
+    private static class WeightedStrategy implements SelectionStrategy {
+        private int[] current = new int[0];
+        private EndpointStatistics[] previous = new EndpointStatistics[0];
+
+        public int select(EndpointStatistics[] candidates, int count) {
+            if (changed(candidates, count)) {
+                // the candidate set changed, reset the running weights
+                current = new int[count];
+                previous = Arrays.copyOf(candidates, count);
+            }
+            int total = 0;
+            int selected = 0;
+            for (int i = 0; i < count; i++) {
+                int weight = Math.max(candidates[i].getWeight(), 1);
+                current[i] += weight;
+                total += weight;
+                if (current[i] > current[selected]) {
+                    selected = i;
+                }
+            }
+            current[selected] -= total;
+            return selected;
+        }
+
+        /**
+         * Compares the candidates to the previous selection. The candidates array may be reused by the caller with different contents, for example when
+         * endpoints are ejected, so the contents are compared rather than the array.
+         *
+         * @param candidates the candidates
+         * @param count      the number of candidates
+         * @return true if the candidates changed
+         */
+        private boolean changed(EndpointStatistics[] candidates, int count) {
+            if (previous.length != count) {
+                return true;
+            }
+            for (int i = 0; i < count; i++) {
+                if (previous[i] != candidates[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private SelectionStrategies() {
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+/**
+ * Selects an endpoint from a set of candidates.
+ *
+ * Strategies are used by a single multiplexer and are called from the multiplexer thread.
+ */
+public interface SelectionStrategy {
+
+    /**
+     * Returns the index of the selected endpoint.
+     *
+     * @param candidates the candidate endpoints. The array is guaranteed to contain at least one element.
+     * @param count      the number of candidates in the array to select from
+     * @return the index of the selected endpoint
+     */
+    int select(EndpointStatistics[] candidates, int count);
+
+}
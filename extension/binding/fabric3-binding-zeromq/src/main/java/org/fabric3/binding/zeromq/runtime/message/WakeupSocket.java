@@ -0,0 +1,102 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQ.Socket;
+
+/**
+ * Wakes a thread blocked polling ZeroMQ sockets when work is handed to it from other threads.
+ *
+ * The polling thread opens the wake-up socket and registers it with its poller. Other threads call {@link #signal()}, which writes to an inproc socket. Since
+ * ZeroMQ sockets are not thread-safe, writes are serialized. Signals are coalesced until the polling thread calls {@link #reset()}, so a burst of work results
+ * in a single wake-up.
+ */
+public class WakeupSocket {
+    private static final byte[] SIGNAL = new byte[0];
+
+    private final Object lock = new Object();
+    private final AtomicBoolean signalled = new AtomicBoolean();
+    private Socket receiver;
+    private Socket sender;
+
+    /**
+     * Opens the wake-up socket. Must be called by the polling thread.
+     *
+     * @param context the ZeroMQ context
+     * @param id      a unique id used to create the inproc address
+     * @return the socket to register with the poller
+     */
+    public Socket open(ZMQ.Context context, String id) {
+        String address = "inproc://wakeup:" + id;
+        receiver = context.socket(ZMQ.PULL);
+        receiver.setLinger(0);
+        receiver.bind(address);
+        synchronized (lock) {
+            sender = context.socket(ZMQ.PUSH);
+            sender.setLinger(0);
+            sender.connect(address);
+        }
+        // work handed off before the socket was opened is picked up by the polling thread after this method returns
+        signalled.set(false);
+        return receiver;
+    }
+
+    /**
+     * Wakes the polling thread if it has not already been signalled since it last called {@link #reset()}. Work must be made visible to the polling thread
+     * before this method is called.
+     */
+    public void signal() {
+        if (!signalled.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (lock) {
+            if (sender != null) {
+                sender.send(SIGNAL, ZMQ.NOBLOCK);
+            }
+        }
+    }
+
+    /**
+     * Consumes pending signals. Must be called by the polling thread before it processes the work handed to it, otherwise a signal may be lost.
+     */
+    public void reset() {
+        while (receiver.recv(ZMQ.NOBLOCK) != null) {
+            // drain
+        }
+        signalled.set(false);
+    }
+
+    /**
+     * Closes the wake-up socket. Must be called by the polling thread.
+     */
+    public void close() {
+        synchronized (lock) {
+            if (sender != null) {
+                sender.close();
+                sender = null;
+            }
+        }
+        if (receiver != null) {
+            receiver.close();
+            receiver = null;
+        }
+    }
+
+}
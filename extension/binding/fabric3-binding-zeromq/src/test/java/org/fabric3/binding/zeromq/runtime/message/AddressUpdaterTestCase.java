@@ -0,0 +1,56 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+import org.fabric3.spi.discovery.EntryChange;
+import org.fabric3.spi.discovery.ServiceEntry;
+
+/**
+ *
+ */
+public class AddressUpdaterTestCase extends TestCase {
+
+    public void testUpdateReplacesAddress() throws Exception {
+        ServiceEntry entry = new ServiceEntry("service", "localhost", 9000, "tcp");
+        entry.setWeight(1);
+        List<SocketAddress> addresses = AddressUpdater.accept(EntryChange.SET, entry, new ArrayList<>());
+
+        ServiceEntry updated = new ServiceEntry("service", "localhost", 9000, "tcp");
+        updated.setWeight(5);
+        addresses = AddressUpdater.accept(EntryChange.SET, updated, addresses);
+
+        assertEquals(1, addresses.size());
+        assertEquals(5, addresses.get(0).getWeight());
+    }
+
+    public void testDeleteRemovesOnlyMatchingAddress() throws Exception {
+        List<SocketAddress> addresses = new ArrayList<>();
+        addresses = AddressUpdater.accept(EntryChange.SET, new ServiceEntry("service", "localhost", 9000, "tcp"), addresses);
+        addresses = AddressUpdater.accept(EntryChange.SET, new ServiceEntry("service", "localhost", 9001, "tcp"), addresses);
+
+        addresses = AddressUpdater.accept(EntryChange.DELETE, new ServiceEntry("service", "localhost", 9000, "tcp"), addresses);
+
+        assertEquals(1, addresses.size());
+        assertEquals(9001, addresses.get(0).getPort().getNumber());
+    }
+
+}
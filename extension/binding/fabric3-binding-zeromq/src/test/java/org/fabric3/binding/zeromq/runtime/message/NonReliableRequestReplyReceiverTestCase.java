@@ -0,0 +1,225 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
+import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+import org.fabric3.binding.zeromq.runtime.broker.SpecifiedPort;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.spi.container.invocation.Message;
+import org.fabric3.spi.container.invocation.MessageImpl;
+import org.fabric3.spi.container.wire.Interceptor;
+import org.fabric3.spi.container.wire.InvocationChain;
+import org.zeromq.ZMQ;
+
+/**
+ *
+ */
+public class NonReliableRequestReplyReceiverTestCase extends TestCase {
+    private ZMQ.Context context;
+    private ContextManager manager;
+    private MessagingMonitor monitor;
+    private ExecutorService executorService;
+    private CountDownLatch latch;
+    private InvocationChain chain;
+    private int port;
+
+    public void testSlowInvocationDoesNotBlockReceiver() throws Exception {
+        ZeroMQMetadata metadata = new ZeroMQMetadata();
+        metadata.setWorkers(2);
+        NonReliableRequestReplyReceiver receiver = createReceiver(metadata);
+        receiver.start();
+
+        ZMQ.Socket client = context.socket(ZMQ.XREQ);
+        client.connect("tcp://127.0.0.1:" + port);
+
+        send(client, 1, "slow");
+        send(client, 2, "fast");
+
+        // the fast response is returned while the slow invocation is in progress
+        assertEquals("fast", receive(client));
+        latch.countDown();
+        assertEquals("slow", receive(client));
+
+        client.close();
+        receiver.stop();
+    }
+
+    public void testMaxInFlight() throws Exception {
+        ZeroMQMetadata metadata = new ZeroMQMetadata();
+        metadata.setWorkers(2);
+        metadata.setMaxInFlight(1);
+        NonReliableRequestReplyReceiver receiver = createReceiver(metadata);
+        receiver.start();
+
+        ZMQ.Socket client = context.socket(ZMQ.XREQ);
+        client.connect("tcp://127.0.0.1:" + port);
+
+        send(client, 1, "slow");
+        send(client, 2, "fast");
+
+        // the fast request is not dispatched until the slow invocation completes
+        ZMQ.Poller poller = context.poller();
+        poller.register(client, ZMQ.Poller.POLLIN);
+        assertEquals(0, poller.poll(200));
+        latch.countDown();
+        assertEquals("slow", receive(client));
+        assertEquals("fast", receive(client));
+
+        client.close();
+        receiver.stop();
+    }
+
+    public void testRejectedDispatchReleasesPermit() throws Exception {
+        ZeroMQMetadata metadata = new ZeroMQMetadata();
+        metadata.setMaxInFlight(1);
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService rejecting = new AbstractExecutorService() {
+            public void execute(Runnable command) {
+                // the receiver thread is scheduled first, reject the first dispatched message
+                if (count.incrementAndGet() == 2) {
+                    throw new RejectedExecutionException();
+                }
+                executorService.execute(command);
+            }
+
+            public void shutdown() {
+            }
+
+            public List<Runnable> shutdownNow() {
+                return Collections.emptyList();
+            }
+
+            public boolean isShutdown() {
+                return false;
+            }
+
+            public boolean isTerminated() {
+                return false;
+            }
+
+            public boolean awaitTermination(long timeout, TimeUnit unit) {
+                return false;
+            }
+        };
+        SocketAddress address = new SocketAddress("tcp", "127.0.0.1", new SpecifiedPort(port));
+        NonReliableRequestReplyReceiver receiver = new NonReliableRequestReplyReceiver(manager,
+                                                                                       address,
+                                                                                       Collections.singletonList(chain),
+                                                                                       rejecting,
+                                                                                       metadata,
+                                                                                       monitor);
+        receiver.start();
+
+        ZMQ.Socket client = context.socket(ZMQ.XREQ);
+        client.connect("tcp://127.0.0.1:" + port);
+
+        send(client, 1, "rejected");
+        send(client, 2, "fast");
+
+        // the rejected request does not hold the only in-flight permit
+        assertEquals("fast", receive(client));
+        assertEquals(3, count.get());
+
+        client.close();
+        receiver.stop();
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        context = ZMQ.context(1);
+        manager = EasyMock.createNiceMock(ContextManager.class);
+        EasyMock.expect(manager.getContext()).andReturn(context).anyTimes();
+        EasyMock.expect(manager.createControlSocket()).andAnswer(() -> {
+            ZMQ.Socket socket = context.socket(ZMQ.PULL);
+            socket.bind("inproc://control" + System.nanoTime());
+            return socket;
+        }).anyTimes();
+        monitor = EasyMock.createNiceMock(MessagingMonitor.class);
+
+        latch = new CountDownLatch(1);
+        Interceptor interceptor = new Interceptor() {
+            public Message invoke(Message msg) {
+                String body = new String((byte[]) msg.getBody());
+                if ("slow".equals(body)) {
+                    try {
+                        latch.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                Message response = new MessageImpl();
+                response.setBody(body.getBytes());
+                return response;
+            }
+
+            public void setNext(Interceptor next) {
+            }
+
+            public Interceptor getNext() {
+                return null;
+            }
+        };
+        chain = EasyMock.createMock(InvocationChain.class);
+        EasyMock.expect(chain.getHeadInterceptor()).andReturn(interceptor);
+        EasyMock.replay(manager, monitor, chain);
+
+        executorService = Executors.newCachedThreadPool();
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        latch.countDown();
+        executorService.shutdownNow();
+    }
+
+    private NonReliableRequestReplyReceiver createReceiver(ZeroMQMetadata metadata) {
+        SocketAddress address = new SocketAddress("tcp", "127.0.0.1", new SpecifiedPort(port));
+        return new NonReliableRequestReplyReceiver(manager, address, Collections.singletonList(chain), executorService, metadata, monitor);
+    }
+
+    private void send(ZMQ.Socket client, long correlationId, String body) {
+        client.send(NonReliableRequestReplySender.encode(correlationId), ZMQ.SNDMORE);
+        client.send(body.getBytes(), ZMQ.SNDMORE);
+        client.send(new byte[]{0, 0, 0, 0}, 0);
+    }
+
+    private String receive(ZMQ.Socket client) {
+        client.setReceiveTimeOut(10000);
+        byte[] correlationId = client.recv(0);
+        assertNotNull(correlationId);
+        return new String(client.recv(0));
+    }
+
+}
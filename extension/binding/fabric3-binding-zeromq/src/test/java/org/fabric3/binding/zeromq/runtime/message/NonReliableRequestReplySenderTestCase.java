@@ -0,0 +1,150 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import java.net.ServerSocket;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.binding.zeromq.model.ZeroMQMetadata;
+import org.fabric3.binding.zeromq.runtime.MessagingMonitor;
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+import org.fabric3.binding.zeromq.runtime.broker.SpecifiedPort;
+import org.fabric3.binding.zeromq.runtime.context.ContextManager;
+import org.fabric3.spi.container.invocation.WorkContext;
+import org.oasisopen.sca.ServiceUnavailableException;
+import org.zeromq.ZMQ;
+
+/**
+ *
+ */
+public class NonReliableRequestReplySenderTestCase extends TestCase {
+    private ZMQ.Context context;
+    private ContextManager manager;
+    private MessagingMonitor monitor;
+    private ExecutorService executorService;
+    private int port;
+
+    public void testEncodeDecode() throws Exception {
+        assertEquals(0, NonReliableRequestReplySender.decode(NonReliableRequestReplySender.encode(0)));
+        assertEquals(Long.MAX_VALUE, NonReliableRequestReplySender.decode(NonReliableRequestReplySender.encode(Long.MAX_VALUE)));
+        assertEquals(1234567890123L, NonReliableRequestReplySender.decode(NonReliableRequestReplySender.encode(1234567890123L)));
+        assertEquals(-1, NonReliableRequestReplySender.decode(new byte[4]));
+    }
+
+    public void testPipelinedOutOfOrderResponses() throws Exception {
+        CountDownLatch replied = new CountDownLatch(1);
+        ZMQ.Socket server = context.socket(ZMQ.XREP);
+        server.bind("tcp://127.0.0.1:" + port);
+
+        NonReliableRequestReplySender sender = createSender(new ZeroMQMetadata());
+        sender.start();
+
+        // the server only replies once both requests are received, demonstrating the second request was sent while the first was outstanding
+        Future<?> responder = executorService.submit(() -> {
+            byte[][] first = receive(server);
+            byte[][] second = receive(server);
+            reply(server, second);
+            reply(server, first);
+            replied.countDown();
+            return null;
+        });
+
+        Future<byte[]> response1 = executorService.submit(() -> sender.sendAndReply("one".getBytes(), 0, new WorkContext()));
+        Future<byte[]> response2 = executorService.submit(() -> sender.sendAndReply("two".getBytes(), 0, new WorkContext()));
+
+        assertEquals("one", new String(response1.get(10, TimeUnit.SECONDS)));
+        assertEquals("two", new String(response2.get(10, TimeUnit.SECONDS)));
+        assertTrue(replied.await(10, TimeUnit.SECONDS));
+        responder.get();
+
+        sender.stop();
+        server.close();
+    }
+
+    public void testRequestTimeout() throws Exception {
+        ZMQ.Socket server = context.socket(ZMQ.XREP);
+        server.bind("tcp://127.0.0.1:" + port);
+
+        ZeroMQMetadata metadata = new ZeroMQMetadata();
+        metadata.setRequestTimeout(200);
+        NonReliableRequestReplySender sender = createSender(metadata);
+        sender.start();
+
+        try {
+            sender.sendAndReply("one".getBytes(), 0, new WorkContext());
+            fail();
+        } catch (ServiceUnavailableException e) {
+            // expected
+        }
+
+        sender.stop();
+        server.close();
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        context = ZMQ.context(1);
+        manager = EasyMock.createNiceMock(ContextManager.class);
+        EasyMock.expect(manager.getContext()).andReturn(context).anyTimes();
+        EasyMock.expect(manager.createControlSocket()).andAnswer(() -> {
+            ZMQ.Socket socket = context.socket(ZMQ.PULL);
+            socket.bind("inproc://control" + System.nanoTime());
+            return socket;
+        }).anyTimes();
+        monitor = EasyMock.createNiceMock(MessagingMonitor.class);
+        EasyMock.replay(manager, monitor);
+
+        executorService = Executors.newCachedThreadPool();
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        executorService.shutdownNow();
+    }
+
+    private NonReliableRequestReplySender createSender(ZeroMQMetadata metadata) {
+        SocketAddress address = new SocketAddress("tcp", "127.0.0.1", new SpecifiedPort(port));
+        return new NonReliableRequestReplySender("test", manager, Collections.singletonList(address), metadata, monitor);
+    }
+
+    private byte[][] receive(ZMQ.Socket server) {
+        byte[] clientId = server.recv(0);
+        byte[] correlationId = server.recv(0);
+        byte[] payload = server.recv(0);
+        while (server.hasReceiveMore()) {
+            server.recv(0);
+        }
+        return new byte[][]{clientId, correlationId, payload};
+    }
+
+    private void reply(ZMQ.Socket server, byte[][] request) {
+        server.send(request[0], ZMQ.SNDMORE);
+        server.send(request[1], ZMQ.SNDMORE);
+        server.send(request[2], 0);
+    }
+
+}
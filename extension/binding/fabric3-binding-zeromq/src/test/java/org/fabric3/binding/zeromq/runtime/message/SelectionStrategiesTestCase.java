@@ -0,0 +1,143 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import junit.framework.TestCase;
+import org.fabric3.api.binding.zeromq.model.LoadBalancing;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.binding.zeromq.runtime.SocketAddress;
+import org.fabric3.binding.zeromq.runtime.broker.SpecifiedPort;
+
+/**
+ *
+ */
+public class SelectionStrategiesTestCase extends TestCase {
+    private EndpointStatistics[] endpoints;
+
+    public void testRoundRobin() throws Exception {
+        SelectionStrategy strategy = SelectionStrategies.create(null);
+        assertEquals(0, strategy.select(endpoints, 3));
+        assertEquals(1, strategy.select(endpoints, 3));
+        assertEquals(2, strategy.select(endpoints, 3));
+        assertEquals(0, strategy.select(endpoints, 3));
+    }
+
+    public void testLeastOutstanding() throws Exception {
+        endpoints[0].onSend();
+        endpoints[1].onSend();
+        SelectionStrategy strategy = SelectionStrategies.create(LoadBalancing.LEAST_OUTSTANDING);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(2, strategy.select(endpoints, 3));
+        }
+    }
+
+    public void testLatency() throws Exception {
+        endpoints[0].onSend();
+        endpoints[0].onResponse(1000);
+        endpoints[1].onSend();
+        endpoints[1].onResponse(100);
+        SelectionStrategy strategy = SelectionStrategies.create(LoadBalancing.LATENCY);
+
+        // endpoint without a recorded response is selected first
+        assertEquals(2, strategy.select(endpoints, 3));
+
+        endpoints[2].onSend();
+        endpoints[2].onResponse(10000);
+        assertEquals(1, strategy.select(endpoints, 3));
+
+        // outstanding requests increase the expected wait
+        for (int i = 0; i < 10; i++) {
+            endpoints[1].onSend();
+        }
+        assertEquals(0, strategy.select(endpoints, 3));
+    }
+
+    public void testPowerOfTwo() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            endpoints[0].onSend();
+        }
+        SelectionStrategy strategy = SelectionStrategies.create(LoadBalancing.POWER_OF_TWO);
+        for (int i = 0; i < 20; i++) {
+            // the busiest endpoint is never selected as it loses every comparison
+            assertTrue(strategy.select(endpoints, 3) != 0);
+        }
+        assertEquals(0, strategy.select(endpoints, 1));
+    }
+
+    public void testWeighted() throws Exception {
+        endpoints[0].getAddress().setWeight(3);
+        SelectionStrategy strategy = SelectionStrategies.create(LoadBalancing.WEIGHTED);
+        int[] counts = new int[3];
+        for (int i = 0; i < 50; i++) {
+            counts[strategy.select(endpoints, 3)]++;
+        }
+        assertEquals(30, counts[0]);
+        assertEquals(10, counts[1]);
+        assertEquals(10, counts[2]);
+    }
+
+    public void testWeightedResetsWhenCandidatesChange() throws Exception {
+        endpoints[0].getAddress().setWeight(3);
+        SelectionStrategy strategy = SelectionStrategies.create(LoadBalancing.WEIGHTED);
+        EndpointStatistics[] candidates = new EndpointStatistics[]{endpoints[0], endpoints[1]};
+        assertEquals(0, strategy.select(candidates, 2));
+
+        // the candidates array is reused with different contents; the running weights of the previous candidates must not carry over
+        candidates[0] = endpoints[2];
+        assertEquals(0, strategy.select(candidates, 2));
+    }
+
+    public void testEjection() throws Exception {
+        EndpointStatistics statistics = new EndpointStatistics(createAddress(1), 10000);
+        statistics.onSend();
+        statistics.onTimeout();
+        assertTrue(statistics.isEjected());
+        assertEquals(0, statistics.getOutstanding());
+        assertEquals(1, statistics.getTimeouts());
+
+        statistics.onSend();
+        statistics.onResponse(100);
+        assertFalse(statistics.isEjected());
+    }
+
+    public void testSupported() throws Exception {
+        assertTrue(LoadBalancing.isSupported(null));
+        assertTrue(LoadBalancing.isSupported(LoadBalancing.POWER_OF_TWO));
+        assertFalse(LoadBalancing.isSupported("unknown"));
+    }
+
+    public void testUnknownStrategy() throws Exception {
+        try {
+            SelectionStrategies.create("unknown");
+            fail();
+        } catch (Fabric3Exception e) {
+            // expected
+        }
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        endpoints = new EndpointStatistics[]{new EndpointStatistics(createAddress(1), 1000),
+                                             new EndpointStatistics(createAddress(2), 1000),
+                                             new EndpointStatistics(createAddress(3), 1000)};
+    }
+
+    private SocketAddress createAddress(int port) {
+        return new SocketAddress("tcp", "localhost", new SpecifiedPort(port));
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.binding.zeromq.runtime.message;
+
+import junit.framework.TestCase;
+import org.zeromq.ZMQ;
+
+/**
+ *
+ */
+public class WakeupSocketTestCase extends TestCase {
+    private ZMQ.Context context;
+    private WakeupSocket wakeup;
+    private ZMQ.Poller poller;
+
+    public void testSignalWakesPoller() throws Exception {
+        Thread thread = new Thread(wakeup::signal);
+        thread.start();
+        assertEquals(1, poller.poll(10000));
+        thread.join();
+    }
+
+    public void testSignalsCoalescedUntilReset() throws Exception {
+        wakeup.signal();
+        wakeup.signal();
+        assertEquals(1, poller.poll(10000));
+        wakeup.reset();
+        assertEquals(0, poller.poll(100));
+
+        wakeup.signal();
+        assertEquals(1, poller.poll(10000));
+    }
+
+    public void testSignalAfterClose() throws Exception {
+        wakeup.close();
+        wakeup.signal();
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        context = ZMQ.context(1);
+        wakeup = new WakeupSocket();
+        ZMQ.Socket socket = wakeup.open(context, "test");
+        poller = context.poller();
+        poller.register(socket, ZMQ.Poller.POLLIN);
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        wakeup.close();
+        context.term();
+    }
+}
@@ -19,6 +19,7 @@
 package org.fabric3.contribution.scanner.impl;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -66,9 +67,13 @@ import org.oasisopen.sca.annotation.Reference;
  * directory state with that of the previous pass. Detected changes and additions are cached for the following interval. Detected changes and additions from the
  * previous interval are then compared using a timestamp to see if they have changed again. If so, they remain cached. If they have not changed, they are
  * processed, contributed via the ContributionService, and deployed in the domain.
+ * <p>
+ * If watching is enabled (the default), directories are not polled. Instead, a {@link DirectoryWatcher} reports changed entries once they have been quiet for a
+ * configurable period and only those entries are evaluated. If the file system does not support watching, the scanner falls back to polling. On platforms where
+ * the JDK watch service itself polls, watching can be disabled with the <code>watch</code> property so the scanner's own polling interval is used.
  */
 @EagerInit
-public class ContributionDirectoryScanner implements Runnable, Fabric3EventListener {
+public class ContributionDirectoryScanner implements Runnable, Fabric3EventListener, DirectoryWatcher.Listener {
     private ContributionService contributionService;
     private FileSystemResourceFactoryRegistry registry;
     private EventService eventService;
@@ -77,8 +82,11 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
     private List<File> paths;
     private long delay = 2000;
     private boolean production = false;
+    private boolean watch = true;
+    private long quietPeriod = 500;
 
     private ScheduledExecutorService executor;
+    private DirectoryWatcher watcher;
     private Set<File> ignored = new HashSet<>();
     private Map<String, FileSystemResource> cache = new HashMap<>();
     List<URI> notSeen = new ArrayList<>(); // contributions added when the runtime was offline and hence not previously seen by the scanner
@@ -108,6 +116,16 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
         this.delay = delay;
     }
 
+    @Property(required = false)
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+
+    @Property(required = false)
+    public void setQuietPeriod(long quietPeriod) {
+        this.quietPeriod = quietPeriod;
+    }
+
     @SuppressWarnings({"unchecked"})
     @Init
     public void init() {
@@ -120,6 +138,9 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
 
     @Destroy
     public void destroy() {
+        if (watcher != null) {
+            watcher.close();
+        }
         if (executor != null) {
             executor.shutdownNow();
         }
@@ -138,7 +159,7 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
                     Collections.addAll(files, pathFiles);
                 }
             }
-            processFiles(files, true);
+            processFiles(files, true, true);
         } else if (event instanceof RuntimeStart) {
             try {
                 domain.include(notSeen);
@@ -148,12 +169,78 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
             notSeen.clear();
             if (!production) {
                 executor = Executors.newSingleThreadScheduledExecutor();
-                executor.scheduleWithFixedDelay(this, 10, delay, TimeUnit.MILLISECONDS);
+                if (watch && openWatcher()) {
+                    // pick up changes made before the watcher was registered
+                    executor.execute(this::onOverflow);
+                    executor.execute(watcher);
+                } else {
+                    executor.scheduleWithFixedDelay(this, 10, delay, TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+    }
+
+    public void run() {
+        scan(false);
+    }
+
+    public synchronized void onChange(Set<File> entries) {
+        List<File> files = new ArrayList<>();
+        Set<String> removed = new HashSet<>();
+        for (File entry : entries) {
+            if (entry.exists()) {
+                files.add(entry);
+            } else {
+                removed.add(entry.getName());
+                ignored.remove(entry);
+            }
+        }
+        try {
+            processRemovedNames(removed);
+            if (!files.isEmpty()) {
+                // events are reported after a quiet period, so changes are complete and can be processed in a single pass
+                processFiles(files, false, true);
+            }
+        } catch (RuntimeException e) {
+            monitor.error(e);
+        } catch (Error e) {
+            monitor.error(e);
+            throw e;
+        }
+    }
+
+    public void onOverflow() {
+        scan(true);
+    }
+
+    /**
+     * Opens the directory watcher.
+     *
+     * @return true if the watcher was opened; false if the deployment directories must be polled
+     */
+    private boolean openWatcher() {
+        if (paths == null) {
+            return false;
+        }
+        watcher = new DirectoryWatcher(paths, quietPeriod, delay, this);
+        try {
+            if (watcher.open()) {
+                return true;
             }
+        } catch (IOException e) {
+            monitor.error(e);
         }
+        watcher = null;
+        monitor.polling(delay);
+        return false;
     }
 
-    public synchronized void run() {
+    /**
+     * Scans the full contents of the deployment directories.
+     *
+     * @param settled true if detected changes are known to be complete and can be processed without waiting for a subsequent pass
+     */
+    private synchronized void scan(boolean settled) {
         if (paths == null) {
             return;
         }
@@ -174,7 +261,7 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
             return;
         }
         try {
-            processFiles(files, false);
+            processFiles(files, false, settled);
             processIgnored();
         } catch (RuntimeException e) {
             monitor.error(e);
@@ -189,8 +276,9 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
      *
      * @param files   the files in the deployment directories
      * @param recover true if processing is performed during recovery
+     * @param settled true if the files are not being modified and can be processed without waiting for a subsequent pass
      */
-    private synchronized void processFiles(List<File> files, boolean recover) {
+    private synchronized void processFiles(List<File> files, boolean recover, boolean settled) {
         for (File file : files) {
             String name = file.getName();
             FileSystemResource cached = cache.get(name);
@@ -208,6 +296,9 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
                 if (recover) {
                     // recover, do not wait to install
                     cached.setState(FileSystemResourceState.ADDED);
+                } else if (settled) {
+                    ignored.remove(file);
+                    cached.setState(FileSystemResourceState.ADDED);
                 } else {
                     // file may have been ignored previously as it was incomplete such as missing a manifest; remove it from the ignored list
                     ignored.remove(file);
@@ -217,14 +308,14 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
                 if (cached.getState() == FileSystemResourceState.ERROR) {
                     if (cached.isChanged()) {
                         // file has changed since the error was reported, set to detected
-                        cached.setState(FileSystemResourceState.DETECTED);
+                        cached.setState(settled ? FileSystemResourceState.ADDED : FileSystemResourceState.DETECTED);
                         cached.checkpoint();
                     } else {
                         // corrupt file from a previous run, continue
                         continue;
                     }
                 } else if (cached.getState() == FileSystemResourceState.DETECTED) {
-                    if (cached.isChanged()) {
+                    if (cached.isChanged() && !settled) {
                         // updates may still be pending, wait until the next pass
                         continue;
                     } else {
@@ -393,32 +484,42 @@ public class ContributionDirectoryScanner implements Runnable, Fabric3EventListe
      * @param files the current contents of the deployment directories
      */
     private synchronized void processRemovals(List<File> files) {
-        Map<String, File> index = new HashMap<>(files.size());
+        Set<String> index = new HashSet<>(files.size());
         for (File file : files) {
-            index.put(file.getName(), file);
+            index.add(file.getName());
         }
+        Set<String> removed = new HashSet<>();
+        for (String name : cache.keySet()) {
+            if (!index.contains(name)) {
+                removed.add(name);
+            }
+        }
+        processRemovedNames(removed);
+    }
 
-        for (Iterator<FileSystemResource> iterator = cache.values().iterator(); iterator.hasNext(); ) {
-            FileSystemResource entry = iterator.next();
-            String name = entry.getName();
-
+    /**
+     * Undeploys the contributions for removed resources.
+     *
+     * @param names the names of the removed resources
+     */
+    private synchronized void processRemovedNames(Set<String> names) {
+        for (String name : names) {
+            if (cache.remove(name) == null) {
+                continue;
+            }
             URI uri = URI.create(name);
-            if (index.get(name) == null) {
-                // artifact was removed
-                try {
-                    // track the removal
-                    tracked.remove(name);
-                    iterator.remove();
-                    // check that the resource was not deleted by another process
-                    if (contributionService.exists(uri)) {
-                        domain.undeploy(uri);
-                        contributionService.uninstall(uri);
-                        contributionService.remove(uri);
-                    }
-                    monitor.removed(name);
-                } catch (Fabric3Exception e) {
-                    monitor.removalError(name, e);
+            try {
+                // track the removal
+                tracked.remove(name);
+                // check that the resource was not deleted by another process
+                if (contributionService.exists(uri)) {
+                    domain.undeploy(uri);
+                    contributionService.uninstall(uri);
+                    contributionService.remove(uri);
                 }
+                monitor.removed(name);
+            } catch (Fabric3Exception e) {
+                monitor.removalError(name, e);
             }
         }
     }
@@ -0,0 +1,261 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.contribution.scanner.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches deployment directories using the file system {@link WatchService}. Directories nested in deployment directories, such as exploded contributions,
+ * are watched recursively. Events are coalesced by deployment directory entry and reported once no further events have been received during a quiet period so
+ * that files which are still being copied are not reported until complete.
+ * <p>
+ * Deployment directories that do not exist when the watcher is opened, or that are removed while it is running, are checked at a fixed interval and
+ * registered once they appear. The listener is then notified of an overflow so the new directory contents are scanned.
+ */
+public class DirectoryWatcher implements Runnable {
+
+    /**
+     * Receives coalesced change notifications.
+     */
+    public interface Listener {
+
+        /**
+         * Called when entries in a deployment directory were added, modified, or removed.
+         *
+         * @param entries the changed top-level deployment directory entries
+         */
+        void onChange(Set<File> entries);
+
+        /**
+         * Called when events were lost and the deployment directories must be rescanned.
+         */
+        void onOverflow();
+
+    }
+
+    private List<File> paths;
+    private long quietPeriod;
+    private long checkInterval;
+    private Listener listener;
+
+    private WatchService watchService;
+    // the watched directory for each key and the deployment directory containing it
+    private Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private Map<WatchKey, Path> roots = new ConcurrentHashMap<>();
+    // deployment directories that do not currently exist
+    private Set<Path> missing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor.
+     *
+     * @param paths       the deployment directories
+     * @param quietPeriod   the time in milliseconds without events after which coalesced changes are reported
+     * @param checkInterval the interval in milliseconds at which missing deployment directories are checked
+     * @param listener      the listener to notify
+     */
+    public DirectoryWatcher(List<File> paths, long quietPeriod, long checkInterval, Listener listener) {
+        this.paths = paths;
+        this.quietPeriod = quietPeriod;
+        this.checkInterval = checkInterval;
+        this.listener = listener;
+    }
+
+    /**
+     * Registers the deployment directories with the watch service.
+     *
+     * @return true if the file system supports watching; false if the watcher was not opened and deployment directories must be polled
+     * @throws IOException if a directory cannot be registered
+     */
+    public boolean open() throws IOException {
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+        try {
+            for (File path : paths) {
+                Path root = path.toPath();
+                if (path.isDirectory()) {
+                    registerTree(root, root);
+                } else {
+                    missing.add(root);
+                }
+            }
+        } catch (UnsupportedOperationException e) {
+            close();
+            return false;
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Closes the watcher, causing {@link #run()} to return.
+     */
+    public void close() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // ignore
+        }
+        directories.clear();
+        roots.clear();
+        missing.clear();
+    }
+
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = missing.isEmpty() ? watchService.take() : watchService.poll(checkInterval, TimeUnit.MILLISECONDS);
+                if (key == null) {
+                    if (registerMissing()) {
+                        listener.onOverflow();
+                    }
+                    continue;
+                }
+                Set<File> changed = new LinkedHashSet<>();
+                boolean overflow = false;
+                // coalesce events until the directories have been quiet for the configured period
+                while (key != null) {
+                    overflow |= process(key, changed);
+                    key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+                }
+                if (overflow) {
+                    listener.onOverflow();
+                } else if (!changed.isEmpty()) {
+                    listener.onChange(changed);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed, exit
+        }
+    }
+
+    /**
+     * Records the top-level entries affected by the events of a key.
+     *
+     * @param key     the key
+     * @param changed the collected top-level entries
+     * @return true if events were lost
+     */
+    private boolean process(WatchKey key, Set<File> changed) {
+        Path directory = directories.get(key);
+        Path root = roots.get(key);
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                overflow = true;
+                continue;
+            }
+            if (directory == null) {
+                continue;
+            }
+            Path child = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(child, LinkOption.NOFOLLOW_LINKS)) {
+                try {
+                    registerTree(child, root);
+                } catch (IOException e) {
+                    // the directory was removed before it could be registered
+                }
+            }
+            Path relative = root.relativize(child);
+            if (relative.getNameCount() > 0) {
+                changed.add(root.resolve(relative.getName(0)).toFile());
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+            roots.remove(key);
+            if (root != null && root.equals(directory)) {
+                // the deployment directory was removed, watch for it to be recreated
+                missing.add(root);
+            }
+        }
+        return overflow;
+    }
+
+    /**
+     * Registers missing deployment directories that have since been created.
+     *
+     * @return true if a directory was registered
+     */
+    private boolean registerMissing() {
+        boolean registered = false;
+        for (Path root : missing) {
+            if (!Files.isDirectory(root)) {
+                continue;
+            }
+            try {
+                registerTree(root, root);
+                missing.remove(root);
+                registered = true;
+            } catch (IOException e) {
+                // the directory was removed before it could be registered, try again on the next check
+            }
+        }
+        return registered;
+    }
+
+    /**
+     * Registers a directory and its subdirectories.
+     *
+     * @param start the directory
+     * @param root  the deployment directory containing the directory
+     * @throws IOException if there is an error registering
+     */
+    private void registerTree(Path start, Path root) throws IOException {
+        Files.walkFileTree(start, new SimpleFileVisitor<Path>() {
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+                directories.put(key, dir);
+                roots.put(key, root);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+}
@@ -42,6 +42,14 @@ public interface ScannerMonitor {
     @Info("Removed {0}")
     void removed(String name);
 
+    /**
+     * Called when deployment directories cannot be watched and are polled instead.
+     *
+     * @param delay the polling interval in milliseconds
+     */
+    @Info("File system change notification not available. Polling deployment directories every {0} ms")
+    void polling(long delay);
+
     /**
      * Called when a file type is not recognized and ignored.
      *
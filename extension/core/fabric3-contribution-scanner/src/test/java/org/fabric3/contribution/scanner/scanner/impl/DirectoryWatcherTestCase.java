@@ -0,0 +1,123 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.contribution.scanner.scanner.impl;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import junit.framework.TestCase;
+import org.fabric3.contribution.scanner.impl.DirectoryWatcher;
+
+/**
+ *
+ */
+public class DirectoryWatcherTestCase extends TestCase {
+    private File directory;
+    private DirectoryWatcher watcher;
+    private BlockingQueue<Set<File>> changes;
+    private BlockingQueue<Boolean> overflows;
+    private Thread thread;
+
+    public void testCoalescesChangesToTopLevelEntry() throws Exception {
+        if (!watcher.open()) {
+            // native change notification is not available on this platform
+            return;
+        }
+        thread.start();
+
+        File exploded = new File(directory, "exploded");
+        File nested = new File(exploded, "META-INF");
+        assertTrue(nested.mkdirs());
+        Files.write(new File(nested, "sca-contribution.xml").toPath(), "<contribution/>".getBytes());
+        Files.write(new File(directory, "test.jar").toPath(), new byte[]{1});
+
+        Set<File> changed = changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(changed);
+        while (changed.size() < 2) {
+            Set<File> next = changes.poll(10, TimeUnit.SECONDS);
+            assertNotNull(next);
+            changed.addAll(next);
+        }
+        assertTrue(changed.contains(exploded));
+        assertTrue(changed.contains(new File(directory, "test.jar")));
+    }
+
+    public void testRegistersDirectoryCreatedAfterOpen() throws Exception {
+        File missing = new File(directory, "missing");
+        watcher.close();
+        watcher = createWatcher(missing);
+        if (!watcher.open()) {
+            // native change notification is not available on this platform
+            return;
+        }
+        thread = new Thread(watcher);
+        thread.start();
+
+        assertTrue(missing.mkdirs());
+        // the directory is registered and a rescan requested
+        assertNotNull(overflows.poll(10, TimeUnit.SECONDS));
+
+        Files.write(new File(missing, "test.jar").toPath(), new byte[]{1});
+        Set<File> changed = changes.poll(10, TimeUnit.SECONDS);
+        assertNotNull(changed);
+        assertTrue(changed.contains(new File(missing, "test.jar")));
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("deploy").toFile();
+        changes = new LinkedBlockingQueue<>();
+        overflows = new LinkedBlockingQueue<>();
+        watcher = createWatcher(directory);
+        thread = new Thread(watcher);
+    }
+
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        watcher.close();
+        thread.interrupt();
+        delete(directory);
+    }
+
+    private DirectoryWatcher createWatcher(File path) {
+        return new DirectoryWatcher(Collections.singletonList(path), 100, 50, new DirectoryWatcher.Listener() {
+            public void onChange(Set<File> entries) {
+                changes.add(entries);
+            }
+
+            public void onOverflow() {
+                overflows.add(Boolean.TRUE);
+            }
+        });
+    }
+
+    private void delete(File file) {
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
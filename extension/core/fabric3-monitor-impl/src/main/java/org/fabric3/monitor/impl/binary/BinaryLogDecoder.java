@@ -0,0 +1,107 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.fabric3.monitor.impl.common.MonitorConstants;
+import org.fabric3.monitor.impl.writer.EventWriterImpl;
+import org.fabric3.monitor.spi.buffer.ResizableByteBuffer;
+import org.fabric3.monitor.spi.event.MonitorEventEntry;
+import org.fabric3.monitor.spi.writer.EventWriter;
+
+/**
+ * Renders events in a binary log as text using an {@link EventWriter}, producing the same output as a text destination.
+ *
+ * Can be run from the command line to print a log or, with {@code -f}, to print a log and continue printing events as they are written:
+ * <pre>
+ * java org.fabric3.monitor.impl.binary.BinaryLogDecoder [-f] &lt;directory&gt; &lt;name&gt;
+ * </pre>
+ */
+public class BinaryLogDecoder {
+    private static final byte[] NEWLINE = "\n".getBytes();
+    private static final long FOLLOW_INTERVAL = 200;
+
+    private EventWriter eventWriter;
+    private MonitorEventEntry entry;
+    private byte[] bytes = new byte[MonitorConstants.DEFAULT_BUFFER_CAPACITY];
+
+    public BinaryLogDecoder(EventWriter eventWriter) {
+        this.eventWriter = eventWriter;
+        this.entry = new MonitorEventEntry(MonitorConstants.DEFAULT_BUFFER_CAPACITY, () -> {
+        });
+    }
+
+    /**
+     * Writes the events currently available from the reader to the stream.
+     *
+     * @param reader the reader
+     * @param out    the stream
+     * @return the number of events written
+     * @throws IOException if there is an error reading the log or writing to the stream
+     */
+    public int decode(BinaryLogReader reader, OutputStream out) throws IOException {
+        int count = 0;
+        while (reader.next(entry)) {
+            ResizableByteBuffer buffer = entry.getBuffer();
+            buffer.clear();
+            eventWriter.writePrefix(entry.getLevel(), entry.getEntryTimestamp(), buffer);
+            eventWriter.writeTemplate(entry);
+            buffer.put(NEWLINE);
+
+            // the underlying buffer may have been replaced if it was resized
+            ByteBuffer byteBuffer = buffer.getByteBuffer();
+            byteBuffer.flip();
+            int written = byteBuffer.remaining();
+            if (bytes.length < written) {
+                bytes = new byte[written];
+            }
+            byteBuffer.get(bytes, 0, written);
+            out.write(bytes, 0, written);
+            count++;
+        }
+        return count;
+    }
+
+    public static void main(String... args) throws IOException, InterruptedException {
+        boolean follow = args.length == 3 && "-f".equals(args[0]);
+        if (args.length != 2 && !follow) {
+            System.err.println("Usage: BinaryLogDecoder [-f] <directory> <name>");
+            System.exit(1);
+        }
+        File directory = new File(args[args.length - 2]);
+        String name = args[args.length - 1];
+
+        EventWriterImpl eventWriter = new EventWriterImpl(type -> System.err.println("Unknown timestamp type: " + type));
+        eventWriter.init();
+        BinaryLogDecoder decoder = new BinaryLogDecoder(eventWriter);
+        BinaryLogReader reader = new BinaryLogReader(directory, name);
+
+        decoder.decode(reader, System.out);
+        System.out.flush();
+        while (follow) {
+            Thread.sleep(FOLLOW_INTERVAL);
+            if (decoder.decode(reader, System.out) > 0) {
+                System.out.flush();
+            }
+        }
+    }
+
+}
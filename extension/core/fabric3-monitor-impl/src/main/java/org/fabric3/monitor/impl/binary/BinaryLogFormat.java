@@ -0,0 +1,89 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.binary;
+
+/**
+ * Constants for the binary event log format.
+ *
+ * A log is a sequence of segment files named {@code <name>.<index>.f3log}. Each segment starts with a header containing {@link #MAGIC} and {@link #VERSION},
+ * followed by records of the form {@code [type:1][length:4][body:length]}. The type byte of a record is written after its body so that a reader following the
+ * log never observes a partially written record; a type of {@link #END} indicates no further data has been written.
+ *
+ * Record bodies are:
+ * <pre>
+ * TEMPLATE: [id:4][UTF-8 text]
+ * EVENT:    [level:1][parse:1][timestamp millis:8][timestamp nanos:8][template id:4][parameter count:1][parameters]
+ * ROLL:     no body; the log continues in the segment with the next index
+ * </pre>
+ * A template id of -1 indicates the event has no template. Parameters are encoded as the {@link org.fabric3.monitor.spi.event.ParameterEntry.Slot} ordinal
+ * followed by the value. Object values are encoded as {@code [kind:1][length:4][UTF-8 text]}, where kind is one of {@link #OBJECT_NULL}, {@link
+ * #OBJECT_STRING} or {@link #OBJECT_THROWABLE}.
+ *
+ * Templates are written once per segment before the first event that references them so that each segment can be decoded independently.
+ */
+public interface BinaryLogFormat {
+
+    int MAGIC = 0xF30B1065;
+
+    int VERSION = 1;
+
+    int HEADER_SIZE = 8;
+
+    String EXTENSION = ".f3log";
+
+    byte END = 0;
+
+    byte TEMPLATE = 1;
+
+    byte EVENT = 2;
+
+    byte ROLL = 3;
+
+    int RECORD_HEADER_SIZE = 5;
+
+    byte OBJECT_NULL = 0;
+
+    byte OBJECT_STRING = 1;
+
+    byte OBJECT_THROWABLE = 2;
+
+    /**
+     * The maximum number of parameters recorded for an event.
+     */
+    int MAX_PARAMETERS = 10;
+
+    /**
+     * The maximum number of bytes recorded for an object parameter. Longer values are truncated.
+     */
+    int MAX_OBJECT_SIZE = 64 * 1024;
+
+    /**
+     * The maximum number of interned templates. When exceeded, template ids are reassigned.
+     */
+    int MAX_TEMPLATES = 64 * 1024;
+
+    /**
+     * Default segment size in bytes.
+     */
+    long DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Default number of segments to retain.
+     */
+    int DEFAULT_SEGMENTS = 10;
+
+}
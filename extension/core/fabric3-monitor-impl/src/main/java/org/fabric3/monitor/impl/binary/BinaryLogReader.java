@@ -0,0 +1,218 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.monitor.spi.event.MonitorEventEntry;
+import org.fabric3.monitor.spi.event.ParameterEntry;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.END;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.EVENT;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.HEADER_SIZE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.MAGIC;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.OBJECT_NULL;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.OBJECT_THROWABLE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.RECORD_HEADER_SIZE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.ROLL;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.TEMPLATE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.VERSION;
+
+/**
+ * Reads events from a binary log written by {@link BinaryLogWriter}, starting with the oldest retained segment.
+ *
+ * {@link #next(MonitorEventEntry)} returns false when no further events are available. Since segments are read through a shared mapping, a reader may be
+ * called again later to receive events appended by a running writer.
+ */
+public class BinaryLogReader {
+    private static final MonitorLevel[] LEVELS = MonitorLevel.values();
+    private static final ParameterEntry.Slot[] SLOTS = ParameterEntry.Slot.values();
+
+    private File directory;
+    private String name;
+
+    private Map<Integer, String> templates = new HashMap<>();
+    private MappedByteBuffer segment;
+    private long segmentIndex = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param directory the log directory
+     * @param name      the log name
+     */
+    public BinaryLogReader(File directory, String name) {
+        this.directory = directory;
+        this.name = name;
+    }
+
+    /**
+     * Reads the next event into the entry.
+     *
+     * @param entry the entry to populate
+     * @return true if an event was read, false if no further events are currently available
+     * @throws IOException if the log cannot be read or is corrupt
+     */
+    public boolean next(MonitorEventEntry entry) throws IOException {
+        while (true) {
+            if (segment == null && !openNext()) {
+                return false;
+            }
+            int start = segment.position();
+            byte type = segment.remaining() < RECORD_HEADER_SIZE ? END : segment.get(start);
+            if (type == END) {
+                // a later segment indicates the writer was restarted without rolling the current one
+                if (!openNext()) {
+                    return false;
+                }
+                continue;
+            } else if (type == ROLL) {
+                if (!openNext()) {
+                    return false;
+                }
+                continue;
+            }
+            int length = segment.getInt(start + 1);
+            int bodyStart = start + RECORD_HEADER_SIZE;
+            if (length < 0 || bodyStart + length > segment.limit()) {
+                throw new IOException("Invalid record length in segment " + segmentIndex + " at position " + start);
+            }
+            segment.position(bodyStart);
+            if (type == TEMPLATE) {
+                int id = segment.getInt();
+                templates.put(id, readString(length - 4));
+            } else if (type == EVENT) {
+                readEvent(entry);
+                segment.position(bodyStart + length);
+                return true;
+            } else {
+                throw new IOException("Invalid record type " + type + " in segment " + segmentIndex + " at position " + start);
+            }
+            segment.position(bodyStart + length);
+        }
+    }
+
+    private void readEvent(MonitorEventEntry entry) {
+        entry.setLevel(LEVELS[segment.get()]);
+        entry.setParse(segment.get() == 1);
+        entry.setEntryTimestamp(segment.getLong());
+        entry.setTimestampNanos(segment.getLong());
+        int templateId = segment.getInt();
+        entry.setTemplate(templateId < 0 ? null : templates.get(templateId));
+        ParameterEntry[] entries = entry.getEntries();
+        int count = Math.min(segment.get() & 0xFF, entries.length);
+        for (int i = 0; i < count; i++) {
+            readParameter(entries[i]);
+        }
+        entry.setLimit(count);
+    }
+
+    private void readParameter(ParameterEntry entry) {
+        ParameterEntry.Slot slot = SLOTS[segment.get()];
+        switch (slot) {
+            case SHORT:
+                entry.setShortValue(segment.getShort());
+                break;
+            case INT:
+                entry.setIntValue(segment.getInt());
+                break;
+            case LONG:
+                entry.setLongValue(segment.getLong());
+                break;
+            case DOUBLE:
+                entry.setDoubleValue(segment.getDouble());
+                break;
+            case FLOAT:
+                entry.setFloatValue(segment.getFloat());
+                break;
+            case CHAR:
+                entry.setCharValue(segment.getChar());
+                break;
+            case BOOLEAN:
+                entry.setBooleanValue(segment.get() == 1);
+                break;
+            case BYTE:
+                entry.setByteValue(segment.get());
+                break;
+            case OBJECT:
+                byte kind = segment.get();
+                if (kind == OBJECT_NULL) {
+                    entry.setObjectValue(null);
+                    break;
+                }
+                String text = readString(segment.getInt());
+                entry.setObjectValue(kind == OBJECT_THROWABLE ? new RecordedThrowable(text) : text);
+                break;
+            case NONE:
+                entry.reset();
+                break;
+        }
+    }
+
+    private String readString(int length) {
+        byte[] bytes = new byte[length];
+        segment.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens the segment following the current one.
+     *
+     * @return true if the segment was opened, false if it does not exist yet
+     * @throws IOException if the segment cannot be read
+     */
+    private boolean openNext() throws IOException {
+        List<File> files = Segments.list(directory, name);
+        for (File file : files) {
+            long index = Segments.getIndex(file, name);
+            if (index <= segmentIndex) {
+                continue;
+            }
+            if (file.length() < HEADER_SIZE) {
+                // the segment is being created
+                return false;
+            }
+            MappedByteBuffer mapped;
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r"); FileChannel channel = randomAccessFile.getChannel()) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            int magic = mapped.getInt();
+            int version = mapped.getInt();
+            if (magic == 0 && version == 0) {
+                // the header has not been written yet
+                return false;
+            }
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("Not a binary log segment or unsupported version: " + file);
+            }
+            segment = mapped;
+            segmentIndex = index;
+            templates.clear();
+            return true;
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,354 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.binary;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.RandomAccessFile;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.monitor.spi.event.MonitorEventEntry;
+import org.fabric3.monitor.spi.event.ParameterEntry;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.EVENT;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.HEADER_SIZE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.MAGIC;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.MAX_OBJECT_SIZE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.MAX_PARAMETERS;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.MAX_TEMPLATES;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.OBJECT_NULL;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.OBJECT_STRING;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.OBJECT_THROWABLE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.RECORD_HEADER_SIZE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.ROLL;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.TEMPLATE;
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.VERSION;
+
+/**
+ * Appends events to a binary log using the format described by {@link BinaryLogFormat}.
+ *
+ * Events are encoded into a reusable buffer and copied to the current memory-mapped segment. When a segment is full, a roll marker is written and a new segment
+ * is created with the next index; the oldest segments are deleted so that no more than the configured number are retained. A new segment is always started
+ * when the writer is opened.
+ *
+ * This class is not thread-safe.
+ */
+public class BinaryLogWriter {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private File directory;
+    private String name;
+    private long segmentSize;
+    private int segments;
+
+    private ByteBuffer scratch = ByteBuffer.allocate(INITIAL_CAPACITY);
+    private Map<String, Template> templates = new HashMap<>();
+    private int nextTemplateId;
+
+    private LinkedList<File> files = new LinkedList<>();
+    private MappedByteBuffer segment;
+    private long segmentIndex = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param directory   the directory to write segments to
+     * @param name        the log name
+     * @param segmentSize the segment size in bytes
+     * @param segments    the number of segments to retain
+     */
+    public BinaryLogWriter(File directory, String name, long segmentSize, int segments) {
+        if (segmentSize > Integer.MAX_VALUE || segmentSize <= HEADER_SIZE + RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Invalid segment size: " + segmentSize);
+        }
+        this.directory = directory;
+        this.name = name;
+        this.segmentSize = segmentSize;
+        this.segments = segments;
+    }
+
+    /**
+     * Opens the log, starting a new segment after any existing ones.
+     *
+     * @throws IOException if the segment cannot be created
+     */
+    public void open() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create log directory: " + directory);
+        }
+        files.addAll(Segments.list(directory, name));
+        if (!files.isEmpty()) {
+            segmentIndex = Segments.getIndex(files.getLast(), name);
+        }
+        openSegment();
+    }
+
+    /**
+     * Flushes and closes the current segment.
+     */
+    public void close() {
+        if (segment != null) {
+            segment.force();
+            segment = null;
+        }
+        files.clear();
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param entry the event
+     * @return true if the event was written, false if the event is larger than a segment
+     * @throws IOException if a new segment cannot be created
+     */
+    public boolean write(MonitorEventEntry entry) throws IOException {
+        Template template = intern(entry.getTemplate());
+        int count = Math.min(entry.getLimit(), MAX_PARAMETERS);
+
+        scratch.clear();
+        writeEventHeader(entry.getLevel(), entry.isParse(), entry.getEntryTimestamp(), entry.getTimestampNanos(), template, count);
+        ParameterEntry[] entries = entry.getEntries();
+        for (int i = 0; i < count; i++) {
+            writeParameter(entries[i]);
+        }
+        return append(template);
+    }
+
+    /**
+     * Appends an event.
+     *
+     * @param level     the level
+     * @param timestamp the timestamp in milliseconds
+     * @param template  the template
+     * @param args      the parameters
+     * @return true if the event was written, false if the event is larger than a segment
+     * @throws IOException if a new segment cannot be created
+     */
+    public boolean write(MonitorLevel level, long timestamp, String template, Object[] args) throws IOException {
+        Template interned = intern(template);
+        int count = args == null ? 0 : Math.min(args.length, MAX_PARAMETERS);
+
+        scratch.clear();
+        writeEventHeader(level, count > 0, timestamp, 0, interned, count);
+        for (int i = 0; i < count; i++) {
+            writeParameter(args[i]);
+        }
+        return append(interned);
+    }
+
+    private void writeEventHeader(MonitorLevel level, boolean parse, long timestamp, long nanos, Template template, int count) {
+        scratch.put((byte) level.ordinal());
+        scratch.put((byte) (parse ? 1 : 0));
+        scratch.putLong(timestamp);
+        scratch.putLong(nanos);
+        scratch.putInt(template == null ? -1 : template.id);
+        scratch.put((byte) count);
+    }
+
+    private void writeParameter(ParameterEntry entry) {
+        ParameterEntry.Slot slot = entry.getSlot();
+        ensureCapacity(9);
+        scratch.put((byte) slot.ordinal());
+        switch (slot) {
+            case SHORT:
+                scratch.putShort(entry.getShortValue());
+                break;
+            case INT:
+                scratch.putInt(entry.getIntValue());
+                break;
+            case LONG:
+                scratch.putLong(entry.getLongValue());
+                break;
+            case DOUBLE:
+                scratch.putDouble(entry.getDoubleValue());
+                break;
+            case FLOAT:
+                scratch.putFloat(entry.getFloatValue());
+                break;
+            case CHAR:
+                scratch.putChar(entry.getCharValue());
+                break;
+            case BOOLEAN:
+                scratch.put((byte) (entry.getBooleanValue() ? 1 : 0));
+                break;
+            case BYTE:
+                scratch.put(entry.getByteValue());
+                break;
+            case OBJECT:
+                writeObject(entry.getObjectValue(Object.class));
+                break;
+            case NONE:
+                break;
+        }
+    }
+
+    private void writeParameter(Object arg) {
+        ensureCapacity(9);
+        if (arg instanceof Long) {
+            scratch.put((byte) ParameterEntry.Slot.LONG.ordinal());
+            scratch.putLong((Long) arg);
+        } else if (arg instanceof Integer) {
+            scratch.put((byte) ParameterEntry.Slot.INT.ordinal());
+            scratch.putInt((Integer) arg);
+        } else if (arg instanceof Double) {
+            scratch.put((byte) ParameterEntry.Slot.DOUBLE.ordinal());
+            scratch.putDouble((Double) arg);
+        } else if (arg instanceof Boolean) {
+            scratch.put((byte) ParameterEntry.Slot.BOOLEAN.ordinal());
+            scratch.put((byte) ((Boolean) arg ? 1 : 0));
+        } else {
+            scratch.put((byte) ParameterEntry.Slot.OBJECT.ordinal());
+            writeObject(arg);
+        }
+    }
+
+    private void writeObject(Object value) {
+        if (value == null) {
+            scratch.put(OBJECT_NULL);
+            return;
+        }
+        byte kind;
+        String text;
+        if (value instanceof Throwable) {
+            StringWriter writer = new StringWriter();
+            ((Throwable) value).printStackTrace(new PrintWriter(writer));
+            kind = OBJECT_THROWABLE;
+            text = writer.toString();
+        } else {
+            kind = OBJECT_STRING;
+            text = value.toString();
+        }
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_OBJECT_SIZE);
+        ensureCapacity(5 + length);
+        scratch.put(kind);
+        scratch.putInt(length);
+        scratch.put(bytes, 0, length);
+    }
+
+    private void ensureCapacity(int size) {
+        if (scratch.remaining() >= size) {
+            return;
+        }
+        ByteBuffer resized = ByteBuffer.allocate(Math.max(scratch.capacity() * 2, scratch.position() + size));
+        scratch.flip();
+        resized.put(scratch);
+        scratch = resized;
+    }
+
+    private Template intern(String text) {
+        if (text == null) {
+            return null;
+        }
+        Template template = templates.get(text);
+        if (template == null) {
+            if (templates.size() >= MAX_TEMPLATES) {
+                // reassign ids; templates are re-written before they are next referenced
+                templates.clear();
+                nextTemplateId = 0;
+            }
+            template = new Template(nextTemplateId++, text.getBytes(StandardCharsets.UTF_8));
+            templates.put(text, template);
+        }
+        return template;
+    }
+
+    /**
+     * Copies the encoded event to the current segment, preceded by the template record if it has not been written to the segment.
+     *
+     * @param template the event template or null
+     * @return true if the event was written
+     * @throws IOException if a new segment cannot be created
+     */
+    private boolean append(Template template) throws IOException {
+        int length = scratch.position();
+        int required = RECORD_HEADER_SIZE + length + 1;  // reserve space for the roll marker
+        int templateSize = template == null ? 0 : RECORD_HEADER_SIZE + 4 + template.text.length;
+        if (required + templateSize > segmentSize - HEADER_SIZE) {
+            return false;
+        }
+        if (template != null && template.segment != segmentIndex) {
+            required = required + templateSize;
+        }
+        if (segment.remaining() < required) {
+            roll();
+        }
+        if (template != null && template.segment != segmentIndex) {
+            int start = segment.position();
+            segment.position(start + 1);
+            segment.putInt(4 + template.text.length);
+            segment.putInt(template.id);
+            segment.put(template.text);
+            segment.put(start, TEMPLATE);
+            template.segment = segmentIndex;
+        }
+        int start = segment.position();
+        segment.position(start + 1);
+        segment.putInt(length);
+        scratch.flip();
+        segment.put(scratch);
+        segment.put(start, EVENT);
+        return true;
+    }
+
+    private void roll() throws IOException {
+        segment.put(segment.position(), ROLL);
+        segment = null;
+        openSegment();
+    }
+
+    private void openSegment() throws IOException {
+        segmentIndex++;
+        File file = Segments.getFile(directory, name, segmentIndex);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw"); FileChannel channel = randomAccessFile.getChannel()) {
+            // the mapping remains valid after the channel is closed
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+        segment.putInt(MAGIC);
+        segment.putInt(VERSION);
+        files.add(file);
+        while (files.size() > segments) {
+            File oldest = files.removeFirst();
+            if (!oldest.delete()) {
+                oldest.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * An interned template.
+     */
+    private static class Template {
+        private int id;
+        private byte[] text;
+        private long segment = -1;
+
+        public Template(int id, byte[] text) {
+            this.id = id;
+            this.text = text;
+        }
+    }
+
+}
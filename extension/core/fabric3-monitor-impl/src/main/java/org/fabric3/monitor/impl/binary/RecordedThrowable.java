@@ -0,0 +1,50 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.binary;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+
+/**
+ * A throwable decoded from a binary log. The stack trace recorded when the event was written is printed in place of this instance's stack trace.
+ */
+public class RecordedThrowable extends Throwable {
+    private static final long serialVersionUID = -2316325389476014335L;
+
+    private String stackTrace;
+
+    public RecordedThrowable(String stackTrace) {
+        super(null, null, false, false);
+        this.stackTrace = stackTrace;
+    }
+
+    public String getStackTraceText() {
+        return stackTrace;
+    }
+
+    public void printStackTrace(PrintStream stream) {
+        stream.print(stackTrace);
+    }
+
+    public void printStackTrace(PrintWriter writer) {
+        writer.print(stackTrace);
+    }
+
+    public String toString() {
+        return stackTrace;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.binary;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.fabric3.monitor.impl.binary.BinaryLogFormat.EXTENSION;
+
+/**
+ * Resolves the segment files of a binary log.
+ */
+final class Segments {
+
+    private Segments() {
+    }
+
+    /**
+     * Returns the segment file for the given index.
+     *
+     * @param directory the log directory
+     * @param name      the log name
+     * @param index     the segment index
+     * @return the file
+     */
+    public static File getFile(File directory, String name, long index) {
+        return new File(directory, name + "." + index + EXTENSION);
+    }
+
+    /**
+     * Returns the segment files of a log ordered by index.
+     *
+     * @param directory the log directory
+     * @param name      the log name
+     * @return the segment files
+     */
+    public static List<File> list(File directory, String name) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return Collections.emptyList();
+        }
+        List<File> segments = new ArrayList<>();
+        for (File file : files) {
+            if (getIndex(file, name) >= 0) {
+                segments.add(file);
+            }
+        }
+        segments.sort((f1, f2) -> Long.compare(getIndex(f1, name), getIndex(f2, name)));
+        return segments;
+    }
+
+    /**
+     * Returns the index of a segment file or -1 if the file is not a segment of the log.
+     *
+     * @param file the file
+     * @param name the log name
+     * @return the index or -1
+     */
+    public static long getIndex(File file, String name) {
+        String fileName = file.getName();
+        String prefix = name + ".";
+        if (!fileName.startsWith(prefix) || !fileName.endsWith(EXTENSION) || fileName.length() <= prefix.length() + EXTENSION.length()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(prefix.length(), fileName.length() - EXTENSION.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+}
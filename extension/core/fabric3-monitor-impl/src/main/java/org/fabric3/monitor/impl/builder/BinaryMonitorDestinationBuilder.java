@@ -0,0 +1,82 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.builder;
+
+import java.io.File;
+import java.util.List;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.monitor.impl.common.MonitorConstants;
+import org.fabric3.monitor.impl.destination.BinaryMonitorDestination;
+import org.fabric3.monitor.impl.destination.DefaultMonitorDestination;
+import org.fabric3.monitor.impl.model.physical.PhysicalBinaryMonitorDestination;
+import org.fabric3.monitor.spi.appender.Appender;
+import org.fabric3.monitor.spi.appender.AppenderFactory;
+import org.fabric3.monitor.spi.destination.MonitorDestination;
+import org.fabric3.monitor.spi.destination.MonitorDestinationBuilder;
+import org.fabric3.monitor.spi.destination.MonitorDestinationRegistry;
+import org.fabric3.monitor.spi.writer.EventWriter;
+import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Property;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Instantiates and registers or unregisters binary log monitor destinations with the destination registry. Logs are written to the runtime
+ * <code>logs</code> data directory. Events too large for the binary log are written to the default appenders.
+ */
+@EagerInit
+public class BinaryMonitorDestinationBuilder implements MonitorDestinationBuilder<PhysicalBinaryMonitorDestination> {
+    private MonitorDestinationRegistry registry;
+    private EventWriter eventWriter;
+    private AppenderFactory appenderFactory;
+    private HostInfo hostInfo;
+
+    private int capacity = MonitorConstants.DEFAULT_BUFFER_CAPACITY;
+
+    @Property(required = false)
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public BinaryMonitorDestinationBuilder(@Reference MonitorDestinationRegistry registry,
+                                           @Reference EventWriter eventWriter,
+                                           @Reference AppenderFactory appenderFactory,
+                                           @Reference HostInfo hostInfo) {
+        this.registry = registry;
+        this.eventWriter = eventWriter;
+        this.appenderFactory = appenderFactory;
+        this.hostInfo = hostInfo;
+    }
+
+    public void build(PhysicalBinaryMonitorDestination physicalDestination) throws Fabric3Exception {
+        File directory = new File(hostInfo.getDataDir(), "logs");
+        String name = physicalDestination.getName();
+        List<Appender> appenders = appenderFactory.instantiateDefaultAppenders();
+        MonitorDestination fallback = new DefaultMonitorDestination(name, eventWriter, capacity, appenders);
+        long segmentSize = physicalDestination.getSegmentSize();
+        MonitorDestination destination = new BinaryMonitorDestination(name, directory, segmentSize, physicalDestination.getSegments(), fallback);
+        destination.start();
+        registry.register(destination);
+    }
+
+    public void remove(PhysicalBinaryMonitorDestination physicalDestination) throws Fabric3Exception {
+        MonitorDestination destination = registry.unregister(physicalDestination.getName());
+        destination.stop();
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.destination;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.monitor.impl.binary.BinaryLogWriter;
+import org.fabric3.monitor.spi.destination.MonitorDestination;
+import org.fabric3.monitor.spi.event.MonitorEventEntry;
+
+/**
+ * A {@link MonitorDestination} that records events in a memory-mapped binary log instead of formatting them as text. Logs are rendered offline using {@link
+ * org.fabric3.monitor.impl.binary.BinaryLogDecoder}.
+ *
+ * Events too large to fit in a log segment cannot be recorded in the binary log. They are counted and written to a fallback destination, preceded by a
+ * warning reporting the number of oversized events.
+ */
+public class BinaryMonitorDestination implements MonitorDestination {
+    private static final String OVERSIZED = "Monitor event exceeds the binary log segment size and was not recorded in log {0}. Oversized events: {1}";
+
+    private String name;
+    private BinaryLogWriter writer;
+    private MonitorDestination fallback;
+    private long oversized;
+
+    /**
+     * Constructor.
+     *
+     * @param name        the destination name, also used as the log name
+     * @param directory   the directory to write log segments to
+     * @param segmentSize the segment size in bytes
+     * @param segments    the number of segments to retain
+     * @param fallback    the destination to write events that exceed the segment size to
+     */
+    public BinaryMonitorDestination(String name, File directory, long segmentSize, int segments, MonitorDestination fallback) {
+        this.name = name;
+        this.writer = new BinaryLogWriter(directory, name, segmentSize, segments);
+        this.fallback = fallback;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of events that exceeded the segment size and were written to the fallback destination.
+     *
+     * @return the number of oversized events
+     */
+    public synchronized long getOversized() {
+        return oversized;
+    }
+
+    public synchronized void start() throws Fabric3Exception {
+        try {
+            writer.open();
+        } catch (IOException e) {
+            throw new Fabric3Exception(e);
+        }
+        fallback.start();
+    }
+
+    public synchronized void stop() throws Fabric3Exception {
+        try {
+            writer.close();
+        } finally {
+            fallback.stop();
+        }
+    }
+
+    public synchronized void write(MonitorEventEntry entry) throws Fabric3Exception {
+        try {
+            if (!writer.write(entry)) {
+                reportOversized(entry.getEntryTimestamp());
+                fallback.write(entry);
+            }
+        } catch (IOException e) {
+            throw new Fabric3Exception(e);
+        }
+    }
+
+    public synchronized void write(MonitorLevel level, long timestamp, String source, String template, Object... args) throws Fabric3Exception {
+        try {
+            if (!writer.write(level, timestamp, template, args)) {
+                reportOversized(timestamp);
+                fallback.write(level, timestamp, source, template, args);
+            }
+        } catch (IOException e) {
+            throw new Fabric3Exception(e);
+        }
+    }
+
+    private void reportOversized(long timestamp) throws Fabric3Exception {
+        oversized++;
+        fallback.write(MonitorLevel.WARNING, timestamp, name, OVERSIZED, new Object[]{name, oversized});
+    }
+
+}
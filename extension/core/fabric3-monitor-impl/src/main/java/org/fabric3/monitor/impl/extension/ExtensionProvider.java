@@ -17,12 +17,16 @@
 package org.fabric3.monitor.impl.extension;
 
 import javax.xml.stream.XMLStreamReader;
+import java.io.File;
 import java.util.List;
 
 import org.fabric3.api.annotation.monitor.Monitor;
 import org.fabric3.api.annotation.monitor.Severe;
 import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.monitor.impl.binary.BinaryLogFormat;
 import org.fabric3.monitor.impl.common.MonitorConstants;
+import org.fabric3.monitor.impl.destination.BinaryMonitorDestination;
 import org.fabric3.monitor.impl.destination.DefaultMonitorDestination;
 import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
 import org.fabric3.monitor.spi.appender.Appender;
@@ -39,16 +43,23 @@ import static org.fabric3.api.host.monitor.DestinationRouter.DEFAULT_DESTINATION
 
 /**
  * Instantiates and (un)registers default monitor destinations with the destination registry.
+ *
+ * If the format is set to <code>binary</code>, the default destination records events in a binary log in the runtime <code>logs</code> data directory
+ * instead of writing formatted text to the configured appenders.
  */
 @EagerInit
 public class ExtensionProvider {
     private MonitorDestinationRegistry registry;
     private EventWriter eventWriter;
     private AppenderFactory appenderFactory;
+    private HostInfo hostInfo;
     private ExtensionProviderMonitor monitor;
 
     private int capacity = MonitorConstants.DEFAULT_BUFFER_CAPACITY;
     private boolean overrideDefault;
+    private String format = "text";
+    private long segmentSize = BinaryLogFormat.DEFAULT_SEGMENT_SIZE;
+    private int segments = BinaryLogFormat.DEFAULT_SEGMENTS;
 
     private LocationAwareXMLStreamReader systemReader;
 
@@ -62,6 +73,21 @@ public class ExtensionProvider {
         this.overrideDefault = overrideDefault;
     }
 
+    @Property(required = false)
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    @Property(required = false)
+    public void setSegmentSize(long segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @Property(required = false)
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
     @Property(required = false)
     public void setDefaultAppenders(XMLStreamReader reader) {
         systemReader = new LocationAwareXMLStreamReader(reader, "system configuration");
@@ -71,10 +97,12 @@ public class ExtensionProvider {
                              @Reference EventWriter eventWriter,
                              @Reference AppenderFactory appenderFactory,
                              @Reference RingBufferDestinationRouter router,
+                             @Reference HostInfo hostInfo,
                              @Monitor ExtensionProviderMonitor monitor) {
         this.registry = registry;
         this.eventWriter = eventWriter;
         this.appenderFactory = appenderFactory;
+        this.hostInfo = hostInfo;
         this.monitor = monitor;
     }
 
@@ -93,6 +121,11 @@ public class ExtensionProvider {
             }
             // register the default destination as index 0
             MonitorDestination defaultDestination = new DefaultMonitorDestination(DEFAULT_DESTINATION, eventWriter, capacity, defaultAppenders);
+            if ("binary".equals(format)) {
+                // events too large for the binary log are written to the configured appenders
+                File directory = new File(hostInfo.getDataDir(), "logs");
+                defaultDestination = new BinaryMonitorDestination(DEFAULT_DESTINATION, directory, segmentSize, segments, defaultDestination);
+            }
             defaultDestination.start();
             registry.register(defaultDestination);
             systemReader = null;
@@ -0,0 +1,34 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.generator;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.monitor.impl.model.physical.PhysicalBinaryMonitorDestination;
+import org.fabric3.monitor.impl.model.type.BinaryMonitorDestinationDefinition;
+import org.fabric3.monitor.spi.destination.MonitorDestinationGenerator;
+
+/**
+ * Generates {@link PhysicalBinaryMonitorDestination}s.
+ */
+public class BinaryMonitorDestinationGenerator implements MonitorDestinationGenerator<BinaryMonitorDestinationDefinition> {
+
+    public PhysicalBinaryMonitorDestination generateResource(BinaryMonitorDestinationDefinition definition) throws Fabric3Exception {
+        String name = definition.getParent().getName();
+        return new PhysicalBinaryMonitorDestination(name, definition.getSegmentSize(), definition.getSegments());
+    }
+
+}
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.fabric3.api.model.type.ModelObject;
+import org.fabric3.monitor.impl.model.type.BinaryMonitorDestinationDefinition;
 import org.fabric3.monitor.impl.model.type.DefaultMonitorDestinationDefinition;
 import org.fabric3.monitor.spi.model.type.AppenderDefinition;
 import org.fabric3.monitor.spi.model.type.MonitorResource;
@@ -41,6 +42,9 @@ import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Loads a monitor resource configuration.
+ *
+ * A monitor contains either appenders, which are written to by a text destination, or a <code>binary</code> element, which configures a destination that
+ * records events in a binary log.
  */
 @EagerInit
 public class MonitorResourceLoader extends AbstractValidatingTypeLoader<MonitorResource> {
@@ -84,7 +88,18 @@ public class MonitorResourceLoader extends AbstractValidatingTypeLoader<MonitorR
         while (true) {
             switch (reader.next()) {
                 case XMLStreamConstants.START_ELEMENT:
-                    if (reader.getName().getLocalPart().startsWith("appender.")) {
+                    if ("binary".equals(reader.getName().getLocalPart())) {
+                        if (!destinationDefinition.getAppenderDefinitions().isEmpty()) {
+                            context.addError(new InvalidValue("Appenders cannot be configured for a binary monitor destination", reader.getLocation(), definition));
+                            continue;
+                        }
+                        definition.setDestinationDefinition(loadBinary(reader, definition, context));
+                        break;
+                    } else if (reader.getName().getLocalPart().startsWith("appender.")) {
+                        if (definition.getDestinationDefinition() instanceof BinaryMonitorDestinationDefinition) {
+                            context.addError(new InvalidValue("Appenders cannot be configured for a binary monitor destination", reader.getLocation(), definition));
+                            continue;
+                        }
 
                         ModelObject modelObject = registry.load(reader, ModelObject.class, context);
                         if (modelObject instanceof AppenderDefinition) {
@@ -118,4 +133,25 @@ public class MonitorResourceLoader extends AbstractValidatingTypeLoader<MonitorR
         }
     }
 
+    private BinaryMonitorDestinationDefinition loadBinary(XMLStreamReader reader, MonitorResource definition, IntrospectionContext context) {
+        BinaryMonitorDestinationDefinition binaryDefinition = new BinaryMonitorDestinationDefinition();
+        String segmentSize = reader.getAttributeValue(null, "segment.size");
+        if (segmentSize != null) {
+            try {
+                binaryDefinition.setSegmentSize(Long.parseLong(segmentSize));
+            } catch (NumberFormatException e) {
+                context.addError(new InvalidValue("Invalid segment size: " + segmentSize, reader.getLocation(), definition));
+            }
+        }
+        String segments = reader.getAttributeValue(null, "segments");
+        if (segments != null) {
+            try {
+                binaryDefinition.setSegments(Integer.parseInt(segments));
+            } catch (NumberFormatException e) {
+                context.addError(new InvalidValue("Invalid number of segments: " + segments, reader.getLocation(), definition));
+            }
+        }
+        return binaryDefinition;
+    }
+
 }
@@ -0,0 +1,104 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.limit;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limits the rate at which a monitor event is published to a destination.
+ *
+ * Events are first sampled with a fixed probability. Sampled events are then admitted by a token bucket, implemented as a generic cell rate algorithm so that
+ * admission is lock-free: the bucket tracks the theoretical arrival time of the next event and admits an event if that time is no further in the future than
+ * the burst allows. Events that are not admitted are counted so they can be reported in a summary.
+ */
+public class EventLimit {
+    private String event;
+    private int destinationIndex;
+
+    private double sample;
+    private long interval;
+    private long tolerance;
+
+    private AtomicLong arrival = new AtomicLong(System.nanoTime());
+    private LongAdder suppressed = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param event            the limited event
+     * @param destinationIndex the index of the destination events are published to
+     * @param rate             the maximum sustained rate in events per second or a value less than or equal to 0 if the rate is not limited
+     * @param burst            the number of events that may be published at once in excess of the rate
+     * @param sample           the probability an event is published, between 0 and 1
+     */
+    public EventLimit(String event, int destinationIndex, double rate, int burst, double sample) {
+        this.event = event;
+        this.destinationIndex = destinationIndex;
+        this.sample = sample;
+        if (rate > 0) {
+            interval = Math.max(1, (long) (1000000000 / rate));
+            tolerance = interval * (Math.max(1, burst) - 1);
+        }
+    }
+
+    /**
+     * Returns true if an event may be published.
+     *
+     * @return true if an event may be published
+     */
+    public boolean admit() {
+        if (sample < 1.0 && ThreadLocalRandom.current().nextDouble() >= sample) {
+            suppressed.increment();
+            return false;
+        }
+        if (interval == 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrival.get();
+            long next = current - now > 0 ? current : now;
+            if (next - now > tolerance) {
+                suppressed.increment();
+                return false;
+            }
+            if (arrival.compareAndSet(current, next + interval)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events suppressed since the last call and resets the count.
+     *
+     * @return the number of suppressed events
+     */
+    public long drainSuppressed() {
+        return suppressed.sumThenReset();
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public int getDestinationIndex() {
+        return destinationIndex;
+    }
+
+}
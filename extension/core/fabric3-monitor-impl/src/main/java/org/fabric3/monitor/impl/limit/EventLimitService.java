@@ -0,0 +1,36 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.limit;
+
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+
+/**
+ * Resolves the limits applied to monitor events.
+ */
+public interface EventLimitService {
+
+    /**
+     * Returns the limit for an event or null if the event is not limited. Proxies for the same event and destination share a limit.
+     *
+     * @param event       the event name in the form {@code <monitor interface>#<method>}
+     * @param destination the destination the event is published to
+     * @param level       the event level
+     * @return the limit or null
+     */
+    EventLimit getLimit(String event, String destination, MonitorLevel level);
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.limit;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Init;
+import org.oasisopen.sca.annotation.Property;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Resolves event limits from the runtime monitor configuration and periodically publishes a summary of suppressed events to the destination of each limited
+ * event. Limits are configured as follows:
+ * <pre>
+ * &lt;monitor summary.interval="30000"&gt;
+ *     &lt;limits&gt;
+ *         &lt;limit level="debug" rate="100" burst="200"/&gt;
+ *         &lt;limit event="org.acme.OrderMonitor#failed" destination="orders" rate="10" sample="0.5"/&gt;
+ *     &lt;/limits&gt;
+ * &lt;/monitor&gt;
+ * </pre>
+ * The event, destination and level attributes select the events a limit applies to; an omitted attribute matches all events. The event may name a monitor
+ * interface method or a monitor interface. If more than one limit matches an event, the most specific one is used.
+ */
+@EagerInit
+public class EventLimitServiceImpl implements EventLimitService {
+    private static final String SUMMARY_TEMPLATE = "Suppressed {0} monitor events for {1} in the last {2} ms";
+
+    private RingBufferDestinationRouter router;
+
+    private List<Rule> rules = new ArrayList<>();
+    private long summaryInterval = 30000;
+
+    private Map<String, EventLimit> limits = new ConcurrentHashMap<>();
+    private ScheduledExecutorService executor;
+
+    public EventLimitServiceImpl(@Reference RingBufferDestinationRouter router) {
+        this.router = router;
+    }
+
+    @Property(required = false)
+    public void setLimits(XMLStreamReader reader) throws XMLStreamException {
+        while (true) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    if ("limit".equals(reader.getName().getLocalPart())) {
+                        rules.add(parseRule(reader));
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    if ("limits".equals(reader.getName().getLocalPart())) {
+                        return;
+                    }
+                    break;
+                case XMLStreamConstants.END_DOCUMENT:
+                    return;
+            }
+        }
+    }
+
+    @Property(required = false)
+    public void setSummaryInterval(long interval) {
+        this.summaryInterval = interval;
+    }
+
+    @Init
+    public void init() {
+        if (rules.isEmpty() || summaryInterval <= 0) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Fabric3 monitor limit summary");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::report, summaryInterval, summaryInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Destroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public EventLimit getLimit(String event, String destination, MonitorLevel level) {
+        Rule selected = null;
+        for (Rule rule : rules) {
+            if (rule.matches(event, destination, level) && (selected == null || rule.getSpecificity() > selected.getSpecificity())) {
+                selected = rule;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+        Rule rule = selected;
+        return limits.computeIfAbsent(event + "@" + destination,
+                                      k -> new EventLimit(event, router.getDestinationIndex(destination), rule.rate, rule.burst, rule.sample));
+    }
+
+    /**
+     * Publishes a summary event for each limit that suppressed events since the last report.
+     */
+    void report() {
+        for (EventLimit limit : limits.values()) {
+            long count = limit.drainSuppressed();
+            if (count > 0) {
+                long timestamp = System.currentTimeMillis();
+                router.send(MonitorLevel.WARNING, limit.getDestinationIndex(), timestamp, "monitor", SUMMARY_TEMPLATE, true, count, limit.getEvent(), summaryInterval);
+            }
+        }
+    }
+
+    private Rule parseRule(XMLStreamReader reader) {
+        Rule rule = new Rule();
+        rule.event = reader.getAttributeValue(null, "event");
+        rule.destination = reader.getAttributeValue(null, "destination");
+        String level = reader.getAttributeValue(null, "level");
+        try {
+            if (level != null) {
+                rule.level = MonitorLevel.valueOf(level.toUpperCase());
+            }
+            String rate = reader.getAttributeValue(null, "rate");
+            if (rate != null) {
+                rule.rate = Double.parseDouble(rate);
+            }
+            String burst = reader.getAttributeValue(null, "burst");
+            rule.burst = burst != null ? Integer.parseInt(burst) : (int) Math.max(1, Math.ceil(rule.rate));
+            String sample = reader.getAttributeValue(null, "sample");
+            if (sample != null) {
+                rule.sample = Double.parseDouble(sample);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new Fabric3Exception("Invalid monitor limit configuration", e);
+        }
+        if (rule.sample < 0 || rule.sample > 1) {
+            throw new Fabric3Exception("Monitor limit sample must be between 0 and 1: " + rule.sample);
+        }
+        return rule;
+    }
+
+    /**
+     * A configured limit.
+     */
+    private static class Rule {
+        private String event;
+        private String destination;
+        private MonitorLevel level;
+        private double rate;
+        private int burst;
+        private double sample = 1.0;
+
+        private boolean matches(String event, String destination, MonitorLevel level) {
+            if (this.event != null && !this.event.equals(event) && !event.startsWith(this.event + "#")) {
+                return false;
+            }
+            if (this.destination != null && !this.destination.equals(destination)) {
+                return false;
+            }
+            return this.level == null || this.level == level;
+        }
+
+        private int getSpecificity() {
+            int specificity = 0;
+            if (event != null) {
+                specificity = specificity + (event.indexOf('#') > 0 ? 8 : 4);
+            }
+            if (destination != null) {
+                specificity = specificity + 2;
+            }
+            if (level != null) {
+                specificity++;
+            }
+            return specificity;
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.model.physical;
+
+import org.fabric3.monitor.spi.model.physical.PhysicalMonitorDestination;
+
+/**
+ * Binary log monitor destination configuration.
+ */
+public class PhysicalBinaryMonitorDestination extends PhysicalMonitorDestination {
+    private long segmentSize;
+    private int segments;
+
+    public PhysicalBinaryMonitorDestination(String name, long segmentSize, int segments) {
+        super(name);
+        this.segmentSize = segmentSize;
+        this.segments = segments;
+    }
+
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.model.type;
+
+import org.fabric3.monitor.impl.binary.BinaryLogFormat;
+import org.fabric3.monitor.spi.model.type.MonitorDestinationDefinition;
+
+/**
+ * Defines a monitor destination that records events in a binary log.
+ */
+public class BinaryMonitorDestinationDefinition extends MonitorDestinationDefinition {
+    private long segmentSize = BinaryLogFormat.DEFAULT_SEGMENT_SIZE;
+    private int segments = BinaryLogFormat.DEFAULT_SEGMENTS;
+
+    public long getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(long segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+}
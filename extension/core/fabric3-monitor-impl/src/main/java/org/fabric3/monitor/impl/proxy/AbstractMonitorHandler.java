@@ -17,6 +17,7 @@
 package org.fabric3.monitor.impl.proxy;
 
 import org.fabric3.api.host.monitor.Monitorable;
+import org.fabric3.monitor.impl.limit.EventLimit;
 import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
 import org.fabric3.spi.monitor.DispatchInfo;
 
@@ -30,6 +31,7 @@ public abstract class AbstractMonitorHandler {
     protected Monitorable monitorable;
     protected String source;
     protected DispatchInfo[] infos;
+    protected EventLimit[] limits;
 
     public void init(int destinationIndex, Monitorable monitorable, RingBufferDestinationRouter router, DispatchInfo[] infos, boolean asyncEnabled) {
         this.destinationIndex = destinationIndex;
@@ -40,4 +42,27 @@ public abstract class AbstractMonitorHandler {
         this.infos = infos;
     }
 
+    /**
+     * Sets the limits applied to the proxy interface methods.
+     *
+     * @param limits the limits indexed by method or null if no limits apply. An entry is null if the corresponding method is not limited.
+     */
+    public void setLimits(EventLimit[] limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Returns true if an event for the method may be published. Called by generated proxy methods before a ring buffer entry is claimed.
+     *
+     * @param index the method index
+     * @return true if the event may be published
+     */
+    public boolean admit(int index) {
+        if (limits == null) {
+            return true;
+        }
+        EventLimit limit = limits[index];
+        return limit == null || limit.admit();
+    }
+
 }
@@ -25,6 +25,8 @@ import java.util.TimeZone;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.monitor.MonitorProxyServiceExtension;
 import org.fabric3.api.host.monitor.Monitorable;
+import org.fabric3.monitor.impl.limit.EventLimit;
+import org.fabric3.monitor.impl.limit.EventLimitService;
 import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
 import org.fabric3.spi.monitor.DispatchInfo;
 import org.fabric3.spi.monitor.MonitorUtil;
@@ -39,6 +41,7 @@ import static org.fabric3.api.host.monitor.DestinationRouter.DEFAULT_DESTINATION
 public abstract class AbstractMonitorProxyService implements MonitorProxyServiceExtension {
     protected Monitorable defaultMonitorable;
     protected RingBufferDestinationRouter router;
+    protected EventLimitService limitService;
 
     protected boolean enabled = false;
     protected String pattern = "%d:%m:%Y %H:%i:%s.%F";
@@ -54,6 +57,10 @@ public abstract class AbstractMonitorProxyService implements MonitorProxyService
         this.enabled = enabled;
     }
 
+    public void setLimitService(EventLimitService limitService) {
+        this.limitService = limitService;
+    }
+
     public <T> T createMonitor(Class<T> type) throws Fabric3Exception {
         return createMonitor(type, defaultMonitorable, DEFAULT_DESTINATION);
     }
@@ -94,6 +101,22 @@ public abstract class AbstractMonitorProxyService implements MonitorProxyService
         return info;
     }
 
+    /**
+     * Returns the limit for events raised by a monitor interface method.
+     *
+     * @param type        the monitor interface
+     * @param method      the method
+     * @param destination the destination events are published to
+     * @param info        the method dispatch info
+     * @return the limit or null if events are not limited
+     */
+    protected EventLimit getLimit(Class<?> type, Method method, String destination, DispatchInfo info) {
+        if (limitService == null || info.getLevel() == null) {
+            return null;
+        }
+        return limitService.getLimit(type.getName() + "#" + method.getName(), destination, info.getLevel());
+    }
+
     protected <T> ResourceBundle locateBundle(Class<T> monitorInterface, ClassLoader loader) {
         Locale locale = Locale.getDefault();
         String packageName = monitorInterface.getPackage().getName();
@@ -27,6 +27,7 @@ import org.fabric3.api.annotation.monitor.MonitorLevel;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.monitor.MonitorProxyServiceExtension;
 import org.fabric3.api.host.monitor.Monitorable;
+import org.fabric3.monitor.impl.limit.EventLimit;
 import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
 import org.fabric3.monitor.spi.event.MonitorEventEntry;
 import org.fabric3.monitor.spi.event.ParameterEntry;
@@ -66,6 +67,10 @@ import static org.fabric3.api.host.monitor.DestinationRouter.DEFAULT_DESTINATION
  *            // monitoring is off
  *            return;
  *        }
+ *        if (!admit(index)) {
+ *            // the event is suppressed by a rate limit or sampling
+ *            return;
+ *        }
  *        long timestamp = System.currentTimeMillis();
  *        if (asyncEnabled) {
  *            MonitorEventEntry entry = null;
@@ -143,12 +148,25 @@ public class BytecodeMonitorProxyService extends AbstractMonitorProxyService imp
 
             AbstractMonitorHandler handler = (AbstractMonitorHandler) clazz.getConstructor().newInstance();
             handler.init(destinationIndex, monitorable, router, infos, enabled);
+            handler.setLimits(createLimits(type, destination, levels));
             return type.cast(handler);
         } catch (InvocationTargetException | IllegalAccessException | InstantiationException | NoSuchMethodException e) {
             throw new Fabric3Exception(e);
         }
     }
 
+    private EventLimit[] createLimits(Class<?> type, String destination, Map<Method, DispatchInfo> infos) {
+        EventLimit[] limits = new EventLimit[infos.size()];
+        boolean limited = false;
+        int i = 0;
+        for (Map.Entry<Method, DispatchInfo> entry : infos.entrySet()) {
+            limits[i] = getLimit(type, entry.getKey(), destination, entry.getValue());
+            limited = limited || limits[i] != null;
+            i++;
+        }
+        return limited ? limits : null;
+    }
+
     /**
      * Performs the actual bytecode generation to implement the given interface
      *
@@ -276,6 +294,12 @@ public class BytecodeMonitorProxyService extends AbstractMonitorProxyService imp
         mv.visitInsn(RETURN);
         mv.visitLabel(l14);
         mv.visitLineNumber(77, l14);
+
+        // apply event limits before a ring buffer entry is claimed
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ILOAD, varIndexPosition);
+        mv.visitMethodInsn(INVOKEVIRTUAL, ABSTRACT_MONITOR_HANDLER, "admit", "(I)Z");
+        mv.visitJumpInsn(IFEQ, l13);
         mv.visitMethodInsn(INVOKESTATIC, "java/lang/System", "currentTimeMillis", "()J");
         mv.visitVarInsn(LSTORE, varTimestampPosition);
         Label l15 = new Label();
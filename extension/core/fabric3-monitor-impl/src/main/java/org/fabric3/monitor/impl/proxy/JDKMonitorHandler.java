@@ -18,11 +18,13 @@ package org.fabric3.monitor.impl.proxy;
 
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.Map;
 
 import org.fabric3.api.MonitorChannel;
 import org.fabric3.api.annotation.monitor.MonitorLevel;
 import org.fabric3.api.host.monitor.Monitorable;
+import org.fabric3.monitor.impl.limit.EventLimit;
 import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
 import org.fabric3.monitor.spi.event.MonitorEventEntry;
 import org.fabric3.spi.monitor.DispatchInfo;
@@ -37,6 +39,7 @@ public class JDKMonitorHandler implements InvocationHandler, MonitorChannel {
     private Monitorable monitorable;
     private String source;
     private Map<Method, DispatchInfo> infos;
+    private Map<Method, EventLimit> limits = Collections.emptyMap();
 
     private MonitorLevel level;
     private String template;
@@ -60,6 +63,15 @@ public class JDKMonitorHandler implements InvocationHandler, MonitorChannel {
         }
     }
 
+    /**
+     * Sets the limits applied to the proxy interface methods.
+     *
+     * @param limits the limits keyed by method. Methods without an entry are not limited.
+     */
+    public void setLimits(Map<Method, EventLimit> limits) {
+        this.limits = limits;
+    }
+
     public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
         if (args != null && args.length > 10) {
             throw new UnsupportedOperationException("Unsupported number of monitor arguments: " + args.length);
@@ -79,6 +91,12 @@ public class JDKMonitorHandler implements InvocationHandler, MonitorChannel {
             // monitoring is off
             return null;
         }
+        if (!limits.isEmpty()) {
+            EventLimit limit = limits.get(method);
+            if (limit != null && !limit.admit()) {
+                return null;
+            }
+        }
         long timestamp = System.currentTimeMillis();
         if (asyncEnabled) {
             send(currentLevel, timestamp, currentMessage, args);
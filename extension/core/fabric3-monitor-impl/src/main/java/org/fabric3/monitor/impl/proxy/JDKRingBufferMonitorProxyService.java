@@ -24,6 +24,7 @@ import java.util.Map;
 import org.fabric3.api.MonitorChannel;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.monitor.Monitorable;
+import org.fabric3.monitor.impl.limit.EventLimit;
 import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
 import org.fabric3.spi.monitor.DispatchInfo;
 import org.fabric3.spi.monitor.MonitorProxy;
@@ -46,12 +47,20 @@ public class JDKRingBufferMonitorProxyService extends AbstractMonitorProxyServic
         int destinationIndex = router.getDestinationIndex(destination);
         ClassLoader loader = type.getClassLoader();
         Map<Method, DispatchInfo> levels = new HashMap<>();
+        Map<Method, EventLimit> limits = new HashMap<>();
         for (Method method : type.getMethods()) {
             DispatchInfo info = createDispatchInfo(type, loader, method);
             levels.put(method, info);
+            EventLimit limit = getLimit(type, method, destination, info);
+            if (limit != null) {
+                limits.put(method, limit);
+            }
         }
 
         JDKMonitorHandler handler = new JDKMonitorHandler(destinationIndex, monitorable, router, levels, enabled);
+        if (!limits.isEmpty()) {
+            handler.setLimits(limits);
+        }
         if (MonitorChannel.class.isAssignableFrom(type) || MonitorProxy.class.isAssignableFrom(type)) {
             return type.cast(handler);
         }
@@ -19,6 +19,7 @@ package org.fabric3.monitor.impl.proxy;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.monitor.MonitorProxyServiceExtension;
 import org.fabric3.api.host.monitor.Monitorable;
+import org.fabric3.monitor.impl.limit.EventLimitService;
 import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
 import org.oasisopen.sca.annotation.Init;
 import org.oasisopen.sca.annotation.Property;
@@ -32,6 +33,7 @@ public class SwitchingMonitorProxyServiceExtension implements MonitorProxyServic
 
     private RingBufferDestinationRouter router;
     private Monitorable monitorable;
+    private EventLimitService limitService;
 
     private boolean bytecodeGeneration;
     private boolean enabled = false;
@@ -48,6 +50,11 @@ public class SwitchingMonitorProxyServiceExtension implements MonitorProxyServic
         this.enabled = ASYNCHRONOUS_MODE.equalsIgnoreCase(mode);
     }
 
+    @Reference(required = false)
+    public void setLimitService(EventLimitService limitService) {
+        this.limitService = limitService;
+    }
+
     public SwitchingMonitorProxyServiceExtension(@Reference RingBufferDestinationRouter router, @Reference Monitorable monitorable) {
         this.router = router;
         this.monitorable = monitorable;
@@ -58,10 +65,12 @@ public class SwitchingMonitorProxyServiceExtension implements MonitorProxyServic
         if (bytecodeGeneration) {
             BytecodeMonitorProxyService byteCodeDelegate = new BytecodeMonitorProxyService(router, monitorable);
             byteCodeDelegate.setEnabled(enabled);
+            byteCodeDelegate.setLimitService(limitService);
             delegate = byteCodeDelegate;
         } else {
             JDKRingBufferMonitorProxyService jdkDelegate = new JDKRingBufferMonitorProxyService(router, monitorable);
             jdkDelegate.setEnabled(enabled);
+            jdkDelegate.setLimitService(limitService);
             delegate = jdkDelegate;
         }
 
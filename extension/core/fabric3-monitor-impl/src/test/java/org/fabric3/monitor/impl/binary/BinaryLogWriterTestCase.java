@@ -0,0 +1,206 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.binary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.monitor.impl.writer.EventWriterImpl;
+import org.fabric3.monitor.impl.writer.EventWriterMonitor;
+import org.fabric3.monitor.spi.buffer.ResizableByteBufferMonitor;
+import org.fabric3.monitor.spi.event.MonitorEventEntry;
+import org.fabric3.monitor.spi.event.ParameterEntry;
+
+/**
+ *
+ */
+public class BinaryLogWriterTestCase extends TestCase {
+    private File directory;
+
+    public void testWriteRead() throws Exception {
+        BinaryLogWriter writer = new BinaryLogWriter(directory, "test", 4096, 2);
+        writer.open();
+
+        MonitorEventEntry entry = createEntry();
+        entry.setTemplate("Values {0} {1} {2}");
+        entry.getEntries()[0].setIntValue(1);
+        entry.getEntries()[1].setLongValue(2);
+        entry.getEntries()[2].setObjectValue("three");
+        entry.setLimit(3);
+        entry.setEntryTimestamp(100);
+        entry.setTimestampNanos(200);
+        assertTrue(writer.write(entry));
+        assertTrue(writer.write(MonitorLevel.INFO, 300, "Args {0}", new Object[]{true}));
+        writer.close();
+
+        BinaryLogReader reader = new BinaryLogReader(directory, "test");
+        MonitorEventEntry read = createEntry();
+        assertTrue(reader.next(read));
+        assertEquals(MonitorLevel.SEVERE, read.getLevel());
+        assertEquals("Values {0} {1} {2}", read.getTemplate());
+        assertEquals(100, read.getEntryTimestamp());
+        assertEquals(200, read.getTimestampNanos());
+        assertEquals(3, read.getLimit());
+        assertEquals(1, read.getEntries()[0].getIntValue());
+        assertEquals(2, read.getEntries()[1].getLongValue());
+        assertEquals("three", read.getEntries()[2].getObjectValue(String.class));
+
+        assertTrue(reader.next(read));
+        assertEquals(MonitorLevel.INFO, read.getLevel());
+        assertEquals("Args {0}", read.getTemplate());
+        assertTrue(read.getEntries()[0].getBooleanValue());
+
+        assertFalse(reader.next(read));
+    }
+
+    public void testThrowable() throws Exception {
+        BinaryLogWriter writer = new BinaryLogWriter(directory, "test", 64 * 1024, 2);
+        writer.open();
+
+        MonitorEventEntry entry = createEntry();
+        entry.setTemplate("Error");
+        entry.getEntries()[0].setObjectValue(new IllegalStateException("test"));
+        entry.setLimit(1);
+        writer.write(entry);
+        writer.close();
+
+        BinaryLogReader reader = new BinaryLogReader(directory, "test");
+        MonitorEventEntry read = createEntry();
+        assertTrue(reader.next(read));
+        RecordedThrowable throwable = read.getEntries()[0].getObjectValue(RecordedThrowable.class);
+        assertTrue(throwable.getStackTraceText().startsWith("java.lang.IllegalStateException: test"));
+    }
+
+    public void testRollAndRetention() throws Exception {
+        BinaryLogWriter writer = new BinaryLogWriter(directory, "test", 256, 3);
+        writer.open();
+
+        // each event record is 28 bytes, preceded by a 14 byte template record in each segment
+        for (int i = 0; i < 100; i++) {
+            MonitorEventEntry entry = createEntry();
+            entry.setTemplate("Event");
+            entry.setEntryTimestamp(i);
+            assertTrue(writer.write(entry));
+        }
+        writer.close();
+
+        assertEquals(3, Segments.list(directory, "test").size());
+
+        BinaryLogReader reader = new BinaryLogReader(directory, "test");
+        MonitorEventEntry read = createEntry();
+        long last = -1;
+        int count = 0;
+        while (reader.next(read)) {
+            assertEquals("Event", read.getTemplate());
+            if (last >= 0) {
+                assertEquals(last + 1, read.getEntryTimestamp());
+            }
+            last = read.getEntryTimestamp();
+            count++;
+        }
+        assertEquals(99, last);
+        assertTrue(count > 0 && count < 100);
+    }
+
+    public void testReopenStartsNewSegment() throws Exception {
+        BinaryLogWriter writer = new BinaryLogWriter(directory, "test", 4096, 5);
+        writer.open();
+        writer.write(MonitorLevel.INFO, 1, "First", new Object[0]);
+        writer.close();
+
+        writer = new BinaryLogWriter(directory, "test", 4096, 5);
+        writer.open();
+        writer.write(MonitorLevel.INFO, 2, "Second", new Object[0]);
+        writer.close();
+
+        assertEquals(2, Segments.list(directory, "test").size());
+
+        BinaryLogReader reader = new BinaryLogReader(directory, "test");
+        MonitorEventEntry read = createEntry();
+        assertTrue(reader.next(read));
+        assertEquals("First", read.getTemplate());
+        assertTrue(reader.next(read));
+        assertEquals("Second", read.getTemplate());
+        assertFalse(reader.next(read));
+    }
+
+    public void testFollow() throws Exception {
+        BinaryLogWriter writer = new BinaryLogWriter(directory, "test", 4096, 5);
+        writer.open();
+        BinaryLogReader reader = new BinaryLogReader(directory, "test");
+        MonitorEventEntry read = createEntry();
+
+        assertFalse(reader.next(read));
+        writer.write(MonitorLevel.INFO, 1, "First", new Object[0]);
+        assertTrue(reader.next(read));
+        assertFalse(reader.next(read));
+        writer.write(MonitorLevel.INFO, 2, "Second", new Object[0]);
+        assertTrue(reader.next(read));
+        assertEquals("Second", read.getTemplate());
+        writer.close();
+    }
+
+    public void testDecode() throws Exception {
+        BinaryLogWriter writer = new BinaryLogWriter(directory, "test", 4096, 2);
+        writer.open();
+        MonitorEventEntry entry = createEntry();
+        entry.setTemplate("Value is {0}");
+        entry.getEntries()[0].setDoubleValue(1.5);
+        entry.setLimit(1);
+        writer.write(entry);
+        writer.close();
+
+        EventWriterImpl eventWriter = new EventWriterImpl(EasyMock.createNiceMock(EventWriterMonitor.class));
+        eventWriter.setTimestampFormat("none");
+        eventWriter.init();
+
+        BinaryLogDecoder decoder = new BinaryLogDecoder(eventWriter);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        assertEquals(1, decoder.decode(new BinaryLogReader(directory, "test"), stream));
+        assertEquals("[SEVERE] Value is 1.5\n", stream.toString());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("binarylog").toFile();
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    private MonitorEventEntry createEntry() {
+        MonitorEventEntry entry = new MonitorEventEntry(1024, EasyMock.createNiceMock(ResizableByteBufferMonitor.class));
+        entry.setLevel(MonitorLevel.SEVERE);
+        for (ParameterEntry parameterEntry : entry.getEntries()) {
+            parameterEntry.reset();
+        }
+        return entry;
+    }
+
+}
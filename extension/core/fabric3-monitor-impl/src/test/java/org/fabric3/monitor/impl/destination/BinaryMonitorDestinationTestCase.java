@@ -0,0 +1,73 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.destination;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.monitor.spi.destination.MonitorDestination;
+
+/**
+ *
+ */
+public class BinaryMonitorDestinationTestCase extends TestCase {
+    private File directory;
+
+    public void testOversizedEventWrittenToFallback() throws Exception {
+        char[] chars = new char[512];
+        Arrays.fill(chars, 'x');
+        String template = new String(chars);
+
+        MonitorDestination fallback = EasyMock.createMock(MonitorDestination.class);
+        fallback.start();
+        Object[] count = new Object[]{"test", 1L};
+        fallback.write(EasyMock.eq(MonitorLevel.WARNING), EasyMock.eq(1L), EasyMock.eq("test"), EasyMock.anyObject(String.class), EasyMock.aryEq(count));
+        fallback.write(EasyMock.eq(MonitorLevel.INFO), EasyMock.eq(1L), EasyMock.eq("source"), EasyMock.eq(template), EasyMock.aryEq(new Object[0]));
+        fallback.stop();
+        EasyMock.replay(fallback);
+
+        BinaryMonitorDestination destination = new BinaryMonitorDestination("test", directory, 256, 2, fallback);
+        destination.start();
+        destination.write(MonitorLevel.INFO, 1, "source", "Event", new Object[0]);
+        destination.write(MonitorLevel.INFO, 1, "source", template, new Object[0]);
+        destination.stop();
+
+        assertEquals(1, destination.getOversized());
+        EasyMock.verify(fallback);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        directory = Files.createTempDirectory("binarylog").toFile();
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+}
@@ -23,6 +23,7 @@ import java.io.ByteArrayInputStream;
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
 import org.fabric3.api.model.type.ModelObject;
+import org.fabric3.monitor.impl.model.type.BinaryMonitorDestinationDefinition;
 import org.fabric3.monitor.spi.model.type.AppenderDefinition;
 import org.fabric3.monitor.spi.model.type.MonitorResource;
 import org.fabric3.spi.introspection.DefaultIntrospectionContext;
@@ -35,6 +36,7 @@ import org.fabric3.spi.introspection.xml.LoaderRegistry;
 public class MonitorResourceLoaderTestCase extends TestCase {
     private static final String XML = "<monitor name='test'><appenders><appender.console/></appenders></monitor>";
     private static final String XML_NO_NAME = "<monitor></monitor>";
+    private static final String XML_BINARY = "<monitor name='test'><binary segment.size='1024' segments='5'/></monitor>";
     private static final String XML_MULTIPLE_TYPES = "<monitor name='test'><appenders><appender.console/><appender.console/></appenders></monitor>";
 
     private LoaderRegistry loaderRegistry;
@@ -58,6 +60,23 @@ public class MonitorResourceLoaderTestCase extends TestCase {
         EasyMock.verify(loaderRegistry);
     }
 
+    public void testBinaryLoad() throws Exception {
+        XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(XML_BINARY.getBytes()));
+        IntrospectionContext context = new DefaultIntrospectionContext();
+
+        EasyMock.replay(loaderRegistry);
+        reader.nextTag();
+
+        MonitorResource definition = loader.load(reader, context);
+
+        assertFalse(context.hasErrors());
+        BinaryMonitorDestinationDefinition destinationDefinition = (BinaryMonitorDestinationDefinition) definition.getDestinationDefinition();
+        assertEquals(1024, destinationDefinition.getSegmentSize());
+        assertEquals(5, destinationDefinition.getSegments());
+
+        EasyMock.verify(loaderRegistry);
+    }
+
     public void testNoNameLoad() throws Exception {
         XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(XML_NO_NAME.getBytes()));
         IntrospectionContext context = new DefaultIntrospectionContext();
@@ -0,0 +1,95 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.limit;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
+
+/**
+ *
+ */
+public class EventLimitServiceImplTestCase extends TestCase {
+    private static final String XML = "<limits>"
+                                      + "<limit level='debug' rate='100'/>"
+                                      + "<limit event='org.acme.FooMonitor' level='debug' rate='10'/>"
+                                      + "<limit event='org.acme.FooMonitor#error' destination='orders' rate='1' burst='1'/>"
+                                      + "</limits>";
+
+    private RingBufferDestinationRouter router;
+    private EventLimitServiceImpl service;
+
+    public void testNoMatch() throws Exception {
+        EasyMock.replay(router);
+        assertNull(service.getLimit("org.acme.FooMonitor#error", "default", MonitorLevel.SEVERE));
+        EasyMock.verify(router);
+    }
+
+    public void testMostSpecificMatch() throws Exception {
+        EasyMock.expect(router.getDestinationIndex("orders")).andReturn(2);
+        EasyMock.replay(router);
+
+        EventLimit limit = service.getLimit("org.acme.FooMonitor#error", "orders", MonitorLevel.DEBUG);
+        assertNotNull(limit);
+        assertEquals(2, limit.getDestinationIndex());
+        assertTrue(limit.admit());
+        assertFalse(limit.admit());
+
+        // limits are shared by proxies for the same event and destination
+        assertSame(limit, service.getLimit("org.acme.FooMonitor#error", "orders", MonitorLevel.DEBUG));
+        EasyMock.verify(router);
+    }
+
+    public void testReportSuppressed() throws Exception {
+        EasyMock.expect(router.getDestinationIndex("orders")).andReturn(2);
+        router.send(EasyMock.eq(MonitorLevel.WARNING),
+                    EasyMock.eq(2),
+                    EasyMock.anyLong(),
+                    EasyMock.isA(String.class),
+                    EasyMock.isA(String.class),
+                    EasyMock.eq(true),
+                    EasyMock.eq(1L),
+                    EasyMock.eq("org.acme.FooMonitor#error"),
+                    EasyMock.eq(30000L));
+        EasyMock.replay(router);
+
+        EventLimit limit = service.getLimit("org.acme.FooMonitor#error", "orders", MonitorLevel.SEVERE);
+        limit.admit();
+        limit.admit();
+
+        service.report();
+        // nothing suppressed since the last report
+        service.report();
+
+        EasyMock.verify(router);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        router = EasyMock.createMock(RingBufferDestinationRouter.class);
+        service = new EventLimitServiceImpl(router);
+
+        XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(XML.getBytes()));
+        reader.nextTag();
+        service.setLimits(reader);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.limit;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class EventLimitTestCase extends TestCase {
+
+    public void testBurst() throws Exception {
+        EventLimit limit = new EventLimit("test", 0, 0.001, 3, 1.0);
+        assertTrue(limit.admit());
+        assertTrue(limit.admit());
+        assertTrue(limit.admit());
+        assertFalse(limit.admit());
+        assertEquals(1, limit.drainSuppressed());
+        assertEquals(0, limit.drainSuppressed());
+    }
+
+    public void testRateRecovers() throws Exception {
+        EventLimit limit = new EventLimit("test", 0, 100, 1, 1.0);
+        assertTrue(limit.admit());
+        assertFalse(limit.admit());
+        Thread.sleep(20);
+        assertTrue(limit.admit());
+    }
+
+    public void testUnlimited() throws Exception {
+        EventLimit limit = new EventLimit("test", 0, 0, 0, 1.0);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limit.admit());
+        }
+        assertEquals(0, limit.drainSuppressed());
+    }
+
+    public void testSampleNone() throws Exception {
+        EventLimit limit = new EventLimit("test", 0, 0, 0, 0.0);
+        assertFalse(limit.admit());
+        assertFalse(limit.admit());
+        assertEquals(2, limit.drainSuppressed());
+    }
+
+}
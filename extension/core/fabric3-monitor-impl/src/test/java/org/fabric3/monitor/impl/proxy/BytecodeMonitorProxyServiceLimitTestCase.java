@@ -0,0 +1,101 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.monitor.impl.proxy;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.annotation.monitor.MonitorLevel;
+import org.fabric3.api.annotation.monitor.Severe;
+import org.fabric3.api.host.monitor.Monitorable;
+import org.fabric3.monitor.impl.limit.EventLimit;
+import org.fabric3.monitor.impl.limit.EventLimitService;
+import org.fabric3.monitor.impl.router.RingBufferDestinationRouter;
+import org.fabric3.monitor.spi.buffer.ResizableByteBufferMonitor;
+import org.fabric3.monitor.spi.event.MonitorEventEntry;
+
+/**
+ *
+ */
+public class BytecodeMonitorProxyServiceLimitTestCase extends TestCase {
+    private BytecodeMonitorProxyService proxyService;
+
+    private RingBufferDestinationRouter router;
+    private Monitorable monitorable;
+    private EventLimitService limitService;
+
+    public void testLimit() throws Exception {
+        MonitorEventEntry entry = new MonitorEventEntry(2000, EasyMock.createNiceMock(ResizableByteBufferMonitor.class));
+        // a single event is admitted, the second is suppressed before a ring buffer entry is claimed
+        EasyMock.expect(router.get()).andReturn(entry);
+        router.publish(entry);
+
+        EventLimit limit = new EventLimit(ParamsMonitor.class.getName() + "#monitor", 1, 0.001, 1, 1.0);
+        EasyMock.expect(limitService.getLimit(ParamsMonitor.class.getName() + "#monitor", "destination", MonitorLevel.SEVERE)).andReturn(limit);
+        EasyMock.replay(router, monitorable, limitService);
+
+        ParamsMonitor monitor = proxyService.createMonitor(ParamsMonitor.class, monitorable, "destination");
+
+        monitor.monitor();
+        monitor.monitor();
+
+        assertEquals(1, limit.drainSuppressed());
+        EasyMock.verify(router, monitorable, limitService);
+    }
+
+    public void testNoLimit() throws Exception {
+        MonitorEventEntry entry = new MonitorEventEntry(2000, EasyMock.createNiceMock(ResizableByteBufferMonitor.class));
+        EasyMock.expect(router.get()).andReturn(entry).times(2);
+        router.publish(entry);
+        EasyMock.expectLastCall().times(2);
+
+        EasyMock.expect(limitService.getLimit(ParamsMonitor.class.getName() + "#monitor", "destination", MonitorLevel.SEVERE)).andReturn(null);
+        EasyMock.replay(router, monitorable, limitService);
+
+        ParamsMonitor monitor = proxyService.createMonitor(ParamsMonitor.class, monitorable, "destination");
+
+        monitor.monitor();
+        monitor.monitor();
+
+        EasyMock.verify(router, monitorable, limitService);
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        router = EasyMock.createMock(RingBufferDestinationRouter.class);
+        EasyMock.expect(router.getDestinationIndex(EasyMock.isA(String.class))).andReturn(1);
+
+        monitorable = EasyMock.createMock(Monitorable.class);
+        monitorable.getName();
+        EasyMock.expectLastCall().andReturn("test").atLeastOnce();
+        EasyMock.expect(monitorable.getLevel()).andReturn(MonitorLevel.SEVERE).atLeastOnce();
+
+        limitService = EasyMock.createMock(EventLimitService.class);
+
+        proxyService = new BytecodeMonitorProxyService(router, monitorable);
+        proxyService.setEnabled(true);
+        proxyService.setLimitService(limitService);
+    }
+
+    public interface ParamsMonitor {
+
+        @Severe("Monitor event")
+        void monitor();
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.generator;
+
+import java.util.Optional;
+
+import org.fabric3.resilience.introspection.ResilienceTypeIntrospector;
+import org.fabric3.resilience.model.ResiliencePolicy;
+import org.fabric3.resilience.provision.PhysicalResilienceInterceptor;
+import org.fabric3.spi.domain.generator.InterceptorGenerator;
+import org.fabric3.spi.model.instance.LogicalOperation;
+import org.fabric3.spi.model.instance.LogicalReference;
+import org.fabric3.spi.model.physical.PhysicalInterceptor;
+import org.oasisopen.sca.annotation.EagerInit;
+
+/**
+ * Creates {@link PhysicalResilienceInterceptor}s for reference operations configured with resilience policy. Interceptors are generated for both local and
+ * bound reference wires. Hedging is not applied to one-way operations since they do not return a response. Bindings that retry on their own, such as the
+ * web services binding, disable their retries for operations with resilience policy so that attempts are only retried with backoff.
+ */
+@EagerInit
+public class ResilienceInterceptorGenerator implements InterceptorGenerator {
+
+    public Optional<PhysicalInterceptor> generate(LogicalOperation source, LogicalOperation target) {
+        return generateBoundReference(source);
+    }
+
+    public Optional<PhysicalInterceptor> generateBoundReference(LogicalOperation source) {
+        if (!(source.getParent() instanceof LogicalReference)) {
+            return Optional.empty();
+        }
+        ResiliencePolicy policy = source.getDefinition().getMetadata(ResilienceTypeIntrospector.RESILIENCE, ResiliencePolicy.class);
+        if (policy == null) {
+            return Optional.empty();
+        }
+        if (source.getDefinition().isOneWay()) {
+            policy = policy.withoutHedging();
+        }
+        String operation = source.getParent().getUri() + "." + source.getDefinition().getName();
+        return Optional.of(new PhysicalResilienceInterceptor(operation, policy));
+    }
+
+}
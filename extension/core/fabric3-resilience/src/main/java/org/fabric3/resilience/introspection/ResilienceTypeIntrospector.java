@@ -0,0 +1,70 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.introspection;
+
+import javax.xml.namespace.QName;
+import java.lang.reflect.Method;
+
+import org.fabric3.api.annotation.resilience.Resilient;
+import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.api.model.type.contract.Operation;
+import org.fabric3.resilience.model.ResiliencePolicy;
+import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.java.InvalidAnnotation;
+import org.fabric3.spi.introspection.java.contract.TypeIntrospector;
+
+/**
+ * Introspects operations for {@link Resilient} on the method or its declaring interface and records the policy as operation metadata.
+ */
+public class ResilienceTypeIntrospector implements TypeIntrospector {
+    public static final QName RESILIENCE = QName.valueOf(Resilient.RESILIENCE);
+
+    public void introspect(Operation operation, Method method, IntrospectionContext context) {
+        Class<?> declaringClass = method.getDeclaringClass();
+        Resilient annotation = method.getAnnotation(Resilient.class);
+        if (annotation == null) {
+            annotation = declaringClass.getAnnotation(Resilient.class);
+            if (annotation == null) {
+                return;
+            }
+        }
+        if (annotation.retries() < 0 || annotation.backoff() < 0 || annotation.maxBackoff() < annotation.backoff()) {
+            InvalidAnnotation error = new InvalidAnnotation("Invalid retry settings on " + method, method, annotation, declaringClass);
+            context.addError(error);
+            return;
+        }
+        double percentile = annotation.hedgePercentile();
+        if (percentile != -1 && (percentile <= 0 || percentile >= 100)) {
+            InvalidAnnotation error = new InvalidAnnotation("Hedge percentile must be between 0 and 100 on " + method, method, annotation, declaringClass);
+            context.addError(error);
+            return;
+        }
+        ResiliencePolicy policy = new ResiliencePolicy(annotation.timeout(),
+                                                       annotation.retries(),
+                                                       annotation.backoff(),
+                                                       annotation.maxBackoff(),
+                                                       percentile,
+                                                       annotation.failureThreshold(),
+                                                       annotation.openTime());
+        operation.addMetadata(RESILIENCE, policy);
+    }
+
+    public void introspect(DataType dataType) {
+        // no-op
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.model;
+
+import java.io.Serializable;
+
+/**
+ * Resilience policy settings for an operation.
+ */
+public class ResiliencePolicy implements Serializable {
+    private static final long serialVersionUID = -1749436151434580207L;
+
+    private long timeout;
+    private int retries;
+    private long backoff;
+    private long maxBackoff;
+    private double hedgePercentile;
+    private int failureThreshold;
+    private long openTime;
+
+    /**
+     * Constructor.
+     *
+     * @param timeout          the time in milliseconds to wait for an attempt to complete or -1 to wait indefinitely
+     * @param retries          the number of times a failed invocation is retried
+     * @param backoff          the initial backoff in milliseconds
+     * @param maxBackoff       the maximum backoff in milliseconds
+     * @param hedgePercentile  the latency percentile after which a hedged request is sent or -1 to disable hedging
+     * @param failureThreshold the number of consecutive failures after which the circuit is opened or -1 to disable circuit breaking
+     * @param openTime         the time in milliseconds an open circuit rejects invocations before a probe is allowed
+     */
+    public ResiliencePolicy(long timeout, int retries, long backoff, long maxBackoff, double hedgePercentile, int failureThreshold, long openTime) {
+        this.timeout = timeout;
+        this.retries = retries;
+        this.backoff = backoff;
+        this.maxBackoff = maxBackoff;
+        this.hedgePercentile = hedgePercentile;
+        this.failureThreshold = failureThreshold;
+        this.openTime = openTime;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    public int getRetries() {
+        return retries;
+    }
+
+    public long getBackoff() {
+        return backoff;
+    }
+
+    public long getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public double getHedgePercentile() {
+        return hedgePercentile;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getOpenTime() {
+        return openTime;
+    }
+
+    /**
+     * Returns true if invocations are dispatched on a separate thread so that the caller can stop waiting for a response.
+     *
+     * @return true if invocations are dispatched on a separate thread
+     */
+    public boolean isAsynchronous() {
+        return timeout > 0 || hedgePercentile > 0;
+    }
+
+    /**
+     * Returns a copy of this policy with hedging disabled.
+     *
+     * @return the policy
+     */
+    public ResiliencePolicy withoutHedging() {
+        return new ResiliencePolicy(timeout, retries, backoff, maxBackoff, -1, failureThreshold, openTime);
+    }
+
+}
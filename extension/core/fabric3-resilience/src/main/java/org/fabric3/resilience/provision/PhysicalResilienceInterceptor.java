@@ -0,0 +1,48 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.provision;
+
+import org.fabric3.resilience.model.ResiliencePolicy;
+import org.fabric3.spi.model.physical.PhysicalInterceptor;
+
+/**
+ * Physical definition for applying resilience policy to a wire operation.
+ */
+public class PhysicalResilienceInterceptor extends PhysicalInterceptor {
+    private String operation;
+    private ResiliencePolicy policy;
+
+    /**
+     * Constructor.
+     *
+     * @param operation the name state and statistics are tracked under
+     * @param policy    the policy
+     */
+    public PhysicalResilienceInterceptor(String operation, ResiliencePolicy policy) {
+        this.operation = operation;
+        this.policy = policy;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public ResiliencePolicy getPolicy() {
+        return policy;
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A circuit breaker that opens after a number of consecutive failures.
+ *
+ * While open, invocations are rejected. After the open time elapses the circuit becomes half-open and a single probe invocation is allowed through: if it
+ * succeeds the circuit is closed, otherwise it is opened again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openTime;
+    private final ResilienceMonitor monitor;
+    private final String operation;
+
+    private final AtomicInteger failures = new AtomicInteger();
+    private final AtomicBoolean probing = new AtomicBoolean();
+    private volatile long openedAt = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param operation        the operation name used for reporting
+     * @param failureThreshold the number of consecutive failures after which the circuit opens
+     * @param openTime         the time in milliseconds the circuit remains open before a probe is allowed
+     * @param monitor          the monitor
+     */
+    public CircuitBreaker(String operation, int failureThreshold, long openTime, ResilienceMonitor monitor) {
+        this.operation = operation;
+        this.failureThreshold = failureThreshold;
+        this.openTime = openTime;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Returns true if an invocation may proceed. If the invocation is allowed as a half-open probe, the caller must report the outcome using {@link
+     * #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return true if an invocation may proceed
+     */
+    public boolean allow() {
+        long opened = openedAt;
+        if (opened < 0) {
+            return true;
+        }
+        if (System.currentTimeMillis() - opened < openTime) {
+            return false;
+        }
+        // half-open: allow a single probe
+        return probing.compareAndSet(false, true);
+    }
+
+    /**
+     * Records a successful invocation.
+     */
+    public void onSuccess() {
+        failures.set(0);
+        if (openedAt >= 0) {
+            openedAt = -1;
+            probing.set(false);
+            monitor.circuitClosed(operation);
+        }
+    }
+
+    /**
+     * Records a failed invocation.
+     */
+    public void onFailure() {
+        if (openedAt >= 0) {
+            // a failed probe re-opens the circuit
+            openedAt = System.currentTimeMillis();
+            probing.set(false);
+            return;
+        }
+        if (failures.incrementAndGet() >= failureThreshold) {
+            openedAt = System.currentTimeMillis();
+            monitor.circuitOpened(operation, failureThreshold);
+        }
+    }
+
+    /**
+     * Closes the circuit.
+     */
+    public void reset() {
+        failures.set(0);
+        openedAt = -1;
+        probing.set(false);
+    }
+
+    public State getState() {
+        long opened = openedAt;
+        if (opened < 0) {
+            return State.CLOSED;
+        }
+        return System.currentTimeMillis() - opened < openTime ? State.OPEN : State.HALF_OPEN;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public long getOpenTime() {
+        return openTime;
+    }
+
+}
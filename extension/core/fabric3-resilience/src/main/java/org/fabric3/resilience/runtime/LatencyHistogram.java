@@ -0,0 +1,106 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Records invocation latencies in logarithmic buckets for estimating percentiles.
+ *
+ * Each power of two microseconds is split into two buckets, giving estimates within 50% of the actual value. Counts are halved periodically so that the
+ * histogram follows recent latency. Recording and reading are lock-free; concurrent updates may make estimates slightly inaccurate.
+ */
+public class LatencyHistogram {
+    private static final int BUCKETS = 64;
+    private static final long DECAY_INTERVAL = 10000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong samples = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(index(nanos));
+        if (samples.incrementAndGet() % DECAY_INTERVAL == 0) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = counts.get(i);
+                counts.addAndGet(i, -(count / 2));
+            }
+        }
+    }
+
+    /**
+     * Returns the estimated latency at the percentile.
+     *
+     * @param percentile     the percentile, between 0 and 100
+     * @param minimumSamples the minimum number of samples required for an estimate
+     * @return the latency in nanoseconds or -1 if fewer than the minimum number of samples have been recorded
+     */
+    public long getPercentile(double percentile, long minimumSamples) {
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0 || total < minimumSamples) {
+            return -1;
+        }
+        long threshold = (long) Math.ceil(total * percentile / 100);
+        long cumulative = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= threshold) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /**
+     * Returns the number of samples recorded.
+     *
+     * @return the number of samples recorded
+     */
+    public long getSamples() {
+        return samples.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private static int index(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        int log = 63 - Long.numberOfLeadingZeros(micros);
+        int half = log > 0 && (micros & (1L << (log - 1))) != 0 ? 1 : 0;
+        return Math.min(BUCKETS - 1, log * 2 + half);
+    }
+
+    private static long upperBound(int index) {
+        int log = index / 2;
+        long micros = index % 2 == 0 ? (3L << log) / 2 : 2L << log;
+        return micros * 1000;
+    }
+
+}
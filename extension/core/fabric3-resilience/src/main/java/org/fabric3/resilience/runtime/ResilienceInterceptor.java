@@ -0,0 +1,315 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.fabric3.api.SecuritySubject;
+import org.fabric3.resilience.model.ResiliencePolicy;
+import org.fabric3.spi.container.invocation.Message;
+import org.fabric3.spi.container.invocation.MessageImpl;
+import org.fabric3.spi.container.invocation.WorkContext;
+import org.fabric3.spi.container.invocation.WorkContextCache;
+import org.fabric3.spi.container.wire.Interceptor;
+import org.oasisopen.sca.ServiceRuntimeException;
+import org.oasisopen.sca.ServiceUnavailableException;
+
+/**
+ * Applies resilience policy to invocations on a wire.
+ *
+ * Failed invocations are retried with exponential backoff and full jitter. If a circuit breaker is configured, invocations are rejected with a {@link
+ * ServiceUnavailableException} while the circuit is open. If a timeout or hedging is configured, attempts are dispatched to the runtime executor so the caller
+ * can stop waiting: a timed out attempt is abandoned and, if a hedging percentile is set, a second attempt is sent once the original has been outstanding for
+ * longer than that percentile of recent latencies. The first successful response is returned.
+ *
+ * Only unchecked exceptions are treated as failures. Checked exceptions are application responses and are returned without retrying. Errors are recorded as
+ * failures and rethrown without retrying.
+ */
+public class ResilienceInterceptor implements Interceptor {
+    private String operation;
+    private ResiliencePolicy policy;
+    private ResilienceStatistics statistics;
+    private CircuitBreaker circuitBreaker;
+    private ExecutorService executorService;
+    private Interceptor next;
+
+    /**
+     * Constructor.
+     *
+     * @param operation       the operation name used for reporting
+     * @param policy          the policy
+     * @param statistics      the operation statistics
+     * @param circuitBreaker  the circuit breaker or null if circuit breaking is disabled
+     * @param executorService the executor for dispatching asynchronous attempts
+     */
+    public ResilienceInterceptor(String operation,
+                                 ResiliencePolicy policy,
+                                 ResilienceStatistics statistics,
+                                 CircuitBreaker circuitBreaker,
+                                 ExecutorService executorService) {
+        this.operation = operation;
+        this.policy = policy;
+        this.statistics = statistics;
+        this.circuitBreaker = circuitBreaker;
+        this.executorService = executorService;
+    }
+
+    public Message invoke(Message msg) {
+        statistics.onCall();
+        if (circuitBreaker != null && !circuitBreaker.allow()) {
+            statistics.onRejected();
+            msg.setBodyWithFault(new ServiceUnavailableException("Circuit open for operation: " + operation));
+            return msg;
+        }
+        Object payload = msg.getBody();
+        for (int attempt = 0; ; attempt++) {
+            if (attempt > 0) {
+                msg.setBody(payload);
+            }
+            Message response;
+            try {
+                response = policy.isAsynchronous() ? invokeAsync(msg, payload) : invokeSync(msg);
+            } catch (Error e) {
+                // record the failure so a half-open probe is released before the error propagates
+                statistics.onFailure();
+                if (circuitBreaker != null) {
+                    circuitBreaker.onFailure();
+                }
+                throw e;
+            }
+            if (!isFailure(response)) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.onSuccess();
+                }
+                return response;
+            }
+            statistics.onFailure();
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure();
+                if (circuitBreaker.getState() != CircuitBreaker.State.CLOSED) {
+                    return response;
+                }
+            }
+            if (attempt >= policy.getRetries() || !backoff(attempt)) {
+                return response;
+            }
+            statistics.onRetry();
+        }
+    }
+
+    public void setNext(Interceptor next) {
+        this.next = next;
+    }
+
+    public Interceptor getNext() {
+        return next;
+    }
+
+    /**
+     * Invokes the next interceptor on the calling thread.
+     *
+     * @param msg the message
+     * @return the response
+     */
+    private Message invokeSync(Message msg) {
+        long start = System.nanoTime();
+        try {
+            Message response = next.invoke(msg);
+            if (!isFailure(response)) {
+                statistics.onLatency(System.nanoTime() - start);
+            }
+            return response;
+        } catch (RuntimeException e) {
+            msg.setBodyWithFault(e);
+            return msg;
+        }
+    }
+
+    /**
+     * Dispatches attempts to the executor and waits for the first successful response, the timeout, or the failure of all attempts.
+     *
+     * @param msg     the message
+     * @param payload the original payload
+     * @return the response
+     */
+    private Message invokeAsync(Message msg, Object payload) {
+        Attempt attempt = new Attempt(payload, msg.getWorkContext());
+        CompletionService<Message> completionService = new ExecutorCompletionService<>(executorService);
+        List<Future<Message>> futures = new ArrayList<>(2);
+
+        long start = System.nanoTime();
+        long timeout = policy.getTimeout();
+        long deadline = timeout > 0 ? start + TimeUnit.MILLISECONDS.toNanos(timeout) : Long.MAX_VALUE;
+        long hedgeDelay = policy.getHedgePercentile() > 0 ? statistics.getLatency(policy.getHedgePercentile()) : -1;
+        long hedgeAt = hedgeDelay >= 0 ? start + hedgeDelay : Long.MAX_VALUE;
+        try {
+            futures.add(completionService.submit(attempt));
+            int pending = 1;
+            Message failure = null;
+            while (pending > 0) {
+                long wakeup = Math.min(deadline, hedgeAt);
+                Future<Message> future;
+                if (wakeup == Long.MAX_VALUE) {
+                    future = completionService.take();
+                } else {
+                    future = completionService.poll(wakeup - System.nanoTime(), TimeUnit.NANOSECONDS);
+                }
+                if (future == null) {
+                    long now = System.nanoTime();
+                    if (now >= hedgeAt) {
+                        hedgeAt = Long.MAX_VALUE;
+                        statistics.onHedge();
+                        futures.add(completionService.submit(attempt));
+                        pending++;
+                    } else if (now >= deadline) {
+                        statistics.onTimeout();
+                        msg.setBodyWithFault(new ServiceUnavailableException("Invocation timed out for operation: " + operation));
+                        return msg;
+                    }
+                    continue;
+                }
+                pending--;
+                Message response = future.get();
+                if (!isFailure(response)) {
+                    copy(response, msg);
+                    return msg;
+                }
+                failure = response;
+                // do not hedge an attempt that has already failed
+                hedgeAt = Long.MAX_VALUE;
+            }
+            copy(failure, msg);
+            return msg;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            msg.setBodyWithFault(new ServiceRuntimeException(e));
+            return msg;
+        } catch (ExecutionException e) {
+            msg.setBodyWithFault(new ServiceRuntimeException(e.getCause()));
+            return msg;
+        } finally {
+            // abandon outstanding attempts; they are not interrupted as that may disrupt the underlying transport
+            for (Future<Message> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Waits before retrying.
+     *
+     * @param attempt the number of the attempt that failed, starting at 0
+     * @return true if the wait completed, false if the thread was interrupted
+     */
+    private boolean backoff(int attempt) {
+        long ceiling = Math.min(policy.getMaxBackoff(), policy.getBackoff() << Math.min(attempt, 30));
+        if (ceiling <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean isFailure(Message response) {
+        if (!response.isFault()) {
+            return false;
+        }
+        Object body = response.getBody();
+        return body instanceof RuntimeException || body instanceof Error;
+    }
+
+    private void copy(Message from, Message to) {
+        if (from.isFault()) {
+            to.setBodyWithFault(from.getBody());
+        } else {
+            to.setBody(from.getBody());
+        }
+    }
+
+    /**
+     * An invocation attempt performed on an executor thread using a copy of the caller's work context.
+     */
+    private class Attempt implements Callable<Message> {
+        private Object payload;
+        private List<String> stack;
+        private Map<String, Object> headers;
+        private SecuritySubject subject;
+
+        public Attempt(Object payload, WorkContext workContext) {
+            this.payload = payload;
+            List<String> callbackReferences = workContext.getCallbackReferences();
+            if (callbackReferences != null && !callbackReferences.isEmpty()) {
+                stack = new ArrayList<>(callbackReferences);
+            }
+            Map<String, Object> contextHeaders = workContext.getHeaders();
+            if (contextHeaders != null && !contextHeaders.isEmpty()) {
+                headers = new HashMap<>(contextHeaders);
+            }
+            subject = workContext.getSubject();
+        }
+
+        public Message call() {
+            WorkContext workContext = WorkContextCache.getAndResetThreadWorkContext();
+            // copy the callstack and headers as hedged attempts may run concurrently
+            if (stack != null) {
+                workContext.addCallbackReferences(new ArrayList<>(stack));
+            }
+            if (headers != null) {
+                workContext.addHeaders(new HashMap<>(headers));
+            }
+            workContext.setSubject(subject);
+
+            Message message = new MessageImpl();
+            message.setBody(payload);
+            message.setWorkContext(workContext);
+            long start = System.nanoTime();
+            try {
+                Message response = next.invoke(message);
+                if (!isFailure(response)) {
+                    statistics.onLatency(System.nanoTime() - start);
+                }
+                // copy the response as the returned message may be reused by the thread
+                Message result = new MessageImpl();
+                copy(response, result);
+                return result;
+            } catch (RuntimeException e) {
+                Message result = new MessageImpl();
+                result.setBodyWithFault(e);
+                return result;
+            } finally {
+                workContext.reset();
+            }
+        }
+    }
+
+}
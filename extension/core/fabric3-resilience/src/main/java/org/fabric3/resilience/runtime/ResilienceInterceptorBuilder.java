@@ -0,0 +1,60 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.util.concurrent.ExecutorService;
+
+import org.fabric3.api.annotation.monitor.Monitor;
+import org.fabric3.resilience.model.ResiliencePolicy;
+import org.fabric3.resilience.provision.PhysicalResilienceInterceptor;
+import org.fabric3.spi.container.builder.InterceptorBuilder;
+import org.fabric3.spi.container.wire.Interceptor;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Creates a resilience interceptor. Interceptors for the same operation share statistics and circuit state, which are released when the interceptors are
+ * disposed.
+ */
+public class ResilienceInterceptorBuilder implements InterceptorBuilder<PhysicalResilienceInterceptor> {
+    private ExecutorService executorService;
+    private ResilienceRegistry registry;
+    private ResilienceMonitor monitor;
+
+    public ResilienceInterceptorBuilder(@Reference(name = "executorService") ExecutorService executorService,
+                                        @Reference ResilienceRegistry registry,
+                                        @Monitor ResilienceMonitor monitor) {
+        this.executorService = executorService;
+        this.registry = registry;
+        this.monitor = monitor;
+    }
+
+    public Interceptor build(PhysicalResilienceInterceptor definition) {
+        String operation = definition.getOperation();
+        ResiliencePolicy policy = definition.getPolicy();
+        ResilienceStatistics statistics = registry.acquire(operation);
+        CircuitBreaker circuitBreaker = null;
+        if (policy.getFailureThreshold() > 0) {
+            circuitBreaker = statistics.getCircuitBreaker(operation, policy.getFailureThreshold(), policy.getOpenTime(), monitor);
+        }
+        return new ResilienceInterceptor(operation, policy, statistics, circuitBreaker, executorService);
+    }
+
+    public void dispose(PhysicalResilienceInterceptor definition) {
+        registry.release(definition.getOperation());
+    }
+
+}
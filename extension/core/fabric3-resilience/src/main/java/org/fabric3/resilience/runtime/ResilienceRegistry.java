@@ -0,0 +1,72 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
+
+/**
+ * Tracks {@link ResilienceStatistics} for operations with resilience policy. Statistics are reference counted by the interceptors using them and removed when
+ * the last interceptor for the operation is disposed.
+ */
+@Management(name = "ResilienceStatistics", path = "/runtime/resilience", description = "Reports circuit state and resilience statistics by operation")
+public class ResilienceRegistry {
+    private Map<String, ResilienceStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the statistics for the operation, creating them if necessary, and registers a reference to them.
+     *
+     * @param operation the operation name
+     * @return the statistics
+     */
+    public synchronized ResilienceStatistics acquire(String operation) {
+        ResilienceStatistics operationStatistics = statistics.computeIfAbsent(operation, k -> new ResilienceStatistics());
+        operationStatistics.references++;
+        return operationStatistics;
+    }
+
+    /**
+     * Releases a reference to the statistics for the operation. When the last reference is released, the statistics and circuit state are removed.
+     *
+     * @param operation the operation name
+     */
+    public synchronized void release(String operation) {
+        ResilienceStatistics operationStatistics = statistics.get(operation);
+        if (operationStatistics != null && --operationStatistics.references <= 0) {
+            statistics.remove(operation);
+        }
+    }
+
+    @ManagementOperation(path = "/", description = "Circuit state and resilience statistics by operation")
+    public Map<String, String> getStatistics() {
+        Map<String, String> values = new TreeMap<>();
+        for (Map.Entry<String, ResilienceStatistics> entry : statistics.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().toString());
+        }
+        return values;
+    }
+
+    @ManagementOperation(description = "Clears resilience statistics and closes all circuits")
+    public void reset() {
+        statistics.values().forEach(ResilienceStatistics::reset);
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks invocation statistics and circuit state for an operation with resilience policy. Instances are shared by all wires for the operation.
+ */
+public class ResilienceStatistics {
+    private static final long MINIMUM_SAMPLES = 100;
+
+    private LongAdder calls = new LongAdder();
+    private LongAdder failures = new LongAdder();
+    private LongAdder timeouts = new LongAdder();
+    private LongAdder retries = new LongAdder();
+    private LongAdder hedges = new LongAdder();
+    private LongAdder rejected = new LongAdder();
+    private LatencyHistogram latency = new LatencyHistogram();
+    private volatile CircuitBreaker circuitBreaker;
+
+    // guarded by the registry
+    int references;
+
+    public void onCall() {
+        calls.increment();
+    }
+
+    public void onFailure() {
+        failures.increment();
+    }
+
+    public void onTimeout() {
+        timeouts.increment();
+    }
+
+    public void onRetry() {
+        retries.increment();
+    }
+
+    public void onHedge() {
+        hedges.increment();
+    }
+
+    public void onRejected() {
+        rejected.increment();
+    }
+
+    /**
+     * Records the latency of a successful attempt.
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void onLatency(long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Returns the latency at the percentile in nanoseconds or -1 if not enough invocations have been recorded for an estimate.
+     *
+     * @param percentile the percentile
+     * @return the latency
+     */
+    public long getLatency(double percentile) {
+        return latency.getPercentile(percentile, MINIMUM_SAMPLES);
+    }
+
+    /**
+     * Returns the circuit breaker for the operation, creating it if necessary. If the existing breaker was created with a different policy, it is replaced.
+     *
+     * @param operation        the operation name
+     * @param failureThreshold the number of consecutive failures after which the circuit opens
+     * @param openTime         the time the circuit remains open
+     * @param monitor          the monitor
+     * @return the circuit breaker
+     */
+    public synchronized CircuitBreaker getCircuitBreaker(String operation, int failureThreshold, long openTime, ResilienceMonitor monitor) {
+        if (circuitBreaker == null || circuitBreaker.getFailureThreshold() != failureThreshold || circuitBreaker.getOpenTime() != openTime) {
+            circuitBreaker = new CircuitBreaker(operation, failureThreshold, openTime, monitor);
+        }
+        return circuitBreaker;
+    }
+
+    public void reset() {
+        calls.reset();
+        failures.reset();
+        timeouts.reset();
+        retries.reset();
+        hedges.reset();
+        rejected.reset();
+        latency.reset();
+        CircuitBreaker breaker = circuitBreaker;
+        if (breaker != null) {
+            breaker.reset();
+        }
+    }
+
+    public String toString() {
+        CircuitBreaker breaker = circuitBreaker;
+        String state = breaker == null ? "NONE" : breaker.getState().toString();
+        long p50 = TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(50, 1));
+        long p99 = TimeUnit.NANOSECONDS.toMicros(latency.getPercentile(99, 1));
+        return "circuit=" + state + ", calls=" + calls.sum() + ", failures=" + failures.sum() + ", timeouts=" + timeouts.sum() + ", retries=" + retries.sum()
+               + ", hedges=" + hedges.sum() + ", rejected=" + rejected.sum() + ", p50(us)=" + p50 + ", p99(us)=" + p99;
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.util.concurrent.ExecutorService;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.resilience.model.ResiliencePolicy;
+import org.fabric3.resilience.provision.PhysicalResilienceInterceptor;
+
+/**
+ *
+ */
+public class ResilienceInterceptorBuilderTestCase extends TestCase {
+    private ResilienceRegistry registry;
+    private ResilienceInterceptorBuilder builder;
+
+    public void testStatisticsReleasedOnDispose() throws Exception {
+        PhysicalResilienceInterceptor definition = new PhysicalResilienceInterceptor("operation", new ResiliencePolicy(-1, 0, 0, 0, -1, 5, 1000));
+
+        builder.build(definition);
+        builder.build(definition);
+        assertTrue(registry.getStatistics().containsKey("operation"));
+
+        builder.dispose(definition);
+        assertTrue(registry.getStatistics().containsKey("operation"));
+
+        builder.dispose(definition);
+        assertFalse(registry.getStatistics().containsKey("operation"));
+    }
+
+    public void testCircuitBreakerReplacedOnPolicyChange() throws Exception {
+        ResilienceStatistics statistics = registry.acquire("operation");
+        ResilienceMonitor monitor = EasyMock.createNiceMock(ResilienceMonitor.class);
+
+        CircuitBreaker breaker = statistics.getCircuitBreaker("operation", 5, 1000, monitor);
+        assertSame(breaker, statistics.getCircuitBreaker("operation", 5, 1000, monitor));
+
+        CircuitBreaker changed = statistics.getCircuitBreaker("operation", 10, 1000, monitor);
+        assertNotSame(breaker, changed);
+        assertEquals(10, changed.getFailureThreshold());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        registry = new ResilienceRegistry();
+        ExecutorService executorService = EasyMock.createNiceMock(ExecutorService.class);
+        ResilienceMonitor monitor = EasyMock.createNiceMock(ResilienceMonitor.class);
+        builder = new ResilienceInterceptorBuilder(executorService, registry, monitor);
+    }
+
+}
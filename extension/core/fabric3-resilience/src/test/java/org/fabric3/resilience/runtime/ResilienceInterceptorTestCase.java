@@ -0,0 +1,238 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.resilience.runtime;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.resilience.model.ResiliencePolicy;
+import org.fabric3.spi.container.invocation.Message;
+import org.fabric3.spi.container.invocation.MessageImpl;
+import org.fabric3.spi.container.invocation.WorkContext;
+import org.fabric3.spi.container.wire.Interceptor;
+import org.oasisopen.sca.ServiceRuntimeException;
+import org.oasisopen.sca.ServiceUnavailableException;
+
+/**
+ *
+ */
+public class ResilienceInterceptorTestCase extends TestCase {
+    private ExecutorService executorService;
+    private ResilienceStatistics statistics;
+    private ResilienceMonitor monitor;
+
+    public void testRetry() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        ResilienceInterceptor interceptor = createInterceptor(new ResiliencePolicy(-1, 2, 1, 1, -1, -1, 0), null);
+        interceptor.setNext(new MockInterceptor(msg -> {
+            assertEquals("request", msg.getBody());
+            if (count.incrementAndGet() < 3) {
+                msg.setBodyWithFault(new ServiceRuntimeException());
+            } else {
+                msg.setBody("response");
+            }
+        }));
+
+        Message response = interceptor.invoke(createMessage());
+        assertFalse(response.isFault());
+        assertEquals("response", response.getBody());
+        assertEquals(3, count.get());
+    }
+
+    public void testNoRetryOnCheckedException() throws Exception {
+        AtomicInteger count = new AtomicInteger();
+        ResilienceInterceptor interceptor = createInterceptor(new ResiliencePolicy(-1, 2, 1, 1, -1, -1, 0), null);
+        interceptor.setNext(new MockInterceptor(msg -> {
+            count.incrementAndGet();
+            msg.setBodyWithFault(new IOException());
+        }));
+
+        Message response = interceptor.invoke(createMessage());
+        assertTrue(response.getBody() instanceof IOException);
+        assertEquals(1, count.get());
+    }
+
+    public void testCircuitOpensAndCloses() throws Exception {
+        monitor.circuitOpened("operation", 2);
+        monitor.circuitClosed("operation");
+        EasyMock.replay(monitor);
+
+        AtomicInteger count = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker("operation", 2, 50, monitor);
+        ResilienceInterceptor interceptor = createInterceptor(new ResiliencePolicy(-1, 0, 0, 0, -1, 2, 50), breaker);
+        interceptor.setNext(new MockInterceptor(msg -> {
+            if (count.incrementAndGet() <= 2) {
+                msg.setBodyWithFault(new ServiceRuntimeException());
+            } else {
+                msg.setBody("response");
+            }
+        }));
+
+        interceptor.invoke(createMessage());
+        interceptor.invoke(createMessage());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Message response = interceptor.invoke(createMessage());
+        assertTrue(response.getBody() instanceof ServiceUnavailableException);
+        assertEquals(2, count.get());
+
+        Thread.sleep(60);
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        response = interceptor.invoke(createMessage());
+        assertEquals("response", response.getBody());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        EasyMock.verify(monitor);
+    }
+
+    public void testErrorReleasesProbe() throws Exception {
+        monitor.circuitOpened("operation", 1);
+        monitor.circuitClosed("operation");
+        EasyMock.replay(monitor);
+
+        AtomicInteger count = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker("operation", 1, 20, monitor);
+        ResilienceInterceptor interceptor = createInterceptor(new ResiliencePolicy(-1, 0, 0, 0, -1, 1, 20), breaker);
+        interceptor.setNext(new MockInterceptor(msg -> {
+            int current = count.incrementAndGet();
+            if (current == 1) {
+                msg.setBodyWithFault(new ServiceRuntimeException());
+            } else if (current == 2) {
+                throw new AssertionError();
+            } else {
+                msg.setBody("response");
+            }
+        }));
+
+        interceptor.invoke(createMessage());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(30);
+        try {
+            interceptor.invoke(createMessage());
+            fail();
+        } catch (AssertionError e) {
+            // expected
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // the failed probe re-opened the circuit and a later probe is allowed
+        Thread.sleep(30);
+        Message response = interceptor.invoke(createMessage());
+        assertEquals("response", response.getBody());
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        EasyMock.verify(monitor);
+    }
+
+    public void testTimeout() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        ResilienceInterceptor interceptor = createInterceptor(new ResiliencePolicy(20, 0, 0, 0, -1, -1, 0), null);
+        interceptor.setNext(new MockInterceptor(msg -> {
+            try {
+                latch.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            msg.setBody("response");
+        }));
+
+        Message response = interceptor.invoke(createMessage());
+        latch.countDown();
+        assertTrue(response.isFault());
+        assertTrue(response.getBody() instanceof ServiceUnavailableException);
+    }
+
+    public void testHedge() throws Exception {
+        for (int i = 0; i < 200; i++) {
+            statistics.onLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(1);
+        ResilienceInterceptor interceptor = createInterceptor(new ResiliencePolicy(5000, 0, 0, 0, 90, -1, 0), null);
+        interceptor.setNext(new MockInterceptor(msg -> {
+            if (count.incrementAndGet() == 1) {
+                // the original request stalls
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                msg.setBody("slow");
+            } else {
+                msg.setBody("hedged");
+            }
+        }));
+
+        Message response = interceptor.invoke(createMessage());
+        latch.countDown();
+        assertEquals("hedged", response.getBody());
+        assertEquals(2, count.get());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        executorService = Executors.newCachedThreadPool();
+        statistics = new ResilienceStatistics();
+        monitor = EasyMock.createMock(ResilienceMonitor.class);
+    }
+
+    public void tearDown() throws Exception {
+        super.tearDown();
+        executorService.shutdownNow();
+    }
+
+    private ResilienceInterceptor createInterceptor(ResiliencePolicy policy, CircuitBreaker breaker) {
+        return new ResilienceInterceptor("operation", policy, statistics, breaker, executorService);
+    }
+
+    private Message createMessage() {
+        Message message = new MessageImpl();
+        message.setBody("request");
+        message.setWorkContext(new WorkContext());
+        return message;
+    }
+
+    private interface Behavior {
+        void apply(Message msg);
+    }
+
+    private class MockInterceptor implements Interceptor {
+        private Behavior behavior;
+
+        public MockInterceptor(Behavior behavior) {
+            this.behavior = behavior;
+        }
+
+        public Message invoke(Message msg) {
+            behavior.apply(msg);
+            return msg;
+        }
+
+        public void setNext(Interceptor next) {
+        }
+
+        public Interceptor getNext() {
+            return null;
+        }
+    }
+
+}
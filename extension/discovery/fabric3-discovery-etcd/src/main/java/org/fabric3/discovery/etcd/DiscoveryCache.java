@@ -0,0 +1,269 @@
+package org.fabric3.discovery.etcd;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.fabric3.api.MonitorChannel;
+import org.fabric3.spi.discovery.AbstractEntry;
+import org.fabric3.spi.discovery.ChannelEntry;
+import org.fabric3.spi.discovery.ServiceEntry;
+
+/**
+ * A local copy of the service, channel and configuration entries in the domain etcd directory.
+ *
+ * The cache is loaded from a full recursive read and then kept current by applying watch events in order. Each applied event advances the cache index to the
+ * event's {@code modifiedIndex}, which is used as the starting point for the next watch. If etcd reports the requested index has been cleared, the cache is
+ * marked stale and must be reloaded. Stale contents continue to be served until the reload completes.
+ *
+ * Updates are performed by a single watch thread; lookups may be performed concurrently.
+ */
+class DiscoveryCache {
+    private String servicesPrefix;
+    private String channelsPrefix;
+    private String configurationPrefix;
+    private ObjectMapper mapper;
+    private MonitorChannel monitor;
+
+    private volatile Snapshot snapshot;
+    private volatile boolean stale = true;
+
+    public DiscoveryCache(String authority, ObjectMapper mapper, MonitorChannel monitor) {
+        this.servicesPrefix = "/" + authority + "/services/";
+        this.channelsPrefix = "/" + authority + "/channels/";
+        this.configurationPrefix = "/" + authority + "/configuration/";
+        this.mapper = mapper;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Returns true if the cache has been loaded and can serve lookups.
+     *
+     * @return true if the cache has been loaded
+     */
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Returns true if the cache must be reloaded before watch events can be applied.
+     *
+     * @return true if the cache is stale
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * Marks the cache as stale, for example after etcd has cleared the events following the current index.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Returns the etcd index of the last applied change.
+     *
+     * @return the index
+     */
+    public long getIndex() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.index;
+    }
+
+    /**
+     * Replaces the cache contents with the result of a full recursive read of the domain directory.
+     *
+     * @param root      the domain directory node or null if the directory does not exist
+     * @param etcdIndex the etcd index returned with the read or -1 if not known
+     * @return the raw values of the previous contents keyed by etcd key, or null if the cache was not previously loaded
+     */
+    public Map<String, String> load(Map<String, Object> root, long etcdIndex) {
+        Snapshot loaded = new Snapshot();
+        if (root != null) {
+            load(root, loaded);
+        }
+        if (etcdIndex > loaded.index) {
+            loaded.index = etcdIndex;
+        }
+        Snapshot previous = snapshot;
+        snapshot = loaded;
+        stale = false;
+        return previous == null ? null : previous.values;
+    }
+
+    /**
+     * Applies a watch event.
+     *
+     * @param action   the etcd action
+     * @param node     the event node
+     * @param prevNode the previous node or null
+     */
+    public void apply(String action, Map<String, Object> node, Map<String, Object> prevNode) {
+        Snapshot current = snapshot;
+        if (current == null || node == null) {
+            return;
+        }
+        long modifiedIndex = getModifiedIndex(node);
+        if (modifiedIndex > 0 && modifiedIndex <= current.index) {
+            // already applied as part of a reload
+            return;
+        }
+        String key = (String) node.get("key");
+        if ("delete".equals(action) || "expire".equals(action) || "compareAndDelete".equals(action)) {
+            if (Boolean.TRUE.equals(node.get("dir")) || (prevNode != null && Boolean.TRUE.equals(prevNode.get("dir")))) {
+                String prefix = key + "/";
+                new ArrayList<>(current.values.keySet()).stream().filter(k -> k.startsWith(prefix)).forEach(current::remove);
+            } else {
+                current.remove(key);
+            }
+        } else {
+            String value = (String) node.get("value");
+            if (key != null && value != null) {
+                current.put(key, value);
+            }
+        }
+        if (modifiedIndex > current.index) {
+            current.index = modifiedIndex;
+        }
+    }
+
+    /**
+     * Returns the cached service entries matching a name or all entries if the name is {@code *}.
+     *
+     * @param name the name
+     * @return the entries
+     */
+    public List<ServiceEntry> getServiceEntries(String name) {
+        Snapshot current = snapshot;
+        return current == null ? Collections.emptyList() : current.services.get(name);
+    }
+
+    /**
+     * Returns the cached channel entries matching a name or all entries if the name is {@code *}.
+     *
+     * @param name the name
+     * @return the entries
+     */
+    public List<ChannelEntry> getChannelEntries(String name) {
+        Snapshot current = snapshot;
+        return current == null ? Collections.emptyList() : current.channels.get(name);
+    }
+
+    /**
+     * Returns a cached configuration value.
+     *
+     * @param key the configuration key relative to the configuration directory
+     * @return the value or null
+     */
+    public String getValue(String key) {
+        Snapshot current = snapshot;
+        return current == null ? null : current.values.get(configurationPrefix + key);
+    }
+
+    /**
+     * Returns the raw values currently cached keyed by etcd key.
+     *
+     * @return the values
+     */
+    public Map<String, String> getValues() {
+        Snapshot current = snapshot;
+        return current == null ? Collections.emptyMap() : new HashMap<>(current.values);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void load(Map<String, Object> node, Snapshot loaded) {
+        long modifiedIndex = getModifiedIndex(node);
+        if (modifiedIndex > loaded.index) {
+            loaded.index = modifiedIndex;
+        }
+        String key = (String) node.get("key");
+        String value = (String) node.get("value");
+        if (key != null && value != null) {
+            loaded.put(key, value);
+        }
+        List<Map<String, Object>> nodes = (List<Map<String, Object>>) node.get("nodes");
+        if (nodes != null) {
+            for (Map<String, Object> child : nodes) {
+                load(child, loaded);
+            }
+        }
+    }
+
+    private long getModifiedIndex(Map<String, Object> node) {
+        Object index = node.get("modifiedIndex");
+        return index instanceof Number ? ((Number) index).longValue() : -1;
+    }
+
+    /**
+     * A version of the cache contents.
+     */
+    private class Snapshot {
+        private volatile long index;
+        private Map<String, String> values = new ConcurrentHashMap<>();
+        private EntryIndex<ServiceEntry> services = new EntryIndex<>();
+        private EntryIndex<ChannelEntry> channels = new EntryIndex<>();
+
+        private void put(String key, String value) {
+            try {
+                if (key.startsWith(servicesPrefix)) {
+                    services.put(key, mapper.readValue(value, ServiceEntry.class));
+                } else if (key.startsWith(channelsPrefix)) {
+                    channels.put(key, mapper.readValue(value, ChannelEntry.class));
+                } else if (!key.startsWith(configurationPrefix)) {
+                    // only track services, channels and configuration
+                    return;
+                }
+                values.put(key, value);
+            } catch (IOException e) {
+                monitor.severe("Error deserializing etcd entry: {0}", key, e);
+            }
+        }
+
+        private void remove(String key) {
+            values.remove(key);
+            services.remove(key);
+            channels.remove(key);
+        }
+
+    }
+
+    /**
+     * Indexes entries by etcd key and by entry name.
+     */
+    private static class EntryIndex<T extends AbstractEntry> {
+        private Map<String, T> byKey = new ConcurrentHashMap<>();
+        private Map<String, Map<String, T>> byName = new ConcurrentHashMap<>();
+
+        private void put(String key, T entry) {
+            remove(key);
+            byKey.put(key, entry);
+            byName.computeIfAbsent(entry.getName(), k -> new ConcurrentHashMap<>()).put(key, entry);
+        }
+
+        private void remove(String key) {
+            T entry = byKey.remove(key);
+            if (entry == null) {
+                return;
+            }
+            Map<String, T> entries = byName.get(entry.getName());
+            if (entries != null) {
+                entries.remove(key);
+            }
+        }
+
+        private List<T> get(String name) {
+            if ("*".equals(name)) {
+                return new ArrayList<>(byKey.values());
+            }
+            Map<String, T> entries = byName.getOrDefault(name, Collections.emptyMap());
+            return new ArrayList<>(entries.values());
+        }
+    }
+
+}
@@ -14,6 +14,7 @@ import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.squareup.okhttp.FormEncodingBuilder;
 import com.squareup.okhttp.OkHttpClient;
@@ -53,6 +54,10 @@ import org.oasisopen.sca.annotation.Reference;
  * Each runtime posts an in-order key with its name to {@code [domain]/[leader/[zone]}. The runtime which has posted the first key (i.e. the one with the lowest
  * created index) is elected leader. Leadership changes are watched by the same background thread which monitors service and channel entry changes. The
  * background TTL thread also periodically updates leadership entries.
+ *
+ * Service, channel and configuration entries are materialized in a local {@link DiscoveryCache} loaded by the watch thread and updated from watch events, so
+ * lookups do not require a round trip to etcd. Watches resume from the index of the last applied event. If etcd has cleared events following that index, the
+ * cache is reloaded from a full read and listeners are notified of the differences. Until the cache is first loaded, lookups are made against etcd.
  */
 @EagerInit
 public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
@@ -84,6 +89,7 @@ public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
     private OkHttpClient client;
     private ObjectMapper mapper;
     private int index;
+    private DiscoveryCache cache;
 
     private Map<String, List<BiConsumer<EntryChange, ServiceEntry>>> serviceListeners = new HashMap<>(); // service name to listeners
     private Map<String, List<BiConsumer<EntryChange, ChannelEntry>>> channelListeners = new HashMap<>(); // channel name to listeners
@@ -119,6 +125,9 @@ public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
         client = new OkHttpClient();
         client.setConnectTimeout(0, TimeUnit.MILLISECONDS);
         mapper = new ObjectMapper();
+        // tolerate entries published by runtimes with additional entry properties
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        cache = new DiscoveryCache(authority, mapper, monitor);
         pinnedAddress = getAddress();
 
         if (RuntimeMode.NODE == info.getRuntimeMode() && leaderElectionEnabled) {
@@ -143,10 +152,16 @@ public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
 
     @SuppressWarnings("unchecked")
     public List<ServiceEntry> getServiceEntries(String name) {
+        if (cache.isLoaded()) {
+            return cache.getServiceEntries(name);
+        }
         return getEntries(ServiceEntry.class, name);
     }
 
     public List<ChannelEntry> getChannelEntries(String name) {
+        if (cache.isLoaded()) {
+            return cache.getChannelEntries(name);
+        }
         return getEntries(ChannelEntry.class, name);
     }
 
@@ -208,6 +223,9 @@ public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
 
     @SuppressWarnings("unchecked")
     public String getValue(String key) {
+        if (cache.isLoaded()) {
+            return cache.getValue(key);
+        }
         String address = pinnedAddress;
         while (true) {
             try {
@@ -262,12 +280,18 @@ public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
     private void changeListenerTask() {
         while (active) {
             try {
+                if (cache.isStale()) {
+                    loadCache();
+                    continue;
+                }
                 String address = pinnedAddress;
-                Request request = new Request.Builder().url(address + "/v2/keys/" + authority + "?wait=true&recursive=true").get().build();
+                String url = address + V2_KEYS + authority + "?wait=true&recursive=true&waitIndex=" + (cache.getIndex() + 1);
+                Request request = new Request.Builder().url(url).get().build();
                 Response response = client.newCall(request).execute();
                 if (response.isSuccessful()) {
                     Map<String, Object> data = mapper.readValue(response.body().byteStream(), Map.class);
                     String action = (String) data.get("action");
+                    cache.apply(action, (Map) data.get("node"), (Map) data.get("prevNode"));
                     if ("set".equals(action)) {
                         processChange((Map) data.get("node"), EntryChange.SET);
                     } else if ("delete".equals(action)) {
@@ -286,6 +310,10 @@ public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
                     } else {
                         monitor.debug("Invalid action returned from etcd key watch: " + action);
                     }
+                } else if (isIndexCleared(response)) {
+                    // events following the cache index are no longer available
+                    monitor.debug("etcd watch index cleared, reloading discovery cache");
+                    cache.invalidate();
                 } else {
                     Thread.sleep(sleepInterval);
                 }
@@ -298,6 +326,74 @@ public class EtcdAgent implements DiscoveryAgent, ConfigurationAgent {
         }
     }
 
+    /**
+     * Loads the discovery cache from a full read of the domain directory. If the cache was previously loaded, listeners are notified of entries that changed
+     * while events were missed.
+     *
+     * @throws IOException        if there is an error communicating with etcd
+     * @throws InterruptedException if interrupted while waiting to retry
+     */
+    @SuppressWarnings("unchecked")
+    private void loadCache() throws IOException, InterruptedException {
+        String address = pinnedAddress;
+        Request request = new Request.Builder().url(address + V2_KEYS + authority + "?recursive=true").build();
+        Response response = client.newCall(request).execute();
+        if (!response.isSuccessful() && response.code() != 404) {
+            monitor.debug("Response loading discovery cache from etcd: {0}", String.valueOf(response.code()));
+            Thread.sleep(sleepInterval);
+            return;
+        }
+        Map<String, Object> body = mapper.readValue(response.body().string(), Map.class);
+        // the domain directory does not exist (404) if nothing has been registered
+        Map<String, Object> root = response.isSuccessful() ? (Map<String, Object>) body.get("node") : null;
+        long etcdIndex = parseIndex(response.header("X-Etcd-Index"), body.get("index"));
+        Map<String, String> previous = cache.load(root, etcdIndex);
+        if (previous != null) {
+            Map<String, String> current = cache.getValues();
+            current.entrySet().stream().filter(e -> !e.getValue().equals(previous.get(e.getKey()))).forEach(e -> notifyCacheChange(e.getKey(),
+                                                                                                                                      e.getValue(),
+                                                                                                                                      EntryChange.SET));
+            previous.entrySet().stream().filter(e -> !current.containsKey(e.getKey())).forEach(e -> notifyCacheChange(e.getKey(),
+                                                                                                                    e.getValue(),
+                                                                                                                    EntryChange.DELETE));
+        }
+    }
+
+    private void notifyCacheChange(String key, String value, EntryChange change) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("key", key);
+        node.put("value", value);
+        processChange(node, change);
+    }
+
+    /**
+     * Returns true if a watch failed because etcd has cleared the events following the requested index.
+     *
+     * @param response the watch response
+     * @return true if the index was cleared
+     * @throws IOException if there is an error reading the response
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isIndexCleared(Response response) throws IOException {
+        if (response.code() != 400) {
+            return false;
+        }
+        Map<String, Object> body = mapper.readValue(response.body().string(), Map.class);
+        Object errorCode = body.get("errorCode");
+        return errorCode instanceof Number && ((Number) errorCode).intValue() == 401;
+    }
+
+    private long parseIndex(String header, Object bodyIndex) {
+        if (header != null) {
+            try {
+                return Long.parseLong(header);
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+        }
+        return bodyIndex instanceof Number ? ((Number) bodyIndex).longValue() : -1;
+    }
+
     /**
      * Updates service and channel entries periodically (half the TTL value).
      */
@@ -0,0 +1,107 @@
+package org.fabric3.discovery.etcd;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.MonitorChannel;
+
+public class DiscoveryCacheTestCase extends TestCase {
+    private static final String FOO = "{\"name\":\"foo\",\"transport\":\"http\",\"address\":\"localhost\",\"port\":2001,\"path\":\"foo\"}";
+    private static final String BAR = "{\"name\":\"bar\",\"transport\":\"zmq\",\"address\":\"localhost\",\"port\":2002}";
+
+    private DiscoveryCache cache;
+
+    public void testLoadAndLookup() throws Exception {
+        assertFalse(cache.isLoaded());
+        assertTrue(cache.isStale());
+
+        assertNull(cache.load(createRoot(), -1));
+
+        assertTrue(cache.isLoaded());
+        assertFalse(cache.isStale());
+        assertEquals(120, cache.getIndex());
+        assertEquals(1, cache.getServiceEntries("foo").size());
+        assertEquals(1, cache.getServiceEntries("*").size());
+        assertEquals(1, cache.getChannelEntries("bar").size());
+        assertEquals("value", cache.getValue("key"));
+        assertTrue(cache.getServiceEntries("baz").isEmpty());
+    }
+
+    public void testApplyChanges() throws Exception {
+        cache.load(createRoot(), 125);
+
+        cache.apply("set", createNode("/subdomain/services/runtime2:foo", FOO, 126), null);
+        assertEquals(2, cache.getServiceEntries("foo").size());
+        assertEquals(126, cache.getIndex());
+
+        cache.apply("expire", createNode("/subdomain/services/runtime1:foo", null, 127), null);
+        assertEquals(1, cache.getServiceEntries("foo").size());
+
+        cache.apply("delete", createNode("/subdomain/configuration/key", null, 128), null);
+        assertNull(cache.getValue("key"));
+        assertEquals(128, cache.getIndex());
+    }
+
+    public void testIgnoreAppliedChanges() throws Exception {
+        cache.load(createRoot(), 125);
+
+        // event precedes the loaded index
+        cache.apply("delete", createNode("/subdomain/services/runtime1:foo", null, 121), null);
+        assertEquals(1, cache.getServiceEntries("foo").size());
+        assertEquals(125, cache.getIndex());
+    }
+
+    public void testReload() throws Exception {
+        cache.load(createRoot(), 125);
+        cache.invalidate();
+        assertTrue(cache.isStale());
+        // stale contents are served until reloaded
+        assertEquals(1, cache.getServiceEntries("foo").size());
+
+        Map<String, String> previous = cache.load(null, 200);
+        assertEquals(FOO, previous.get("/subdomain/services/runtime1:foo"));
+        assertFalse(cache.isStale());
+        assertEquals(200, cache.getIndex());
+        assertTrue(cache.getServiceEntries("foo").isEmpty());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        MonitorChannel monitor = EasyMock.createNiceMock(MonitorChannel.class);
+        EasyMock.replay(monitor);
+        cache = new DiscoveryCache("subdomain", new ObjectMapper(), monitor);
+    }
+
+    private Map<String, Object> createRoot() {
+        Map<String, Object> services = createDirectory("/subdomain/services", createNode("/subdomain/services/runtime1:foo", FOO, 120));
+        Map<String, Object> channels = createDirectory("/subdomain/channels", createNode("/subdomain/channels/runtime1:bar", BAR, 110));
+        Map<String, Object> configuration = createDirectory("/subdomain/configuration", createNode("/subdomain/configuration/key", "value", 100));
+        Map<String, Object> leader = createDirectory("/subdomain/leader", createNode("/subdomain/leader/zone1", "runtime1", 90));
+        return createDirectory("/subdomain", services, channels, configuration, leader);
+    }
+
+    @SafeVarargs
+    private final Map<String, Object> createDirectory(String key, Map<String, Object>... nodes) {
+        Map<String, Object> directory = new HashMap<>();
+        directory.put("key", key);
+        directory.put("dir", true);
+        directory.put("nodes", Arrays.asList(nodes));
+        directory.put("modifiedIndex", 2);
+        return directory;
+    }
+
+    private Map<String, Object> createNode(String key, String value, int modifiedIndex) {
+        Map<String, Object> node = new HashMap<>();
+        node.put("key", key);
+        if (value != null) {
+            node.put("value", value);
+        }
+        node.put("modifiedIndex", modifiedIndex);
+        return node;
+    }
+
+}
@@ -52,6 +52,12 @@ public class EtcdAgentTest extends TestCase {
                                                   + "\\\"address\\\":\\\"localhost\\\",\\\"port\\\":2001,\\\"path\\\":\\\"foo\\\"}\","
                                                   + "\"expiration\":\"2015-04-21T09:54:22.085821125Z\",\"modifiedIndex\":129,\"createdIndex\":129}}";
 
+    private static final String RESPONSE_SNAPSHOT = "{\"action\":\"get\",\"node\":{\"key\":\"/subdomain\",\"dir\":true,\"nodes\":[{\"key\":\"/subdomain/services\","
+                                                    + "\"dir\":true,\"nodes\":[{\"key\":\"/subdomain/services/runtime1:foo\",\"value\":\"{"
+                                                    + "\\\"name\\\":\\\"foo\\\",\\\"transport\\\":\\\"http\\\",\\\"address\\\":\\\"localhost\\\","
+                                                    + "\\\"port\\\":2001,\\\"path\\\":\\\"foo\\\"}\",\"modifiedIndex\":120,\"createdIndex\":120}],"
+                                                    + "\"modifiedIndex\":14,\"createdIndex\":14}],\"modifiedIndex\":2,\"createdIndex\":2}}";
+
     private static final int PORT = 4002;   // to run against etcd, change to 4001; some tests assume keys are already in etcd.
 
     private EtcdAgent agent;
@@ -96,6 +102,7 @@ public class EtcdAgentTest extends TestCase {
     }
 
     public void testGetServiceChange() throws Exception {
+        server.enqueue(new MockResponse().setBody(RESPONSE_SNAPSHOT));
         MockResponse response = new MockResponse();
         server.enqueue(response.setBody(RESPONSE_SET));
         server.start(4002);
@@ -116,6 +123,7 @@ public class EtcdAgentTest extends TestCase {
     }
 
     public void testServiceExpiration() throws Exception {
+        server.enqueue(new MockResponse().setBody(RESPONSE_SNAPSHOT));
         MockResponse response = new MockResponse();
         server.enqueue(response.setBody(RESPONSE_EXPIRE));
         server.start(4002);
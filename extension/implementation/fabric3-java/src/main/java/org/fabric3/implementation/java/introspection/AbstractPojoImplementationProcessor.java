@@ -33,6 +33,7 @@ import org.fabric3.api.model.type.java.InjectingComponentType;
 import org.fabric3.api.model.type.java.JavaImplementation;
 import org.fabric3.spi.introspection.IntrospectionContext;
 import org.fabric3.spi.introspection.TypeMapping;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.ImplementationProcessor;
 import org.fabric3.spi.introspection.java.IntrospectionHelper;
 import org.fabric3.spi.introspection.java.PostProcessor;
@@ -105,7 +106,7 @@ public abstract class AbstractPojoImplementationProcessor implements Implementat
         Class<?> implClass = instance.getClass();
         // handle consumer annotations
         AnnotationProcessor consumerProcessor = annotationProcessors.get(org.fabric3.api.annotation.Consumer.class);
-        for (Method method : implClass.getDeclaredMethods()) {
+        for (Method method : ClassMetadata.get(implClass).getDeclaredMethods()) {
             org.fabric3.api.annotation.Consumer consumer = method.getAnnotation(org.fabric3.api.annotation.Consumer.class);
             if (consumer == null) {
                 continue;
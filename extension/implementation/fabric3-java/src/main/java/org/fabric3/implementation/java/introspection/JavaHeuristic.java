@@ -39,6 +39,7 @@ import org.fabric3.api.model.type.java.InjectingComponentType;
 import org.fabric3.api.model.type.java.InjectionSite;
 import org.fabric3.spi.introspection.IntrospectionContext;
 import org.fabric3.spi.introspection.TypeMapping;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.HeuristicProcessor;
 import org.fabric3.spi.introspection.java.IntrospectionHelper;
 import org.fabric3.spi.introspection.java.MultiplicityType;
@@ -92,7 +93,7 @@ public class JavaHeuristic implements HeuristicProcessor {
     }
 
     private Constructor<?> findConstructor(Class<?> implClass, InjectingComponentType componentType, IntrospectionContext context) {
-        Constructor<?>[] constructors = implClass.getDeclaredConstructors();
+        Constructor<?>[] constructors = ClassMetadata.get(implClass).getDeclaredConstructors();
         Constructor<?> selected = null;
         if (constructors.length == 1) {
             selected = constructors[0];
@@ -109,7 +110,7 @@ public class JavaHeuristic implements HeuristicProcessor {
             if (selected == null) {
                 // no annotation present, look for a ctor with @Reference or @Producer or @Monitor
                 for (Constructor<?> constructor : constructors) {
-                    for (Annotation[] annotations : constructor.getParameterAnnotations()) {
+                    for (Annotation[] annotations : ClassMetadata.getParameterAnnotations(constructor)) {
                         for (Annotation annotation : annotations) {
                             if (annotation.annotationType().equals(org.oasisopen.sca.annotation.Reference.class)
                                 || annotation.annotationType().equals(Producer.class) || annotation.annotationType().equals(Monitor.class)) {
@@ -81,12 +81,14 @@ public class JavaSourceWireAttacher extends PojoSourceWireAttacher implements So
         JavaComponent component = (JavaComponent) manager.getComponent(sourceName);
         Injectable injectable = source.getInjectable();
         component.removeSupplier(injectable);
+        removeDependency(component, source, target);
     }
 
     public void attachSupplier(JavaWireSource source, Supplier<?> supplier, PhysicalWireTarget targetDefinition) {
         URI sourceId = UriHelper.getDefragmentedName(source.getUri());
         JavaComponent sourceComponent = (JavaComponent) manager.getComponent(sourceId);
         Injectable injectable = source.getInjectable();
+        addDependency(sourceComponent, source, targetDefinition);
 
         if (source.isKeyed() || source.isOrdered()) {
             Object key = getKey(source, targetDefinition);
@@ -106,6 +108,7 @@ public class JavaSourceWireAttacher extends PojoSourceWireAttacher implements So
         }
 
         Supplier<?> supplier = proxyService.createSupplier(type, wire, callbackUri);
+        addDependency(component, source, target);
         if (source.isKeyed() || source.isOrdered()) {
             Object key = getKey(source, target);
             int order = source.getOrder();
@@ -19,6 +19,8 @@
 
 package org.fabric3.cache.generator;
 
+import java.net.URI;
+
 import org.fabric3.cache.model.CacheReference;
 import org.fabric3.cache.provision.CacheWireTarget;
 import org.fabric3.spi.domain.generator.ResourceReferenceGenerator;
@@ -34,6 +36,12 @@ public class CacheReferenceGenerator implements ResourceReferenceGenerator<Cache
 
     public CacheWireTarget generateWireTarget(LogicalResourceReference<CacheReference> resourceReference) {
         CacheReference cacheReference = resourceReference.getDefinition();
-        return new CacheWireTarget(cacheReference.getCacheName());
+        String loader = cacheReference.getLoader();
+        if (loader == null) {
+            return new CacheWireTarget(cacheReference.getCacheName());
+        }
+        // the loader is a component in the same composite as the component the cache is provided to
+        URI loaderUri = URI.create(resourceReference.getParent().getParent().getUri().toString() + "/" + loader);
+        return new CacheWireTarget(cacheReference.getCacheName(), loaderUri, cacheReference.getRefreshAfterWrite());
     }
 }
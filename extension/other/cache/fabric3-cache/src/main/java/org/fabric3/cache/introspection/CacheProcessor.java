@@ -18,11 +18,14 @@
  */
 package org.fabric3.cache.introspection;
 
+import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentMap;
 
+import org.fabric3.api.LoadingCache;
 import org.fabric3.api.annotation.Cache;
 import org.fabric3.api.model.type.component.ResourceReference;
 import org.fabric3.api.model.type.contract.ServiceContract;
@@ -31,6 +34,7 @@ import org.fabric3.cache.model.CacheReference;
 import org.fabric3.cache.spi.MissingCacheName;
 import org.fabric3.spi.introspection.IntrospectionContext;
 import org.fabric3.spi.introspection.java.IntrospectionHelper;
+import org.fabric3.spi.introspection.java.InvalidAnnotation;
 import org.fabric3.spi.introspection.java.annotation.AbstractAnnotationProcessor;
 import org.fabric3.spi.introspection.java.contract.JavaContractProcessor;
 import org.fabric3.spi.model.type.java.FieldInjectionSite;
@@ -98,7 +102,26 @@ public class CacheProcessor extends AbstractAnnotationProcessor<Cache> {
             context.addError(error);
             return new CacheReference(name, contract, false, "error");
         }
-        return new CacheReference(name, contract, false, cacheName);
+        CacheReference reference = new CacheReference(name, contract, false, cacheName);
+        String loader = annotation.loader();
+        if (loader.length() > 0) {
+            if (!ConcurrentMap.class.equals(type) && !LoadingCache.class.equals(type)) {
+                InvalidAnnotation error = new InvalidAnnotation("A cache with a loader must be injected as a LoadingCache or ConcurrentMap",
+                                                                (AnnotatedElement) member,
+                                                                annotation,
+                                                                member.getDeclaringClass());
+                context.addError(error);
+            }
+            reference.setLoader(loader);
+            reference.setRefreshAfterWrite(annotation.refreshAfterWrite());
+        } else if (annotation.refreshAfterWrite() > 0) {
+            InvalidAnnotation error = new InvalidAnnotation("A cache refresh time requires a loader",
+                                                            (AnnotatedElement) member,
+                                                            annotation,
+                                                            member.getDeclaringClass());
+            context.addError(error);
+        }
+        return reference;
     }
 
 
@@ -0,0 +1,96 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+/**
+ * A point-in-time snapshot of cache statistics.
+ */
+public class CacheStatistics {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long evictionWeight;
+    private long expirations;
+    private long size;
+
+    public CacheStatistics(long hits, long misses, long evictions, long evictionWeight, long expirations, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.evictionWeight = evictionWeight;
+        this.expirations = expirations;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the ratio of hits to requests or 1.0 if there have been no requests.
+     *
+     * @return the hit rate
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+
+    /**
+     * Returns the number of entries evicted due to the size or weight bound.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Returns the total weight of entries evicted due to the size or weight bound.
+     *
+     * @return the eviction weight
+     */
+    public long getEvictionWeight() {
+        return evictionWeight;
+    }
+
+    /**
+     * Returns the number of entries removed because they expired.
+     *
+     * @return the number of expirations
+     */
+    public long getExpirations() {
+        return expirations;
+    }
+
+    /**
+     * Returns the approximate number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public long getSize() {
+        return size;
+    }
+
+    public String toString() {
+        return String.format("hits=%d, misses=%d, hitRate=%.3f, evictions=%d, expirations=%d, size=%d", hits, misses, getHitRate(), evictions, expirations, size);
+    }
+}
@@ -0,0 +1,658 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded, concurrent in-process cache using the W-TinyLFU eviction policy.
+ *
+ * Entries are held in a {@link ConcurrentHashMap}; reads and writes do not block on the eviction policy. Reads are recorded in a lossy buffer and writes in a
+ * queue, both of which are applied to the policy in batches by whichever thread acquires the eviction lock.
+ *
+ * The policy admits new entries to a small LRU window. Entries leaving the window compete with the least recently used entry of the main segmented LRU
+ * space: the entry with the higher estimated access frequency, as recorded by a {@link FrequencySketch}, is retained. The main space is divided into
+ * probation and protected segments; entries accessed while on probation are promoted. This retains frequently used entries through bursts of one-time
+ * accesses such as scans.
+ *
+ * Entries may also expire a fixed time after they are written or last accessed. Expired entries are not returned and are removed during maintenance.
+ */
+public class LocalCache<K, V> extends AbstractMap<K, V> implements ConcurrentMap<K, V> {
+    private static final double WINDOW_PERCENT = 0.01;
+    private static final double PROTECTED_PERCENT = 0.8;
+
+    private String name;
+    private ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private Weigher<? super K, ? super V> weigher;
+    private boolean growSketch;
+    private long expireAfterWrite;
+    private long expireAfterAccess;
+    private LongSupplier ticker;
+
+    private ReadBuffer<Node<K, V>> readBuffer = new ReadBuffer<>();
+    private Queue<Runnable> writeBuffer = new ConcurrentLinkedQueue<>();
+    private ReentrantLock evictionLock = new ReentrantLock();
+
+    // policy state guarded by the eviction lock
+    private long maximum;
+    private long windowMaximum;
+    private long protectedMaximum;
+    private long weightedSize;
+    private long windowWeightedSize;
+    private long protectedWeightedSize;
+    private NodeDeque<K, V> window = new NodeDeque<>(false);
+    private NodeDeque<K, V> probation = new NodeDeque<>(false);
+    private NodeDeque<K, V> protectedSegment = new NodeDeque<>(false);
+    private NodeDeque<K, V> writeOrder = new NodeDeque<>(true);
+    private FrequencySketch sketch;
+
+    private LongAdder hits = new LongAdder();
+    private LongAdder misses = new LongAdder();
+    private LongAdder evictions = new LongAdder();
+    private LongAdder evictionWeight = new LongAdder();
+    private LongAdder expirations = new LongAdder();
+
+    /**
+     * Constructor.
+     *
+     * @param name          the cache name
+     * @param configuration the cache configuration
+     */
+    public LocalCache(String name, LocalCacheConfiguration configuration) {
+        this(name, configuration, System::nanoTime);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name          the cache name
+     * @param configuration the cache configuration
+     * @param ticker        the time source in nanoseconds
+     */
+    @SuppressWarnings("unchecked")
+    LocalCache(String name, LocalCacheConfiguration configuration, LongSupplier ticker) {
+        this.name = name;
+        this.ticker = ticker;
+        if (configuration.getMaxWeight() > 0) {
+            if (configuration.getWeigher() == null) {
+                throw new IllegalArgumentException("A weigher must be configured when the maximum weight is set for cache: " + name);
+            }
+            weigher = (Weigher<? super K, ? super V>) configuration.getWeigher();
+            maximum = configuration.getMaxWeight();
+        } else {
+            weigher = (key, value) -> 1;
+            maximum = configuration.getMaxSize() > 0 ? configuration.getMaxSize() : Long.MAX_VALUE;
+        }
+        windowMaximum = Math.max(1, (long) (maximum * WINDOW_PERCENT));
+        protectedMaximum = (long) ((maximum - windowMaximum) * PROTECTED_PERCENT);
+        expireAfterWrite = configuration.getExpireAfterWrite() > 0 ? TimeUnit.MILLISECONDS.toNanos(configuration.getExpireAfterWrite()) : 0;
+        expireAfterAccess = configuration.getExpireAfterAccess() > 0 ? TimeUnit.MILLISECONDS.toNanos(configuration.getExpireAfterAccess()) : 0;
+        // size the sketch for the number of entries if known; otherwise it is grown as entries are added
+        growSketch = configuration.getMaxWeight() > 0 || maximum == Long.MAX_VALUE;
+        sketch = new FrequencySketch(growSketch ? 16 : maximum);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        long now = ticker.getAsLong();
+        if (hasExpired(node, now)) {
+            misses.increment();
+            scheduleDrain();
+            return null;
+        }
+        V value = node.value;
+        if (expireAfterAccess > 0) {
+            node.accessTime = now;
+        }
+        hits.increment();
+        afterRead(node);
+        return value;
+    }
+
+    public boolean containsKey(Object key) {
+        Node<K, V> node = data.get(key);
+        return node != null && !hasExpired(node, ticker.getAsLong());
+    }
+
+    public V put(K key, V value) {
+        return put(key, value, false);
+    }
+
+    public V putIfAbsent(K key, V value) {
+        return put(key, value, true);
+    }
+
+    public V remove(Object key) {
+        while (true) {
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                return null;
+            }
+            V oldValue;
+            synchronized (node) {
+                if (!node.alive) {
+                    continue;
+                }
+                oldValue = node.value;
+                data.remove(key, node);
+                node.alive = false;
+            }
+            afterWrite(() -> unlink(node));
+            return hasExpired(node, ticker.getAsLong()) ? null : oldValue;
+        }
+    }
+
+    public boolean remove(Object key, Object value) {
+        Node<K, V> node = data.get(key);
+        if (node == null || value == null) {
+            return false;
+        }
+        synchronized (node) {
+            if (!node.alive || !Objects.equals(node.value, value) || hasExpired(node, ticker.getAsLong())) {
+                return false;
+            }
+            data.remove(key, node);
+            node.alive = false;
+        }
+        afterWrite(() -> unlink(node));
+        return true;
+    }
+
+    public V replace(K key, V value) {
+        Objects.requireNonNull(value);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return null;
+        }
+        int weight = weigh(key, value);
+        long now = ticker.getAsLong();
+        V oldValue;
+        synchronized (node) {
+            if (!node.alive || hasExpired(node, now)) {
+                return null;
+            }
+            oldValue = node.value;
+            update(node, value, weight, now);
+        }
+        afterWrite(() -> onUpdate(node));
+        return oldValue;
+    }
+
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            return false;
+        }
+        int weight = weigh(key, newValue);
+        long now = ticker.getAsLong();
+        synchronized (node) {
+            if (!node.alive || hasExpired(node, now) || !Objects.equals(node.value, oldValue)) {
+                return false;
+            }
+            update(node, newValue, weight, now);
+        }
+        afterWrite(() -> onUpdate(node));
+        return true;
+    }
+
+    public void clear() {
+        data.keySet().forEach(this::remove);
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the statistics
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), evictionWeight.sum(), expirations.sum(), data.size());
+    }
+
+    /**
+     * Clears the hit, miss, eviction and expiration counters.
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+        evictionWeight.reset();
+        expirations.reset();
+    }
+
+    /**
+     * Applies pending reads and writes to the eviction policy and removes expired entries. Maintenance is otherwise performed as a side effect of cache
+     * operations.
+     */
+    public void cleanUp() {
+        evictionLock.lock();
+        try {
+            maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the total weight of entries known to the eviction policy.
+     *
+     * @return the weighted size
+     */
+    public long getWeightedSize() {
+        evictionLock.lock();
+        try {
+            return weightedSize;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private V put(K key, V value, boolean onlyIfAbsent) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        int weight = weigh(key, value);
+        long now = ticker.getAsLong();
+        Node<K, V> created = null;
+        while (true) {
+            Node<K, V> node = data.get(key);
+            if (node == null) {
+                if (created == null) {
+                    created = new Node<>(key, value, weight, now);
+                }
+                node = data.putIfAbsent(key, created);
+                if (node == null) {
+                    Node<K, V> added = created;
+                    afterWrite(() -> onAdd(added));
+                    return null;
+                }
+            }
+            V oldValue;
+            boolean expired;
+            synchronized (node) {
+                if (!node.alive) {
+                    // removed concurrently
+                    continue;
+                }
+                oldValue = node.value;
+                expired = hasExpired(node, now);
+                if (onlyIfAbsent && !expired) {
+                    afterRead(node);
+                    return oldValue;
+                }
+                update(node, value, weight, now);
+            }
+            Node<K, V> updated = node;
+            afterWrite(() -> onUpdate(updated));
+            return expired ? null : oldValue;
+        }
+    }
+
+    private void update(Node<K, V> node, V value, int weight, long now) {
+        node.value = value;
+        node.weight = weight;
+        node.writeTime = now;
+        node.accessTime = now;
+    }
+
+    private int weigh(K key, V value) {
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Negative weight for entry in cache " + name + ": " + key);
+        }
+        return weight;
+    }
+
+    private boolean hasExpired(Node<K, V> node, long now) {
+        return (expireAfterWrite > 0 && now - node.writeTime >= expireAfterWrite) || (expireAfterAccess > 0 && now - node.accessTime >= expireAfterAccess);
+    }
+
+    private void afterRead(Node<K, V> node) {
+        if (!readBuffer.offer(node)) {
+            // the stripe is full; drain it and retry once, dropping the read if another thread is performing maintenance
+            scheduleDrain();
+            readBuffer.offer(node);
+        }
+    }
+
+    private void afterWrite(Runnable task) {
+        writeBuffer.add(task);
+        scheduleDrain();
+    }
+
+    /**
+     * Performs maintenance if the eviction lock is free. If another thread holds the lock, it will observe work queued before it releases the lock and
+     * repeat maintenance.
+     */
+    private void scheduleDrain() {
+        while (evictionLock.tryLock()) {
+            try {
+                maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+            if (writeBuffer.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    private void maintenance() {
+        readBuffer.drainTo(this::onAccess);
+        Runnable task;
+        while ((task = writeBuffer.poll()) != null) {
+            task.run();
+        }
+        expire();
+        evict();
+    }
+
+    private void onAdd(Node<K, V> node) {
+        if (!node.alive) {
+            // removed before the policy observed the addition
+            return;
+        }
+        int weight = node.weight;
+        node.policyWeight = weight;
+        node.queue = Node.WINDOW;
+        weightedSize += weight;
+        windowWeightedSize += weight;
+        window.addLast(node);
+        if (expireAfterWrite > 0) {
+            node.inWriteOrder = true;
+            writeOrder.addLast(node);
+        }
+        if (growSketch) {
+            sketch.ensureCapacity(data.size());
+        }
+        sketch.increment(node.key);
+    }
+
+    private void onUpdate(Node<K, V> node) {
+        if (node.queue == Node.NONE) {
+            return;
+        }
+        int weight = node.weight;
+        int delta = weight - node.policyWeight;
+        node.policyWeight = weight;
+        weightedSize += delta;
+        if (node.queue == Node.WINDOW) {
+            windowWeightedSize += delta;
+        } else if (node.queue == Node.PROTECTED) {
+            protectedWeightedSize += delta;
+        }
+        if (node.inWriteOrder) {
+            writeOrder.moveToLast(node);
+        }
+        onAccess(node);
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue == Node.NONE) {
+            return;
+        }
+        sketch.increment(node.key);
+        switch (node.queue) {
+            case Node.WINDOW:
+                window.moveToLast(node);
+                break;
+            case Node.PROBATION:
+                probation.remove(node);
+                node.queue = Node.PROTECTED;
+                protectedSegment.addLast(node);
+                protectedWeightedSize += node.policyWeight;
+                demote();
+                break;
+            case Node.PROTECTED:
+                protectedSegment.moveToLast(node);
+                break;
+        }
+    }
+
+    /**
+     * Moves entries from the protected segment to probation while the protected segment exceeds its maximum.
+     */
+    private void demote() {
+        while (protectedWeightedSize > protectedMaximum) {
+            Node<K, V> node = protectedSegment.peekFirst();
+            if (node == null) {
+                return;
+            }
+            protectedSegment.remove(node);
+            protectedWeightedSize -= node.policyWeight;
+            node.queue = Node.PROBATION;
+            probation.addLast(node);
+        }
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case Node.WINDOW:
+                window.remove(node);
+                windowWeightedSize -= node.policyWeight;
+                break;
+            case Node.PROBATION:
+                probation.remove(node);
+                break;
+            case Node.PROTECTED:
+                protectedSegment.remove(node);
+                protectedWeightedSize -= node.policyWeight;
+                break;
+            default:
+                return;
+        }
+        weightedSize -= node.policyWeight;
+        node.queue = Node.NONE;
+        if (node.inWriteOrder) {
+            writeOrder.remove(node);
+            node.inWriteOrder = false;
+        }
+    }
+
+    private void expire() {
+        long now = ticker.getAsLong();
+        if (expireAfterWrite > 0) {
+            Node<K, V> node;
+            while ((node = writeOrder.peekFirst()) != null && now - node.writeTime >= expireAfterWrite) {
+                evictEntry(node, true);
+            }
+        }
+        if (expireAfterAccess > 0) {
+            expire(window, now);
+            expire(probation, now);
+            expire(protectedSegment, now);
+        }
+    }
+
+    private void expire(NodeDeque<K, V> deque, long now) {
+        Node<K, V> node;
+        while ((node = deque.peekFirst()) != null && now - node.accessTime >= expireAfterAccess) {
+            evictEntry(node, true);
+        }
+    }
+
+    private void evict() {
+        // entries overflowing the window become candidates for the main space
+        while (windowWeightedSize > windowMaximum) {
+            Node<K, V> node = window.peekFirst();
+            if (node == null) {
+                break;
+            }
+            window.remove(node);
+            windowWeightedSize -= node.policyWeight;
+            node.queue = Node.PROBATION;
+            probation.addLast(node);
+        }
+        while (weightedSize > maximum) {
+            Node<K, V> victim = probation.peekFirst();
+            Node<K, V> candidate = probation.peekLast();
+            if (victim == null) {
+                victim = protectedSegment.peekFirst() != null ? protectedSegment.peekFirst() : window.peekFirst();
+                if (victim == null) {
+                    return;
+                }
+                evictEntry(victim, false);
+            } else if (victim == candidate || candidate.policyWeight > maximum) {
+                evictEntry(candidate, false);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evictEntry(victim, false);
+            } else {
+                evictEntry(candidate, false);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry selected by the policy.
+     *
+     * @param node    the entry
+     * @param expired true if the entry expired, false if it was evicted
+     */
+    private void evictEntry(Node<K, V> node, boolean expired) {
+        boolean removed = false;
+        synchronized (node) {
+            if (node.alive) {
+                removed = data.remove(node.key, node);
+                node.alive = false;
+            }
+        }
+        int weight = node.policyWeight;
+        unlink(node);
+        if (!removed) {
+            return;
+        }
+        if (expired) {
+            expirations.increment();
+        } else {
+            evictions.increment();
+            evictionWeight.add(weight);
+        }
+    }
+
+    /**
+     * Returns a value without recording statistics or updating the access order.
+     *
+     * @param key the key
+     * @return the value or null
+     */
+    private V getQuietly(Object key) {
+        Node<K, V> node = data.get(key);
+        return node == null || hasExpired(node, ticker.getAsLong()) ? null : node.value;
+    }
+
+    /**
+     * A view of unexpired entries.
+     */
+    private class EntrySet extends AbstractSet<Entry<K, V>> {
+
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<Node<K, V>> iterator = data.values().iterator();
+            long now = ticker.getAsLong();
+            return new Iterator<Entry<K, V>>() {
+                private Node<K, V> next;
+                private Node<K, V> current;
+
+                public boolean hasNext() {
+                    while (next == null && iterator.hasNext()) {
+                        Node<K, V> node = iterator.next();
+                        if (!hasExpired(node, now)) {
+                            next = node;
+                        }
+                    }
+                    return next != null;
+                }
+
+                public Entry<K, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    current = next;
+                    next = null;
+                    return new SimpleImmutableEntry<>(current.key, current.value);
+                }
+
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    LocalCache.this.remove(current.key);
+                    current = null;
+                }
+            };
+        }
+
+        public int size() {
+            return data.size();
+        }
+
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            V value = getQuietly(entry.getKey());
+            return value != null && value.equals(entry.getValue());
+        }
+
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Entry<?, ?> entry = (Entry<?, ?>) o;
+            return LocalCache.this.remove(entry.getKey(), entry.getValue());
+        }
+
+        public void clear() {
+            LocalCache.this.clear();
+        }
+    }
+
+}
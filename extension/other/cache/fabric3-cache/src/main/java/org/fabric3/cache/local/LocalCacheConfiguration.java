@@ -0,0 +1,94 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+/**
+ * Configuration for a {@link LocalCache}. Times are specified in milliseconds; a value of -1 disables the setting.
+ */
+public class LocalCacheConfiguration {
+    private long maxSize = -1;
+    private long maxWeight = -1;
+    private long expireAfterWrite = -1;
+    private long expireAfterAccess = -1;
+    private Weigher<?, ?> weigher;
+
+    /**
+     * Returns the maximum number of entries or -1 if the number of entries is not bounded.
+     *
+     * @return the maximum number of entries
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the maximum total weight of entries as calculated by the weigher or -1 if the cache is bounded by the number of entries.
+     *
+     * @return the maximum weight
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns the time after an entry is created or updated that it expires.
+     *
+     * @return the time to live
+     */
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(long expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    /**
+     * Returns the time after an entry is last read or written that it expires.
+     *
+     * @return the time to idle
+     */
+    public long getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    public void setExpireAfterAccess(long expireAfterAccess) {
+        this.expireAfterAccess = expireAfterAccess;
+    }
+
+    /**
+     * Returns the weigher used when the cache is bounded by weight or null if entries have a weight of one.
+     *
+     * @return the weigher or null
+     */
+    public Weigher<?, ?> getWeigher() {
+        return weigher;
+    }
+
+    public void setWeigher(Weigher<?, ?> weigher) {
+        this.weigher = weigher;
+    }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+/**
+ * Creates and resolves {@link LocalCache} instances managed by the runtime. Caches created through the service have their statistics exported to the
+ * management framework.
+ */
+public interface LocalCacheService {
+
+    /**
+     * Returns a cache or null if one is not defined for the given name.
+     *
+     * @param name the cache name
+     * @return the cache or null
+     */
+    <K, V> LocalCache<K, V> getLocalCache(String name);
+
+    /**
+     * Returns the cache for the given name, creating it with the configuration if it does not exist.
+     *
+     * @param name          the cache name
+     * @param configuration the configuration used if the cache is created
+     * @return the cache
+     */
+    <K, V> LocalCache<K, V> getOrCreate(String name, LocalCacheConfiguration configuration);
+
+    /**
+     * Removes a cache.
+     *
+     * @param name the cache name
+     */
+    void remove(String name);
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+/**
+ * A cache entry. The value, weight and timestamps are written under the node monitor and read without locking. The policy fields are guarded by the cache
+ * eviction lock.
+ */
+final class Node<K, V> {
+    static final int NONE = -1;
+    static final int WINDOW = 0;
+    static final int PROBATION = 1;
+    static final int PROTECTED = 2;
+
+    final K key;
+    volatile V value;
+    volatile int weight;
+    volatile long writeTime;
+    volatile long accessTime;
+
+    // false once the node has been removed from the cache map; only changed while holding the node monitor
+    volatile boolean alive = true;
+
+    // policy state guarded by the eviction lock
+    int queue = NONE;
+    int policyWeight;
+    boolean inWriteOrder;
+    Node<K, V> previous;
+    Node<K, V> next;
+    Node<K, V> previousWrite;
+    Node<K, V> nextWrite;
+
+    Node(K key, V value, int weight, long now) {
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+        this.writeTime = now;
+        this.accessTime = now;
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+/**
+ * A doubly-linked list of nodes ordered by access or by write. Not thread-safe; guarded by the cache eviction lock.
+ */
+final class NodeDeque<K, V> {
+    private boolean writeOrder;
+    private Node<K, V> head;
+    private Node<K, V> tail;
+
+    NodeDeque(boolean writeOrder) {
+        this.writeOrder = writeOrder;
+    }
+
+    Node<K, V> peekFirst() {
+        return head;
+    }
+
+    Node<K, V> peekLast() {
+        return tail;
+    }
+
+    boolean isEmpty() {
+        return head == null;
+    }
+
+    void addLast(Node<K, V> node) {
+        setPrevious(node, tail);
+        setNext(node, null);
+        if (tail == null) {
+            head = node;
+        } else {
+            setNext(tail, node);
+        }
+        tail = node;
+    }
+
+    void remove(Node<K, V> node) {
+        Node<K, V> previous = getPrevious(node);
+        Node<K, V> next = getNext(node);
+        if (previous == null) {
+            head = next;
+        } else {
+            setNext(previous, next);
+        }
+        if (next == null) {
+            tail = previous;
+        } else {
+            setPrevious(next, previous);
+        }
+        setPrevious(node, null);
+        setNext(node, null);
+    }
+
+    void moveToLast(Node<K, V> node) {
+        if (node != tail) {
+            remove(node);
+            addLast(node);
+        }
+    }
+
+    private Node<K, V> getPrevious(Node<K, V> node) {
+        return writeOrder ? node.previousWrite : node.previous;
+    }
+
+    private Node<K, V> getNext(Node<K, V> node) {
+        return writeOrder ? node.nextWrite : node.next;
+    }
+
+    private void setPrevious(Node<K, V> node, Node<K, V> previous) {
+        if (writeOrder) {
+            node.previousWrite = previous;
+        } else {
+            node.previous = previous;
+        }
+    }
+
+    private void setNext(Node<K, V> node, Node<K, V> next) {
+        if (writeOrder) {
+            node.nextWrite = next;
+        } else {
+            node.next = next;
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A lossy, striped buffer recording cache reads so they can be applied to the eviction policy in batches.
+ *
+ * Threads are assigned a stripe by their id to reduce contention. If a stripe is full, the read is dropped and the caller should drain the buffer; losing
+ * some reads only reduces the precision of the policy.
+ */
+final class ReadBuffer<E> {
+    private static final int STRIPES = ceilingPowerOfTwo(Math.min(4 * Runtime.getRuntime().availableProcessors(), 64));
+    private static final int BUFFER_SIZE = 16;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private AtomicReferenceArray<E>[] buffers;
+    private AtomicLong[] writeCounters;
+    private AtomicLongArray readCounters;
+
+    @SuppressWarnings("unchecked")
+    ReadBuffer() {
+        buffers = new AtomicReferenceArray[STRIPES];
+        writeCounters = new AtomicLong[STRIPES];
+        readCounters = new AtomicLongArray(STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            buffers[i] = new AtomicReferenceArray<>(BUFFER_SIZE);
+            writeCounters[i] = new AtomicLong();
+        }
+    }
+
+    /**
+     * Records an element.
+     *
+     * @param element the element
+     * @return false if the stripe is full and should be drained
+     */
+    boolean offer(E element) {
+        int stripe = (int) (Thread.currentThread().getId() * 0x9E3779B9L) & (STRIPES - 1);
+        AtomicLong writeCounter = writeCounters[stripe];
+        long tail = writeCounter.get();
+        if (tail - readCounters.get(stripe) >= BUFFER_SIZE) {
+            return false;
+        }
+        if (writeCounter.compareAndSet(tail, tail + 1)) {
+            buffers[stripe].lazySet((int) (tail & BUFFER_MASK), element);
+        }
+        // if the CAS failed, another thread recorded a read; dropping this one is acceptable
+        return true;
+    }
+
+    /**
+     * Removes buffered elements, passing them to the consumer. Must only be called by one thread at a time.
+     *
+     * @param consumer the consumer
+     */
+    void drainTo(Consumer<E> consumer) {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            AtomicReferenceArray<E> buffer = buffers[stripe];
+            long head = readCounters.get(stripe);
+            long tail = writeCounters[stripe].get();
+            for (; head < tail; head++) {
+                int index = (int) (head & BUFFER_MASK);
+                E element = buffer.get(index);
+                if (element == null) {
+                    // the slot has been claimed but not yet written
+                    break;
+                }
+                buffer.lazySet(index, null);
+                consumer.accept(element);
+            }
+            readCounters.lazySet(stripe, head);
+        }
+    }
+
+    private static int ceilingPowerOfTwo(int x) {
+        return 1 << -Integer.numberOfLeadingZeros(x - 1);
+    }
+
+}
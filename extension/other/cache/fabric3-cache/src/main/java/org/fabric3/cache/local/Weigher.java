@@ -0,0 +1,34 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+/**
+ * Calculates the weight of a cache entry, used to bound a cache by a measure other than the number of entries.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Returns the weight of an entry. The weight is calculated when the entry is added or updated and must not be negative.
+     *
+     * @param key   the entry key
+     * @param value the entry value
+     * @return the weight
+     */
+    int weigh(K key, V value);
+
+}
@@ -0,0 +1,38 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local.generator;
+
+import org.fabric3.cache.local.model.LocalCacheResource;
+import org.fabric3.cache.local.provision.PhysicalLocalCacheResource;
+import org.fabric3.cache.spi.CacheResourceGenerator;
+import org.oasisopen.sca.annotation.EagerInit;
+
+/**
+ * Generates a {@link PhysicalLocalCacheResource} from a native local cache configuration.
+ */
+@EagerInit
+public class LocalCacheResourceGenerator implements CacheResourceGenerator<LocalCacheResource> {
+
+    public PhysicalLocalCacheResource generateResource(LocalCacheResource resource) {
+        return new PhysicalLocalCacheResource(resource.getCacheName(),
+                                              resource.getMaxSize(),
+                                              resource.getMaxWeight(),
+                                              resource.getExpireAfterWrite(),
+                                              resource.getExpireAfterAccess(),
+                                              resource.getWeigher());
+    }
+}
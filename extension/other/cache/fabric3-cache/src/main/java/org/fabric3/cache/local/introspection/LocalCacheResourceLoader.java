@@ -0,0 +1,100 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local.introspection;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamReader;
+
+import org.fabric3.cache.local.model.LocalCacheResource;
+import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.xml.AbstractValidatingTypeLoader;
+import org.fabric3.spi.introspection.xml.InvalidValue;
+import org.fabric3.spi.introspection.xml.LoaderRegistry;
+import org.oasisopen.sca.Constants;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Init;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Loads native local cache configuration. The format is:
+ * <pre>
+ *      &lt;cache name="MyCache"&gt;
+ *          &lt;cache.local max.size="10000" expire.after.write="60000" expire.after.access="10000"/&gt;
+ *      &lt;/cache&gt;
+ * </pre>
+ * Times are specified in milliseconds. A cache may instead be bounded by weight using the <code>max.weight</code> and <code>weigher</code> attributes, where
+ * the weigher is the name of a class implementing {@link org.fabric3.cache.local.Weigher}.
+ */
+@EagerInit
+public class LocalCacheResourceLoader extends AbstractValidatingTypeLoader<LocalCacheResource> {
+    private static final QName SCA_TYPE = new QName(Constants.SCA_NS, "cache.local");
+    private static final QName F3_TYPE = new QName(org.fabric3.api.Namespaces.F3, "cache.local");
+
+    private LoaderRegistry registry;
+
+    public LocalCacheResourceLoader(@Reference LoaderRegistry registry) {
+        this.registry = registry;
+        addAttributes("max.size", "max.weight", "expire.after.write", "expire.after.access", "weigher");
+    }
+
+    @Init
+    public void init() {
+        // register under both namespaces
+        registry.registerLoader(F3_TYPE, this);
+        registry.registerLoader(SCA_TYPE, this);
+    }
+
+    @Destroy
+    public void destroy() {
+        registry.unregisterLoader(F3_TYPE);
+        registry.unregisterLoader(SCA_TYPE);
+    }
+
+    public LocalCacheResource load(XMLStreamReader reader, IntrospectionContext context) {
+        LocalCacheResource resource = new LocalCacheResource();
+        validateAttributes(reader, context, resource);
+        Location location = reader.getLocation();
+        resource.setMaxSize(parseLong("max.size", reader, location, context));
+        resource.setMaxWeight(parseLong("max.weight", reader, location, context));
+        resource.setExpireAfterWrite(parseLong("expire.after.write", reader, location, context));
+        resource.setExpireAfterAccess(parseLong("expire.after.access", reader, location, context));
+        String weigher = reader.getAttributeValue(null, "weigher");
+        resource.setWeigher(weigher);
+        if (resource.getMaxWeight() > 0 && weigher == null) {
+            InvalidValue error = new InvalidValue("A weigher must be specified when max.weight is set", location, resource);
+            context.addError(error);
+        }
+        return resource;
+    }
+
+    private long parseLong(String name, XMLStreamReader reader, Location location, IntrospectionContext context) {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            InvalidValue error = new InvalidValue("Invalid value for " + name + ": " + value, location, e);
+            context.addError(error);
+            return -1;
+        }
+    }
+
+}
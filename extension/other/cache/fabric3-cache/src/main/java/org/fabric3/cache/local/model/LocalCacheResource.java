@@ -0,0 +1,77 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local.model;
+
+import org.fabric3.cache.spi.CacheResource;
+
+/**
+ * Configuration for a cache provided by the native local cache provider. Times are specified in milliseconds; a value of -1 disables the setting.
+ */
+public class LocalCacheResource extends CacheResource {
+    private static final long serialVersionUID = -3214620377613547829L;
+
+    private long maxSize = -1;
+    private long maxWeight = -1;
+    private long expireAfterWrite = -1;
+    private long expireAfterAccess = -1;
+    private String weigher;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public void setMaxWeight(long maxWeight) {
+        this.maxWeight = maxWeight;
+    }
+
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public void setExpireAfterWrite(long expireAfterWrite) {
+        this.expireAfterWrite = expireAfterWrite;
+    }
+
+    public long getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    public void setExpireAfterAccess(long expireAfterAccess) {
+        this.expireAfterAccess = expireAfterAccess;
+    }
+
+    /**
+     * Returns the name of the {@link org.fabric3.cache.local.Weigher} class used when the cache is bounded by weight.
+     *
+     * @return the weigher class name or null
+     */
+    public String getWeigher() {
+        return weigher;
+    }
+
+    public void setWeigher(String weigher) {
+        this.weigher = weigher;
+    }
+}
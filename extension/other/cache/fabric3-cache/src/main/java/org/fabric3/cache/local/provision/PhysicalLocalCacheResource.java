@@ -0,0 +1,59 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local.provision;
+
+import org.fabric3.cache.spi.PhysicalCacheResource;
+
+/**
+ * Configuration for building a native local cache on a runtime. Times are specified in milliseconds.
+ */
+public class PhysicalLocalCacheResource extends PhysicalCacheResource {
+    private long maxSize;
+    private long maxWeight;
+    private long expireAfterWrite;
+    private long expireAfterAccess;
+    private String weigher;
+
+    public PhysicalLocalCacheResource(String cacheName, long maxSize, long maxWeight, long expireAfterWrite, long expireAfterAccess, String weigher) {
+        super(cacheName);
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.expireAfterWrite = expireAfterWrite;
+        this.expireAfterAccess = expireAfterAccess;
+        this.weigher = weigher;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public long getExpireAfterWrite() {
+        return expireAfterWrite;
+    }
+
+    public long getExpireAfterAccess() {
+        return expireAfterAccess;
+    }
+
+    public String getWeigher() {
+        return weigher;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local.runtime;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.cache.local.LocalCache;
+import org.fabric3.cache.local.LocalCacheConfiguration;
+import org.fabric3.cache.local.LocalCacheService;
+import org.fabric3.cache.local.Weigher;
+import org.fabric3.cache.local.provision.PhysicalLocalCacheResource;
+import org.fabric3.cache.spi.CacheBuilder;
+import org.fabric3.cache.spi.CacheManager;
+import org.fabric3.spi.management.ManagementService;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Manages native local caches on a runtime. Caches are created from composite cache configuration or on demand through the {@link LocalCacheService}, for
+ * example as Hibernate second-level cache regions.
+ */
+@EagerInit
+public class LocalCacheManager implements CacheManager<PhysicalLocalCacheResource>, CacheBuilder<PhysicalLocalCacheResource>, LocalCacheService {
+    private ManagementService managementService;
+    private Map<String, LocalCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    public LocalCacheManager(@Reference ManagementService managementService) {
+        this.managementService = managementService;
+    }
+
+    @Destroy
+    public void destroy() {
+        for (String name : caches.keySet()) {
+            remove(name);
+        }
+    }
+
+    public void build(PhysicalLocalCacheResource resource) {
+        create(resource);
+    }
+
+    public void create(PhysicalLocalCacheResource resource) {
+        String name = resource.getCacheName();
+        if (caches.containsKey(name)) {
+            throw new Fabric3Exception("Cache already defined: " + name);
+        }
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setMaxSize(resource.getMaxSize());
+        configuration.setMaxWeight(resource.getMaxWeight());
+        configuration.setExpireAfterWrite(resource.getExpireAfterWrite());
+        configuration.setExpireAfterAccess(resource.getExpireAfterAccess());
+        if (resource.getWeigher() != null) {
+            configuration.setWeigher(loadWeigher(resource.getWeigher()));
+        }
+        getOrCreate(name, configuration);
+    }
+
+    public void remove(PhysicalLocalCacheResource resource) {
+        remove(resource.getCacheName());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <CACHE> CACHE getCache(String name) {
+        return (CACHE) caches.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K, V> LocalCache<K, V> getLocalCache(String name) {
+        return (LocalCache<K, V>) caches.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <K, V> LocalCache<K, V> getOrCreate(String name, LocalCacheConfiguration configuration) {
+        return (LocalCache<K, V>) caches.computeIfAbsent(name, key -> {
+            LocalCache<K, V> cache = new LocalCache<>(name, configuration);
+            managementService.export(encode(name), "caches", "Local caches", new LocalCacheWrapper(cache));
+            return cache;
+        });
+    }
+
+    public void remove(String name) {
+        LocalCache<?, ?> cache = caches.remove(name);
+        if (cache == null) {
+            return;
+        }
+        managementService.remove(encode(name), "caches");
+        cache.clear();
+    }
+
+    private Weigher<?, ?> loadWeigher(String weigherClass) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(weigherClass, true, loader != null ? loader : getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                clazz = Class.forName(weigherClass, true, getClass().getClassLoader());
+            }
+            return (Weigher<?, ?>) clazz.newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+            throw new Fabric3Exception("Unable to load cache weigher: " + weigherClass, e);
+        }
+    }
+
+    private String encode(String name) {
+        return "caches/" + name.toLowerCase();
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local.runtime;
+
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
+import org.fabric3.cache.local.CacheStatistics;
+import org.fabric3.cache.local.LocalCache;
+
+/**
+ * A wrapper used to expose a {@link LocalCache} as a managed instance.
+ */
+@Management
+public class LocalCacheWrapper {
+    private LocalCache<?, ?> cache;
+
+    public LocalCacheWrapper(LocalCache<?, ?> cache) {
+        this.cache = cache;
+    }
+
+    @ManagementOperation(description = "The number of cache hits")
+    public long getHits() {
+        return cache.getStatistics().getHits();
+    }
+
+    @ManagementOperation(description = "The number of cache misses")
+    public long getMisses() {
+        return cache.getStatistics().getMisses();
+    }
+
+    @ManagementOperation(description = "The ratio of hits to requests")
+    public double getHitRate() {
+        return cache.getStatistics().getHitRate();
+    }
+
+    @ManagementOperation(description = "The number of entries evicted due to the size bound")
+    public long getEvictions() {
+        return cache.getStatistics().getEvictions();
+    }
+
+    @ManagementOperation(description = "The number of expired entries removed")
+    public long getExpirations() {
+        return cache.getStatistics().getExpirations();
+    }
+
+    @ManagementOperation(description = "The approximate number of entries")
+    public long getSize() {
+        return cache.size();
+    }
+
+    @ManagementOperation(description = "The total weight of entries")
+    public long getWeightedSize() {
+        return cache.getWeightedSize();
+    }
+
+    @ManagementOperation(description = "Cache statistics")
+    public String getStatistics() {
+        CacheStatistics statistics = cache.getStatistics();
+        return statistics.toString();
+    }
+
+    @ManagementOperation(description = "Clears cache statistics")
+    public void resetStatistics() {
+        cache.resetStatistics();
+    }
+
+    @ManagementOperation(description = "Removes all entries")
+    public void clear() {
+        cache.clear();
+    }
+
+}
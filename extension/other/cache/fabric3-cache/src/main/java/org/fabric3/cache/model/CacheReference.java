@@ -25,6 +25,8 @@ import org.fabric3.api.model.type.contract.ServiceContract;
  */
 public class CacheReference extends ResourceReference {
     private String cacheName;
+    private String loader;
+    private long refreshAfterWrite = -1;
 
     public CacheReference(String name, ServiceContract serviceContract, boolean optional, String cacheName) {
         super(name, serviceContract, optional);
@@ -34,4 +36,30 @@ public class CacheReference extends ResourceReference {
     public String getCacheName() {
         return cacheName;
     }
+
+    /**
+     * Returns the name of the component that loads values on a cache miss or null if values are not loaded.
+     *
+     * @return the loader component name or null
+     */
+    public String getLoader() {
+        return loader;
+    }
+
+    public void setLoader(String loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Returns the time in milliseconds after a value is loaded that it is refreshed or -1 if values are not refreshed.
+     *
+     * @return the refresh time
+     */
+    public long getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
+    public void setRefreshAfterWrite(long refreshAfterWrite) {
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
 }
@@ -1,5 +1,7 @@
 package org.fabric3.cache.provision;
 
+import java.net.URI;
+
 import org.fabric3.spi.model.physical.PhysicalWireTarget;
 
 /**
@@ -7,15 +9,41 @@ import org.fabric3.spi.model.physical.PhysicalWireTarget;
  */
 public class CacheWireTarget extends PhysicalWireTarget {
     private String cacheName;
+    private URI loaderUri;
+    private long refreshAfterWrite = -1;
 
     public CacheWireTarget(String cacheName) {
         this.cacheName = cacheName;
     }
 
+    public CacheWireTarget(String cacheName, URI loaderUri, long refreshAfterWrite) {
+        this.cacheName = cacheName;
+        this.loaderUri = loaderUri;
+        this.refreshAfterWrite = refreshAfterWrite;
+    }
+
     public String getCacheName() {
         return cacheName;
     }
 
+    /**
+     * Returns the URI of the component that loads values on a cache miss or null if values are not loaded.
+     *
+     * @return the loader component URI or null
+     */
+    public URI getLoaderUri() {
+        return loaderUri;
+    }
+
+    /**
+     * Returns the time in milliseconds after a value is loaded that it is refreshed or -1 if values are not refreshed.
+     *
+     * @return the refresh time
+     */
+    public long getRefreshAfterWrite() {
+        return refreshAfterWrite;
+    }
+
     @Override
     public boolean isOptimizable() {
         return true;
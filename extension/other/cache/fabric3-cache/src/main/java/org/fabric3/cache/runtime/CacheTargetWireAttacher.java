@@ -17,21 +17,40 @@
 
 package org.fabric3.cache.runtime;
 
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 
+import org.fabric3.api.annotation.monitor.Monitor;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.cache.provision.CacheWireTarget;
 import org.fabric3.spi.container.builder.TargetWireAttacher;
+import org.fabric3.spi.container.component.ComponentManager;
 import org.oasisopen.sca.annotation.Reference;
 
 /**
- *
+ * Attaches caches to components. If a loader is configured for the cache, it is wrapped in a {@link LoadingCacheImpl}. Loading caches are shared by all wires
+ * using the same cache, loader and refresh time so that in-flight loads are coalesced across components.
  */
 public class CacheTargetWireAttacher implements TargetWireAttacher<CacheWireTarget> {
     private CacheRegistry registry;
+    private ComponentManager componentManager;
+    private ExecutorService executorService;
+    private LoaderMonitor monitor;
+
+    private Map<String, LoadingCacheImpl<Object, Object>> loadingCaches = new ConcurrentHashMap<>();
 
-    public CacheTargetWireAttacher(@Reference CacheRegistry registry) {
+    public CacheTargetWireAttacher(@Reference CacheRegistry registry,
+                                   @Reference ComponentManager componentManager,
+                                   @Reference(name = "executorService") ExecutorService executorService,
+                                   @Monitor LoaderMonitor monitor) {
         this.registry = registry;
+        this.componentManager = componentManager;
+        this.executorService = executorService;
+        this.monitor = monitor;
     }
 
     public Supplier<?> createSupplier(CacheWireTarget target) throws Fabric3Exception {
@@ -40,6 +59,26 @@ public class CacheTargetWireAttacher implements TargetWireAttacher<CacheWireTarg
         if (cache == null) {
             throw new Fabric3Exception("Cache not found: " + name);
         }
-        return () -> cache;
+        URI loaderUri = target.getLoaderUri();
+        if (loaderUri == null) {
+            return () -> cache;
+        }
+        if (!(cache instanceof ConcurrentMap)) {
+            throw new Fabric3Exception("Cache loaders are not supported for cache: " + name);
+        }
+        @SuppressWarnings("unchecked")
+        ConcurrentMap<Object, Object> map = (ConcurrentMap<Object, Object>) cache;
+        LoadingCacheImpl<Object, Object> loadingCache = getLoadingCache(name, map, loaderUri, target.getRefreshAfterWrite());
+        return () -> loadingCache;
+    }
+
+    private LoadingCacheImpl<Object, Object> getLoadingCache(String name, ConcurrentMap<Object, Object> map, URI loaderUri, long refreshAfterWrite) {
+        // drop loading caches wrapping caches that have since been removed or replaced
+        loadingCaches.values().removeIf(c -> !c.wraps(registry.getCache(c.getName())));
+        String key = name + "#" + loaderUri + "#" + refreshAfterWrite;
+        return loadingCaches.computeIfAbsent(key, k -> {
+            ComponentCacheLoader loader = new ComponentCacheLoader(loaderUri, componentManager);
+            return new LoadingCacheImpl<>(name, map, loader, refreshAfterWrite, executorService, monitor);
+        });
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.runtime;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Map;
+
+import org.fabric3.api.CacheLoader;
+import org.fabric3.spi.container.component.AtomicComponent;
+import org.fabric3.spi.container.component.Component;
+import org.fabric3.spi.container.component.ComponentManager;
+import org.oasisopen.sca.ServiceRuntimeException;
+import org.oasisopen.sca.ServiceUnavailableException;
+
+/**
+ * Dispatches loads to a component implementing {@link CacheLoader}. The component is resolved lazily as it may be deployed after the component using the
+ * cache.
+ */
+public class ComponentCacheLoader implements CacheLoader<Object, Object> {
+    private URI loaderUri;
+    private ComponentManager componentManager;
+
+    private volatile AtomicComponent delegate;
+
+    public ComponentCacheLoader(URI loaderUri, ComponentManager componentManager) {
+        this.loaderUri = loaderUri;
+        this.componentManager = componentManager;
+    }
+
+    public Object load(Object key) throws Exception {
+        AtomicComponent component = getComponent();
+        Object instance = component.getInstance();
+        try {
+            return cast(instance).load(key);
+        } finally {
+            component.releaseInstance(instance);
+        }
+    }
+
+    public Map<Object, Object> loadAll(Collection<?> keys) throws Exception {
+        AtomicComponent component = getComponent();
+        Object instance = component.getInstance();
+        try {
+            return cast(instance).loadAll(keys);
+        } finally {
+            component.releaseInstance(instance);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CacheLoader<Object, Object> cast(Object instance) {
+        if (!(instance instanceof CacheLoader)) {
+            throw new ServiceRuntimeException("Cache loader component must implement " + CacheLoader.class.getName() + ": " + loaderUri);
+        }
+        return (CacheLoader<Object, Object>) instance;
+    }
+
+    private AtomicComponent getComponent() {
+        if (delegate == null) {
+            synchronized (this) {
+                Component component = componentManager.getComponent(loaderUri);
+                if (component == null) {
+                    throw new ServiceUnavailableException("Cache loader component not found: " + loaderUri);
+                }
+                if (!(component instanceof AtomicComponent)) {
+                    throw new ServiceRuntimeException("Cache loader must be an atomic component: " + loaderUri);
+                }
+                delegate = (AtomicComponent) component;
+            }
+        }
+        return delegate;
+    }
+
+}
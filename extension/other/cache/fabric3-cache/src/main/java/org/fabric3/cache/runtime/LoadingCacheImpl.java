@@ -0,0 +1,365 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.runtime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.fabric3.api.CacheLoader;
+import org.fabric3.api.LoadingCache;
+import org.fabric3.spi.container.invocation.WorkContext;
+import org.fabric3.spi.container.invocation.WorkContextCache;
+import org.oasisopen.sca.ServiceRuntimeException;
+
+/**
+ * A {@link LoadingCache} that reads through to a {@link CacheLoader} on a miss.
+ *
+ * In-flight loads are tracked per key so that concurrent misses for the same key wait on a single load instead of each invoking the loader. Bulk loads
+ * register all missing keys before invoking the loader once for the batch; keys already being loaded by another thread are waited on. If a refresh time is
+ * configured, a read of a value loaded longer ago than the refresh time triggers an asynchronous reload while the current value continues to be returned.
+ * A failed reload is retried only after the refresh time has elapsed again.
+ * Asynchronous reloads are performed with a new work context.
+ */
+public class LoadingCacheImpl<K, V> implements LoadingCache<K, V> {
+    private String name;
+    private ConcurrentMap<K, V> cache;
+    private CacheLoader<K, V> loader;
+    private long refreshAfterWrite;
+    private Executor executor;
+    private LoaderMonitor monitor;
+    private LongSupplier ticker;
+
+    private Map<K, CompletableFuture<V>> loads = new ConcurrentHashMap<>();
+    private Map<K, Long> loadTimes = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     *
+     * @param name              the cache name
+     * @param cache             the underlying cache
+     * @param loader            the loader
+     * @param refreshAfterWrite the time in milliseconds after a load a value is refreshed or -1 to disable refreshing
+     * @param executor          the executor for performing refreshes
+     * @param monitor           the monitor
+     */
+    public LoadingCacheImpl(String name,
+                            ConcurrentMap<K, V> cache,
+                            CacheLoader<K, V> loader,
+                            long refreshAfterWrite,
+                            Executor executor,
+                            LoaderMonitor monitor) {
+        this(name, cache, loader, refreshAfterWrite, executor, monitor, System::nanoTime);
+    }
+
+    LoadingCacheImpl(String name,
+                     ConcurrentMap<K, V> cache,
+                     CacheLoader<K, V> loader,
+                     long refreshAfterWrite,
+                     Executor executor,
+                     LoaderMonitor monitor,
+                     LongSupplier ticker) {
+        this.name = name;
+        this.cache = cache;
+        this.loader = loader;
+        this.refreshAfterWrite = refreshAfterWrite > 0 ? TimeUnit.MILLISECONDS.toNanos(refreshAfterWrite) : 0;
+        this.executor = executor;
+        this.monitor = monitor;
+        this.ticker = ticker;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        V value = cache.get(key);
+        if (value != null) {
+            if (refreshAfterWrite > 0) {
+                checkRefresh((K) key);
+            }
+            return value;
+        }
+        return load((K) key);
+    }
+
+    public Map<K, V> getAll(Iterable<? extends K> keys) {
+        Map<K, V> values = new LinkedHashMap<>();
+        List<K> owned = new ArrayList<>();
+        Map<K, CompletableFuture<V>> owner = new LinkedHashMap<>();
+        Map<K, CompletableFuture<V>> waiting = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = cache.get(key);
+            if (value != null) {
+                values.put(key, value);
+                continue;
+            }
+            if (owner.containsKey(key) || waiting.containsKey(key)) {
+                continue;
+            }
+            CompletableFuture<V> future = new CompletableFuture<>();
+            CompletableFuture<V> existing = loads.putIfAbsent(key, future);
+            if (existing == null) {
+                owned.add(key);
+                owner.put(key, future);
+            } else {
+                waiting.put(key, existing);
+            }
+        }
+        if (!owned.isEmpty()) {
+            try {
+                Map<K, V> loaded = loadAll(owned);
+                for (Map.Entry<K, CompletableFuture<V>> entry : owner.entrySet()) {
+                    K key = entry.getKey();
+                    V value = loaded.get(key);
+                    if (value != null) {
+                        cache.put(key, value);
+                        recordLoad(key);
+                        values.put(key, value);
+                    }
+                    entry.getValue().complete(value);
+                }
+            } catch (RuntimeException e) {
+                owner.values().forEach(f -> f.completeExceptionally(e));
+                throw e;
+            } finally {
+                owner.forEach(loads::remove);
+            }
+        }
+        for (Map.Entry<K, CompletableFuture<V>> entry : waiting.entrySet()) {
+            V value = join(entry.getValue());
+            if (value != null) {
+                values.put(entry.getKey(), value);
+            }
+        }
+        return values;
+    }
+
+    public void refresh(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        if (loads.putIfAbsent(key, future) != null) {
+            // already loading
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                WorkContext workContext = WorkContextCache.getAndResetThreadWorkContext();
+                try {
+                    V value = loader.load(key);
+                    if (value != null) {
+                        cache.put(key, value);
+                        recordLoad(key);
+                    } else {
+                        cache.remove(key);
+                        loadTimes.remove(key);
+                    }
+                    future.complete(value);
+                } catch (Exception e) {
+                    // retain the current value and record the attempt so the next refresh is not tried until the refresh time elapses again
+                    recordLoad(key);
+                    future.complete(cache.get(key));
+                    monitor.refreshError(name, key, e);
+                } finally {
+                    loads.remove(key, future);
+                    workContext.reset();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            recordLoad(key);
+            loads.remove(key, future);
+            future.complete(cache.get(key));
+        }
+    }
+
+    public V put(K key, V value) {
+        V previous = cache.put(key, value);
+        recordLoad(key);
+        return previous;
+    }
+
+    public V putIfAbsent(K key, V value) {
+        V previous = cache.putIfAbsent(key, value);
+        if (previous == null) {
+            recordLoad(key);
+        }
+        return previous;
+    }
+
+    public void putAll(Map<? extends K, ? extends V> map) {
+        map.forEach(this::put);
+    }
+
+    public V remove(Object key) {
+        loadTimes.remove(key);
+        return cache.remove(key);
+    }
+
+    public boolean remove(Object key, Object value) {
+        if (cache.remove(key, value)) {
+            loadTimes.remove(key);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean replace(K key, V oldValue, V newValue) {
+        if (cache.replace(key, oldValue, newValue)) {
+            recordLoad(key);
+            return true;
+        }
+        return false;
+    }
+
+    public V replace(K key, V value) {
+        V previous = cache.replace(key, value);
+        if (previous != null) {
+            recordLoad(key);
+        }
+        return previous;
+    }
+
+    public void clear() {
+        cache.clear();
+        loadTimes.clear();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public boolean isEmpty() {
+        return cache.isEmpty();
+    }
+
+    public boolean containsKey(Object key) {
+        return cache.containsKey(key);
+    }
+
+    public boolean containsValue(Object value) {
+        return cache.containsValue(value);
+    }
+
+    public Set<K> keySet() {
+        return cache.keySet();
+    }
+
+    public Collection<V> values() {
+        return cache.values();
+    }
+
+    public Set<Entry<K, V>> entrySet() {
+        return cache.entrySet();
+    }
+
+    /**
+     * Returns the cache name.
+     *
+     * @return the cache name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns true if this loading cache wraps the given cache.
+     *
+     * @param cache the cache
+     * @return true if this loading cache wraps the given cache
+     */
+    boolean wraps(Object cache) {
+        return this.cache == cache;
+    }
+
+    private V load(K key) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = loads.putIfAbsent(key, future);
+        if (existing != null) {
+            // another thread is loading the key
+            return join(existing);
+        }
+        try {
+            // the value may have been loaded after the miss but before this thread registered the load
+            V value = cache.get(key);
+            if (value == null) {
+                value = loader.load(key);
+                if (value != null) {
+                    cache.put(key, value);
+                    recordLoad(key);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw wrap(e);
+        } finally {
+            loads.remove(key, future);
+        }
+    }
+
+    private Map<K, V> loadAll(List<K> keys) {
+        try {
+            Map<K, V> loaded = loader.loadAll(keys);
+            return loaded != null ? loaded : new LinkedHashMap<>();
+        } catch (Exception e) {
+            throw wrap(e);
+        }
+    }
+
+    private V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw wrap(e.getCause());
+        }
+    }
+
+    private RuntimeException wrap(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        }
+        return new ServiceRuntimeException("Error loading value for cache " + name, e);
+    }
+
+    private void checkRefresh(K key) {
+        long now = ticker.getAsLong();
+        Long loadTime = loadTimes.putIfAbsent(key, now);
+        if (loadTime != null && now - loadTime >= refreshAfterWrite) {
+            refresh(key);
+        }
+    }
+
+    private void recordLoad(K key) {
+        if (refreshAfterWrite <= 0) {
+            return;
+        }
+        loadTimes.put(key, ticker.getAsLong());
+        if (loadTimes.size() > 2 * cache.size() + 1024) {
+            // discard times for entries evicted from the underlying cache
+            loadTimes.keySet().removeIf(k -> !cache.containsKey(k));
+        }
+    }
+
+}
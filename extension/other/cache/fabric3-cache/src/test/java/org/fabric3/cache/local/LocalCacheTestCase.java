@@ -0,0 +1,158 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.local;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import junit.framework.TestCase;
+
+/**
+ *
+ */
+public class LocalCacheTestCase extends TestCase {
+    private AtomicLong time = new AtomicLong();
+
+    public void testSizeBound() throws Exception {
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setMaxSize(100);
+        LocalCache<Integer, String> cache = new LocalCache<>("test", configuration, time::get);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "value" + i);
+        }
+        cache.cleanUp();
+        assertEquals(100, cache.size());
+        assertEquals(100, cache.getWeightedSize());
+        assertEquals(900, cache.getStatistics().getEvictions());
+    }
+
+    public void testFrequentEntriesRetained() throws Exception {
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setMaxSize(100);
+        LocalCache<Integer, String> cache = new LocalCache<>("test", configuration, time::get);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, "value" + i);
+        }
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(i);
+            }
+            cache.cleanUp();
+        }
+        // a scan of one-time entries should not displace the frequently read entries
+        for (int i = 1000; i < 3000; i++) {
+            cache.put(i, "value" + i);
+        }
+        cache.cleanUp();
+        int retained = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.containsKey(i)) {
+                retained++;
+            }
+        }
+        assertTrue(retained >= 45);
+    }
+
+    public void testExpireAfterWrite() throws Exception {
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setExpireAfterWrite(1000);
+        LocalCache<String, String> cache = new LocalCache<>("test", configuration, time::get);
+        cache.put("key", "value");
+
+        advance(500);
+        assertEquals("value", cache.get("key"));
+
+        advance(600);
+        assertNull(cache.get("key"));
+        assertFalse(cache.containsKey("key"));
+
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getStatistics().getExpirations());
+    }
+
+    public void testExpireAfterAccess() throws Exception {
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setExpireAfterAccess(1000);
+        LocalCache<String, String> cache = new LocalCache<>("test", configuration, time::get);
+        cache.put("key", "value");
+
+        advance(800);
+        assertEquals("value", cache.get("key"));
+        advance(800);
+        assertEquals("value", cache.get("key"));
+        advance(1100);
+        assertNull(cache.get("key"));
+    }
+
+    public void testWeigher() throws Exception {
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setMaxWeight(100);
+        configuration.setWeigher((Weigher<String, String>) (key, value) -> value.length());
+        LocalCache<String, String> cache = new LocalCache<>("test", configuration, time::get);
+        for (int i = 0; i < 20; i++) {
+            cache.put("key" + i, "0123456789");
+        }
+        cache.cleanUp();
+        assertTrue(cache.getWeightedSize() <= 100);
+        assertEquals(10, cache.size());
+    }
+
+    public void testWeigherRequired() throws Exception {
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setMaxWeight(100);
+        try {
+            new LocalCache<String, String>("test", configuration);
+            fail();
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    public void testStatistics() throws Exception {
+        LocalCache<String, String> cache = new LocalCache<>("test", new LocalCacheConfiguration(), time::get);
+        cache.put("key", "value");
+        cache.get("key");
+        cache.get("key");
+        cache.get("missing");
+        CacheStatistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(2.0 / 3.0, statistics.getHitRate(), 0.001);
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getStatistics().getHits());
+    }
+
+    public void testConcurrentMapOperations() throws Exception {
+        LocalCache<String, String> cache = new LocalCache<>("test", new LocalCacheConfiguration(), time::get);
+        assertNull(cache.putIfAbsent("key", "value1"));
+        assertEquals("value1", cache.putIfAbsent("key", "value2"));
+        assertFalse(cache.replace("key", "value2", "value3"));
+        assertTrue(cache.replace("key", "value1", "value3"));
+        assertFalse(cache.remove("key", "value1"));
+        assertTrue(cache.remove("key", "value3"));
+        assertTrue(cache.isEmpty());
+        cache.cleanUp();
+        assertEquals(0, cache.getWeightedSize());
+    }
+
+    private void advance(long millis) {
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.runtime;
+
+import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.cache.provision.CacheWireTarget;
+import org.fabric3.spi.container.component.ComponentManager;
+
+/**
+ *
+ */
+public class CacheTargetWireAttacherTestCase extends TestCase {
+    private static final URI LOADER = URI.create("loader");
+
+    private CacheRegistry registry;
+    private CacheTargetWireAttacher attacher;
+
+    public void testLoadingCacheShared() throws Exception {
+        ConcurrentMap<Object, Object> cache = new ConcurrentHashMap<>();
+        EasyMock.expect(registry.getCache("cache")).andReturn(cache).anyTimes();
+        EasyMock.replay(registry);
+
+        Object first = attacher.createSupplier(new CacheWireTarget("cache", LOADER, -1)).get();
+        Object second = attacher.createSupplier(new CacheWireTarget("cache", LOADER, -1)).get();
+        Object other = attacher.createSupplier(new CacheWireTarget("cache", URI.create("other"), -1)).get();
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+    }
+
+    public void testLoadingCacheRecreatedForNewCache() throws Exception {
+        ConcurrentMap<Object, Object> cache = new ConcurrentHashMap<>();
+        ConcurrentMap<Object, Object> replacement = new ConcurrentHashMap<>();
+        EasyMock.expect(registry.getCache("cache")).andReturn(cache);
+        EasyMock.expect(registry.getCache("cache")).andReturn(replacement).anyTimes();
+        EasyMock.replay(registry);
+
+        Object first = attacher.createSupplier(new CacheWireTarget("cache", LOADER, -1)).get();
+        Object second = attacher.createSupplier(new CacheWireTarget("cache", LOADER, -1)).get();
+
+        assertNotSame(first, second);
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        registry = EasyMock.createMock(CacheRegistry.class);
+        ComponentManager componentManager = EasyMock.createMock(ComponentManager.class);
+        ExecutorService executorService = EasyMock.createMock(ExecutorService.class);
+        LoaderMonitor monitor = EasyMock.createNiceMock(LoaderMonitor.class);
+        attacher = new CacheTargetWireAttacher(registry, componentManager, executorService, monitor);
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.cache.runtime;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.CacheLoader;
+import org.fabric3.spi.container.invocation.WorkContext;
+import org.fabric3.spi.container.invocation.WorkContextCache;
+
+/**
+ *
+ */
+public class LoadingCacheImplTestCase extends TestCase {
+    private LoaderMonitor monitor = EasyMock.createNiceMock(LoaderMonitor.class);
+    private AtomicLong time = new AtomicLong();
+
+    public void testLoadOnMiss() throws Exception {
+        CountingLoader loader = new CountingLoader();
+        LoadingCacheImpl<String, String> cache = new LoadingCacheImpl<>("test", new ConcurrentHashMap<>(), loader, -1, Runnable::run, monitor);
+
+        assertEquals("value:key", cache.get("key"));
+        assertEquals("value:key", cache.get("key"));
+        assertEquals(1, loader.loads.get());
+    }
+
+    public void testConcurrentMissesCoalesced() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        CacheLoader<String, String> loader = key -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "value";
+        };
+        LoadingCacheImpl<String, String> cache = new LoadingCacheImpl<>("test", new ConcurrentHashMap<>(), loader, -1, Runnable::run, monitor);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<String> first = executor.submit(() -> cache.get("key"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<String> second = executor.submit(() -> cache.get("key"));
+            Future<String> third = executor.submit(() -> cache.get("key"));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertEquals("value", first.get(5, TimeUnit.SECONDS));
+            assertEquals("value", second.get(5, TimeUnit.SECONDS));
+            assertEquals("value", third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testLoadErrorPropagated() throws Exception {
+        CacheLoader<String, String> loader = key -> {
+            throw new IllegalStateException("test");
+        };
+        LoadingCacheImpl<String, String> cache = new LoadingCacheImpl<>("test", new ConcurrentHashMap<>(), loader, -1, Runnable::run, monitor);
+        try {
+            cache.get("key");
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertFalse(cache.containsKey("key"));
+    }
+
+    public void testGetAllBatched() throws Exception {
+        CountingLoader loader = new CountingLoader();
+        LoadingCacheImpl<String, String> cache = new LoadingCacheImpl<>("test", new ConcurrentHashMap<>(), loader, -1, Runnable::run, monitor);
+        cache.put("key1", "cached");
+
+        Map<String, String> values = cache.getAll(Arrays.asList("key1", "key2", "key3"));
+        assertEquals(3, values.size());
+        assertEquals("cached", values.get("key1"));
+        assertEquals("value:key2", values.get("key2"));
+        assertEquals(1, loader.batches.get());
+        assertEquals(2, loader.batchSize.get());
+        assertEquals(0, loader.loads.get());
+    }
+
+    public void testRefreshAfterWrite() throws Exception {
+        CountingLoader loader = new CountingLoader();
+        LoadingCacheImpl<String, String> cache = new LoadingCacheImpl<>("test", new ConcurrentHashMap<>(), loader, 1000, Runnable::run, monitor, time::get);
+
+        cache.get("key");
+        assertEquals(1, loader.loads.get());
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        cache.get("key");
+        assertEquals(1, loader.loads.get());
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        cache.get("key");
+        assertEquals(2, loader.loads.get());
+    }
+
+    public void testFailedRefreshWaitsForRefreshTime() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CacheLoader<String, String> loader = new CountingLoader() {
+            public String load(String key) {
+                if (loads.incrementAndGet() > 1) {
+                    throw new IllegalStateException();
+                }
+                return super.load(key);
+            }
+        };
+        LoadingCacheImpl<String, String> cache = new LoadingCacheImpl<>("test", new ConcurrentHashMap<>(), loader, 1000, Runnable::run, monitor, time::get);
+
+        cache.get("key");
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1100));
+        assertEquals("value:key", cache.get("key"));
+        assertEquals(2, loads.get());
+
+        // the failed attempt resets the refresh time
+        assertEquals("value:key", cache.get("key"));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        cache.get("key");
+        assertEquals(2, loads.get());
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+        cache.get("key");
+        assertEquals(3, loads.get());
+    }
+
+    public void testRefreshSetsUpWorkContext() throws Exception {
+        Thread caller = Thread.currentThread();
+        AtomicReference<WorkContext> context = new AtomicReference<>();
+        CountDownLatch latch = new CountDownLatch(1);
+        CacheLoader<String, String> loader = new CountingLoader() {
+            public String load(String key) {
+                if (Thread.currentThread() != caller) {
+                    context.set(WorkContextCache.getThreadWorkContext());
+                    latch.countDown();
+                }
+                return super.load(key);
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            LoadingCacheImpl<String, String> cache = new LoadingCacheImpl<>("test", new ConcurrentHashMap<>(), loader, 1000, executor, monitor, time::get);
+            cache.get("key");
+            time.addAndGet(TimeUnit.MILLISECONDS.toNanos(1100));
+            cache.get("key");
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertNotNull(context.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private class CountingLoader implements CacheLoader<String, String> {
+        private AtomicInteger loads = new AtomicInteger();
+        private AtomicInteger batches = new AtomicInteger();
+        private AtomicInteger batchSize = new AtomicInteger();
+
+        public String load(String key) {
+            loads.incrementAndGet();
+            return "value:" + key;
+        }
+
+        public Map<String, String> loadAll(Collection<? extends String> keys) {
+            batches.incrementAndGet();
+            batchSize.set(keys.size());
+            Map<String, String> values = new HashMap<>();
+            for (String key : keys) {
+                values.put(key, "value:" + key);
+            }
+            return values;
+        }
+    }
+
+}
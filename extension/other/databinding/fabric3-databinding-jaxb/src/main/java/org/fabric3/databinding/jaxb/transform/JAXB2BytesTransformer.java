@@ -0,0 +1,68 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.namespace.QName;
+import java.io.ByteArrayOutputStream;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Marshals a JAXB instance directly to a serialized byte array without creating an intermediate String or DOM.
+ */
+public class JAXB2BytesTransformer implements Transformer<Object, byte[]> {
+    private MarshallerPool pool;
+    private QName name;
+
+    /**
+     * Constructor.
+     *
+     * @param pool the marshaller pool
+     * @param name the element name if the type is not annotated with XmlRootElement, otherwise null
+     */
+    public JAXB2BytesTransformer(MarshallerPool pool, QName name) {
+        this.pool = pool;
+        this.name = name;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    public byte[] transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        Marshaller marshaller = null;
+        try {
+            marshaller = pool.getMarshaller();
+            ByteArrayOutputStream stream = new ByteArrayOutputStream(512);
+            if (name == null) {
+                marshaller.marshal(source, stream);
+            } else {
+                JAXBElement<?> element = new JAXBElement(name, source.getClass(), source);
+                marshaller.marshal(element, stream);
+            }
+            return stream.toByteArray();
+        } catch (JAXBException e) {
+            throw new Fabric3Exception(e);
+        } finally {
+            if (marshaller != null) {
+                pool.release(marshaller);
+            }
+        }
+    }
+
+}
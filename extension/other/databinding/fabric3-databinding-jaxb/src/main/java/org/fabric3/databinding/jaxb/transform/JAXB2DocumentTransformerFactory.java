@@ -59,15 +59,16 @@ public class JAXB2DocumentTransformerFactory implements TransformerFactory {
             Set<Class<?>> types = new HashSet<>(sourceTypes);
             types.addAll(targetTypes);
             JAXBContext jaxbContext = contextFactory.createJAXBContext(types.toArray(new Class<?>[types.size()]));
+            MarshallerPool pool = new MarshallerPool(jaxbContext);
             if (sourceTypes.size() == 1) {
                 Class<?> type = sourceTypes.iterator().next();
-                return createTransformer(type, jaxbContext);
+                return createTransformer(type, pool);
             } else if (sourceTypes.size() > 1) {
                 // the conversion must handle multiple parameters, which will be passed to the transformer in an array
                 Transformer<?, ?>[] transformers = new Transformer<?, ?>[sourceTypes.size()];
                 for (int i = 0; i < sourceTypes.size(); i++) {
                     Class<?> type = sourceTypes.get(i);
-                    transformers[i] = createTransformer(type, jaxbContext);
+                    transformers[i] = createTransformer(type, pool);
                 }
                 return new MultiValueArrayTransformer(transformers);
             } else {
@@ -78,12 +79,12 @@ public class JAXB2DocumentTransformerFactory implements TransformerFactory {
         }
     }
 
-    private Transformer<?, ?> createTransformer(Class<?> type, JAXBContext jaxbContext) {
+    private Transformer<?, ?> createTransformer(Class<?> type, MarshallerPool pool) {
         if (type.isAnnotationPresent(XmlRootElement.class)) {
-            return new JAXBObject2DocumentTransformer(jaxbContext);
+            return new JAXBObject2DocumentTransformer(pool);
         } else {
             QName name = mapper.deriveQName(type);
-            return new JAXBElement2DocumentTransformer(jaxbContext, name);
+            return new JAXBElement2DocumentTransformer(pool, name);
         }
     }
 
@@ -58,31 +58,32 @@ public class JAXB2StringTransformerFactory implements TransformerFactory {
             Set<Class<?>> types = new HashSet<>(sourceTypes);
             types.addAll(targetTypes);
             JAXBContext jaxbContext = contextFactory.createJAXBContext(types.toArray(new Class<?>[types.size()]));
+            MarshallerPool pool = new MarshallerPool(jaxbContext);
             if (sourceTypes.size() == 1) {
                 Class<?> type = sourceTypes.iterator().next();
-                return createTransformer(type, jaxbContext);
+                return createTransformer(type, pool);
             } else if (sourceTypes.size() > 1) {
                 // the conversion must handle multiple parameters, which will be passed to the transformer in an array
                 Transformer<?, ?>[] transformers = new Transformer<?, ?>[sourceTypes.size()];
                 for (int i = 0; i < sourceTypes.size(); i++) {
                     Class<?> type = sourceTypes.get(i);
-                    transformers[i] = createTransformer(type, jaxbContext);
+                    transformers[i] = createTransformer(type, pool);
                 }
                 return new MultiValueArrayTransformer(transformers);
             } else {
-                return createTransformer(source.getType(), jaxbContext);
+                return createTransformer(source.getType(), pool);
             }
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         }
     }
 
-    private Transformer<Object, String> createTransformer(Class<?> type, JAXBContext jaxbContext) {
+    private Transformer<Object, String> createTransformer(Class<?> type, MarshallerPool pool) {
         if (type.isAnnotationPresent(XmlRootElement.class)) {
-            return new JAXBObject2StringTransformer(jaxbContext);
+            return new JAXBObject2StringTransformer(pool);
         } else {
             QName name = mapper.deriveQName(type);
-            return new JAXBElement2StringTransformer(jaxbContext, name);
+            return new JAXBElement2StringTransformer(pool, name);
         }
     }
 
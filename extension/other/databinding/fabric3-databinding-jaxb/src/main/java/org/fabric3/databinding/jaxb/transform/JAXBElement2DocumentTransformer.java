@@ -16,7 +16,6 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
@@ -33,12 +32,12 @@ import org.w3c.dom.Document;
  * Transforms from a JAXB instance not annotated with XmlRootElement to a DOM Document.
  */
 public class JAXBElement2DocumentTransformer implements Transformer<Object, Document> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
     private DocumentBuilderFactory factory;
     private QName name = null;
 
-    public JAXBElement2DocumentTransformer(JAXBContext jaxbContext, QName name) {
-        this.jaxbContext = jaxbContext;
+    public JAXBElement2DocumentTransformer(MarshallerPool pool, QName name) {
+        this.pool = pool;
         this.name = name;
         factory = DocumentBuilderFactory.newInstance();
         factory.setNamespaceAware(true);
@@ -46,27 +45,22 @@ public class JAXBElement2DocumentTransformer implements Transformer<Object, Docu
 
     @SuppressWarnings({"unchecked"})
     public Document transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        Marshaller marshaller = null;
         try {
             DocumentBuilder builder = factory.newDocumentBuilder();
             Document document = builder.newDocument();
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            marshaller = pool.getMarshaller();
 
             Class<?> type = source.getClass();
             JAXBElement<?> element = new JAXBElement(name, type, source);
             marshaller.marshal(element, document);
-
-            /*
-            Source s1 = new DOMSource(document);
-            StringWriter stringWriter = new StringWriter();
-            Result result = new StreamResult(stringWriter);
-            TransformerFactory factory = TransformerFactory.newInstance();
-            javax.xml.transform.Transformer transformer = factory.newTransformer();
-            transformer.transform(s1, result);
-            System.out.println(stringWriter.getBuffer().toString());    */
-
             return document;
         } catch (JAXBException | ParserConfigurationException e) {
             throw new Fabric3Exception(e);
+        } finally {
+            if (marshaller != null) {
+                pool.release(marshaller);
+            }
         }
     }
 
@@ -16,7 +16,6 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
@@ -30,18 +29,19 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms from a JAXB instance not annotated with XmlRootElement to a serialized String.
  */
 public class JAXBElement2StringTransformer implements Transformer<Object, String> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
     private QName name = null;
 
-    public JAXBElement2StringTransformer(JAXBContext jaxbContext, QName name) {
-        this.jaxbContext = jaxbContext;
+    public JAXBElement2StringTransformer(MarshallerPool pool, QName name) {
+        this.pool = pool;
         this.name = name;
     }
 
     @SuppressWarnings({"unchecked"})
     public String transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        Marshaller marshaller = null;
         try {
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            marshaller = pool.getMarshaller();
             Class<?> type = source.getClass();
             JAXBElement<?> element = new JAXBElement(name, type, source);
             StringWriter writer = new StringWriter();
@@ -49,6 +49,10 @@ public class JAXBElement2StringTransformer implements Transformer<Object, String
             return writer.toString();
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
+        } finally {
+            if (marshaller != null) {
+                pool.release(marshaller);
+            }
         }
     }
 
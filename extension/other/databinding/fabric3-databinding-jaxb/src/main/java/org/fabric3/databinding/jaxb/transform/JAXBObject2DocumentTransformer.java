@@ -16,7 +16,6 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.parsers.DocumentBuilder;
@@ -31,24 +30,29 @@ import org.w3c.dom.Document;
  * Transforms from a JAXB top-level element instance to a DOM Document.
  */
 public class JAXBObject2DocumentTransformer implements Transformer<Object, Document> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
     private DocumentBuilderFactory factory;
 
-    public JAXBObject2DocumentTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+    public JAXBObject2DocumentTransformer(MarshallerPool pool) {
+        this.pool = pool;
         factory = DocumentBuilderFactory.newInstance();
         factory.setNamespaceAware(true);
     }
 
     public Document transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        Marshaller marshaller = null;
         try {
             DocumentBuilder builder = factory.newDocumentBuilder();
             Document document = builder.newDocument();
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            marshaller = pool.getMarshaller();
             marshaller.marshal(source, document);
             return document;
         } catch (JAXBException | ParserConfigurationException e) {
             throw new Fabric3Exception(e);
+        } finally {
+            if (marshaller != null) {
+                pool.release(marshaller);
+            }
         }
     }
 
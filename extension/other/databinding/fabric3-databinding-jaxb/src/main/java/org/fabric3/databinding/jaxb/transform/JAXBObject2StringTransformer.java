@@ -16,7 +16,6 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import java.io.StringWriter;
@@ -28,20 +27,25 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms from a JAXB top-level element instance to a serialized String.
  */
 public class JAXBObject2StringTransformer implements Transformer<Object, String> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
 
-    public JAXBObject2StringTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+    public JAXBObject2StringTransformer(MarshallerPool pool) {
+        this.pool = pool;
     }
 
     public String transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        Marshaller marshaller = null;
         try {
-            Marshaller marshaller = jaxbContext.createMarshaller();
+            marshaller = pool.getMarshaller();
             StringWriter writer = new StringWriter();
             marshaller.marshal(source, writer);
             return writer.toString();
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
+        } finally {
+            if (marshaller != null) {
+                pool.release(marshaller);
+            }
         }
     }
 
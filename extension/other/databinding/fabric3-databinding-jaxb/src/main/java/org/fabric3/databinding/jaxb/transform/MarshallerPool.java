@@ -0,0 +1,93 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A pool of marshallers and unmarshallers for a JAXBContext. JAXBContext instances are thread-safe but marshallers and unmarshallers are not and are
+ * expensive to create, so transformers borrow them from the pool for the duration of a transform.
+ *
+ * Instances are created on demand if the pool is empty. The pool is bounded; instances released when it is full are discarded.
+ */
+public class MarshallerPool {
+    private static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+    private JAXBContext jaxbContext;
+    private BlockingQueue<Marshaller> marshallers;
+    private BlockingQueue<Unmarshaller> unmarshallers;
+
+    public MarshallerPool(JAXBContext jaxbContext) {
+        this(jaxbContext, DEFAULT_SIZE);
+    }
+
+    public MarshallerPool(JAXBContext jaxbContext, int size) {
+        this.jaxbContext = jaxbContext;
+        this.marshallers = new ArrayBlockingQueue<>(size);
+        this.unmarshallers = new ArrayBlockingQueue<>(size);
+    }
+
+    public JAXBContext getContext() {
+        return jaxbContext;
+    }
+
+    /**
+     * Returns a marshaller. The marshaller must be returned using {@link #release(Marshaller)} after use and must not be configured by the caller.
+     *
+     * @return the marshaller
+     * @throws JAXBException if there is an error creating a marshaller
+     */
+    public Marshaller getMarshaller() throws JAXBException {
+        Marshaller marshaller = marshallers.poll();
+        return marshaller != null ? marshaller : jaxbContext.createMarshaller();
+    }
+
+    /**
+     * Returns a marshaller to the pool.
+     *
+     * @param marshaller the marshaller
+     */
+    public void release(Marshaller marshaller) {
+        marshallers.offer(marshaller);
+    }
+
+    /**
+     * Returns an unmarshaller. The unmarshaller must be returned using {@link #release(Unmarshaller)} after use and must not be configured by the caller.
+     *
+     * @return the unmarshaller
+     * @throws JAXBException if there is an error creating an unmarshaller
+     */
+    public Unmarshaller getUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        return unmarshaller != null ? unmarshaller : jaxbContext.createUnmarshaller();
+    }
+
+    /**
+     * Returns an unmarshaller to the pool.
+     *
+     * @param unmarshaller the unmarshaller
+     */
+    public void release(Unmarshaller unmarshaller) {
+        unmarshallers.offer(unmarshaller);
+    }
+
+}
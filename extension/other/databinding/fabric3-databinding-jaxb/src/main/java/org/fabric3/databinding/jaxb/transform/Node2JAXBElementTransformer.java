@@ -16,8 +16,8 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
@@ -27,22 +27,27 @@ import org.w3c.dom.Node;
  * Converts from a DOM Node to a JAXB type serialized as a JAXBElement.
  */
 public class Node2JAXBElementTransformer implements Transformer<Node, Object> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
     private Class<?> declaredType;
 
-    public Node2JAXBElementTransformer(JAXBContext jaxbContext, Class<?> declaredType) {
-        this.jaxbContext = jaxbContext;
+    public Node2JAXBElementTransformer(MarshallerPool pool, Class<?> declaredType) {
+        this.pool = pool;
         this.declaredType = declaredType;
     }
 
     public Object transform(Node source, ClassLoader loader) throws Fabric3Exception {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Unmarshaller unmarshaller = null;
         try {
             Thread.currentThread().setContextClassLoader(loader);
-            return jaxbContext.createUnmarshaller().unmarshal(source, declaredType).getValue();
+            unmarshaller = pool.getUnmarshaller();
+            return unmarshaller.unmarshal(source, declaredType).getValue();
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
+            if (unmarshaller != null) {
+                pool.release(unmarshaller);
+            }
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
@@ -16,8 +16,8 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
@@ -27,21 +27,25 @@ import org.w3c.dom.Node;
  * Converts from a DOM Node to a JAXB type.
  */
 public class Node2JAXBTransformer implements Transformer<Node, Object> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
 
-    public Node2JAXBTransformer(JAXBContext jaxbContext) {
-
-        this.jaxbContext = jaxbContext;
+    public Node2JAXBTransformer(MarshallerPool pool) {
+        this.pool = pool;
     }
 
     public Object transform(Node source, ClassLoader loader) throws Fabric3Exception {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Unmarshaller unmarshaller = null;
         try {
             Thread.currentThread().setContextClassLoader(loader);
-            return jaxbContext.createUnmarshaller().unmarshal(source);
+            unmarshaller = pool.getUnmarshaller();
+            return unmarshaller.unmarshal(source);
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
+            if (unmarshaller != null) {
+                pool.release(unmarshaller);
+            }
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
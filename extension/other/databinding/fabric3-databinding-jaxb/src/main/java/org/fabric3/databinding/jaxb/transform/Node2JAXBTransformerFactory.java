@@ -56,15 +56,16 @@ public class Node2JAXBTransformerFactory implements TransformerFactory {
             Set<Class<?>> types = new HashSet<>(sourceTypes);
             types.addAll(targetTypes);
             JAXBContext jaxbContext = contextFactory.createJAXBContext(types.toArray(new Class<?>[types.size()]));
+            MarshallerPool pool = new MarshallerPool(jaxbContext);
             if (targetTypes.size() == 1) {
                 Class<?> type = targetTypes.iterator().next();
-                return createTransformer(source, type, jaxbContext);
+                return createTransformer(source, type, pool);
             } else if (targetTypes.size() > 1) {
                 // the conversion must handle multiple parameters, which will be passed to the transformer in an array
                 Transformer<?, ?>[] transformers = new Transformer<?, ?>[sourceTypes.size()];
                 for (int i = 0; i < sourceTypes.size(); i++) {
                     Class<?> type = sourceTypes.get(i);
-                    transformers[i] = createTransformer(source, type, jaxbContext);
+                    transformers[i] = createTransformer(source, type, pool);
                 }
                 return new MultiValueArrayTransformer(transformers);
             } else {
@@ -75,16 +76,16 @@ public class Node2JAXBTransformerFactory implements TransformerFactory {
         }
     }
 
-    private Transformer<Node, Object> createTransformer(DataType source, Class<?> type, JAXBContext jaxbContext) {
+    private Transformer<Node, Object> createTransformer(DataType source, Class<?> type, MarshallerPool pool) {
         if (type.isAnnotationPresent(XmlRootElement.class)) {
             if (TypeConstants.PROPERTY_TYPE.equals(source)) {
                 // the value is a property
-                return new PropertyValue2JAXBTransformer(jaxbContext);
+                return new PropertyValue2JAXBTransformer(pool);
             } else {
-                return new Node2JAXBTransformer(jaxbContext);
+                return new Node2JAXBTransformer(pool);
             }
         } else {
-            return new Node2JAXBElementTransformer(jaxbContext, type);
+            return new Node2JAXBElementTransformer(pool, type);
         }
     }
 
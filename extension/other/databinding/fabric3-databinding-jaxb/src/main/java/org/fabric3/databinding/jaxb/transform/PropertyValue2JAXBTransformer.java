@@ -16,8 +16,8 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
@@ -29,33 +29,38 @@ import org.w3c.dom.NodeList;
  * Converts from a component property represented as a DOM Node to a JAXB type. The DOM node representation contains a root &lt;value&gt; element.
  */
 public class PropertyValue2JAXBTransformer implements Transformer<Node, Object> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
 
-    public PropertyValue2JAXBTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+    public PropertyValue2JAXBTransformer(MarshallerPool pool) {
+        this.pool = pool;
     }
 
     public Object transform(Node source, ClassLoader loader) throws Fabric3Exception {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Unmarshaller unmarshaller = null;
         try {
             Thread.currentThread().setContextClassLoader(loader);
+            unmarshaller = pool.getUnmarshaller();
             if ("value".equals(source.getNodeName()) || "key".equals(source.getNodeName())) {
                 NodeList children = source.getChildNodes();
                 for (int i = 0; i < children.getLength(); i++) {
                     if (children.item(i) instanceof Element) {
-                        return jaxbContext.createUnmarshaller().unmarshal(children.item(i));
+                        return unmarshaller.unmarshal(children.item(i));
                     }
                 }
                 throw new Fabric3Exception("Unexpected content");
 
             } else {
                 // global element
-                return jaxbContext.createUnmarshaller().unmarshal(source);
+                return unmarshaller.unmarshal(source);
             }
 
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
+            if (unmarshaller != null) {
+                pool.release(unmarshaller);
+            }
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
@@ -0,0 +1,69 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Unmarshals a JAXB instance directly from a byte array, input stream or StAX reader without creating an intermediate String or DOM.
+ */
+public class Stream2JAXBTransformer implements Transformer<Object, Object> {
+    private MarshallerPool pool;
+    private Class<?> declaredType;
+
+    /**
+     * Constructor.
+     *
+     * @param pool         the marshaller pool
+     * @param declaredType the type if it is not annotated with XmlRootElement, otherwise null
+     */
+    public Stream2JAXBTransformer(MarshallerPool pool, Class<?> declaredType) {
+        this.pool = pool;
+        this.declaredType = declaredType;
+    }
+
+    public Object transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Unmarshaller unmarshaller = null;
+        try {
+            Thread.currentThread().setContextClassLoader(loader);
+            unmarshaller = pool.getUnmarshaller();
+            if (source instanceof XMLStreamReader) {
+                XMLStreamReader reader = (XMLStreamReader) source;
+                return declaredType == null ? unmarshaller.unmarshal(reader) : unmarshaller.unmarshal(reader, declaredType).getValue();
+            }
+            InputStream stream = source instanceof byte[] ? new ByteArrayInputStream((byte[]) source) : (InputStream) source;
+            return declaredType == null ? unmarshaller.unmarshal(stream) : unmarshaller.unmarshal(new StreamSource(stream), declaredType).getValue();
+        } catch (JAXBException e) {
+            throw new Fabric3Exception(e);
+        } finally {
+            if (unmarshaller != null) {
+                pool.release(unmarshaller);
+            }
+            Thread.currentThread().setContextClassLoader(cl);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.databinding.jaxb.factory.JAXBContextFactory;
+import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.transform.Transformer;
+import org.fabric3.spi.transform.TransformerFactory;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Creates Transformers capable of unmarshalling JAXB types from StAX readers and from serialized XML received as byte arrays or input streams. Ordered
+ * ahead of the String and DOM transformer factories, so only sources using the JAXB databinding are handled.
+ */
+public class Stream2JAXBTransformerFactory implements TransformerFactory {
+    private JAXBContextFactory contextFactory;
+
+    public Stream2JAXBTransformerFactory(@Reference JAXBContextFactory contextFactory) {
+        this.contextFactory = contextFactory;
+    }
+
+    public int getOrder() {
+        return -1;
+    }
+
+    public boolean canTransform(DataType source, DataType target) {
+        if (!"JAXB".equals(source.getDatabinding()) || !(target instanceof JavaType)) {
+            return false;
+        }
+        Class<?> type = source.getType();
+        return XMLStreamReader.class.isAssignableFrom(type) || byte[].class.equals(type) || InputStream.class.isAssignableFrom(type);
+    }
+
+    public Transformer<?, ?> create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) throws Fabric3Exception {
+        try {
+            Set<Class<?>> types = new HashSet<>(sourceTypes);
+            types.addAll(targetTypes);
+            JAXBContext jaxbContext = contextFactory.createJAXBContext(types.toArray(new Class<?>[types.size()]));
+            MarshallerPool pool = new MarshallerPool(jaxbContext);
+            if (targetTypes.size() == 1) {
+                Class<?> type = targetTypes.iterator().next();
+                return createTransformer(type, pool);
+            } else if (targetTypes.size() > 1) {
+                // the conversion must handle multiple parameters, which will be passed to the transformer in an array
+                Transformer<?, ?>[] transformers = new Transformer<?, ?>[targetTypes.size()];
+                for (int i = 0; i < targetTypes.size(); i++) {
+                    Class<?> type = targetTypes.get(i);
+                    transformers[i] = createTransformer(type, pool);
+                }
+                return new MultiValueArrayTransformer(transformers);
+            } else {
+                return createTransformer(target.getType(), pool);
+            }
+        } catch (JAXBException e) {
+            throw new Fabric3Exception(e);
+        }
+    }
+
+    private Transformer<Object, Object> createTransformer(Class<?> type, MarshallerPool pool) {
+        if (type.isAnnotationPresent(XmlRootElement.class)) {
+            return new Stream2JAXBTransformer(pool, null);
+        } else {
+            return new Stream2JAXBTransformer(pool, type);
+        }
+    }
+
+}
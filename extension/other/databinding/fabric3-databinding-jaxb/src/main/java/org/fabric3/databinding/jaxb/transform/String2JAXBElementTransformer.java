@@ -16,8 +16,8 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.stream.StreamSource;
 import java.io.StringReader;
 
@@ -28,24 +28,29 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms a serialized XML String to a JAXBElement.
  */
 public class String2JAXBElementTransformer implements Transformer<String, Object> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
     private Class<?> declaredType;
 
-    public String2JAXBElementTransformer(JAXBContext jaxbContext, Class<?> declaredType) {
-        this.jaxbContext = jaxbContext;
+    public String2JAXBElementTransformer(MarshallerPool pool, Class<?> declaredType) {
+        this.pool = pool;
         this.declaredType = declaredType;
     }
 
     public Object transform(String source, ClassLoader loader) throws Fabric3Exception {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Unmarshaller unmarshaller = null;
         try {
             Thread.currentThread().setContextClassLoader(loader);
             StringReader reader = new StringReader(source);
             StreamSource streamSource = new StreamSource(reader);
-            return jaxbContext.createUnmarshaller().unmarshal(streamSource, declaredType).getValue();
+            unmarshaller = pool.getUnmarshaller();
+            return unmarshaller.unmarshal(streamSource, declaredType).getValue();
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
+            if (unmarshaller != null) {
+                pool.release(unmarshaller);
+            }
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
@@ -16,8 +16,8 @@
  */
 package org.fabric3.databinding.jaxb.transform;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
 import java.io.StringReader;
 
 import org.fabric3.api.host.Fabric3Exception;
@@ -27,21 +27,26 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms a serialized XML String to a JAXB object.
  */
 public class String2JAXBObjectTransformer implements Transformer<String, Object> {
-    private JAXBContext jaxbContext;
+    private MarshallerPool pool;
 
-    public String2JAXBObjectTransformer(JAXBContext jaxbContext) {
-        this.jaxbContext = jaxbContext;
+    public String2JAXBObjectTransformer(MarshallerPool pool) {
+        this.pool = pool;
     }
 
     public Object transform(String source, ClassLoader loader) throws Fabric3Exception {
         ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Unmarshaller unmarshaller = null;
         try {
             Thread.currentThread().setContextClassLoader(loader);
             StringReader reader = new StringReader(source);
-            return jaxbContext.createUnmarshaller().unmarshal(reader);
+            unmarshaller = pool.getUnmarshaller();
+            return unmarshaller.unmarshal(reader);
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         } finally {
+            if (unmarshaller != null) {
+                pool.release(unmarshaller);
+            }
             Thread.currentThread().setContextClassLoader(cl);
         }
     }
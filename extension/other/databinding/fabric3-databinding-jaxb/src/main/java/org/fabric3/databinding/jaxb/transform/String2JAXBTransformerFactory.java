@@ -54,30 +54,31 @@ public class String2JAXBTransformerFactory implements TransformerFactory {
             Set<Class<?>> types = new HashSet<>(sourceTypes);
             types.addAll(targetTypes);
             JAXBContext jaxbContext = contextFactory.createJAXBContext(types.toArray(new Class<?>[types.size()]));
+            MarshallerPool pool = new MarshallerPool(jaxbContext);
             if (sourceTypes.size() == 1) {
                 Class<?> type = targetTypes.iterator().next();
-                return createTransformer(type, jaxbContext);
+                return createTransformer(type, pool);
             } else if (sourceTypes.size() > 1) {
                 // the conversion must handle multiple parameters, which will be passed to the transformer in an array
                 Transformer<?, ?>[] transformers = new Transformer<?, ?>[sourceTypes.size()];
                 for (int i = 0; i < sourceTypes.size(); i++) {
                     Class<?> type = sourceTypes.get(i);
-                    transformers[i] = createTransformer(type, jaxbContext);
+                    transformers[i] = createTransformer(type, pool);
                 }
                 return new MultiValueArrayTransformer(transformers);
             } else {
-                return createTransformer(target.getType(), jaxbContext);
+                return createTransformer(target.getType(), pool);
             }
         } catch (JAXBException e) {
             throw new Fabric3Exception(e);
         }
     }
 
-    private Transformer<String, Object> createTransformer(Class<?> type, JAXBContext jaxbContext) {
+    private Transformer<String, Object> createTransformer(Class<?> type, MarshallerPool pool) {
         if (type.isAnnotationPresent(XmlRootElement.class)) {
-            return new String2JAXBObjectTransformer(jaxbContext);
+            return new String2JAXBObjectTransformer(pool);
         } else {
-            return new String2JAXBElementTransformer(jaxbContext, type);
+            return new String2JAXBElementTransformer(pool, type);
         }
     }
 
@@ -0,0 +1,92 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.jaxb.transform;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+
+import junit.framework.TestCase;
+import org.fabric3.spi.model.type.java.JavaType;
+
+/**
+ *
+ */
+public class StreamTransformerTestCase extends TestCase {
+    private MarshallerPool pool;
+
+    public void testRootElementRoundTrip() throws Exception {
+        RootType value = new RootType();
+        value.name = "test";
+        byte[] bytes = new JAXB2BytesTransformer(pool, null).transform(value, getClass().getClassLoader());
+
+        RootType result = (RootType) new Stream2JAXBTransformer(pool, null).transform(bytes, getClass().getClassLoader());
+        assertEquals("test", result.name);
+
+        result = (RootType) new Stream2JAXBTransformer(pool, null).transform(new ByteArrayInputStream(bytes), getClass().getClassLoader());
+        assertEquals("test", result.name);
+    }
+
+    public void testElementRoundTrip() throws Exception {
+        PlainType value = new PlainType();
+        value.name = "test";
+        QName name = new QName("urn:test", "plain");
+        byte[] bytes = new JAXB2BytesTransformer(pool, name).transform(value, getClass().getClassLoader());
+
+        XMLStreamReader reader = XMLInputFactory.newFactory().createXMLStreamReader(new ByteArrayInputStream(bytes));
+        PlainType result = (PlainType) new Stream2JAXBTransformer(pool, PlainType.class).transform(reader, getClass().getClassLoader());
+        assertEquals("test", result.name);
+    }
+
+    public void testFactoryRequiresJAXBDatabinding() throws Exception {
+        Stream2JAXBTransformerFactory factory = new Stream2JAXBTransformerFactory(null);
+        JavaType target = new JavaType(RootType.class);
+
+        assertTrue(factory.canTransform(new JavaType(XMLStreamReader.class, "JAXB"), target));
+        assertTrue(factory.canTransform(new JavaType(byte[].class, "JAXB"), target));
+        assertFalse(factory.canTransform(new JavaType(XMLStreamReader.class), target));
+        assertFalse(factory.canTransform(new JavaType(XMLStreamReader.class, "JSON"), target));
+        assertFalse(factory.canTransform(new JavaType(byte[].class), target));
+    }
+
+    public void testPoolReuse() throws Exception {
+        MarshallerPool pool = new MarshallerPool(JAXBContext.newInstance(RootType.class), 1);
+        Marshaller marshaller = pool.getMarshaller();
+        pool.release(marshaller);
+        assertSame(marshaller, pool.getMarshaller());
+        assertNotSame(marshaller, pool.getMarshaller());
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        pool = new MarshallerPool(JAXBContext.newInstance(RootType.class, PlainType.class));
+    }
+
+    @XmlRootElement
+    public static class RootType {
+        public String name;
+    }
+
+    public static class PlainType {
+        public String name;
+    }
+
+}
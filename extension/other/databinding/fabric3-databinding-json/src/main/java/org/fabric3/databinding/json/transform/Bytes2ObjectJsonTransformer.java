@@ -0,0 +1,67 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.transform.Transformer;
+
+/**
+ * Transforms serialized JSON contained in a byte array or {@link ByteBuffer} to a Java object.
+ *
+ * Byte arrays and heap buffers are parsed in place; the remaining bytes of a buffer are read without changing its position. Direct buffers are read through a
+ * stream view and are consumed.
+ */
+public class Bytes2ObjectJsonTransformer implements Transformer<Object, Object> {
+    private ObjectReader reader;
+
+    public Bytes2ObjectJsonTransformer(ObjectReader reader) {
+        this.reader = reader;
+    }
+
+    public Object transform(Object source, ClassLoader loader) throws Fabric3Exception {
+        Thread thread = Thread.currentThread();
+        ClassLoader cl = thread.getContextClassLoader();
+        boolean swap = loader != null && cl != loader;
+        try {
+            if (swap) {
+                thread.setContextClassLoader(loader);
+            }
+            if (source instanceof byte[]) {
+                return reader.readValue((byte[]) source);
+            } else if (source instanceof ByteBuffer) {
+                ByteBuffer buffer = (ByteBuffer) source;
+                if (buffer.hasArray()) {
+                    return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                }
+                return reader.readValue(new ByteBufferBackedInputStream(buffer));
+            }
+            throw new Fabric3Exception("Unsupported source type: " + source.getClass().getName());
+        } catch (IOException e) {
+            throw new Fabric3Exception(e);
+        } finally {
+            if (swap) {
+                thread.setContextClassLoader(cl);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.spi.model.type.java.JavaType;
+import org.fabric3.spi.transform.TransformerFactory;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Creates Transformers capable of marshalling serialized JSON contained in byte arrays or {@link ByteBuffer}s to Java types.
+ */
+public class Bytes2ObjectJsonTransformerFactory implements TransformerFactory {
+    private JsonCodecs codecs;
+
+    public Bytes2ObjectJsonTransformerFactory(@Reference JsonCodecs codecs) {
+        this.codecs = codecs;
+    }
+
+    public int getOrder() {
+        return 0;
+    }
+
+    public boolean canTransform(DataType source, DataType target) {
+        Class<?> type = source.getType();
+        return "JSON".equals(source.getDatabinding()) && (byte[].class.equals(type) || ByteBuffer.class.isAssignableFrom(type)) && target instanceof JavaType;
+    }
+
+    public Bytes2ObjectJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
+        return new Bytes2ObjectJsonTransformer(codecs.getReader(target.getType()));
+    }
+
+}
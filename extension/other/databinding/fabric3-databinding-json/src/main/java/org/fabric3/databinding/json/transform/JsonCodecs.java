@@ -0,0 +1,112 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.jaxrs.cfg.Annotations;
+import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
+import org.fabric3.spi.contribution.Contribution;
+import org.fabric3.spi.contribution.ContributionServiceListener;
+
+/**
+ * Caches pre-built readers and writers by Java type. Shared by the JSON transformer factories.
+ *
+ * Readers and writers are immutable and thread-safe. Creating them once per type resolves the root (de)serializer ahead of the first message instead of
+ * looking it up on every call. Writers are only bound to a type when the type is final, since values of a non-final type may be subclasses that must be
+ * serialized using their runtime type.
+ *
+ * The cached readers and writers, as well as the mapper's own serializer caches, hold application classes strongly. When a contribution is uninstalled,
+ * the mapper and caches are discarded so the contribution classes can be unloaded.
+ */
+public class JsonCodecs implements ContributionServiceListener {
+    private final static Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
+
+    private volatile Codecs codecs = new Codecs();
+
+    /**
+     * Returns the reader for the type.
+     *
+     * @param type the type
+     * @return the reader
+     */
+    public ObjectReader getReader(Class<?> type) {
+        Codecs current = codecs;
+        return current.readers.computeIfAbsent(type, current.mapper::reader);
+    }
+
+    /**
+     * Returns the writer for the type.
+     *
+     * @param type the type or null if not known
+     * @return the writer
+     */
+    public ObjectWriter getWriter(Class<?> type) {
+        Codecs current = codecs;
+        if (type == null || !(type.isPrimitive() || Modifier.isFinal(type.getModifiers()))) {
+            return current.untypedWriter;
+        }
+        return current.writers.computeIfAbsent(type, current.mapper::writerWithType);
+    }
+
+    public void onUninstall(Contribution contribution) {
+        codecs = new Codecs();
+    }
+
+    public void onStore(Contribution contribution) {
+        // no-op
+    }
+
+    public void onProcessManifest(Contribution contribution) {
+        // no-op
+    }
+
+    public void onInstall(Contribution contribution) {
+        // no-op
+    }
+
+    public void onUpdate(Contribution contribution) {
+        // no-op
+    }
+
+    public void onRemove(Contribution contribution) {
+        // no-op
+    }
+
+    private static class Codecs {
+        private ObjectMapper mapper;
+        private ObjectWriter untypedWriter;
+
+        private Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+        private Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+        public Codecs() {
+            JsonMapperConfigurator configurator = new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS);
+            mapper = configurator.getDefaultMapper();
+            // do not to close the underlying stream after mapping
+            mapper.configure(JsonParser.Feature.AUTO_CLOSE_SOURCE, false);
+            untypedWriter = mapper.writer();
+        }
+    }
+
+}
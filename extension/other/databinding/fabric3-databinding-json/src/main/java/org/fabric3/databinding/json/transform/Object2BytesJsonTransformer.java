@@ -18,23 +18,25 @@ package org.fabric3.databinding.json.transform;
 
 import java.io.IOException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
 
 /**
  * Transforms a Java object to a byte array.
+ *
+ * Output is encoded directly into bytes using the recycled buffers of the JSON generator, avoiding an intermediate String.
  */
 public class Object2BytesJsonTransformer implements Transformer<Object, byte[]> {
-    private ObjectMapper mapper;
+    private ObjectWriter writer;
 
-    public Object2BytesJsonTransformer(ObjectMapper mapper) {
-        this.mapper = mapper;
+    public Object2BytesJsonTransformer(ObjectWriter writer) {
+        this.writer = writer;
     }
 
     public byte[] transform(Object source, ClassLoader loader) throws Fabric3Exception {
         try {
-            return mapper.writeValueAsBytes(source);
+            return writer.writeValueAsBytes(source);
         } catch (IOException e) {
             throw new Fabric3Exception(e);
         }
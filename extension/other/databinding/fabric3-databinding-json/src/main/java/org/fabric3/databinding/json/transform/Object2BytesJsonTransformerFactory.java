@@ -18,22 +18,19 @@ package org.fabric3.databinding.json.transform;
 
 import java.util.List;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.jaxrs.cfg.Annotations;
-import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
 import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.spi.model.type.java.JavaType;
 import org.fabric3.spi.transform.TransformerFactory;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Creates Transformers capable of serializing Java types to a byte array using JSON.
  */
 public class Object2BytesJsonTransformerFactory implements TransformerFactory {
-    private final static Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
-    private JsonMapperConfigurator configurator;
+    private JsonCodecs codecs;
 
-    public Object2BytesJsonTransformerFactory() {
-        configurator = new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS);
+    public Object2BytesJsonTransformerFactory(@Reference JsonCodecs codecs) {
+        this.codecs = codecs;
     }
 
     public int getOrder() {
@@ -45,8 +42,7 @@ public class Object2BytesJsonTransformerFactory implements TransformerFactory {
     }
 
     public Object2BytesJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
-        ObjectMapper mapper = configurator.getDefaultMapper();
-        return new Object2BytesJsonTransformer(mapper);
+        return new Object2BytesJsonTransformer(codecs.getWriter(source == null ? null : source.getType()));
     }
 
 }
\ No newline at end of file
@@ -18,22 +18,19 @@ package org.fabric3.databinding.json.transform;
 
 import java.util.List;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.jaxrs.cfg.Annotations;
-import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
 import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.spi.model.type.java.JavaType;
 import org.fabric3.spi.transform.TransformerFactory;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Creates Transformers capable of marshalling serialized Strings to Java types using JSON.
  */
 public class Object2StringJsonTransformerFactory implements TransformerFactory {
-    private final static Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
-    private JsonMapperConfigurator configurator;
+    private JsonCodecs codecs;
 
-    public Object2StringJsonTransformerFactory() {
-        configurator = new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS);
+    public Object2StringJsonTransformerFactory(@Reference JsonCodecs codecs) {
+        this.codecs = codecs;
     }
 
     public int getOrder() {
@@ -45,8 +42,7 @@ public class Object2StringJsonTransformerFactory implements TransformerFactory {
     }
 
     public Object2StringJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
-        ObjectMapper mapper = configurator.getDefaultMapper();
-        return new Object2StringJsonTransformer(mapper);
+        return new Object2StringJsonTransformer(codecs.getWriter(source == null ? null : source.getType()));
     }
 
 
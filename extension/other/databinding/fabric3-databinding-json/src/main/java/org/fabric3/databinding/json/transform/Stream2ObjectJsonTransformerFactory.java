@@ -19,22 +19,19 @@ package org.fabric3.databinding.json.transform;
 import java.io.InputStream;
 import java.util.List;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.jaxrs.cfg.Annotations;
-import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
 import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.spi.model.type.java.JavaType;
 import org.fabric3.spi.transform.TransformerFactory;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Creates Transformers capable of marshalling serialized Strings received as an input stream to Java types using JSON.
  */
 public class Stream2ObjectJsonTransformerFactory implements TransformerFactory {
-    private final static Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
-    private JsonMapperConfigurator configurator;
+    private JsonCodecs codecs;
 
-    public Stream2ObjectJsonTransformerFactory() {
-        configurator = new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS);
+    public Stream2ObjectJsonTransformerFactory(@Reference JsonCodecs codecs) {
+        this.codecs = codecs;
     }
 
     public int getOrder() {
@@ -46,10 +43,7 @@ public class Stream2ObjectJsonTransformerFactory implements TransformerFactory {
     }
 
     public Stream2ObjectJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
-        JavaType type = (JavaType) target;
-        ObjectMapper mapper = configurator.getDefaultMapper();
-        Class clazz = type.getType();
-        return new Stream2ObjectJsonTransformer(clazz, mapper);
+        return new Stream2ObjectJsonTransformer(codecs.getReader(target.getType()));
     }
 
 }
\ No newline at end of file
@@ -18,7 +18,7 @@ package org.fabric3.databinding.json.transform;
 
 import java.io.IOException;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.spi.transform.Transformer;
 
@@ -26,23 +26,27 @@ import org.fabric3.spi.transform.Transformer;
  * Transforms a serialized String to a Java object using JSON.
  */
 public class String2ObjectJsonTransformer implements Transformer<String, Object> {
-    private ObjectMapper mapper;
-    private Class<?> type;
+    private ObjectReader reader;
 
-    public String2ObjectJsonTransformer(Class<?> type, ObjectMapper mapper) {
-        this.type = type;
-        this.mapper = mapper;
+    public String2ObjectJsonTransformer(ObjectReader reader) {
+        this.reader = reader;
     }
 
     public Object transform(String source, ClassLoader loader) throws Fabric3Exception {
-        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        Thread thread = Thread.currentThread();
+        ClassLoader cl = thread.getContextClassLoader();
+        boolean swap = loader != null && cl != loader;
         try {
-            Thread.currentThread().setContextClassLoader(loader);
-            return mapper.readValue(source, type);
+            if (swap) {
+                thread.setContextClassLoader(loader);
+            }
+            return reader.readValue(source);
         } catch (IOException e) {
             throw new Fabric3Exception(e);
         } finally {
-            Thread.currentThread().setContextClassLoader(cl);
+            if (swap) {
+                thread.setContextClassLoader(cl);
+            }
         }
     }
 
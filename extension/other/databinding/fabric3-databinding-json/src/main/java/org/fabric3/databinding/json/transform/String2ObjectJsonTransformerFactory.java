@@ -18,22 +18,19 @@ package org.fabric3.databinding.json.transform;
 
 import java.util.List;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.jaxrs.cfg.Annotations;
-import com.fasterxml.jackson.jaxrs.json.JsonMapperConfigurator;
 import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.spi.model.type.java.JavaType;
 import org.fabric3.spi.transform.TransformerFactory;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Creates Transformers capable of marshalling serialized Strings to Java types using JSON.
  */
 public class String2ObjectJsonTransformerFactory implements TransformerFactory {
-    private final static Annotations[] DEFAULT_ANNOTATIONS = {Annotations.JACKSON, Annotations.JAXB};
-    private JsonMapperConfigurator configurator;
+    private JsonCodecs codecs;
 
-    public String2ObjectJsonTransformerFactory() {
-        configurator = new JsonMapperConfigurator(null, DEFAULT_ANNOTATIONS);
+    public String2ObjectJsonTransformerFactory(@Reference JsonCodecs codecs) {
+        this.codecs = codecs;
     }
 
     public int getOrder() {
@@ -45,10 +42,7 @@ public class String2ObjectJsonTransformerFactory implements TransformerFactory {
     }
 
     public String2ObjectJsonTransformer create(DataType source, DataType target, List<Class<?>> sourceTypes, List<Class<?>> targetTypes) {
-        JavaType type = (JavaType) target;
-        ObjectMapper mapper = configurator.getDefaultMapper();
-        Class clazz = type.getType();
-        return new String2ObjectJsonTransformer(clazz, mapper);
+        return new String2ObjectJsonTransformer(codecs.getReader(target.getType()));
     }
 
 
@@ -0,0 +1,74 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+import org.fabric3.spi.model.type.java.JavaType;
+
+/**
+ *
+ */
+public class Bytes2ObjectJsonTransformerTestCase extends TestCase {
+    private static final byte[] JSON = "{\"bar\":\"bar\"}".getBytes();
+
+    private Bytes2ObjectJsonTransformer transformer;
+
+    public void testTransformBytes() throws Exception {
+        Foo result = (Foo) transformer.transform(JSON, getClass().getClassLoader());
+        assertEquals("bar", result.getBar());
+    }
+
+    public void testTransformBufferSlice() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(JSON.length + 8);
+        buffer.putInt(1).put(JSON).putInt(2);
+        buffer.position(4);
+        buffer.limit(4 + JSON.length);
+
+        Foo result = (Foo) transformer.transform(buffer.slice(), getClass().getClassLoader());
+        assertEquals("bar", result.getBar());
+        assertEquals(4, buffer.position());
+    }
+
+    public void testTransformDirectBuffer() throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(JSON.length);
+        buffer.put(JSON).flip();
+
+        Foo result = (Foo) transformer.transform(buffer, getClass().getClassLoader());
+        assertEquals("bar", result.getBar());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        Bytes2ObjectJsonTransformerFactory factory = new Bytes2ObjectJsonTransformerFactory(new JsonCodecs());
+        transformer = factory.create(null, new JavaType(Foo.class), null, null);
+    }
+
+    public static class Foo {
+        private String bar;
+
+        public String getBar() {
+            return bar;
+        }
+
+        public void setBar(String bar) {
+            this.bar = bar;
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.databinding.json.transform;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.spi.contribution.Contribution;
+
+/**
+ *
+ */
+public class JsonCodecsTestCase extends TestCase {
+
+    public void testCodecsCached() throws Exception {
+        JsonCodecs codecs = new JsonCodecs();
+        assertSame(codecs.getReader(Foo.class), codecs.getReader(Foo.class));
+        assertSame(codecs.getWriter(String.class), codecs.getWriter(String.class));
+    }
+
+    public void testCodecsDiscardedOnUninstall() throws Exception {
+        Contribution contribution = EasyMock.createNiceMock(Contribution.class);
+        EasyMock.replay(contribution);
+
+        JsonCodecs codecs = new JsonCodecs();
+        Object reader = codecs.getReader(Foo.class);
+        codecs.onUninstall(contribution);
+        assertNotSame(reader, codecs.getReader(Foo.class));
+    }
+
+    public static class Foo {
+        private String bar;
+
+        public String getBar() {
+            return bar;
+        }
+
+        public void setBar(String bar) {
+            this.bar = bar;
+        }
+    }
+
+}
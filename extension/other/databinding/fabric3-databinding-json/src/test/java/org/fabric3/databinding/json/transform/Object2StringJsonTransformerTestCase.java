@@ -24,7 +24,7 @@ import junit.framework.TestCase;
 public class Object2StringJsonTransformerTestCase extends TestCase {
 
     public void testTransform() throws Exception {
-        Object2StringJsonTransformerFactory factory = new Object2StringJsonTransformerFactory();
+        Object2StringJsonTransformerFactory factory = new Object2StringJsonTransformerFactory(new JsonCodecs());
         Object2StringJsonTransformer transformer = factory.create(null, null, null, null);
         Foo foo = new Foo();
         foo.setBar("bar");
@@ -28,7 +28,7 @@ import org.fabric3.spi.model.type.java.JavaType;
 public class Stream2ObjectJsonTransformerTestCase extends TestCase {
 
     public void testTransform() throws Exception {
-        Stream2ObjectJsonTransformerFactory factory = new Stream2ObjectJsonTransformerFactory();
+        Stream2ObjectJsonTransformerFactory factory = new Stream2ObjectJsonTransformerFactory(new JsonCodecs());
         JavaType javaType = new JavaType(Foo.class);
         Stream2ObjectJsonTransformer transformer = factory.create(null, javaType, null, null);
         String text = "{\"bar\":\"bar\"}";
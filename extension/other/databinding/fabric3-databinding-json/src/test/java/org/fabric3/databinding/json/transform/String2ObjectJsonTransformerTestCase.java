@@ -25,7 +25,7 @@ import org.fabric3.spi.model.type.java.JavaType;
 public class String2ObjectJsonTransformerTestCase extends TestCase {
 
     public void testTransform() throws Exception {
-        String2ObjectJsonTransformerFactory factory = new String2ObjectJsonTransformerFactory();
+        String2ObjectJsonTransformerFactory factory = new String2ObjectJsonTransformerFactory(new JsonCodecs());
         JavaType javaType = new JavaType(Foo.class);
         String2ObjectJsonTransformer transformer = factory.create(null, javaType, null, null);
         Foo result = (Foo) transformer.transform("{\"bar\":\"bar\"}", getClass().getClassLoader());
@@ -0,0 +1,168 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.api;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.fabric3.jpa.cache.LocalCollectionRegion;
+import org.fabric3.jpa.cache.LocalEntityRegion;
+import org.fabric3.jpa.cache.LocalGeneralRegion;
+import org.fabric3.jpa.cache.LocalNaturalIdRegion;
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+
+/**
+ * A Hibernate second-level cache region factory backed by Fabric3 native local caches.
+ *
+ * Hibernate instantiates region factories by class name, so the {@link RegionCacheProvider} is passed by the runtime in the configuration properties under
+ * {@link #PROVIDER}. If a cache with the region name has been configured in a composite, it is used; otherwise one is created using the following
+ * persistence unit properties, which may be qualified by region name
+ * (e.g. <code>hibernate.cache.fabric3.com.foo.Bar.max_size</code>):
+ * <pre>
+ *     hibernate.cache.fabric3.max_size
+ *     hibernate.cache.fabric3.expire_after_write
+ *     hibernate.cache.fabric3.expire_after_access
+ * </pre>
+ * Times are specified in milliseconds. The timestamps region is never bounded or expired.
+ */
+public class F3RegionFactory implements RegionFactory {
+    private static final long serialVersionUID = -2725870349658414539L;
+
+    public static final String PREFIX = "hibernate.cache.fabric3.";
+    public static final String PROVIDER = PREFIX + "provider";
+    public static final String MAX_SIZE = "max_size";
+    public static final String EXPIRE_AFTER_WRITE = "expire_after_write";
+    public static final String EXPIRE_AFTER_ACCESS = "expire_after_access";
+
+    private static final long DEFAULT_MAX_SIZE = 10000;
+    private static final int BIN_DIGITS = 12;
+    private static final AtomicLong TIMESTAMP = new AtomicLong();
+
+    private transient RegionCacheProvider provider;
+    private transient Settings settings;
+    private Properties properties = new Properties();
+
+    /**
+     * Constructor called by Hibernate with the configuration properties.
+     *
+     * @param properties the configuration properties
+     * @throws CacheException if the cache provider is not set
+     */
+    public F3RegionFactory(Properties properties) throws CacheException {
+        Object provider = properties.get(PROVIDER);
+        if (!(provider instanceof RegionCacheProvider)) {
+            throw new CacheException("The Fabric3 region factory must be configured by the runtime. Set the region factory to 'fabric3'.");
+        }
+        this.provider = (RegionCacheProvider) provider;
+    }
+
+    /**
+     * Returns a monotonically increasing timestamp with millisecond resolution, in units of 1/4096 ms.
+     *
+     * @return the timestamp
+     */
+    public static long next() {
+        while (true) {
+            long base = System.currentTimeMillis() << BIN_DIGITS;
+            long current = TIMESTAMP.get();
+            long update = base > current ? base : current + 1;
+            if (TIMESTAMP.compareAndSet(current, update)) {
+                return update;
+            }
+        }
+    }
+
+    public void start(Settings settings, Properties properties) throws CacheException {
+        this.settings = settings;
+        if (properties != null) {
+            this.properties = properties;
+        }
+    }
+
+    public void stop() {
+        settings = null;
+    }
+
+    public boolean isMinimalPutsEnabledByDefault() {
+        return false;
+    }
+
+    public AccessType getDefaultAccessType() {
+        return AccessType.READ_WRITE;
+    }
+
+    public long nextTimestamp() {
+        return next();
+    }
+
+    public EntityRegion buildEntityRegion(String name, Properties properties, CacheDataDescription description) throws CacheException {
+        return new LocalEntityRegion(name, getCache(name, true), description, settings);
+    }
+
+    public NaturalIdRegion buildNaturalIdRegion(String name, Properties properties, CacheDataDescription description) throws CacheException {
+        return new LocalNaturalIdRegion(name, getCache(name, true), description, settings);
+    }
+
+    public CollectionRegion buildCollectionRegion(String name, Properties properties, CacheDataDescription description) throws CacheException {
+        return new LocalCollectionRegion(name, getCache(name, true), description, settings);
+    }
+
+    public QueryResultsRegion buildQueryResultsRegion(String name, Properties properties) throws CacheException {
+        return new LocalGeneralRegion(name, getCache(name, true));
+    }
+
+    public TimestampsRegion buildTimestampsRegion(String name, Properties properties) throws CacheException {
+        // timestamps must not be evicted or stale query results may be returned
+        return new LocalGeneralRegion(name, getCache(name, false));
+    }
+
+    private ConcurrentMap<Object, Object> getCache(String name, boolean bounded) {
+        if (!bounded) {
+            return provider.getCache(name, -1, -1, -1);
+        }
+        long maxSize = getLong(name, MAX_SIZE, DEFAULT_MAX_SIZE);
+        long expireAfterWrite = getLong(name, EXPIRE_AFTER_WRITE, -1);
+        long expireAfterAccess = getLong(name, EXPIRE_AFTER_ACCESS, -1);
+        return provider.getCache(name, maxSize, expireAfterWrite, expireAfterAccess);
+    }
+
+    private long getLong(String region, String key, long defaultValue) {
+        String value = properties.getProperty(PREFIX + region + "." + key);
+        if (value == null) {
+            value = properties.getProperty(PREFIX + key);
+        }
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new CacheException("Invalid value for " + key + " in cache region " + region + ": " + value);
+        }
+    }
+
+}
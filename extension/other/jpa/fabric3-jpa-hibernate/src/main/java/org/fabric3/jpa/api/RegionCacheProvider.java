@@ -0,0 +1,38 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.api;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Provides the caches backing Hibernate second-level cache regions created by {@link F3RegionFactory}.
+ */
+public interface RegionCacheProvider {
+
+    /**
+     * Returns the cache for a region, creating it if it does not exist. If a cache with the region name has been configured, it is returned and the limits
+     * are ignored.
+     *
+     * @param name              the region name
+     * @param maxSize           the maximum number of entries or -1 if the cache is unbounded
+     * @param expireAfterWrite  the time in milliseconds after which an entry expires once written or -1 if entries do not expire
+     * @param expireAfterAccess the time in milliseconds after which an entry expires once last accessed or -1 if entries do not expire
+     * @return the cache
+     */
+    ConcurrentMap<Object, Object> getCache(String name, long maxSize, long expireAfterWrite, long expireAfterAccess);
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Base access strategy for transactional data regions.
+ *
+ * Modified items are invalidated rather than updated in place: an {@link ItemLock} replaces the cached value when an item is locked prior to modification
+ * and is removed when the item is unlocked after completion, causing the next read to reload the item from the database. While the lock is in place,
+ * values loaded by concurrent transactions are not cached. Read-only regions do not lock and reject updates.
+ */
+public abstract class AbstractAccessStrategy {
+    protected LocalTransactionalRegion region;
+    protected ConcurrentMap<Object, Object> cache;
+    protected AccessType accessType;
+
+    public AbstractAccessStrategy(LocalTransactionalRegion region, AccessType accessType) {
+        this.region = region;
+        this.cache = region.getCache();
+        this.accessType = accessType;
+    }
+
+    public Object get(Object key, long txTimestamp) {
+        Object value = cache.get(key);
+        return value instanceof ItemLock ? null : value;
+    }
+
+    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) {
+        return putFromLoad(key, value, txTimestamp, version, false);
+    }
+
+    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride) {
+        Object current = cache.get(key);
+        if (current == null) {
+            return cache.putIfAbsent(key, value) == null;
+        } else if (current instanceof ItemLock) {
+            // the item is being modified; only cache if the lock has timed out
+            return ((ItemLock) current).isExpired(region.nextTimestamp()) && cache.replace(key, current, value);
+        } else if (minimalPutOverride) {
+            return false;
+        }
+        return cache.replace(key, current, value);
+    }
+
+    public SoftLock lockItem(Object key, Object version) {
+        if (accessType == AccessType.READ_ONLY) {
+            return null;
+        }
+        long timeout = region.nextTimestamp() + region.getTimeout();
+        while (true) {
+            Object current = cache.get(key);
+            if (current instanceof ItemLock) {
+                ItemLock lock = (ItemLock) current;
+                if (lock.acquire(timeout)) {
+                    return lock;
+                }
+                // released concurrently, replace it
+                ItemLock newLock = new ItemLock(timeout);
+                if (cache.replace(key, current, newLock)) {
+                    return newLock;
+                }
+            } else if (current == null) {
+                ItemLock lock = new ItemLock(timeout);
+                if (cache.putIfAbsent(key, lock) == null) {
+                    return lock;
+                }
+            } else {
+                ItemLock lock = new ItemLock(timeout);
+                if (cache.replace(key, current, lock)) {
+                    return lock;
+                }
+            }
+        }
+    }
+
+    public SoftLock lockRegion() {
+        return null;
+    }
+
+    public void unlockItem(Object key, SoftLock lock) {
+        if (lock instanceof ItemLock && ((ItemLock) lock).release()) {
+            cache.remove(key, lock);
+        }
+    }
+
+    public void unlockRegion(SoftLock lock) {
+        cache.clear();
+    }
+
+    public void remove(Object key) {
+        cache.remove(key);
+    }
+
+    public void removeAll() {
+        cache.clear();
+    }
+
+    public void evict(Object key) {
+        cache.remove(key);
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+    /**
+     * Invalidates an item after it has been inserted, updated or removed by a transaction.
+     *
+     * @param key  the item key
+     * @param lock the lock obtained prior to the update or null
+     * @return false as the item is not cached
+     */
+    protected boolean afterModification(Object key, SoftLock lock) {
+        if (lock != null) {
+            unlockItem(key, lock);
+        } else {
+            cache.remove(key);
+        }
+        return false;
+    }
+
+    /**
+     * Throws an exception if the region is read-only.
+     */
+    protected void checkWritable() {
+        if (accessType == AccessType.READ_ONLY) {
+            throw new UnsupportedOperationException("Cannot update read-only cache region: " + region.getName());
+        }
+    }
+
+}
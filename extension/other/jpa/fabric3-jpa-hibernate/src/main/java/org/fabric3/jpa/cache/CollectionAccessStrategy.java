@@ -0,0 +1,36 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+
+/**
+ * Collection region access.
+ */
+public class CollectionAccessStrategy extends AbstractAccessStrategy implements CollectionRegionAccessStrategy {
+
+    public CollectionAccessStrategy(LocalCollectionRegion region, AccessType accessType) {
+        super(region, accessType);
+    }
+
+    public CollectionRegion getRegion() {
+        return (CollectionRegion) region;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Entity region access.
+ */
+public class EntityAccessStrategy extends AbstractAccessStrategy implements EntityRegionAccessStrategy {
+
+    public EntityAccessStrategy(LocalEntityRegion region, AccessType accessType) {
+        super(region, accessType);
+    }
+
+    public EntityRegion getRegion() {
+        return (EntityRegion) region;
+    }
+
+    public boolean insert(Object key, Object value, Object version) {
+        return false;
+    }
+
+    public boolean afterInsert(Object key, Object value, Object version) {
+        return cache.putIfAbsent(key, value) == null;
+    }
+
+    public boolean update(Object key, Object value, Object currentVersion, Object previousVersion) {
+        checkWritable();
+        return false;
+    }
+
+    public boolean afterUpdate(Object key, Object value, Object currentVersion, Object previousVersion, SoftLock lock) {
+        checkWritable();
+        return afterModification(key, lock);
+    }
+
+}
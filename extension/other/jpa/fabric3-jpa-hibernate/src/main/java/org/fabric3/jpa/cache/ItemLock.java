@@ -0,0 +1,74 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import java.io.Serializable;
+
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * A soft lock placed in a region while an item is being modified. A locked item is treated as a cache miss and cannot be populated from a load until all
+ * holders have released the lock or it has timed out.
+ */
+public class ItemLock implements SoftLock, Serializable {
+    private static final long serialVersionUID = -3297632426598478263L;
+
+    private long timeout;
+    private int holders = 1;
+
+    public ItemLock(long timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Adds a lock holder.
+     *
+     * @param timeout the new lock timeout
+     * @return false if the lock has been fully released and can no longer be acquired
+     */
+    public synchronized boolean acquire(long timeout) {
+        if (holders == 0) {
+            return false;
+        }
+        holders++;
+        this.timeout = Math.max(this.timeout, timeout);
+        return true;
+    }
+
+    /**
+     * Removes a lock holder.
+     *
+     * @return true if there are no remaining holders
+     */
+    public synchronized boolean release() {
+        if (holders > 0) {
+            holders--;
+        }
+        return holders == 0;
+    }
+
+    /**
+     * Returns true if the lock has timed out.
+     *
+     * @param timestamp the current timestamp
+     * @return true if the lock has timed out
+     */
+    public synchronized boolean isExpired(long timestamp) {
+        return holders == 0 || timestamp > timeout;
+    }
+
+}
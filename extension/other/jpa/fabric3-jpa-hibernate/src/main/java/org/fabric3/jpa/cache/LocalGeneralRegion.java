@@ -0,0 +1,49 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.TimestampsRegion;
+
+/**
+ * A region used for query results and update timestamps.
+ */
+public class LocalGeneralRegion extends LocalRegion implements QueryResultsRegion, TimestampsRegion {
+
+    public LocalGeneralRegion(String name, ConcurrentMap<Object, Object> cache) {
+        super(name, cache);
+    }
+
+    public Object get(Object key) {
+        return cache.get(key);
+    }
+
+    public void put(Object key, Object value) {
+        cache.put(key, value);
+    }
+
+    public void evict(Object key) {
+        cache.remove(key);
+    }
+
+    public void evictAll() {
+        cache.clear();
+    }
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cfg.Settings;
+
+/**
+ * A natural id data region.
+ */
+public class LocalNaturalIdRegion extends LocalTransactionalRegion implements NaturalIdRegion {
+
+    public LocalNaturalIdRegion(String name, ConcurrentMap<Object, Object> cache, CacheDataDescription description, Settings settings) {
+        super(name, cache, description, settings);
+    }
+
+    public NaturalIdRegionAccessStrategy buildAccessStrategy(AccessType accessType) {
+        return new NaturalIdAccessStrategy(this, accessType);
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import org.fabric3.jpa.api.F3RegionFactory;
+import org.hibernate.cache.spi.Region;
+
+/**
+ * Base Hibernate cache region backed by a {@link ConcurrentMap} supplied by a {@link org.fabric3.jpa.api.RegionCacheProvider}.
+ */
+public abstract class LocalRegion implements Region {
+    private static final int TIMEOUT = 60000 << 12; // 60 seconds in timestamp units
+
+    protected String name;
+    protected ConcurrentMap<Object, Object> cache;
+
+    public LocalRegion(String name, ConcurrentMap<Object, Object> cache) {
+        this.name = name;
+        this.cache = cache;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void destroy() {
+        cache.clear();
+    }
+
+    public boolean contains(Object key) {
+        return cache.containsKey(key);
+    }
+
+    public long getSizeInMemory() {
+        return -1;
+    }
+
+    public long getElementCountInMemory() {
+        return cache.size();
+    }
+
+    public long getElementCountOnDisk() {
+        return 0;
+    }
+
+    public Map toMap() {
+        Map<Object, Object> map = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : cache.entrySet()) {
+            if (!(entry.getValue() instanceof ItemLock)) {
+                map.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return map;
+    }
+
+    public long nextTimestamp() {
+        return F3RegionFactory.next();
+    }
+
+    public int getTimeout() {
+        return TIMEOUT;
+    }
+
+    /**
+     * Returns the backing cache.
+     *
+     * @return the backing cache
+     */
+    public ConcurrentMap<Object, Object> getCache() {
+        return cache;
+    }
+
+}
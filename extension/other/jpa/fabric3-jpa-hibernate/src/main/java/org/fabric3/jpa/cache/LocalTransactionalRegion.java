@@ -0,0 +1,50 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Base region for entity, collection and natural id data.
+ */
+public abstract class LocalTransactionalRegion extends LocalRegion implements TransactionalDataRegion {
+    private CacheDataDescription description;
+    private Settings settings;
+
+    public LocalTransactionalRegion(String name, ConcurrentMap<Object, Object> cache, CacheDataDescription description, Settings settings) {
+        super(name, cache);
+        this.description = description;
+        this.settings = settings;
+    }
+
+    public boolean isTransactionAware() {
+        return false;
+    }
+
+    public CacheDataDescription getCacheDataDescription() {
+        return description;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache.local;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.fabric3.cache.local.LocalCacheConfiguration;
+import org.fabric3.cache.local.LocalCacheService;
+import org.fabric3.jpa.api.RegionCacheProvider;
+
+/**
+ * A {@link RegionCacheProvider} backed by runtime-managed local caches.
+ *
+ * This class references the optional cache extension and must only be loaded once it has been determined the extension is installed.
+ */
+public class LocalRegionCacheProvider implements RegionCacheProvider {
+    private LocalCacheService service;
+
+    /**
+     * Creates a provider for the cache service instance.
+     *
+     * @param service the cache service, typed as Object so callers do not need to reference the cache extension
+     * @return the provider
+     */
+    public static RegionCacheProvider create(Object service) {
+        return new LocalRegionCacheProvider((LocalCacheService) service);
+    }
+
+    public LocalRegionCacheProvider(LocalCacheService service) {
+        this.service = service;
+    }
+
+    public ConcurrentMap<Object, Object> getCache(String name, long maxSize, long expireAfterWrite, long expireAfterAccess) {
+        ConcurrentMap<Object, Object> cache = service.getLocalCache(name);
+        if (cache != null) {
+            return cache;
+        }
+        LocalCacheConfiguration configuration = new LocalCacheConfiguration();
+        configuration.setMaxSize(maxSize);
+        configuration.setExpireAfterWrite(expireAfterWrite);
+        configuration.setExpireAfterAccess(expireAfterAccess);
+        return service.getOrCreate(name, configuration);
+    }
+
+}
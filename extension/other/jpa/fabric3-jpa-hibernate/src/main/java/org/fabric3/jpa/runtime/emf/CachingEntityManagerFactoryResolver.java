@@ -21,16 +21,23 @@ package org.fabric3.jpa.runtime.emf;
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.spi.PersistenceUnitInfo;
 import java.net.URI;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.Names;
 import org.fabric3.jpa.api.EntityManagerFactoryResolver;
+import org.fabric3.jpa.api.F3RegionFactory;
 import org.fabric3.jpa.api.F3TransactionManagerLookup;
 import org.fabric3.jpa.api.PersistenceOverrides;
+import org.fabric3.jpa.api.RegionCacheProvider;
+import org.fabric3.jpa.cache.local.LocalRegionCacheProvider;
 import org.fabric3.spi.classloader.MultiParentClassLoader;
+import org.fabric3.spi.container.component.AtomicComponent;
+import org.fabric3.spi.container.component.Component;
+import org.fabric3.spi.container.component.ComponentManager;
 import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
 import org.hibernate.jpa.boot.internal.PersistenceUnitInfoDescriptor;
 import org.hibernate.jpa.boot.spi.EntityManagerFactoryBuilder;
@@ -38,16 +45,29 @@ import org.oasisopen.sca.annotation.Reference;
 
 /**
  * An {@link EntityManagerFactoryResolver} implementation that caches EntityManagerFactory instances.
+ *
+ * If a persistence unit uses the Fabric3 region factory, the cache extension is resolved on first use and the {@link RegionCacheProvider} is passed to
+ * Hibernate in the integration settings. The cache extension is optional, so classes that reference it are only loaded once it is known to be installed.
  */
 public class CachingEntityManagerFactoryResolver implements EntityManagerFactoryResolver {
     private static final String HIBERNATE_LOOKUP = "hibernate.transaction.jta.platform";
+    private static final String REGION_FACTORY = "hibernate.cache.region.factory_class";
+    private static final String FABRIC3_CACHE = "fabric3";
+    private static final String LOCAL_CACHE_SERVICE = "org.fabric3.cache.local.LocalCacheService";
+    private static final URI LOCAL_CACHE_MANAGER = URI.create(Names.RUNTIME_NAME + "/LocalCacheManager");
 
     private PersistenceContextParser parser;
     private EntityManagerFactoryCache cache;
+    private ComponentManager componentManager;
+
+    private RegionCacheProvider regionCacheProvider;
 
-    public CachingEntityManagerFactoryResolver(@Reference PersistenceContextParser parser, @Reference EntityManagerFactoryCache cache) {
+    public CachingEntityManagerFactoryResolver(@Reference PersistenceContextParser parser,
+                                               @Reference EntityManagerFactoryCache cache,
+                                               @Reference ComponentManager componentManager) {
         this.parser = parser;
         this.cache = cache;
+        this.componentManager = componentManager;
     }
 
     public synchronized EntityManagerFactory resolve(String unitName, PersistenceOverrides overrides, ClassLoader classLoader) throws Fabric3Exception {
@@ -89,12 +109,42 @@ public class CachingEntityManagerFactoryResolver implements EntityManagerFactory
             Properties unitProperties = info.getProperties();
             unitProperties.setProperty(HIBERNATE_LOOKUP, F3TransactionManagerLookup.class.getName());
             unitProperties.putAll(overrides.getProperties());
+            Map<String, Object> integration = new HashMap<>();
+            String regionFactory = unitProperties.getProperty(REGION_FACTORY);
+            if (FABRIC3_CACHE.equals(regionFactory) || F3RegionFactory.class.getName().equals(regionFactory)) {
+                // shorthand for the native cache provider
+                unitProperties.setProperty(REGION_FACTORY, F3RegionFactory.class.getName());
+                integration.put(F3RegionFactory.PROVIDER, getRegionCacheProvider());
+            }
 
             PersistenceUnitInfoDescriptor descriptor = new PersistenceUnitInfoDescriptor(info);
-            EntityManagerFactoryBuilder builder = new EntityManagerFactoryBuilderImpl(descriptor, Collections.emptyMap(), classLoader);
+            EntityManagerFactoryBuilder builder = new EntityManagerFactoryBuilderImpl(descriptor, integration, classLoader);
             return builder.build();
         }
         throw new Fabric3Exception("Persistence unit not defined for: " + unitName);
     }
 
+    /**
+     * Returns the provider backed by the cache extension.
+     *
+     * @return the provider
+     * @throws Fabric3Exception if the cache extension is not installed
+     */
+    private RegionCacheProvider getRegionCacheProvider() throws Fabric3Exception {
+        if (regionCacheProvider != null) {
+            return regionCacheProvider;
+        }
+        try {
+            Class.forName(LOCAL_CACHE_SERVICE, false, getClass().getClassLoader());
+        } catch (ClassNotFoundException | NoClassDefFoundError e) {
+            throw new Fabric3Exception("The cache extension must be installed to use the Fabric3 region factory");
+        }
+        Component component = componentManager.getComponent(LOCAL_CACHE_MANAGER);
+        if (!(component instanceof AtomicComponent)) {
+            throw new Fabric3Exception("The cache extension must be started to use the Fabric3 region factory");
+        }
+        regionCacheProvider = LocalRegionCacheProvider.create(((AtomicComponent) component).getInstance());
+        return regionCacheProvider;
+    }
+
 }
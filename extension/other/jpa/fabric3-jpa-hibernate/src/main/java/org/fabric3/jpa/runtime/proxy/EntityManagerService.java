@@ -29,13 +29,15 @@ import org.fabric3.api.host.Fabric3Exception;
 public interface EntityManagerService {
 
     /**
-     * Returns the EntityManager associated with the given transaction.
+     * Returns the EntityManager associated with the given transaction. If the transaction is null, a resource-local EntityManager bound to the current thread
+     * is returned if resource-local mode is enabled.
      *
      * @param unitName    the persistence unit name
      * @param proxy       the proxy requesting the EntityManager
-     * @param transaction the transaction
+     * @param transaction the transaction or null if a global transaction is not active
      * @return the EntityManager
-     * @throws Fabric3Exception if an error creating the EntityManager is encountered
+     * @throws Fabric3Exception      if an error creating the EntityManager is encountered
+     * @throws IllegalStateException if the transaction is null and resource-local mode is not enabled
      */
     EntityManager getEntityManager(String unitName, HibernateProxy proxy, Transaction transaction) throws Fabric3Exception;
 
@@ -24,50 +24,107 @@ import javax.transaction.RollbackException;
 import javax.transaction.Synchronization;
 import javax.transaction.SystemException;
 import javax.transaction.Transaction;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.jpa.runtime.emf.EntityManagerFactoryCache;
+import org.oasisopen.sca.annotation.Property;
 import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Manages a cache of EntityManagers.
  *
  * EntityManager instances (and their underlying Hibernate Sessions) are cached for the duration of the associated JTA transaction and closed when the
- * transaction commits or rolls back.
+ * transaction commits or rolls back. The EntityManager resolved for a transaction is also bound to the calling thread so that subsequent requests made in the
+ * same transaction are satisfied by an identity comparison without allocating a cache key or performing a map lookup. Bindings are invalidated by the
+ * transaction synchronization that closes the EntityManager.
+ *
+ * If resource-local mode is enabled, requests made outside of a global transaction are satisfied by an EntityManager bound to the calling thread. The
+ * application is responsible for demarcating work using {@link EntityManager#getTransaction()} and for closing the EntityManager to release its persistence
+ * context; a new instance will be bound to the thread on the next request.
  */
 public class EntityManagerServiceImpl implements EntityManagerService {
-    // a cache of entity managers keyed by Transaction and persistence unit name
-    private Map<Key, EntityManager> cache = new ConcurrentHashMap<>();
-    // tracks which entity managers have joined transactions
+    // a cache of entity manager bindings keyed by Transaction and persistence unit name
+    private Map<Key, Binding> cache = new ConcurrentHashMap<>();
+
+    // the transaction-scoped entity managers last resolved on the current thread keyed by persistence unit name
+    private ThreadLocal<Map<String, Binding>> threadBindings = ThreadLocal.withInitial(HashMap::new);
+
+    // resource-local entity managers bound to the current thread keyed by persistence unit name
+    private ThreadLocal<Map<String, EntityManager>> resourceLocalBindings = ThreadLocal.withInitial(HashMap::new);
+
     private EntityManagerFactoryCache emfCache;
+    private boolean resourceLocal;
 
     public EntityManagerServiceImpl(@Reference EntityManagerFactoryCache emfCache) {
         this.emfCache = emfCache;
     }
 
+    /**
+     * Sets whether resource-local EntityManagers are returned when a global transaction is not active. By default, requests made outside of a global
+     * transaction fail.
+     *
+     * @param resourceLocal true if resource-local mode is enabled
+     */
+    @Property(required = false)
+    public void setResourceLocal(boolean resourceLocal) {
+        this.resourceLocal = resourceLocal;
+    }
+
     public EntityManager getEntityManager(String unitName, HibernateProxy proxy, Transaction transaction) throws Fabric3Exception {
+        if (transaction == null) {
+            return getResourceLocalEntityManager(unitName);
+        }
+        Map<String, Binding> bindings = threadBindings.get();
+        Binding binding = bindings.get(unitName);
+        if (binding != null && binding.active && binding.transaction == transaction) {
+            EntityManager em = binding.entityManager;
+            if (em != null) {
+                // the entity manager was resolved previously in the transaction
+                return em;
+            }
+        }
         // Note this method is thread-safe as a Transaction is only visible to a single thread at time.
         Key key = new Key(transaction, unitName);
-        EntityManager em = cache.get(key);
-        if (em == null) {
+        binding = cache.get(key);
+        if (binding == null) {
             // no entity manager for the persistence unit associated with the transaction
-            EntityManagerFactory emf = emfCache.get(unitName);
-            if (emf == null) {
-                throw new Fabric3Exception("No EntityManagerFactory found for persistence unit: " + unitName);
-            }
-            em = emf.createEntityManager();
+            EntityManager em = createEntityManager(unitName);
+            binding = new Binding(transaction, em);
             // don't synchronize on the transaction since it can assume to be bound to a thread at this point
-            registerTransactionScopedSync(proxy, key);
-            cache.put(key, em);
+            registerTransactionScopedSync(proxy, key, binding);
+            cache.put(key, binding);
+        }
+        bindings.put(unitName, binding);
+        return binding.entityManager;
+    }
+
+    private EntityManager getResourceLocalEntityManager(String unitName) throws Fabric3Exception {
+        if (!resourceLocal) {
+            throw new IllegalStateException("A transaction is not active - ensure the component is executing in a managed transaction");
+        }
+        Map<String, EntityManager> bindings = resourceLocalBindings.get();
+        EntityManager em = bindings.get(unitName);
+        if (em == null || !em.isOpen()) {
+            em = createEntityManager(unitName);
+            bindings.put(unitName, em);
         }
         return em;
     }
 
-    private void registerTransactionScopedSync(HibernateProxy proxy, Key key) throws Fabric3Exception {
+    private EntityManager createEntityManager(String unitName) throws Fabric3Exception {
+        EntityManagerFactory emf = emfCache.get(unitName);
+        if (emf == null) {
+            throw new Fabric3Exception("No EntityManagerFactory found for persistence unit: " + unitName);
+        }
+        return emf.createEntityManager();
+    }
+
+    private void registerTransactionScopedSync(HibernateProxy proxy, Key key, Binding binding) throws Fabric3Exception {
         try {
-            TransactionScopedSync sync = new TransactionScopedSync(key, proxy);
+            TransactionScopedSync sync = new TransactionScopedSync(key, proxy, binding);
             key.transaction.registerSynchronization(sync);
         } catch (RollbackException | SystemException e) {
             throw new Fabric3Exception(e);
@@ -75,15 +132,17 @@ public class EntityManagerServiceImpl implements EntityManagerService {
     }
 
     /**
-     * Callback used with a transaction-scoped EntityManager to remove it from the cache and close it.
+     * Callback used with a transaction-scoped EntityManager to remove it from the cache, invalidate its thread bindings and close it.
      */
     private class TransactionScopedSync implements Synchronization {
         private Key key;
         private HibernateProxy proxy;
+        private Binding binding;
 
-        private TransactionScopedSync(Key key, HibernateProxy proxy) {
+        private TransactionScopedSync(Key key, HibernateProxy proxy, Binding binding) {
             this.key = key;
             this.proxy = proxy;
+            this.binding = binding;
         }
 
         public void beforeCompletion() {
@@ -92,11 +151,40 @@ public class EntityManagerServiceImpl implements EntityManagerService {
 
         public void afterCompletion(int status) {
             proxy.clearEntityManager();
-            EntityManager manager = cache.remove(key);
+            cache.remove(key);
+            EntityManager manager = binding.invalidate();
             manager.close();
         }
     }
 
+    /**
+     * An EntityManager bound to a transaction. Bindings may be held by more than one thread if a transaction is resumed on a different thread; completion may
+     * also be performed on a thread other than the one that resolved the EntityManager.
+     */
+    private static class Binding {
+        private Transaction transaction;
+        private EntityManager entityManager;
+        private volatile boolean active = true;
+
+        private Binding(Transaction transaction, EntityManager entityManager) {
+            this.transaction = transaction;
+            this.entityManager = entityManager;
+        }
+
+        /**
+         * Invalidates the binding and releases its references.
+         *
+         * @return the bound EntityManager
+         */
+        private EntityManager invalidate() {
+            EntityManager manager = entityManager;
+            transaction = null;
+            entityManager = null;
+            active = false;
+            return manager;
+        }
+    }
+
     private class Key {
         private Transaction transaction;
         private String unitName;
@@ -276,10 +276,8 @@ public class MultiThreadedEntityManagerProxy implements HibernateProxy, EntityMa
     private EntityManager getEntityManager() {
         // a transaction-scoped persistence context
         try {
-            Transaction trx = tm.getTransaction();
-            if (trx == null) {
-                throw new IllegalStateException("A transaction is not active - ensure the component is executing in a managed transaction");
-            }
+            // if a global transaction is not active, the service will return a resource-local instance if enabled
+            Transaction trx = TransactionLookup.getTransaction(tm);
             return emService.getEntityManager(unitName, this, trx);
         } catch (SystemException | Fabric3Exception e) {
             throw new ServiceRuntimeException(e);
@@ -449,10 +449,8 @@ public class MultiThreadedSessionProxy implements Session, HibernateProxy {
     private Session getSession() {
         // a transaction-scoped persistence context
         try {
-            Transaction trx = tm.getTransaction();
-            if (trx == null) {
-                throw new IllegalStateException("A transaction is not active - ensure the component is executing in a managed transaction");
-            }
+            // if a global transaction is not active, the service will return a resource-local instance if enabled
+            Transaction trx = TransactionLookup.getTransaction(tm);
             EntityManager em = emService.getEntityManager(unitName, this, trx);
             return (Session) em.getDelegate();
         } catch (SystemException | Fabric3Exception e) {
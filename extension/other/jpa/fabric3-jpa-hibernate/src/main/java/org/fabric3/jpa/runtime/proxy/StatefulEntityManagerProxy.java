@@ -340,7 +340,7 @@ public class StatefulEntityManagerProxy implements HibernateProxy, EntityManager
         }
         // a transaction-scoped persistence context
         try {
-            Transaction trx = tm.getTransaction();
+            Transaction trx = TransactionLookup.getTransaction(tm);
             if (trx == null) {
                 throw new IllegalStateException("A transaction is not active - ensure the component is executing in a managed transaction");
             }
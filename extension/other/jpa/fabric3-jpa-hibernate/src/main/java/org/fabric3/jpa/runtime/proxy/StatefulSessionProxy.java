@@ -546,7 +546,7 @@ public class StatefulSessionProxy implements Session, HibernateProxy {
         }
         // a transaction-scoped persistence context
         try {
-            Transaction trx = tm.getTransaction();
+            Transaction trx = TransactionLookup.getTransaction(tm);
             if (trx == null) {
                 throw new IllegalStateException("A transaction is not active - ensure the component is executing in a managed transaction");
             }
@@ -0,0 +1,53 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.runtime.proxy;
+
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+
+import org.fabric3.spi.transaction.LocalTransactionScope;
+import org.fabric3.spi.transaction.LocalTransactions;
+
+/**
+ * Resolves the global transaction for an EntityManager proxy.
+ */
+final class TransactionLookup {
+
+    private TransactionLookup() {
+    }
+
+    /**
+     * Returns the global transaction associated with the current thread. If a local transaction scope is active, it is promoted since JTA persistence contexts
+     * require a global transaction.
+     *
+     * @param tm the transaction manager
+     * @return the transaction or null if a global transaction is not active
+     * @throws SystemException if there is an error resolving the transaction
+     */
+    static Transaction getTransaction(TransactionManager tm) throws SystemException {
+        Transaction trx = tm.getTransaction();
+        if (trx == null) {
+            LocalTransactionScope scope = LocalTransactions.getScope();
+            if (scope != null) {
+                scope.promote();
+                trx = tm.getTransaction();
+            }
+        }
+        return trx;
+    }
+}
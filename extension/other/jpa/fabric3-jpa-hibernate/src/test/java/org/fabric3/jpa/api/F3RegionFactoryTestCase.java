@@ -0,0 +1,71 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.api;
+
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.hibernate.cache.CacheException;
+
+/**
+ *
+ */
+public class F3RegionFactoryTestCase extends TestCase {
+
+    public void testBoundedRegion() throws Exception {
+        RegionCacheProvider provider = EasyMock.createMock(RegionCacheProvider.class);
+        EasyMock.expect(provider.getCache("region", 100, 2000, -1)).andReturn(new ConcurrentHashMap<>());
+        EasyMock.replay(provider);
+
+        Properties properties = new Properties();
+        properties.put(F3RegionFactory.PROVIDER, provider);
+        F3RegionFactory factory = new F3RegionFactory(properties);
+        Properties unitProperties = new Properties();
+        unitProperties.setProperty("hibernate.cache.fabric3.region.max_size", "100");
+        unitProperties.setProperty("hibernate.cache.fabric3.expire_after_write", "2000");
+        factory.start(null, unitProperties);
+
+        assertNotNull(factory.buildQueryResultsRegion("region", unitProperties));
+        EasyMock.verify(provider);
+    }
+
+    public void testTimestampsRegionUnbounded() throws Exception {
+        RegionCacheProvider provider = EasyMock.createMock(RegionCacheProvider.class);
+        EasyMock.expect(provider.getCache("timestamps", -1, -1, -1)).andReturn(new ConcurrentHashMap<>());
+        EasyMock.replay(provider);
+
+        Properties properties = new Properties();
+        properties.put(F3RegionFactory.PROVIDER, provider);
+        F3RegionFactory factory = new F3RegionFactory(properties);
+        factory.start(null, properties);
+
+        assertNotNull(factory.buildTimestampsRegion("timestamps", properties));
+        EasyMock.verify(provider);
+    }
+
+    public void testNoProvider() throws Exception {
+        try {
+            new F3RegionFactory(new Properties());
+            fail();
+        } catch (CacheException e) {
+            // expected
+        }
+    }
+
+}
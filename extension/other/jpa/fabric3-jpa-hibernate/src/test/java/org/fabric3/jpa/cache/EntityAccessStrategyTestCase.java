@@ -0,0 +1,80 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import junit.framework.TestCase;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ *
+ */
+public class EntityAccessStrategyTestCase extends TestCase {
+    private LocalEntityRegion region;
+
+    public void testPutFromLoad() throws Exception {
+        EntityRegionAccessStrategy strategy = region.buildAccessStrategy(AccessType.READ_WRITE);
+        assertTrue(strategy.putFromLoad("key", "value", region.nextTimestamp(), 1));
+        assertEquals("value", strategy.get("key", region.nextTimestamp()));
+        assertFalse(strategy.putFromLoad("key", "value", region.nextTimestamp(), 1, true));
+    }
+
+    public void testLockBlocksLoad() throws Exception {
+        EntityRegionAccessStrategy strategy = region.buildAccessStrategy(AccessType.READ_WRITE);
+        strategy.putFromLoad("key", "value", region.nextTimestamp(), 1);
+
+        SoftLock lock = strategy.lockItem("key", 1);
+        assertNull(strategy.get("key", region.nextTimestamp()));
+        assertFalse(strategy.putFromLoad("key", "stale", region.nextTimestamp(), 1));
+
+        assertFalse(strategy.afterUpdate("key", "updated", 2, 1, lock));
+        assertNull(strategy.get("key", region.nextTimestamp()));
+        assertTrue(strategy.putFromLoad("key", "updated", region.nextTimestamp(), 2));
+        assertEquals("updated", strategy.get("key", region.nextTimestamp()));
+    }
+
+    public void testNestedLocks() throws Exception {
+        EntityRegionAccessStrategy strategy = region.buildAccessStrategy(AccessType.READ_WRITE);
+        SoftLock lock1 = strategy.lockItem("key", 1);
+        SoftLock lock2 = strategy.lockItem("key", 1);
+        strategy.unlockItem("key", lock1);
+        assertFalse(strategy.putFromLoad("key", "value", region.nextTimestamp(), 1));
+        strategy.unlockItem("key", lock2);
+        assertTrue(strategy.putFromLoad("key", "value", region.nextTimestamp(), 1));
+    }
+
+    public void testReadOnly() throws Exception {
+        EntityRegionAccessStrategy strategy = region.buildAccessStrategy(AccessType.READ_ONLY);
+        assertTrue(strategy.afterInsert("key", "value", 1));
+        assertEquals("value", strategy.get("key", region.nextTimestamp()));
+        try {
+            strategy.update("key", "updated", 2, 1);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            // expected
+        }
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        region = new LocalEntityRegion("test", new ConcurrentHashMap<>(), null, null);
+    }
+
+}
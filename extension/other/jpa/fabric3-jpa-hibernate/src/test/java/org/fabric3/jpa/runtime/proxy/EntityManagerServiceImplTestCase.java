@@ -0,0 +1,132 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.jpa.runtime.proxy;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Synchronization;
+import javax.transaction.Status;
+import javax.transaction.Transaction;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.easymock.IAnswer;
+import org.fabric3.jpa.runtime.emf.EntityManagerFactoryCache;
+
+/**
+ *
+ */
+public class EntityManagerServiceImplTestCase extends TestCase {
+    private EntityManagerServiceImpl service;
+    private EntityManagerFactory emf;
+    private HibernateProxy proxy;
+
+    public void testReuseInTransaction() throws Exception {
+        EntityManager em = EasyMock.createMock(EntityManager.class);
+        em.close();
+        EasyMock.expect(emf.createEntityManager()).andReturn(em);
+
+        Transaction transaction = EasyMock.createMock(Transaction.class);
+        Synchronization[] sync = new Synchronization[1];
+        transaction.registerSynchronization(EasyMock.isA(Synchronization.class));
+        EasyMock.expectLastCall().andAnswer(new IAnswer<Object>() {
+            public Object answer() throws Throwable {
+                sync[0] = (Synchronization) EasyMock.getCurrentArguments()[0];
+                return null;
+            }
+        });
+
+        proxy.clearEntityManager();
+        EasyMock.replay(emf, em, transaction, proxy);
+
+        assertSame(em, service.getEntityManager("unit", proxy, transaction));
+        assertSame(em, service.getEntityManager("unit", proxy, transaction));
+
+        sync[0].afterCompletion(Status.STATUS_COMMITTED);
+
+        EasyMock.verify(emf, em, transaction, proxy);
+    }
+
+    public void testInvalidatedOnCompletion() throws Exception {
+        EntityManager em1 = EasyMock.createNiceMock(EntityManager.class);
+        EntityManager em2 = EasyMock.createNiceMock(EntityManager.class);
+        EasyMock.expect(emf.createEntityManager()).andReturn(em1);
+        EasyMock.expect(emf.createEntityManager()).andReturn(em2);
+
+        Transaction transaction = EasyMock.createMock(Transaction.class);
+        Synchronization[] sync = new Synchronization[1];
+        transaction.registerSynchronization(EasyMock.isA(Synchronization.class));
+        EasyMock.expectLastCall().andAnswer(new IAnswer<Object>() {
+            public Object answer() throws Throwable {
+                sync[0] = (Synchronization) EasyMock.getCurrentArguments()[0];
+                return null;
+            }
+        }).times(2);
+
+        EasyMock.replay(emf, em1, em2, transaction, proxy);
+
+        assertSame(em1, service.getEntityManager("unit", proxy, transaction));
+        sync[0].afterCompletion(Status.STATUS_COMMITTED);
+
+        // the same transaction instance may be reused by the transaction manager
+        assertSame(em2, service.getEntityManager("unit", proxy, transaction));
+
+        EasyMock.verify(emf, em1, em2, transaction, proxy);
+    }
+
+    public void testNoTransaction() throws Exception {
+        EasyMock.replay(emf, proxy);
+        try {
+            service.getEntityManager("unit", proxy, null);
+            fail();
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        EasyMock.verify(emf, proxy);
+    }
+
+    public void testResourceLocal() throws Exception {
+        EntityManager em1 = EasyMock.createMock(EntityManager.class);
+        EasyMock.expect(em1.isOpen()).andReturn(true);
+        EasyMock.expect(em1.isOpen()).andReturn(false);
+        EntityManager em2 = EasyMock.createMock(EntityManager.class);
+        EasyMock.expect(emf.createEntityManager()).andReturn(em1);
+        EasyMock.expect(emf.createEntityManager()).andReturn(em2);
+        EasyMock.replay(emf, em1, em2, proxy);
+
+        service.setResourceLocal(true);
+
+        assertSame(em1, service.getEntityManager("unit", proxy, null));
+        assertSame(em1, service.getEntityManager("unit", proxy, null));
+        // the application closed the entity manager
+        assertSame(em2, service.getEntityManager("unit", proxy, null));
+
+        EasyMock.verify(emf, em1, em2, proxy);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        emf = EasyMock.createMock(EntityManagerFactory.class);
+        EntityManagerFactoryCache emfCache = EasyMock.createMock(EntityManagerFactoryCache.class);
+        EasyMock.expect(emfCache.get("unit")).andReturn(emf).anyTimes();
+        EasyMock.replay(emfCache);
+
+        proxy = EasyMock.createNiceMock(HibernateProxy.class);
+        service = new EntityManagerServiceImpl(emfCache);
+    }
+
+}
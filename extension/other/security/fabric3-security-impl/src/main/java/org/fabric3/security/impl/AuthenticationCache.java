@@ -0,0 +1,150 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.security.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fabric3.api.SecuritySubject;
+import org.oasisopen.sca.annotation.Property;
+
+/**
+ * A bounded cache of authenticated subjects keyed by a SHA-256 hash of the username and password, so that plaintext credentials are not retained.
+ *
+ * Entries expire after a configurable time to live, which bounds how long a cached subject is used after its credentials or roles are changed. Failed
+ * authentication attempts are not cached.
+ */
+public class AuthenticationCache {
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AssertionError(e);
+        }
+    });
+
+    private int maxSize = 1000;
+    private long ttl = 60000;
+
+    private Map<ByteBuffer, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the maximum number of cached subjects. A value of 0 disables caching.
+     *
+     * @param maxSize the maximum number of cached subjects
+     */
+    @Property(required = false)
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Sets the time in milliseconds an authenticated subject is cached.
+     *
+     * @param ttl the time to live
+     */
+    @Property(required = false)
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * Returns the subject previously authenticated with the credentials or null if the credentials are not cached or the entry has expired.
+     *
+     * @param username the username
+     * @param password the password
+     * @return the subject or null
+     */
+    public SecuritySubject get(String username, String password) {
+        if (maxSize <= 0) {
+            return null;
+        }
+        ByteBuffer key = hash(username, password);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expires < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.subject;
+    }
+
+    /**
+     * Caches an authenticated subject.
+     *
+     * @param username the username
+     * @param password the password
+     * @param subject  the subject
+     */
+    public void put(String username, String password, SecuritySubject subject) {
+        if (maxSize <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(hash(username, password), new Entry(subject, now + ttl));
+    }
+
+    /**
+     * Removes all cached subjects.
+     */
+    public void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * Removes expired entries, followed by arbitrary entries if the cache is still full.
+     *
+     * @param now the current time
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.expires < now);
+        Iterator<ByteBuffer> iterator = entries.keySet().iterator();
+        while (entries.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private ByteBuffer hash(String username, String password) {
+        MessageDigest digest = DIGEST.get();
+        digest.update(username.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(password.getBytes(StandardCharsets.UTF_8));
+        return ByteBuffer.wrap(digest.digest());
+    }
+
+    private static class Entry {
+        private SecuritySubject subject;
+        private long expires;
+
+        public Entry(SecuritySubject subject, long expires) {
+            this.subject = subject;
+            this.expires = expires;
+        }
+    }
+
+}
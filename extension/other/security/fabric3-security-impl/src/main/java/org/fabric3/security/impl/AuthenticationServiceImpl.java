@@ -32,16 +32,25 @@ import org.oasisopen.sca.annotation.Service;
 /**
  * Basic authentication and service that relies on a SecurityStore for subject information. This implementation may also be used to authenticate JMX
  * credentials.
+ *
+ * If an {@link AuthenticationCache} is configured, successfully authenticated subjects are cached so that subsequent requests with the same credentials do not
+ * consult the store.
  */
 @Service({AuthenticationService.class, JMXAuthenticator.class})
 @EagerInit
 public class AuthenticationServiceImpl implements AuthenticationService, JMXAuthenticator {
     private SecurityStore store;
+    private AuthenticationCache cache;
 
     public AuthenticationServiceImpl(@Reference SecurityStore store) {
         this.store = store;
     }
 
+    @Reference(required = false)
+    public void setCache(AuthenticationCache cache) {
+        this.cache = cache;
+    }
+
     public SecuritySubject authenticate(AuthenticationToken<?, ?> token) throws AuthenticationException {
         if (token == null) {
             throw new IllegalArgumentException("Null token");
@@ -54,13 +63,24 @@ public class AuthenticationServiceImpl implements AuthenticationService, JMXAuth
         if (principal == null) {
             throw new AuthenticationException("Principal was null");
         }
+        String credentials = userToken.getCredentials();
+        boolean cacheable = cache != null && credentials != null;
+        if (cacheable) {
+            SecuritySubject cached = cache.get(principal, credentials);
+            if (cached != null) {
+                return cached;
+            }
+        }
         BasicSecuritySubject subject = store.find(principal);
         if (subject == null) {
             throw new InvalidAuthenticationException("Invalid authentication information");
         }
-        if (!userToken.getCredentials().equals(subject.getPassword())) {
+        if (!credentials.equals(subject.getPassword())) {
             throw new InvalidAuthenticationException("Invalid authentication information");
         }
+        if (cacheable) {
+            cache.put(principal, credentials, subject);
+        }
         return subject;
     }
 
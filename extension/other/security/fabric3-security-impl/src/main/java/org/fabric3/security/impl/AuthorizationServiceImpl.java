@@ -24,6 +24,7 @@ import org.fabric3.spi.security.AuthorizationException;
 import org.fabric3.spi.security.AuthorizationService;
 import org.fabric3.spi.security.BasicSecuritySubject;
 import org.fabric3.spi.security.NotAuthorizedException;
+import org.fabric3.spi.security.RoleSet;
 
 /**
  * Basic implementation of the AuthorizationService.
@@ -55,6 +56,13 @@ public class AuthorizationServiceImpl implements AuthorizationService {
         throw new NotAuthorizedException("Subject not authorized");
     }
 
+    public void checkHasRole(SecuritySubject subject, RoleSet roles) {
+        BasicSecuritySubject basicSubject = subject.getDelegate(BasicSecuritySubject.class);
+        if (!basicSubject.hasAnyRole(roles)) {
+            throw new NotAuthorizedException("Subject not authorized");
+        }
+    }
+
     public void checkPermission(SecuritySubject subject, String role) throws AuthorizationException {
         throw new UnsupportedOperationException();
     }
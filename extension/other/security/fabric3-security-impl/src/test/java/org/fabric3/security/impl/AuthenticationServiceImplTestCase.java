@@ -21,6 +21,7 @@ import java.util.Collections;
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
 import org.fabric3.api.Role;
+import org.fabric3.api.SecuritySubject;
 import org.fabric3.spi.security.AuthenticationException;
 import org.fabric3.spi.security.AuthenticationService;
 import org.fabric3.spi.security.BasicSecuritySubject;
@@ -70,4 +71,28 @@ public class AuthenticationServiceImplTestCase extends TestCase {
         }
     }
 
+    public void testAuthenticateCached() throws Exception {
+        BasicSecuritySubject subject = new BasicSecuritySubject("foo", "bar", Collections.<Role>emptySet());
+        SecurityStore store = EasyMock.createMock(SecurityStore.class);
+        EasyMock.expect(store.find(EasyMock.eq("foo"))).andReturn(subject).times(3);
+        EasyMock.replay(store);
+        AuthenticationServiceImpl service = new AuthenticationServiceImpl(store);
+        AuthenticationCache cache = new AuthenticationCache();
+        service.setCache(cache);
+
+        SecuritySubject result = service.authenticate(new UsernamePasswordToken("foo", "bar"));
+        assertSame(result, service.authenticate(new UsernamePasswordToken("foo", "bar")));
+        try {
+            // a cached subject must not be returned for different credentials
+            service.authenticate(new UsernamePasswordToken("foo", "baz"));
+            fail();
+        } catch (AuthenticationException e) {
+            // expected
+        }
+
+        cache.invalidate();
+        assertSame(subject, service.authenticate(new UsernamePasswordToken("foo", "bar")));
+        EasyMock.verify(store);
+    }
+
 }
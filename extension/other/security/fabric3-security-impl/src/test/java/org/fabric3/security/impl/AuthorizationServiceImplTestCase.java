@@ -26,6 +26,7 @@ import org.fabric3.api.Role;
 import org.fabric3.spi.security.AuthorizationService;
 import org.fabric3.spi.security.BasicSecuritySubject;
 import org.fabric3.spi.security.NotAuthorizedException;
+import org.fabric3.spi.security.RoleSet;
 
 /**
  *
@@ -72,5 +73,26 @@ public class AuthorizationServiceImplTestCase extends TestCase {
         }
     }
 
+    public void testHasRoleSet() throws Exception {
+        Set<Role> roles = new HashSet<>();
+        roles.add(new Role("role1"));
+        roles.add(new Role("role2"));
+
+        BasicSecuritySubject subject = new BasicSecuritySubject("foo", "bar", roles);
+
+        AuthorizationService service = new AuthorizationServiceImpl();
+        List<String> names = new ArrayList<>();
+        names.add("role3");
+        names.add("role2");
+        service.checkHasRole(subject, RoleSet.of(names));
+
+        names.remove("role2");
+        try {
+            service.checkHasRole(subject, RoleSet.of(names));
+            fail();
+        } catch (NotAuthorizedException e) {
+            // expected
+        }
+    }
 
 }
\ No newline at end of file
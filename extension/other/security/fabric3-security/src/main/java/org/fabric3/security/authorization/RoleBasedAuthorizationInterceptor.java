@@ -26,18 +26,20 @@ import org.fabric3.spi.container.invocation.WorkContext;
 import org.fabric3.spi.container.wire.Interceptor;
 import org.fabric3.spi.security.AuthorizationException;
 import org.fabric3.spi.security.AuthorizationService;
+import org.fabric3.spi.security.RoleSet;
 import org.oasisopen.sca.ServiceRuntimeException;
 
 /**
- * Interceptor for performing role-based authorization.
+ * Interceptor for performing role-based authorization. Roles are interned when the interceptor is built so that checks performed on invocation do not
+ * compare role names.
  */
 public class RoleBasedAuthorizationInterceptor implements Interceptor {
     private Interceptor next;
-    private final List<String> roles;
+    private final RoleSet roles;
     private final AuthorizationService authorizationService;
 
     public RoleBasedAuthorizationInterceptor(List<String> roles, AuthorizationService authorizationService) {
-        this.roles = roles;
+        this.roles = RoleSet.of(roles);
         this.authorizationService = authorizationService;
     }
 
@@ -43,6 +43,8 @@ import org.oasisopen.sca.annotation.EagerInit;
  *           &lt;/datasource&gt;
  *      &lt;/datasources&gt;
  * </pre>
+ * The optional <code>provider</code> attribute selects the datasource provider, for example <code>native</code> for the built-in connection pool. If not
+ * specified, the default provider is used.
  */
 @EagerInit
 public class DataSourceResourceLoader implements TypeLoader<DataSourceResource> {
@@ -81,6 +83,8 @@ public class DataSourceResourceLoader implements TypeLoader<DataSourceResource>
                     configuration.setUsername(username);
                     String password = reader.getAttributeValue(null, "password");
                     configuration.setPassword(password);
+                    String provider = reader.getAttributeValue(null, "provider");
+                    configuration.setProvider(provider);
                 } else {
                     // check to ensure the <datasource> element comes before a property or other element
                     if (configuration != null) {
@@ -103,8 +107,14 @@ public class DataSourceResourceLoader implements TypeLoader<DataSourceResource>
                             configuration.setPoolSize(parseInt(value, location, context));
                         } else if ("reap".equals(name)) {
                             configuration.setReap(parseInt(value, location, context));
+                        } else if ("leakThreshold".equals(name)) {
+                            configuration.setLeakThreshold(parseInt(value, location, context));
                         } else if ("query".equals(name)) {
                             configuration.setQuery(value);
+                        } else if ("statementCacheSize".equals(name)) {
+                            configuration.setStatementCacheSize(parseInt(value, location, context));
+                        } else if ("localTransactions".equals(name)) {
+                            configuration.setLocalTransactions(Boolean.parseBoolean(value));
                         } else {
                             configuration.setProperty(name, value);
                         }
@@ -16,6 +16,10 @@
  */
 package org.fabric3.datasource.runtime;
 
+import java.util.Map;
+
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.api.model.type.resource.datasource.DataSourceConfiguration;
 import org.fabric3.datasource.provision.PhysicalDataSourceResource;
 import org.fabric3.datasource.spi.DataSourceFactory;
 import org.fabric3.spi.container.builder.ResourceBuilder;
@@ -23,21 +27,45 @@ import org.oasisopen.sca.annotation.EagerInit;
 import org.oasisopen.sca.annotation.Reference;
 
 /**
- *
+ * Creates and removes datasources using the {@link DataSourceFactory} for the provider named in their configuration. If a provider is not specified, the
+ * transaction manager provider is used, falling back to the native provider if it is the only one installed.
  */
 @EagerInit
 public class DataSourceBuilder implements ResourceBuilder<PhysicalDataSourceResource> {
-    private DataSourceFactory factory;
+    private static final String NATIVE = "native";
+
+    private Map<String, DataSourceFactory> factories;
 
-    public DataSourceBuilder(@Reference DataSourceFactory factory) {
-        this.factory = factory;
+    public DataSourceBuilder(@Reference Map<String, DataSourceFactory> factories) {
+        this.factories = factories;
     }
 
     public void build(PhysicalDataSourceResource resource) {
-        resource.getConfigurations().forEach(factory::create);
+        resource.getConfigurations().forEach(configuration -> getFactory(configuration).create(configuration));
     }
 
     public void remove(PhysicalDataSourceResource resource) {
-        resource.getConfigurations().forEach(factory::remove);
+        resource.getConfigurations().forEach(configuration -> getFactory(configuration).remove(configuration));
+    }
+
+    private DataSourceFactory getFactory(DataSourceConfiguration configuration) {
+        String provider = configuration.getProvider();
+        if (provider != null) {
+            DataSourceFactory factory = factories.get(provider);
+            if (factory == null) {
+                throw new Fabric3Exception("Datasource provider not installed for " + configuration.getName() + ": " + provider);
+            }
+            return factory;
+        }
+        for (Map.Entry<String, DataSourceFactory> entry : factories.entrySet()) {
+            if (!NATIVE.equals(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        DataSourceFactory factory = factories.get(NATIVE);
+        if (factory == null) {
+            throw new Fabric3Exception("No datasource provider installed for " + configuration.getName());
+        }
+        return factory;
     }
-}
\ No newline at end of file
+}
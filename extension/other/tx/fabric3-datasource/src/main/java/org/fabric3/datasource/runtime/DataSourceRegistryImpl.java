@@ -29,6 +29,8 @@ import org.fabric3.datasource.spi.DataSourceRegistry;
 
 /**
  * Default DataSourceRegistry implementation.
+ *
+ * Datasources registered for local transactions are wrapped so that they participate in lazily started local transactions.
  */
 @Management(name = "DataSourceRegistry", path = "/runtime/datasources")
 public class DataSourceRegistryImpl implements DataSourceRegistry {
@@ -48,10 +50,18 @@ public class DataSourceRegistryImpl implements DataSourceRegistry {
     }
 
     public void register(String name, DataSource dataSource) {
-        dataSources.put(name, dataSource);
+        register(name, dataSource, false);
+    }
+
+    public void register(String name, DataSource dataSource, boolean localTransactions) {
+        dataSources.put(name, localTransactions ? new LocalTransactionDataSource(dataSource) : dataSource);
     }
 
     public DataSource unregister(String name) {
-        return dataSources.remove(name);
+        DataSource dataSource = dataSources.remove(name);
+        if (dataSource instanceof LocalTransactionDataSource) {
+            return ((LocalTransactionDataSource) dataSource).getDelegate();
+        }
+        return dataSource;
     }
 }
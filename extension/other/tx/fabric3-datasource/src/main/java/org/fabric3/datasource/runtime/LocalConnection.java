@@ -0,0 +1,80 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.fabric3.spi.transaction.LocalResource;
+
+/**
+ * A JDBC connection enlisted as the local resource of a {@link org.fabric3.spi.transaction.LocalTransactionScope}.
+ *
+ * Application code receives a proxy that ignores {@link Connection#close()} so the connection can be reused until the scope completes, at which point it is
+ * committed or rolled back and returned to the pool.
+ */
+public class LocalConnection implements LocalResource {
+    private Connection connection;
+    private Connection proxy;
+
+    public LocalConnection(Connection connection) {
+        this.connection = connection;
+        this.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, (p, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                // released when the scope completes
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    /**
+     * Returns the connection handle provided to application code.
+     *
+     * @return the connection handle
+     */
+    public Connection getConnection() {
+        return proxy;
+    }
+
+    public void commit() throws SQLException {
+        connection.commit();
+    }
+
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    public void release() {
+        try {
+            connection.setAutoCommit(true);
+        } catch (SQLException e) {
+            // ignore
+        }
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.logging.Logger;
+
+import org.fabric3.spi.transaction.LocalResource;
+import org.fabric3.spi.transaction.LocalTransactionScope;
+import org.fabric3.spi.transaction.LocalTransactions;
+
+/**
+ * A DataSource that participates in the {@link LocalTransactionScope} active on the current thread.
+ *
+ * Outside of a scope, requests are passed to the delegate unchanged. Within a scope, the first datasource used is enlisted as the local resource: a connection
+ * is obtained with auto-commit disabled and returned for subsequent requests until the scope completes. Using a second datasource in the same scope is an error.
+ * If the scope was promoted to a global transaction before a connection was requested, connections are obtained from the delegate and enlisted with the
+ * transaction manager.
+ */
+public class LocalTransactionDataSource implements DataSource {
+    private DataSource delegate;
+
+    public LocalTransactionDataSource(DataSource delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the wrapped datasource.
+     *
+     * @return the wrapped datasource
+     */
+    public DataSource getDelegate() {
+        return delegate;
+    }
+
+    public Connection getConnection() throws SQLException {
+        LocalTransactionScope scope = LocalTransactions.getScope();
+        if (scope == null) {
+            return delegate.getConnection();
+        }
+        return getConnection(scope, null, null);
+    }
+
+    public Connection getConnection(String username, String password) throws SQLException {
+        LocalTransactionScope scope = LocalTransactions.getScope();
+        if (scope == null) {
+            return delegate.getConnection(username, password);
+        }
+        return getConnection(scope, username, password);
+    }
+
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return delegate.unwrap(iface);
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    private Connection getConnection(LocalTransactionScope scope, String username, String password) throws SQLException {
+        LocalResource resource = scope.getResource(delegate);
+        if (resource instanceof LocalConnection) {
+            return ((LocalConnection) resource).getConnection();
+        }
+        if (!scope.canEnlist(delegate)) {
+            // the scope is a global transaction
+            return open(username, password);
+        }
+        Connection connection = open(username, password);
+        try {
+            connection.setAutoCommit(false);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+        LocalConnection local = new LocalConnection(connection);
+        scope.enlist(delegate, local);
+        return local.getConnection();
+    }
+
+    private Connection open(String username, String password) throws SQLException {
+        return username == null ? delegate.getConnection() : delegate.getConnection(username, password);
+    }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Placeholders swapped into connection and statement handles when they are closed so that subsequent use fails without a per-call closed check.
+ */
+public final class Closed {
+    public static final Connection CONNECTION = create(Connection.class);
+    public static final PreparedStatement STATEMENT = create(PreparedStatement.class);
+
+    private Closed() {
+    }
+
+    private static <T> T create(Class<T> type) {
+        String name = type.getSimpleName();
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    return null;
+                case "isClosed":
+                    return true;
+                case "toString":
+                    return "Closed " + name;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    throw new SQLException(name + " is closed");
+            }
+        }));
+    }
+}
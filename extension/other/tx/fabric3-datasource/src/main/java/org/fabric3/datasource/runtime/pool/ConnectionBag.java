@@ -0,0 +1,156 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A lock-free collection of pooled connections.
+ *
+ * A thread first attempts to reclaim the connection it last returned, which is likely to be free and improves cache locality. Otherwise, the shared list is
+ * scanned for a free connection. If none is available, the thread waits for a connection to be handed off directly by a returning thread. Connections are
+ * claimed by a compare-and-set on their state so no locks are taken on the borrow or return paths.
+ */
+public class ConnectionBag {
+    private CopyOnWriteArrayList<PooledConnection> shared = new CopyOnWriteArrayList<>();
+    private ThreadLocal<PooledConnection> affinity = new ThreadLocal<>();
+    private SynchronousQueue<PooledConnection> handoff = new SynchronousQueue<>(true);
+    private AtomicInteger waiters = new AtomicInteger();
+
+    /**
+     * Claims a free connection without waiting.
+     *
+     * @return the connection or null if none are free
+     */
+    public PooledConnection poll() {
+        PooledConnection connection = affinity.get();
+        if (connection != null && connection.compareAndSet(PooledConnection.FREE, PooledConnection.IN_USE)) {
+            return connection;
+        }
+        for (PooledConnection candidate : shared) {
+            if (candidate.compareAndSet(PooledConnection.FREE, PooledConnection.IN_USE)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Claims a free connection, waiting until one is returned if necessary.
+     *
+     * @param timeout the time to wait in nanoseconds
+     * @return the connection or null if the timeout elapsed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public PooledConnection borrow(long timeout) throws InterruptedException {
+        waiters.incrementAndGet();
+        try {
+            // scan again as a connection may have been returned before this thread registered as a waiter
+            PooledConnection connection = poll();
+            if (connection != null) {
+                return connection;
+            }
+            long deadline = System.nanoTime() + timeout;
+            while (timeout > 0) {
+                connection = handoff.poll(timeout, TimeUnit.NANOSECONDS);
+                if (connection == null || connection.compareAndSet(PooledConnection.FREE, PooledConnection.IN_USE)) {
+                    return connection;
+                }
+                timeout = deadline - System.nanoTime();
+            }
+            return null;
+        } finally {
+            waiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a connection to the bag, handing it to a waiting thread if there is one.
+     *
+     * @param connection the connection
+     */
+    public void requite(PooledConnection connection) {
+        connection.setState(PooledConnection.FREE);
+        for (int i = 0; waiters.get() > 0; i++) {
+            if (connection.getState() != PooledConnection.FREE || handoff.offer(connection)) {
+                return;
+            } else if ((i & 0xff) == 0xff) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(10));
+            } else {
+                Thread.yield();
+            }
+        }
+        affinity.set(connection);
+    }
+
+    /**
+     * Adds a new connection to the bag. If the connection is free, it may be handed to a waiting thread.
+     *
+     * @param connection the connection
+     */
+    public void add(PooledConnection connection) {
+        shared.add(connection);
+        if (connection.getState() == PooledConnection.FREE) {
+            while (waiters.get() > 0 && connection.getState() == PooledConnection.FREE && !handoff.offer(connection)) {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Removes a connection from the bag. The caller must have claimed the connection or marked it as removed.
+     *
+     * @param connection the connection
+     */
+    public void remove(PooledConnection connection) {
+        connection.setState(PooledConnection.REMOVED);
+        shared.remove(connection);
+    }
+
+    /**
+     * Returns the connections in the bag.
+     *
+     * @return the connections
+     */
+    public List<PooledConnection> getConnections() {
+        return shared;
+    }
+
+    /**
+     * Returns the number of connections in the bag.
+     *
+     * @return the number of connections
+     */
+    public int size() {
+        return shared.size();
+    }
+
+    /**
+     * Returns the number of threads waiting for a connection.
+     *
+     * @return the number of waiting threads
+     */
+    public int getWaiters() {
+        return waiters.get();
+    }
+
+}
@@ -0,0 +1,335 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * The connection handle returned to application code for a pooled connection.
+ *
+ * Closing the handle returns the physical connection to the pool; the handle cannot be used afterward. Prepared statements created with the default result
+ * set type and concurrency are served from the connection statement cache. Other statements are closed when the handle is closed. Changes to connection
+ * state are tracked so the pool can reset the connection when it is returned.
+ */
+public class ConnectionHandle implements Connection {
+    private ConnectionPool pool;
+    private PooledConnection pooled;
+    private Connection delegate;
+    private List<CachedPreparedStatement> open = new ArrayList<>();
+    private List<Statement> statements = new ArrayList<>();
+
+    public ConnectionHandle(ConnectionPool pool, PooledConnection pooled) {
+        this.pool = pool;
+        this.pooled = pooled;
+        this.delegate = pooled.getConnection();
+    }
+
+    public Statement createStatement() throws SQLException {
+        return track(delegate.createStatement());
+    }
+
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        return prepare(new StatementKey(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, Statement.NO_GENERATED_KEYS));
+    }
+
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        return track(delegate.prepareCall(sql));
+    }
+
+    public String nativeSQL(String sql) throws SQLException {
+        return delegate.nativeSQL(sql);
+    }
+
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        delegate.setAutoCommit(autoCommit);
+        pooled.autoCommit = autoCommit;
+    }
+
+    public boolean getAutoCommit() throws SQLException {
+        return delegate.getAutoCommit();
+    }
+
+    public void commit() throws SQLException {
+        delegate.commit();
+    }
+
+    public void rollback() throws SQLException {
+        delegate.rollback();
+    }
+
+    public void close() throws SQLException {
+        if (delegate == Closed.CONNECTION) {
+            return;
+        }
+        delegate = Closed.CONNECTION;
+        try {
+            for (CachedPreparedStatement statement : open) {
+                statement.release();
+            }
+            for (Statement statement : statements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    // ignore
+                }
+            }
+        } finally {
+            open.clear();
+            statements.clear();
+            pool.release(pooled);
+        }
+    }
+
+    public boolean isClosed() throws SQLException {
+        return delegate == Closed.CONNECTION || delegate.isClosed();
+    }
+
+    public DatabaseMetaData getMetaData() throws SQLException {
+        return delegate.getMetaData();
+    }
+
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        delegate.setReadOnly(readOnly);
+        pooled.dirty = true;
+    }
+
+    public boolean isReadOnly() throws SQLException {
+        return delegate.isReadOnly();
+    }
+
+    public void setCatalog(String catalog) throws SQLException {
+        delegate.setCatalog(catalog);
+        pooled.dirty = true;
+    }
+
+    public String getCatalog() throws SQLException {
+        return delegate.getCatalog();
+    }
+
+    public void setTransactionIsolation(int level) throws SQLException {
+        delegate.setTransactionIsolation(level);
+        pooled.dirty = true;
+    }
+
+    public int getTransactionIsolation() throws SQLException {
+        return delegate.getTransactionIsolation();
+    }
+
+    public SQLWarning getWarnings() throws SQLException {
+        return delegate.getWarnings();
+    }
+
+    public void clearWarnings() throws SQLException {
+        delegate.clearWarnings();
+    }
+
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        return track(delegate.createStatement(resultSetType, resultSetConcurrency));
+    }
+
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return prepare(new StatementKey(sql, resultSetType, resultSetConcurrency, Statement.NO_GENERATED_KEYS));
+    }
+
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        return track(delegate.prepareCall(sql, resultSetType, resultSetConcurrency));
+    }
+
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        return delegate.getTypeMap();
+    }
+
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        delegate.setTypeMap(map);
+    }
+
+    public void setHoldability(int holdability) throws SQLException {
+        delegate.setHoldability(holdability);
+    }
+
+    public int getHoldability() throws SQLException {
+        return delegate.getHoldability();
+    }
+
+    public Savepoint setSavepoint() throws SQLException {
+        return delegate.setSavepoint();
+    }
+
+    public Savepoint setSavepoint(String name) throws SQLException {
+        return delegate.setSavepoint(name);
+    }
+
+    public void rollback(Savepoint savepoint) throws SQLException {
+        delegate.rollback(savepoint);
+    }
+
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        delegate.releaseSavepoint(savepoint);
+    }
+
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return track(delegate.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return track(delegate.prepareStatement(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        return track(delegate.prepareCall(sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        return prepare(new StatementKey(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, autoGeneratedKeys));
+    }
+
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        return track(delegate.prepareStatement(sql, columnIndexes));
+    }
+
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        return track(delegate.prepareStatement(sql, columnNames));
+    }
+
+    public Clob createClob() throws SQLException {
+        return delegate.createClob();
+    }
+
+    public Blob createBlob() throws SQLException {
+        return delegate.createBlob();
+    }
+
+    public NClob createNClob() throws SQLException {
+        return delegate.createNClob();
+    }
+
+    public SQLXML createSQLXML() throws SQLException {
+        return delegate.createSQLXML();
+    }
+
+    public boolean isValid(int timeout) throws SQLException {
+        return delegate.isValid(timeout);
+    }
+
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        delegate.setClientInfo(name, value);
+    }
+
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        delegate.setClientInfo(properties);
+    }
+
+    public String getClientInfo(String name) throws SQLException {
+        return delegate.getClientInfo(name);
+    }
+
+    public Properties getClientInfo() throws SQLException {
+        return delegate.getClientInfo();
+    }
+
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        return delegate.createArrayOf(typeName, elements);
+    }
+
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        return delegate.createStruct(typeName, attributes);
+    }
+
+    public void setSchema(String schema) throws SQLException {
+        delegate.setSchema(schema);
+    }
+
+    public String getSchema() throws SQLException {
+        return delegate.getSchema();
+    }
+
+    public void abort(Executor executor) throws SQLException {
+        delegate.abort(executor);
+    }
+
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        delegate.setNetworkTimeout(executor, milliseconds);
+    }
+
+    public int getNetworkTimeout() throws SQLException {
+        return delegate.getNetworkTimeout();
+    }
+
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    /**
+     * Called when a cached statement is closed by the application.
+     *
+     * @param statement the statement
+     */
+    void closed(CachedPreparedStatement statement) {
+        open.remove(statement);
+    }
+
+    private <T extends Statement> T track(T statement) throws SQLException {
+        // remove statements closed by the application so the list does not grow while the handle is in use
+        for (Iterator<Statement> iterator = statements.iterator(); iterator.hasNext(); ) {
+            if (iterator.next().isClosed()) {
+                iterator.remove();
+            }
+        }
+        statements.add(statement);
+        return statement;
+    }
+
+    private PreparedStatement prepare(StatementKey key) throws SQLException {
+        StatementCache cache = pooled.getStatements();
+        if (cache == null) {
+            return track(key.prepare(delegate));
+        }
+        PreparedStatement statement = cache.take(key);
+        if (statement == null) {
+            statement = key.prepare(delegate);
+        }
+        CachedPreparedStatement cached = new CachedPreparedStatement(this, cache, key, statement);
+        open.add(cached);
+        return cached;
+    }
+
+}
@@ -0,0 +1,425 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.fabric3.api.model.type.resource.datasource.DataSourceConfiguration;
+
+/**
+ * A JDBC connection pool.
+ *
+ * Connections are held in a {@link ConnectionBag} and claimed without locking. A connection is validated when borrowed unless it was used within the last
+ * {@link #VALIDATION_BYPASS} milliseconds, either by executing the configured test query or by calling {@link Connection#isValid(int)}. If a leak threshold
+ * is configured, the stack trace of the borrowing thread is captured and reported if the connection is not returned within the threshold.
+ *
+ * Time spent waiting for a connection and the time connections are held by application code are recorded in histograms.
+ */
+public class ConnectionPool {
+    private static final long VALIDATION_BYPASS = 500;   // milliseconds
+    private static final int VALIDATION_TIMEOUT = 5;     // seconds
+    private static final int DEFAULT_MAX_SIZE = 10;
+    private static final int DEFAULT_CONNECTION_TIMEOUT = 30;
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 32;
+
+    private String name;
+    private Driver driver;
+    private String url;
+    private Properties properties;
+    private PoolMonitor monitor;
+
+    private int minSize;
+    private int maxSize;
+    private long connectionTimeout;
+    private long maxIdle;
+    private long leakThreshold;
+    private String query;
+    private int statementCacheSize;
+
+    private ConnectionBag bag = new ConnectionBag();
+    private AtomicInteger total = new AtomicInteger();
+    private LongAdder timeouts = new LongAdder();
+    private LongAdder leaks = new LongAdder();
+    private Histogram waitTimes = new Histogram();
+    private Histogram usageTimes = new Histogram();
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param configuration the datasource configuration. Times are specified in seconds.
+     * @param driver        the JDBC driver
+     * @param monitor       the monitor
+     */
+    public ConnectionPool(DataSourceConfiguration configuration, Driver driver, PoolMonitor monitor) {
+        this.name = configuration.getName();
+        this.driver = driver;
+        this.url = configuration.getUrl();
+        this.monitor = monitor;
+        this.properties = new Properties();
+        properties.putAll(configuration.getProperties());
+        if (configuration.getUsername() != null) {
+            properties.setProperty("user", configuration.getUsername());
+        }
+        if (configuration.getPassword() != null) {
+            properties.setProperty("password", configuration.getPassword());
+        }
+
+        int poolSize = configuration.getPoolSize();
+        minSize = configuration.getMinPoolSize() != -1 ? configuration.getMinPoolSize() : poolSize != -1 ? poolSize : 0;
+        maxSize = configuration.getMaxPoolSize() != -1 ? configuration.getMaxPoolSize() : poolSize != -1 ? poolSize : Math.max(DEFAULT_MAX_SIZE, minSize);
+        if (maxSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("Invalid pool size for datasource " + name + ": " + minSize + "-" + maxSize);
+        }
+        int timeout = configuration.getConnectionTimeout() != -1 ? configuration.getConnectionTimeout() : DEFAULT_CONNECTION_TIMEOUT;
+        connectionTimeout = TimeUnit.SECONDS.toNanos(timeout);
+        maxIdle = configuration.getMaxIdle() > 0 ? TimeUnit.SECONDS.toNanos(configuration.getMaxIdle()) : 0;
+        leakThreshold = configuration.getLeakThreshold() > 0 ? TimeUnit.SECONDS.toNanos(configuration.getLeakThreshold()) : 0;
+        query = configuration.getQuery();
+        statementCacheSize = configuration.getStatementCacheSize() != -1 ? configuration.getStatementCacheSize() : DEFAULT_STATEMENT_CACHE_SIZE;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Borrows a connection from the pool, creating one if none are free and the pool is below its maximum size.
+     *
+     * @return the connection handle
+     * @throws SQLException if the pool is closed, a connection cannot be created or the connection timeout elapses
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + connectionTimeout;
+        while (true) {
+            if (closed) {
+                throw new SQLException("Datasource is closed: " + name);
+            }
+            PooledConnection connection = bag.poll();
+            if (connection == null) {
+                connection = create(true);
+            }
+            if (connection == null) {
+                connection = await(deadline);
+            }
+            if (!validate(connection)) {
+                discard(connection);
+                continue;
+            }
+            long now = System.nanoTime();
+            waitTimes.record(now - start);
+            connection.borrowed(now, leakThreshold > 0 ? new Throwable("Connection borrowed from datasource " + name) : null);
+            return new ConnectionHandle(this, connection);
+        }
+    }
+
+    /**
+     * Returns a connection to the pool after resetting its state. Called when the application closes the connection handle.
+     *
+     * @param connection the connection
+     */
+    void release(PooledConnection connection) {
+        long now = System.nanoTime();
+        usageTimes.record(now - connection.getBorrowed());
+        connection.borrowed(0, null);
+        Connection physical = connection.getConnection();
+        try {
+            if (!connection.autoCommit) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+                connection.autoCommit = true;
+            }
+            if (connection.dirty) {
+                physical.setReadOnly(false);
+                physical.setTransactionIsolation(connection.defaultIsolation);
+                if (connection.defaultCatalog != null) {
+                    physical.setCatalog(connection.defaultCatalog);
+                }
+                connection.dirty = false;
+            }
+            physical.clearWarnings();
+        } catch (SQLException e) {
+            monitor.connectionError(name, e);
+            discard(connection);
+            return;
+        }
+        if (closed) {
+            discard(connection);
+            return;
+        }
+        connection.setLastAccess(now);
+        bag.requite(connection);
+    }
+
+    /**
+     * Performs periodic maintenance: reports connections held beyond the leak threshold, closes connections idle beyond the maximum idle time and replenishes
+     * the pool to its minimum size.
+     */
+    public void housekeep() {
+        if (closed) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection connection : bag.getConnections()) {
+            int state = connection.getState();
+            if (state == PooledConnection.IN_USE) {
+                long held = now - connection.getBorrowed();
+                if (leakThreshold > 0 && held > leakThreshold && !connection.isLeakReported() && connection.getBorrower() != null) {
+                    connection.setLeakReported();
+                    leaks.increment();
+                    monitor.leak(name, TimeUnit.NANOSECONDS.toMillis(held), connection.getBorrower());
+                }
+            } else if (state == PooledConnection.FREE && maxIdle > 0 && total.get() > minSize && now - connection.getLastAccess() > maxIdle) {
+                if (connection.compareAndSet(PooledConnection.FREE, PooledConnection.REMOVED)) {
+                    discard(connection);
+                }
+            }
+        }
+        fill();
+    }
+
+    /**
+     * Creates connections until the pool reaches its minimum size.
+     */
+    public void fill() {
+        while (!closed && total.get() < minSize) {
+            try {
+                if (create(false) == null) {
+                    return;
+                }
+            } catch (SQLException e) {
+                monitor.connectionError(name, e);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Closes the pool. Free connections are closed immediately and borrowed connections are closed when they are returned.
+     */
+    public void close() {
+        closed = true;
+        for (PooledConnection connection : bag.getConnections()) {
+            if (connection.compareAndSet(PooledConnection.FREE, PooledConnection.REMOVED)) {
+                discard(connection);
+            }
+        }
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getTotal() {
+        return total.get();
+    }
+
+    public int getActive() {
+        return count(PooledConnection.IN_USE);
+    }
+
+    public int getIdle() {
+        return count(PooledConnection.FREE);
+    }
+
+    public int getWaiting() {
+        return bag.getWaiters();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getLeaks() {
+        return leaks.sum();
+    }
+
+    /**
+     * Returns the histogram of times threads waited to borrow a connection.
+     *
+     * @return the histogram
+     */
+    public Histogram getWaitTimes() {
+        return waitTimes;
+    }
+
+    /**
+     * Returns the histogram of times connections were held by application code.
+     *
+     * @return the histogram
+     */
+    public Histogram getUsageTimes() {
+        return usageTimes;
+    }
+
+    /**
+     * Returns the approximate number of prepared statements served from connection caches.
+     *
+     * @return the number of cache hits
+     */
+    public long getStatementCacheHits() {
+        long hits = 0;
+        for (PooledConnection connection : bag.getConnections()) {
+            StatementCache cache = connection.getStatements();
+            hits += cache == null ? 0 : cache.getHits();
+        }
+        return hits;
+    }
+
+    /**
+     * Returns the approximate number of prepared statements that were not found in connection caches.
+     *
+     * @return the number of cache misses
+     */
+    public long getStatementCacheMisses() {
+        long misses = 0;
+        for (PooledConnection connection : bag.getConnections()) {
+            StatementCache cache = connection.getStatements();
+            misses += cache == null ? 0 : cache.getMisses();
+        }
+        return misses;
+    }
+
+    /**
+     * Clears the timing histograms and counters.
+     */
+    public void reset() {
+        waitTimes.reset();
+        usageTimes.reset();
+        timeouts.reset();
+        leaks.reset();
+    }
+
+    private PooledConnection await(long deadline) throws SQLException {
+        long remaining = deadline - System.nanoTime();
+        PooledConnection connection = null;
+        try {
+            if (remaining > 0) {
+                connection = bag.borrow(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted waiting for connection from datasource " + name, e);
+        }
+        if (connection == null) {
+            timeouts.increment();
+            throw new SQLTransientConnectionException("Timeout waiting for connection from datasource " + name);
+        }
+        return connection;
+    }
+
+    /**
+     * Creates a connection if the pool is below its maximum size.
+     *
+     * @param claim true if the connection should be claimed by the calling thread, false if it should be added to the pool as free
+     * @return the connection or null if the pool is at its maximum size
+     * @throws SQLException if there is an error creating the connection
+     */
+    private PooledConnection create(boolean claim) throws SQLException {
+        while (true) {
+            int size = total.get();
+            if (size >= maxSize) {
+                return null;
+            }
+            if (total.compareAndSet(size, size + 1)) {
+                break;
+            }
+        }
+        Connection physical = null;
+        try {
+            physical = driver.connect(url, properties);
+            if (physical == null) {
+                throw new SQLException("Driver does not accept URL for datasource " + name + ": " + url);
+            }
+            PooledConnection connection = new PooledConnection(physical, statementCacheSize);
+            connection.defaultIsolation = physical.getTransactionIsolation();
+            connection.defaultCatalog = physical.getCatalog();
+            if (claim) {
+                connection.setState(PooledConnection.IN_USE);
+            }
+            bag.add(connection);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            total.decrementAndGet();
+            if (physical != null) {
+                close(physical);
+            }
+            throw e;
+        }
+    }
+
+    private boolean validate(PooledConnection connection) {
+        if (System.nanoTime() - connection.getLastAccess() < TimeUnit.MILLISECONDS.toNanos(VALIDATION_BYPASS)) {
+            return true;
+        }
+        Connection physical = connection.getConnection();
+        try {
+            if (query == null) {
+                return physical.isValid(VALIDATION_TIMEOUT);
+            }
+            try (Statement statement = physical.createStatement()) {
+                statement.setQueryTimeout(VALIDATION_TIMEOUT);
+                statement.execute(query);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        bag.remove(connection);
+        total.decrementAndGet();
+        StatementCache cache = connection.getStatements();
+        if (cache != null) {
+            cache.clear();
+        }
+        close(connection.getConnection());
+    }
+
+    private void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+
+    private int count(int state) {
+        int count = 0;
+        for (PooledConnection connection : bag.getConnections()) {
+            if (connection.getState() == state) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
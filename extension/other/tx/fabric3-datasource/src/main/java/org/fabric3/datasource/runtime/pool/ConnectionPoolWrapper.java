@@ -0,0 +1,137 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.util.List;
+
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
+
+/**
+ * A wrapper used to expose a {@link ConnectionPool} as a managed instance. Times are reported in microseconds.
+ */
+@Management
+public class ConnectionPoolWrapper {
+    private ConnectionPool pool;
+    private List<String> aliases;
+
+    public ConnectionPoolWrapper(ConnectionPool pool, List<String> aliases) {
+        this.pool = pool;
+        this.aliases = aliases;
+    }
+
+    @ManagementOperation(description = "The aliases this datasource is registered under")
+    public List<String> getAliases() {
+        return aliases;
+    }
+
+    @ManagementOperation(description = "The minimum connection pool size")
+    public int getMinPoolSize() {
+        return pool.getMinSize();
+    }
+
+    @ManagementOperation(description = "The maximum connection pool size")
+    public int getMaxPoolSize() {
+        return pool.getMaxSize();
+    }
+
+    @ManagementOperation(description = "The number of open connections")
+    public int getTotalConnections() {
+        return pool.getTotal();
+    }
+
+    @ManagementOperation(description = "The number of connections in use")
+    public int getActiveConnections() {
+        return pool.getActive();
+    }
+
+    @ManagementOperation(description = "The number of idle connections")
+    public int getIdleConnections() {
+        return pool.getIdle();
+    }
+
+    @ManagementOperation(description = "The number of threads waiting for a connection")
+    public int getWaitingThreads() {
+        return pool.getWaiting();
+    }
+
+    @ManagementOperation(description = "The number of requests that timed out waiting for a connection")
+    public long getTimeouts() {
+        return pool.getTimeouts();
+    }
+
+    @ManagementOperation(description = "The number of connections reported as leaked")
+    public long getLeaks() {
+        return pool.getLeaks();
+    }
+
+    @ManagementOperation(description = "The number of prepared statements served from the statement cache")
+    public long getStatementCacheHits() {
+        return pool.getStatementCacheHits();
+    }
+
+    @ManagementOperation(description = "The number of prepared statements not found in the statement cache")
+    public long getStatementCacheMisses() {
+        return pool.getStatementCacheMisses();
+    }
+
+    @ManagementOperation(description = "The mean time waiting for a connection")
+    public long getMeanWaitTime() {
+        return pool.getWaitTimes().getMean();
+    }
+
+    @ManagementOperation(description = "The 99th percentile time waiting for a connection")
+    public long getWaitTime99() {
+        return pool.getWaitTimes().getPercentile(99);
+    }
+
+    @ManagementOperation(description = "The maximum time waiting for a connection")
+    public long getMaxWaitTime() {
+        return pool.getWaitTimes().getMax();
+    }
+
+    @ManagementOperation(description = "The distribution of times waiting for a connection")
+    public String getWaitTimes() {
+        return pool.getWaitTimes().toString();
+    }
+
+    @ManagementOperation(description = "The mean time connections are held")
+    public long getMeanUsageTime() {
+        return pool.getUsageTimes().getMean();
+    }
+
+    @ManagementOperation(description = "The 99th percentile time connections are held")
+    public long getUsageTime99() {
+        return pool.getUsageTimes().getPercentile(99);
+    }
+
+    @ManagementOperation(description = "The maximum time connections are held")
+    public long getMaxUsageTime() {
+        return pool.getUsageTimes().getMax();
+    }
+
+    @ManagementOperation(description = "The distribution of times connections are held")
+    public String getUsageTimes() {
+        return pool.getUsageTimes().toString();
+    }
+
+    @ManagementOperation(description = "Clears timing statistics and counters")
+    public void reset() {
+        pool.reset();
+    }
+
+}
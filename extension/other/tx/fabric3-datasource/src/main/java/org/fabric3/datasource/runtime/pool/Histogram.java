@@ -0,0 +1,133 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of durations using power-of-two microsecond buckets.
+ *
+ * Recording is lock-free. Percentiles are reported as the upper bound of the bucket containing the percentile and are therefore accurate to within a factor
+ * of two.
+ */
+public class Histogram {
+    private static final int BUCKETS = 40;
+
+    private LongAdder[] buckets = new LongAdder[BUCKETS];
+    private LongAdder total = new LongAdder();
+    private AtomicLong max = new AtomicLong();
+
+    public Histogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        int bucket = micros <= 0 ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket].increment();
+        total.add(micros);
+        long current;
+        while (micros > (current = max.get()) && !max.compareAndSet(current, micros)) {
+            // retry
+        }
+    }
+
+    /**
+     * Returns the number of recorded durations.
+     *
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucket : buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the mean duration in microseconds.
+     *
+     * @return the mean or 0 if no durations have been recorded
+     */
+    public long getMean() {
+        long count = getCount();
+        return count == 0 ? 0 : total.sum() / count;
+    }
+
+    /**
+     * Returns the maximum recorded duration in microseconds.
+     *
+     * @return the maximum duration
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Returns an upper bound for the duration at the given percentile in microseconds.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the duration or 0 if no durations have been recorded
+     */
+    public long getPercentile(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(count * percentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= threshold) {
+                return Math.min(i == 0 ? 0 : 1L << i, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Clears recorded durations.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        total.reset();
+        max.set(0);
+    }
+
+    public String toString() {
+        return "count=" + getCount() + ", mean=" + getMean() + "us, p50=" + getPercentile(50) + "us, p90=" + getPercentile(90) + "us, p99=" + getPercentile(99)
+               + "us, max=" + getMax() + "us";
+    }
+
+}
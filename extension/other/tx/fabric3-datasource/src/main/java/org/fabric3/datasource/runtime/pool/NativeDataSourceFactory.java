@@ -0,0 +1,156 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.sql.Driver;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.fabric3.api.annotation.monitor.Monitor;
+import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.api.model.type.resource.datasource.DataSourceConfiguration;
+import org.fabric3.api.model.type.resource.datasource.DataSourceType;
+import org.fabric3.datasource.spi.DataSourceFactory;
+import org.fabric3.datasource.spi.DataSourceRegistry;
+import org.fabric3.spi.management.ManagementService;
+import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.Init;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Creates non-XA datasources backed by a native {@link ConnectionPool}. Selected by setting the datasource provider to {@code native}.
+ *
+ * Pools are maintained by a shared housekeeping thread at their configured maintenance interval.
+ */
+public class NativeDataSourceFactory implements DataSourceFactory {
+    private static final int DEFAULT_MAINTENANCE_INTERVAL = 30;   // seconds
+
+    private DataSourceRegistry registry;
+    private ManagementService managementService;
+    private PoolMonitor monitor;
+
+    private Map<String, ConnectionPool> pools = new ConcurrentHashMap<>();
+    private Map<String, ScheduledFuture<?>> schedules = new ConcurrentHashMap<>();
+    private ScheduledExecutorService housekeeper;
+
+    public NativeDataSourceFactory(@Reference DataSourceRegistry registry, @Reference ManagementService managementService, @Monitor PoolMonitor monitor) {
+        this.registry = registry;
+        this.managementService = managementService;
+        this.monitor = monitor;
+    }
+
+    @Init
+    public void init() {
+        housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Fabric3 datasource housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Destroy
+    public void destroy() {
+        housekeeper.shutdownNow();
+        pools.values().forEach(ConnectionPool::close);
+        pools.clear();
+        schedules.clear();
+    }
+
+    public void create(DataSourceConfiguration configuration) throws Fabric3Exception {
+        String name = configuration.getName();
+        if (DataSourceType.XA == configuration.getType()) {
+            throw new Fabric3Exception("XA datasources are not supported by the native provider: " + name);
+        }
+        if (registry.getDataSource(name) != null) {
+            throw new Fabric3Exception("Datasource already registered with name: " + name);
+        }
+        for (String alias : configuration.getAliases()) {
+            if (registry.getDataSource(alias) != null) {
+                throw new Fabric3Exception("Datasource already registered with name: " + name);
+            }
+        }
+        ConnectionPool pool;
+        try {
+            pool = new ConnectionPool(configuration, loadDriver(configuration.getDriverClass()), monitor);
+        } catch (IllegalArgumentException e) {
+            throw new Fabric3Exception(e.getMessage());
+        }
+        pool.fill();
+        pools.put(name, pool);
+        int interval = configuration.getMaintenanceInterval() > 0 ? configuration.getMaintenanceInterval() : DEFAULT_MAINTENANCE_INTERVAL;
+        schedules.put(name, housekeeper.scheduleWithFixedDelay(() -> housekeep(pool), interval, interval, TimeUnit.SECONDS));
+        NativeDataSource dataSource = new NativeDataSource(pool);
+        boolean localTransactions = configuration.isLocalTransactions();
+        registry.register(name, dataSource, localTransactions);
+        for (String alias : configuration.getAliases()) {
+            registry.register(alias, dataSource, localTransactions);
+        }
+        managementService.export(encode(name), "datasources", "Configured datasources", new ConnectionPoolWrapper(pool, configuration.getAliases()));
+    }
+
+    public void remove(DataSourceConfiguration configuration) throws Fabric3Exception {
+        String name = configuration.getName();
+        ConnectionPool pool = pools.remove(name);
+        if (pool == null) {
+            throw new Fabric3Exception("DataSource not registered: " + name);
+        }
+        for (String alias : configuration.getAliases()) {
+            registry.unregister(alias);
+        }
+        registry.unregister(name);
+        managementService.remove(encode(name), "datasources");
+        ScheduledFuture<?> schedule = schedules.remove(name);
+        if (schedule != null) {
+            schedule.cancel(false);
+        }
+        pool.close();
+    }
+
+    private void housekeep(ConnectionPool pool) {
+        try {
+            pool.housekeep();
+        } catch (RuntimeException e) {
+            // catch so that subsequent runs are not suppressed by the executor
+            monitor.connectionError(pool.getName(), e);
+        }
+    }
+
+    private Driver loadDriver(String driverClass) throws Fabric3Exception {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        try {
+            Class<?> clazz;
+            try {
+                clazz = Class.forName(driverClass, true, loader != null ? loader : getClass().getClassLoader());
+            } catch (ClassNotFoundException e) {
+                clazz = Class.forName(driverClass, true, getClass().getClassLoader());
+            }
+            return (Driver) clazz.newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | ClassCastException e) {
+            throw new Fabric3Exception("Unable to load JDBC driver: " + driverClass, e);
+        }
+    }
+
+    private String encode(String name) {
+        return "datasources/" + name.toLowerCase();
+    }
+
+}
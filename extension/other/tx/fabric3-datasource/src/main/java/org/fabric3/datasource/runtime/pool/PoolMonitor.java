@@ -0,0 +1,33 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import org.fabric3.api.annotation.monitor.Severe;
+import org.fabric3.api.annotation.monitor.Warning;
+
+/**
+ *
+ */
+public interface PoolMonitor {
+
+    @Warning("Connection from datasource {0} has not been returned after {1} ms. It may have been leaked by the borrowing code")
+    void leak(String name, long time, Throwable borrower);
+
+    @Severe("Error managing connection for datasource {0}")
+    void connectionError(String name, Throwable e);
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A physical connection managed by a {@link ConnectionPool}.
+ *
+ * Ownership is controlled by an atomic state: a connection is claimed by a compare-and-set from {@link #FREE} to {@link #IN_USE}. Fields other than the state
+ * are only accessed by the thread owning the connection or by the pool housekeeper for connections that are free.
+ */
+public class PooledConnection {
+    public static final int REMOVED = -1;
+    public static final int FREE = 0;
+    public static final int IN_USE = 1;
+
+    private AtomicInteger state = new AtomicInteger(FREE);
+    private Connection connection;
+    private StatementCache statements;
+
+    private volatile long lastAccess;
+    private volatile long borrowed;
+    private volatile Throwable borrower;
+    private volatile boolean leakReported;
+
+    // connection state reset when the connection is returned to the pool
+    boolean autoCommit = true;
+    boolean dirty;
+    int defaultIsolation;
+    String defaultCatalog;
+
+    public PooledConnection(Connection connection, int statementCacheSize) {
+        this.connection = connection;
+        this.statements = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+        this.lastAccess = System.nanoTime();
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns the prepared statement cache for the connection.
+     *
+     * @return the cache or null if statements are not cached
+     */
+    public StatementCache getStatements() {
+        return statements;
+    }
+
+    public int getState() {
+        return state.get();
+    }
+
+    public boolean compareAndSet(int expect, int update) {
+        return state.compareAndSet(expect, update);
+    }
+
+    public void setState(int state) {
+        this.state.set(state);
+    }
+
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    public void setLastAccess(long lastAccess) {
+        this.lastAccess = lastAccess;
+    }
+
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    /**
+     * Returns the stack trace of the borrowing thread if leak detection is enabled.
+     *
+     * @return the trace or null
+     */
+    public Throwable getBorrower() {
+        return borrower;
+    }
+
+    /**
+     * Records that the connection was borrowed.
+     *
+     * @param time     the time in nanoseconds
+     * @param borrower the stack trace of the borrowing thread or null if leak detection is not enabled
+     */
+    public void borrowed(long time, Throwable borrower) {
+        this.borrowed = time;
+        this.borrower = borrower;
+        this.leakReported = false;
+    }
+
+    public boolean isLeakReported() {
+        return leakReported;
+    }
+
+    public void setLeakReported() {
+        this.leakReported = true;
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A least-recently-used cache of idle prepared statements for a single connection.
+ *
+ * Statements are removed from the cache while in use and returned when closed by the application. The cache is only accessed by the thread owning the
+ * connection and is not thread-safe.
+ */
+public class StatementCache {
+    private int size;
+    private long hits;
+    private long misses;
+
+    private LinkedHashMap<StatementKey, PreparedStatement> statements;
+
+    public StatementCache(int size) {
+        this.size = size;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Removes and returns a cached statement.
+     *
+     * @param key the statement key
+     * @return the statement or null if not cached
+     */
+    public PreparedStatement take(StatementKey key) {
+        PreparedStatement statement = statements.remove(key);
+        if (statement == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return statement;
+    }
+
+    /**
+     * Returns a statement to the cache, closing the least recently used statement if the cache is full.
+     *
+     * @param key       the statement key
+     * @param statement the statement
+     */
+    public void put(StatementKey key, PreparedStatement statement) {
+        PreparedStatement previous = statements.put(key, statement);
+        if (previous != null && previous != statement) {
+            close(previous);
+        }
+        if (statements.size() > size) {
+            Iterator<Map.Entry<StatementKey, PreparedStatement>> iterator = statements.entrySet().iterator();
+            close(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Closes all cached statements.
+     */
+    public void clear() {
+        statements.values().forEach(this::close);
+        statements.clear();
+    }
+
+    private void close(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            // ignore
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Identifies a cached prepared statement by its SQL and result set options.
+ */
+public final class StatementKey {
+    private String sql;
+    private int resultSetType;
+    private int resultSetConcurrency;
+    private int autoGeneratedKeys;
+    private int hashCode;
+
+    public StatementKey(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) {
+        this.sql = sql;
+        this.resultSetType = resultSetType;
+        this.resultSetConcurrency = resultSetConcurrency;
+        this.autoGeneratedKeys = autoGeneratedKeys;
+        int result = sql.hashCode();
+        result = 31 * result + resultSetType;
+        result = 31 * result + resultSetConcurrency;
+        result = 31 * result + autoGeneratedKeys;
+        this.hashCode = result;
+    }
+
+    /**
+     * Prepares a statement for the key on a physical connection.
+     *
+     * @param connection the connection
+     * @return the statement
+     * @throws SQLException if there is an error preparing the statement
+     */
+    public PreparedStatement prepare(Connection connection) throws SQLException {
+        if (autoGeneratedKeys != Statement.NO_GENERATED_KEYS) {
+            return connection.prepareStatement(sql, autoGeneratedKeys);
+        } else if (resultSetType != ResultSet.TYPE_FORWARD_ONLY || resultSetConcurrency != ResultSet.CONCUR_READ_ONLY) {
+            return connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+        }
+        return connection.prepareStatement(sql);
+    }
+
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StatementKey)) {
+            return false;
+        }
+        StatementKey other = (StatementKey) o;
+        return resultSetType == other.resultSetType && resultSetConcurrency == other.resultSetConcurrency && autoGeneratedKeys == other.autoGeneratedKeys
+               && sql.equals(other.sql);
+    }
+
+    public int hashCode() {
+        return hashCode;
+    }
+}
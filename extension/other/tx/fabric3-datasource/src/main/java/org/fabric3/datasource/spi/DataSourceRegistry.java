@@ -49,6 +49,16 @@ public interface DataSourceRegistry {
      */
     void register(String name, DataSource dataSource);
 
+    /**
+     * Registers a datasource by name.
+     *
+     * @param name              the name of the datasource.
+     * @param dataSource        the datasource to be registered.
+     * @param localTransactions true if connections obtained from the datasource participate in lazily started local transactions. Must only be set for
+     *                          datasources whose connections are not enlisted with the transaction manager.
+     */
+    void register(String name, DataSource dataSource, boolean localTransactions);
+
     /**
      * Unregisters a datasource.
      *
@@ -60,6 +60,16 @@ public class DataSourceResourceLoaderTestCase extends TestCase {
                     "   </datasource>" +
                     "</datasources>";
 
+    private static final String NATIVE_DATASOURCE =
+            "<datasources>" +
+                    "   <datasource name='test' driver='foo.Bar' provider='native' url='jdbc:test'>" +
+                    "      <maxPoolSize>10</maxPoolSize>" +
+                    "      <statementCacheSize>64</statementCacheSize>" +
+                    "      <localTransactions>true</localTransactions>" +
+                    "      <leakThreshold>60</leakThreshold>" +
+                    "   </datasource>" +
+                    "</datasources>";
+
     private DataSourceResourceLoader loader = new DataSourceResourceLoader();
 
     public void testSingleDataSourceParse() throws Exception {
@@ -80,6 +90,7 @@ public class DataSourceResourceLoaderTestCase extends TestCase {
         assertEquals(50000, configuration.getMaxIdle());
         assertEquals(30, configuration.getPoolSize());
         assertEquals(40, configuration.getReap());
+        assertEquals(-1, configuration.getLeakThreshold());
         assertEquals("test query", configuration.getQuery());
         assertEquals("bar", configuration.getProperty("foo"));
 
@@ -107,6 +118,22 @@ public class DataSourceResourceLoaderTestCase extends TestCase {
 
     }
 
+    public void testProviderParse() throws Exception {
+        DefaultIntrospectionContext context = new DefaultIntrospectionContext();
+        XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(new ByteArrayInputStream(NATIVE_DATASOURCE.getBytes()));
+
+        DataSourceResource resource = loader.load(reader, context);
+
+        assertFalse(context.hasErrors());
+        DataSourceConfiguration configuration = resource.getConfigurations().get(0);
+        assertEquals("native", configuration.getProvider());
+        assertEquals(DataSourceType.NON_XA, configuration.getType());
+        assertEquals(10, configuration.getMaxPoolSize());
+        assertEquals(64, configuration.getStatementCacheSize());
+        assertTrue(configuration.isLocalTransactions());
+        assertEquals(60, configuration.getLeakThreshold());
+    }
+
     private void validateDataSource1(DataSourceConfiguration configuration) {
         assertEquals("test", configuration.getName());
         assertEquals("foo.Bar", configuration.getDriverClass());
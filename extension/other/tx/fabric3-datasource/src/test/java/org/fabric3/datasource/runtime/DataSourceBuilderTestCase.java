@@ -20,10 +20,13 @@ package org.fabric3.datasource.runtime;
 
 import javax.sql.DataSource;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
+import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.model.type.resource.datasource.DataSourceConfiguration;
 import org.fabric3.api.model.type.resource.datasource.DataSourceType;
 import org.fabric3.datasource.provision.PhysicalDataSourceResource;
@@ -42,7 +45,7 @@ public class DataSourceBuilderTestCase extends TestCase {
         factory.remove(EasyMock.isA(DataSourceConfiguration.class));
         EasyMock.replay(dataSource, factory);
 
-        DataSourceBuilder builder = new DataSourceBuilder(factory);
+        DataSourceBuilder builder = new DataSourceBuilder(Collections.singletonMap("atomikos", factory));
 
         DataSourceConfiguration configuration = new DataSourceConfiguration("datasource", "driver", DataSourceType.XA);
         List<DataSourceConfiguration> list = Collections.singletonList(configuration);
@@ -54,4 +57,40 @@ public class DataSourceBuilderTestCase extends TestCase {
 
         EasyMock.verify(dataSource, factory);
     }
+
+    public void testProviderSelection() throws Exception {
+        DataSourceFactory xaFactory = EasyMock.createMock(DataSourceFactory.class);
+        DataSourceFactory nativeFactory = EasyMock.createMock(DataSourceFactory.class);
+
+        DataSourceConfiguration defaultConfiguration = new DataSourceConfiguration("datasource1", "driver", DataSourceType.NON_XA);
+        DataSourceConfiguration nativeConfiguration = new DataSourceConfiguration("datasource2", "driver", DataSourceType.NON_XA);
+        nativeConfiguration.setProvider("native");
+
+        xaFactory.create(defaultConfiguration);
+        nativeFactory.create(nativeConfiguration);
+        EasyMock.replay(xaFactory, nativeFactory);
+
+        Map<String, DataSourceFactory> factories = new HashMap<>();
+        factories.put("native", nativeFactory);
+        factories.put("atomikos", xaFactory);
+        DataSourceBuilder builder = new DataSourceBuilder(factories);
+
+        builder.build(new PhysicalDataSourceResource(Collections.singletonList(defaultConfiguration)));
+        builder.build(new PhysicalDataSourceResource(Collections.singletonList(nativeConfiguration)));
+
+        EasyMock.verify(xaFactory, nativeFactory);
+    }
+
+    public void testProviderNotInstalled() throws Exception {
+        DataSourceConfiguration configuration = new DataSourceConfiguration("datasource", "driver", DataSourceType.NON_XA);
+        configuration.setProvider("native");
+
+        DataSourceBuilder builder = new DataSourceBuilder(Collections.emptyMap());
+        try {
+            builder.build(new PhysicalDataSourceResource(Collections.singletonList(configuration)));
+            fail();
+        } catch (Fabric3Exception e) {
+            // expected
+        }
+    }
 }
@@ -45,4 +45,19 @@ public class DataSourceRegistryImplTestCase extends TestCase {
 
         EasyMock.verify(dataSource);
     }
+
+    public void testRegisterLocalTransactions() throws Exception {
+        DataSource dataSource = EasyMock.createNiceMock(DataSource.class);
+        EasyMock.replay(dataSource);
+
+        DataSourceRegistryImpl registry = new DataSourceRegistryImpl();
+
+        registry.register("datasource", dataSource);
+        assertSame(dataSource, registry.getDataSource("datasource"));
+        assertSame(dataSource, registry.unregister("datasource"));
+
+        registry.register("datasource", dataSource, true);
+        assertTrue(registry.getDataSource("datasource") instanceof LocalTransactionDataSource);
+        assertSame(dataSource, registry.unregister("datasource"));
+    }
 }
@@ -0,0 +1,106 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.spi.transaction.LocalResource;
+import org.fabric3.spi.transaction.LocalTransactionScope;
+import org.fabric3.spi.transaction.LocalTransactions;
+
+/**
+ *
+ */
+public class LocalTransactionDataSourceTestCase extends TestCase {
+    private DataSource delegate;
+    private Connection connection;
+    private LocalTransactionDataSource dataSource;
+
+    public void testNoScope() throws Exception {
+        EasyMock.expect(delegate.getConnection()).andReturn(connection);
+        EasyMock.replay(delegate, connection);
+
+        assertSame(connection, dataSource.getConnection());
+
+        EasyMock.verify(delegate, connection);
+    }
+
+    public void testEnlistLocal() throws Exception {
+        EasyMock.expect(delegate.getConnection()).andReturn(connection);
+        connection.setAutoCommit(false);
+        connection.commit();
+        connection.setAutoCommit(true);
+        connection.close();
+        EasyMock.replay(delegate, connection);
+
+        LocalResource[] enlisted = new LocalResource[1];
+        LocalTransactionScope scope = EasyMock.createMock(LocalTransactionScope.class);
+        EasyMock.expect(scope.getResource(delegate)).andReturn(null);
+        EasyMock.expect(scope.canEnlist(delegate)).andReturn(true);
+        scope.enlist(EasyMock.eq(delegate), EasyMock.isA(LocalResource.class));
+        EasyMock.expectLastCall().andAnswer(() -> {
+            enlisted[0] = (LocalResource) EasyMock.getCurrentArguments()[1];
+            return null;
+        });
+        EasyMock.expect(scope.getResource(delegate)).andAnswer(() -> enlisted[0]);
+        EasyMock.replay(scope);
+
+        LocalTransactions.setScope(scope);
+        try {
+            Connection handle = dataSource.getConnection();
+            // closing the handle does not release the connection
+            handle.close();
+            assertSame(handle, dataSource.getConnection());
+        } finally {
+            LocalTransactions.setScope(null);
+        }
+        enlisted[0].commit();
+        enlisted[0].release();
+
+        EasyMock.verify(delegate, connection, scope);
+    }
+
+    public void testPromoted() throws Exception {
+        EasyMock.expect(delegate.getConnection()).andReturn(connection);
+        EasyMock.replay(delegate, connection);
+
+        LocalTransactionScope scope = EasyMock.createMock(LocalTransactionScope.class);
+        EasyMock.expect(scope.getResource(delegate)).andReturn(null);
+        EasyMock.expect(scope.canEnlist(delegate)).andReturn(false);
+        EasyMock.replay(scope);
+
+        LocalTransactions.setScope(scope);
+        try {
+            assertSame(connection, dataSource.getConnection());
+        } finally {
+            LocalTransactions.setScope(null);
+        }
+
+        EasyMock.verify(delegate, connection, scope);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        delegate = EasyMock.createMock(DataSource.class);
+        connection = EasyMock.createMock(Connection.class);
+        dataSource = new LocalTransactionDataSource(delegate);
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.datasource.runtime.pool;
+
+import java.sql.Connection;
+import java.sql.Driver;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Properties;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.model.type.resource.datasource.DataSourceConfiguration;
+import org.fabric3.api.model.type.resource.datasource.DataSourceType;
+
+/**
+ *
+ */
+public class ConnectionPoolTestCase extends TestCase {
+    private DataSourceConfiguration configuration;
+    private Driver driver;
+    private Connection physical;
+    private PoolMonitor monitor;
+
+    public void testReuseConnection() throws Exception {
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        EasyMock.replay(driver, physical, monitor);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        Connection connection = pool.getConnection();
+        assertEquals(1, pool.getActive());
+        connection.close();
+        assertTrue(connection.isClosed());
+        assertEquals(1, pool.getIdle());
+
+        pool.getConnection().close();
+        assertEquals(1, pool.getTotal());
+        assertEquals(2, pool.getUsageTimes().getCount());
+
+        EasyMock.verify(driver, physical, monitor);
+    }
+
+    public void testStatementCache() throws Exception {
+        PreparedStatement statement = EasyMock.createNiceMock(PreparedStatement.class);
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        EasyMock.expect(physical.prepareStatement("select 1")).andReturn(statement).once();
+        EasyMock.replay(driver, physical, statement, monitor);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        Connection connection = pool.getConnection();
+        PreparedStatement handle = connection.prepareStatement("select 1");
+        assertSame(connection, handle.getConnection());
+        handle.close();
+        connection.prepareStatement("select 1");
+        // closing the connection returns the open statement to the cache
+        connection.close();
+
+        connection = pool.getConnection();
+        connection.prepareStatement("select 1").close();
+        connection.close();
+
+        assertEquals(2, pool.getStatementCacheHits());
+        assertEquals(1, pool.getStatementCacheMisses());
+        EasyMock.verify(driver, physical, statement, monitor);
+    }
+
+    public void testStatementResetBeforeCaching() throws Exception {
+        PreparedStatement statement = EasyMock.createMock(PreparedStatement.class);
+        ResultSet resultSet = EasyMock.createMock(ResultSet.class);
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        EasyMock.expect(physical.prepareStatement("select 1")).andReturn(statement);
+        statement.addBatch();
+        EasyMock.expect(statement.executeQuery()).andReturn(resultSet);
+        resultSet.close();
+        statement.clearParameters();
+        statement.clearBatch();
+        statement.clearWarnings();
+        EasyMock.replay(driver, physical, statement, resultSet, monitor);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        Connection connection = pool.getConnection();
+        PreparedStatement handle = connection.prepareStatement("select 1");
+        handle.addBatch();
+        handle.executeQuery();
+        handle.close();
+
+        EasyMock.verify(driver, physical, statement, resultSet, monitor);
+    }
+
+    public void testModifiedStatementNotCached() throws Exception {
+        PreparedStatement statement = EasyMock.createMock(PreparedStatement.class);
+        PreparedStatement statement2 = EasyMock.createNiceMock(PreparedStatement.class);
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        EasyMock.expect(physical.prepareStatement("select 1")).andReturn(statement);
+        EasyMock.expect(physical.prepareStatement("select 1")).andReturn(statement2);
+        statement.setFetchSize(100);
+        statement.close();
+        EasyMock.replay(driver, physical, statement, statement2, monitor);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        Connection connection = pool.getConnection();
+        PreparedStatement handle = connection.prepareStatement("select 1");
+        handle.setFetchSize(100);
+        handle.close();
+        connection.prepareStatement("select 1").close();
+        connection.close();
+
+        assertEquals(0, pool.getStatementCacheHits());
+        assertEquals(2, pool.getStatementCacheMisses());
+        EasyMock.verify(driver, physical, statement, statement2, monitor);
+    }
+
+    public void testStatementsClosedWithConnection() throws Exception {
+        Statement statement = EasyMock.createMock(Statement.class);
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        EasyMock.expect(physical.createStatement()).andReturn(statement);
+        statement.close();
+        EasyMock.replay(driver, physical, statement, monitor);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        Connection connection = pool.getConnection();
+        connection.createStatement();
+        connection.close();
+
+        EasyMock.verify(driver, physical, statement, monitor);
+    }
+
+    public void testResetAutoCommit() throws Exception {
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        physical.setAutoCommit(false);
+        physical.rollback();
+        physical.setAutoCommit(true);
+        EasyMock.replay(driver, physical, monitor);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        Connection connection = pool.getConnection();
+        connection.setAutoCommit(false);
+        connection.close();
+
+        EasyMock.verify(driver, physical, monitor);
+    }
+
+    public void testTimeout() throws Exception {
+        configuration.setConnectionTimeout(0);
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        EasyMock.replay(driver, physical, monitor);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        pool.getConnection();
+        try {
+            pool.getConnection();
+            fail();
+        } catch (SQLTransientConnectionException e) {
+            // expected
+        }
+        assertEquals(1, pool.getTimeouts());
+
+        EasyMock.verify(driver, physical, monitor);
+    }
+
+    public void testLeakReported() throws Exception {
+        configuration.setLeakThreshold(1);
+        EasyMock.expect(driver.connect(EasyMock.eq("jdbc:test"), EasyMock.isA(Properties.class))).andReturn(physical);
+        EasyMock.replay(driver, physical);
+
+        ConnectionPool pool = new ConnectionPool(configuration, driver, monitor);
+        pool.getConnection();
+        pool.housekeep();
+        assertEquals(0, pool.getLeaks());
+
+        EasyMock.reset(monitor);
+        monitor.leak(EasyMock.eq("datasource"), EasyMock.anyLong(), EasyMock.isA(Throwable.class));
+        EasyMock.replay(monitor);
+        Thread.sleep(1100);
+        pool.housekeep();
+        pool.housekeep();
+        assertEquals(1, pool.getLeaks());
+
+        EasyMock.verify(driver, physical, monitor);
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        configuration = new DataSourceConfiguration("datasource", "driver", DataSourceType.NON_XA);
+        configuration.setUrl("jdbc:test");
+        configuration.setMaxPoolSize(1);
+        driver = EasyMock.createMock(Driver.class);
+        physical = EasyMock.createNiceMock(Connection.class);
+        monitor = EasyMock.createMock(PoolMonitor.class);
+    }
+}
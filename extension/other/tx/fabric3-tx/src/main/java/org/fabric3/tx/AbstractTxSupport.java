@@ -94,12 +94,14 @@ public abstract class AbstractTxSupport {
         }
     }
 
-    protected void commit() throws ServiceRuntimeException {
+    protected boolean commit() throws ServiceRuntimeException {
         try {
             if (transactionManager.getStatus() != Status.STATUS_MARKED_ROLLBACK) {
                 transactionManager.commit();
+                return true;
             } else {
                 rollback();
+                return false;
             }
         } catch (SystemException | RollbackException | HeuristicRollbackException | HeuristicMixedException | SecurityException | IllegalStateException e) {
             throw new ServiceRuntimeException(e);
@@ -0,0 +1,169 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.tx;
+
+import javax.transaction.HeuristicMixedException;
+import javax.transaction.HeuristicRollbackException;
+import javax.transaction.NotSupportedException;
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.SystemException;
+import javax.transaction.TransactionManager;
+
+import org.fabric3.spi.transaction.LocalResource;
+import org.fabric3.spi.transaction.LocalTransactionScope;
+import org.oasisopen.sca.ServiceRuntimeException;
+
+/**
+ * A scope started by a {@link TxInterceptor} in lazy-begin mode.
+ *
+ * Work using a single resource is committed using the resource's one-phase transaction without involving the transaction manager. A scope may be promoted to
+ * a global transaction only before a local resource is enlisted: work already performed on a local connection cannot be made atomic with the global
+ * transaction, so promotion is refused once a local resource is in use. Operations that require more than one resource must use a global transaction.
+ */
+public class LocalTransactionScopeImpl implements LocalTransactionScope {
+    private TransactionManager transactionManager;
+    private TxMonitor monitor;
+
+    private Object key;
+    private LocalResource resource;
+    private boolean promoted;
+
+    public LocalTransactionScopeImpl(TransactionManager transactionManager, TxMonitor monitor) {
+        this.transactionManager = transactionManager;
+        this.monitor = monitor;
+    }
+
+    public LocalResource getResource(Object key) {
+        return key.equals(this.key) ? resource : null;
+    }
+
+    public boolean canEnlist(Object key) {
+        if (promoted) {
+            return false;
+        }
+        if (this.key == null) {
+            return true;
+        }
+        // a second resource requires a global transaction
+        promote();
+        return false;
+    }
+
+    public void enlist(Object key, LocalResource resource) {
+        if (promoted || this.key != null) {
+            throw new IllegalStateException("A resource cannot be enlisted locally");
+        }
+        this.key = key;
+        this.resource = resource;
+    }
+
+    public void promote() {
+        if (promoted) {
+            return;
+        }
+        if (resource != null) {
+            throw new ServiceRuntimeException("A local resource is in use and the transaction cannot be promoted to a global transaction. Operations that use "
+                                              + "more than one resource must be configured to use global transactions.");
+        }
+        try {
+            transactionManager.begin();
+            promoted = true;
+        } catch (NotSupportedException | SystemException e) {
+            throw new ServiceRuntimeException(e);
+        }
+    }
+
+    public boolean isPromoted() {
+        return promoted;
+    }
+
+    /**
+     * Commits work performed in the scope. If the global transaction was marked for rollback, it is rolled back.
+     *
+     * @return true if the work was committed, false if it was rolled back
+     * @throws ServiceRuntimeException if there is an error completing the scope
+     */
+    public boolean commit() throws ServiceRuntimeException {
+        try {
+            if (promoted) {
+                // a promoted scope never has a local resource
+                try {
+                    if (transactionManager.getStatus() == Status.STATUS_MARKED_ROLLBACK) {
+                        monitor.rolledback(Thread.currentThread().getName());
+                        transactionManager.rollback();
+                        return false;
+                    }
+                    transactionManager.commit();
+                } catch (SystemException | RollbackException | HeuristicRollbackException | HeuristicMixedException | SecurityException | IllegalStateException e) {
+                    throw new ServiceRuntimeException(e);
+                }
+            } else if (resource != null) {
+                try {
+                    resource.commit();
+                } catch (Exception e) {
+                    throw new ServiceRuntimeException(e);
+                }
+            }
+            return true;
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Rolls back work performed in the scope.
+     *
+     * @throws ServiceRuntimeException if there is an error rolling back
+     */
+    public void rollback() throws ServiceRuntimeException {
+        try {
+            monitor.rolledback(Thread.currentThread().getName());
+            if (promoted) {
+                try {
+                    transactionManager.rollback();
+                } catch (SystemException | SecurityException | IllegalStateException e) {
+                    throw new ServiceRuntimeException(e);
+                }
+            } else {
+                rollbackResource();
+            }
+        } finally {
+            release();
+        }
+    }
+
+    private void rollbackResource() {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.rollback();
+        } catch (Exception e) {
+            throw new ServiceRuntimeException(e);
+        }
+    }
+
+    private void release() {
+        if (resource != null) {
+            resource.release();
+            resource = null;
+            key = null;
+        }
+    }
+
+}
@@ -25,13 +25,29 @@ import org.fabric3.spi.model.physical.PhysicalInterceptor;
  */
 public class PhysicalTxInterceptor extends PhysicalInterceptor {
     private TxAction txAction;
+    private String operation;
 
     public PhysicalTxInterceptor(TxAction txAction) {
+        this(txAction, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param txAction  the transaction action
+     * @param operation the name transaction statistics are recorded under or null if statistics are not recorded
+     */
+    public PhysicalTxInterceptor(TxAction txAction, String operation) {
         this.txAction = txAction;
+        this.operation = operation;
     }
 
     public final TxAction getAction() {
         return txAction;
     }
 
+    public String getOperation() {
+        return operation;
+    }
+
 }
@@ -20,9 +20,12 @@ package org.fabric3.tx;
 
 /**
  * Defines the possible transaction operations when a client invokes a service.
+ *
+ * BEGIN_LAZY starts a {@link org.fabric3.spi.transaction.LocalTransactionScope} instead of a global transaction if one is not active. A global transaction is only started if an
+ * operation requires one before a local resource is used.
  */
 public enum TxAction {
 
-    BEGIN, SUSPEND, PROPAGATE
+    BEGIN, BEGIN_LAZY, SUSPEND, PROPAGATE
 
 }
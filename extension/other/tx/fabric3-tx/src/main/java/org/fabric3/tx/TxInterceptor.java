@@ -23,15 +23,34 @@ import javax.transaction.TransactionManager;
 
 import org.fabric3.spi.container.invocation.Message;
 import org.fabric3.spi.container.wire.Interceptor;
+import org.fabric3.spi.transaction.LocalTransactionScope;
+import org.fabric3.spi.transaction.LocalTransactions;
 
 /**
  * Implements transaction policy for a wire operation.
+ *
+ * In lazy-begin mode, a {@link LocalTransactionScope} is started in place of a global transaction. Operations invoked within the scope that require a global
+ * transaction promote it; operations that suspend transactions are invoked outside the scope.
  */
 public class TxInterceptor extends AbstractTxSupport implements Interceptor {
     private Interceptor next;
+    private TxStatistics statistics;
 
     public TxInterceptor(TransactionManager tm, TxAction action, TxMonitor monitor) {
+        this(tm, action, null, monitor);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param tm         the transaction manager
+     * @param action     the transaction action
+     * @param statistics the statistics to record transactions started by the interceptor to or null if statistics are not recorded
+     * @param monitor    the monitor
+     */
+    public TxInterceptor(TransactionManager tm, TxAction action, TxStatistics statistics, TxMonitor monitor) {
         super(tm, action, monitor);
+        this.statistics = statistics;
     }
 
     public Interceptor getNext() {
@@ -43,11 +62,35 @@ public class TxInterceptor extends AbstractTxSupport implements Interceptor {
     }
 
     public Message invoke(Message message) {
+        LocalTransactionScope scope = LocalTransactions.getScope();
+        if (scope != null) {
+            if (txAction == TxAction.BEGIN) {
+                // the operation requires a global transaction
+                scope.promote();
+            } else if (txAction == TxAction.SUSPEND) {
+                // resources used by the operation must not participate in the scope
+                LocalTransactions.setScope(null);
+                try {
+                    return invoke(message, getTransaction());
+                } finally {
+                    LocalTransactions.setScope(scope);
+                }
+            }
+            return next.invoke(message);
+        }
 
         Transaction transaction = getTransaction();
+        if (txAction == TxAction.BEGIN_LAZY && transaction == null) {
+            return invokeLazy(message);
+        }
+        return invoke(message, transaction);
+    }
 
+    private Message invoke(Message message, Transaction transaction) {
+        long start = 0;
         if (txAction == TxAction.BEGIN) {
             if (transaction == null) {
+                start = System.nanoTime();
                 begin();
             }
         } else if (txAction == TxAction.SUSPEND && transaction != null) {
@@ -60,6 +103,7 @@ public class TxInterceptor extends AbstractTxSupport implements Interceptor {
         } catch (RuntimeException e) {
             if (txAction == TxAction.BEGIN && transaction == null) {
                 rollback();
+                record(start, false, true);
             } else if (txAction == TxAction.SUSPEND && transaction != null) {
                 monitor.resumeOnError(e);
                 resume(transaction);
@@ -68,9 +112,10 @@ public class TxInterceptor extends AbstractTxSupport implements Interceptor {
         }
 
         if (txAction == TxAction.BEGIN && transaction == null && !ret.isFault()) {
-            commit();
+            record(start, commit(), true);
         } else if (txAction == TxAction.BEGIN && transaction == null && ret.isFault()) {
             rollback();
+            record(start, false, true);
         } else if (txAction == TxAction.SUSPEND && transaction != null) {
             resume(transaction);
         }
@@ -78,4 +123,34 @@ public class TxInterceptor extends AbstractTxSupport implements Interceptor {
         return ret;
 
     }
+
+    private Message invokeLazy(Message message) {
+        long start = System.nanoTime();
+        LocalTransactionScopeImpl scope = new LocalTransactionScopeImpl(transactionManager, monitor);
+        LocalTransactions.setScope(scope);
+        Message ret;
+        try {
+            ret = next.invoke(message);
+        } catch (RuntimeException e) {
+            LocalTransactions.setScope(null);
+            scope.rollback();
+            record(start, false, scope.isPromoted());
+            throw e;
+        }
+        LocalTransactions.setScope(null);
+
+        if (ret.isFault()) {
+            scope.rollback();
+            record(start, false, scope.isPromoted());
+        } else {
+            record(start, scope.commit(), scope.isPromoted());
+        }
+        return ret;
+    }
+
+    private void record(long start, boolean committed, boolean global) {
+        if (statistics != null) {
+            statistics.record(System.nanoTime() - start, committed, global);
+        }
+    }
 }
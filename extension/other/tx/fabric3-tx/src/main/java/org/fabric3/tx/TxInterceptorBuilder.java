@@ -32,15 +32,21 @@ import org.oasisopen.sca.annotation.Reference;
 @Key("org.fabric3.tx.PhysicalTxInterceptor")
 public class TxInterceptorBuilder implements InterceptorBuilder<PhysicalTxInterceptor> {
     private TransactionManager transactionManager;
+    private TxStatisticsRegistry statisticsRegistry;
     private TxMonitor monitor;
 
-    public TxInterceptorBuilder(@Reference TransactionManager transactionManager, @Monitor TxMonitor monitor) {
+    public TxInterceptorBuilder(@Reference TransactionManager transactionManager,
+                                @Reference TxStatisticsRegistry statisticsRegistry,
+                                @Monitor TxMonitor monitor) {
         this.transactionManager = transactionManager;
+        this.statisticsRegistry = statisticsRegistry;
         this.monitor = monitor;
     }
 
     public Interceptor build(PhysicalTxInterceptor physicalInterceptor) {
-        return new TxInterceptor(transactionManager, physicalInterceptor.getAction(), monitor);
+        String operation = physicalInterceptor.getOperation();
+        TxStatistics statistics = operation == null ? null : statisticsRegistry.getStatistics(operation);
+        return new TxInterceptor(transactionManager, physicalInterceptor.getAction(), statistics, monitor);
     }
 
 }
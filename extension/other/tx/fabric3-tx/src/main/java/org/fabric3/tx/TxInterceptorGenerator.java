@@ -26,19 +26,30 @@ import org.fabric3.spi.domain.generator.InterceptorGenerator;
 import org.fabric3.spi.model.instance.LogicalOperation;
 import org.fabric3.spi.model.physical.PhysicalInterceptor;
 import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Property;
 
 /**
  * Generates metadata for creating a TxInterceptor on a wire invocation chain.
+ *
+ * If lazy begin is enabled, operations on components requiring local transactions ({@code managedTransaction.local}) complete a single resource using its
+ * native transaction instead of starting a global transaction.
  */
 @EagerInit
 public class TxInterceptorGenerator implements InterceptorGenerator {
-    private static final Optional<PhysicalInterceptor> PHYSICAL_INTERCEPTOR = Optional.of(new PhysicalTxInterceptor(TxAction.BEGIN));
+    private boolean lazyBegin;
+
+    @Property(required = false)
+    public void setLazyBegin(boolean lazyBegin) {
+        this.lazyBegin = lazyBegin;
+    }
 
     public Optional<PhysicalInterceptor> generate(LogicalOperation source, LogicalOperation target) {
         ComponentType componentType = target.getParent().getParent().getDefinition().getImplementation().getComponentType();
         List<String> policies = componentType.getPolicies();
         if (!policies.isEmpty() && containsPolicy(policies)) {
-            return PHYSICAL_INTERCEPTOR;
+            TxAction action = lazyBegin && isLocal(policies) ? TxAction.BEGIN_LAZY : TxAction.BEGIN;
+            String operation = target.getParent().getUri() + "." + target.getDefinition().getName();
+            return Optional.of(new PhysicalTxInterceptor(action, operation));
         }
         return Optional.empty();
     }
@@ -46,4 +57,8 @@ public class TxInterceptorGenerator implements InterceptorGenerator {
     private boolean containsPolicy(List<String> policies) {
         return policies.contains("managedTransaction") || policies.contains("managedTransaction.local") || policies.contains("managedTransaction.global");
     }
+
+    private boolean isLocal(List<String> policies) {
+        return policies.contains("managedTransaction.local") && !policies.contains("managedTransaction.global");
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.tx;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records timing and outcomes of transactions started by a {@link TxInterceptor} for an operation.
+ *
+ * Statistics are updated concurrently by invoking threads and may be read by management threads.
+ */
+public class TxStatistics {
+    private LongAdder committed = new LongAdder();
+    private LongAdder rolledBack = new LongAdder();
+    private LongAdder global = new LongAdder();
+    private LongAdder time = new LongAdder();
+
+    /**
+     * Records a completed transaction.
+     *
+     * @param elapsed   the time in nanoseconds from transaction start to completion
+     * @param committed true if the transaction committed
+     * @param global    true if a global transaction was used, false if the work completed without one
+     */
+    public void record(long elapsed, boolean committed, boolean global) {
+        if (committed) {
+            this.committed.increment();
+        } else {
+            this.rolledBack.increment();
+        }
+        if (global) {
+            this.global.increment();
+        }
+        time.add(elapsed);
+    }
+
+    /**
+     * Returns the number of transactions that committed.
+     *
+     * @return the number of transactions that committed
+     */
+    public long getCommitted() {
+        return committed.sum();
+    }
+
+    /**
+     * Returns the number of transactions that rolled back.
+     *
+     * @return the number of transactions that rolled back
+     */
+    public long getRolledBack() {
+        return rolledBack.sum();
+    }
+
+    /**
+     * Returns the number of transactions that used a global transaction.
+     *
+     * @return the number of global transactions
+     */
+    public long getGlobal() {
+        return global.sum();
+    }
+
+    /**
+     * Returns the average transaction time in nanoseconds.
+     *
+     * @return the average time or -1 if no transactions have completed
+     */
+    public long getAverageTime() {
+        long count = committed.sum() + rolledBack.sum();
+        return count == 0 ? -1 : time.sum() / count;
+    }
+
+    /**
+     * Clears the recorded statistics.
+     */
+    public void reset() {
+        committed.reset();
+        rolledBack.reset();
+        global.reset();
+        time.reset();
+    }
+
+    public String toString() {
+        long average = getAverageTime();
+        String time = average < 0 ? "n/a" : TimeUnit.NANOSECONDS.toMicros(average) + "us";
+        return "committed=" + getCommitted() + ", rolledBack=" + getRolledBack() + ", global=" + getGlobal() + ", time=" + time;
+    }
+}
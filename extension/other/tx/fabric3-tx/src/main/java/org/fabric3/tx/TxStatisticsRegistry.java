@@ -0,0 +1,57 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.tx;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
+
+/**
+ * Tracks {@link TxStatistics} for operations with transaction policy.
+ */
+@Management(name = "TransactionStatistics", path = "/runtime/transactions", description = "Reports transaction timing by operation")
+public class TxStatisticsRegistry {
+    private Map<String, TxStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the statistics for the operation, creating them if necessary.
+     *
+     * @param operation the operation name
+     * @return the statistics
+     */
+    public TxStatistics getStatistics(String operation) {
+        return statistics.computeIfAbsent(operation, k -> new TxStatistics());
+    }
+
+    @ManagementOperation(path = "/", description = "Transaction statistics by operation")
+    public Map<String, String> getStatistics() {
+        Map<String, String> values = new TreeMap<>();
+        for (Map.Entry<String, TxStatistics> entry : statistics.entrySet()) {
+            values.put(entry.getKey(), entry.getValue().toString());
+        }
+        return values;
+    }
+
+    @ManagementOperation(description = "Clears transaction statistics")
+    public void reset() {
+        statistics.values().forEach(TxStatistics::reset);
+    }
+
+}
@@ -27,6 +27,10 @@ import org.easymock.EasyMock;
 import org.fabric3.spi.container.invocation.Message;
 import org.fabric3.spi.container.invocation.MessageImpl;
 import org.fabric3.spi.container.wire.Interceptor;
+import org.fabric3.spi.transaction.LocalResource;
+import org.fabric3.spi.transaction.LocalTransactionScope;
+import org.fabric3.spi.transaction.LocalTransactions;
+import org.oasisopen.sca.ServiceRuntimeException;
 
 /**
  *
@@ -153,6 +157,159 @@ public class TxInterceptorTestCase extends TestCase {
         EasyMock.verify(tm, next);
     }
 
+    public void testLazyBeginSingleResource() throws Exception {
+        LocalResource resource = EasyMock.createMock(LocalResource.class);
+        resource.commit();
+        resource.release();
+        EasyMock.expect(tm.getTransaction()).andReturn(null);
+        EasyMock.expect(next.invoke(EasyMock.isA(Message.class))).andAnswer(() -> {
+            LocalTransactionScope scope = LocalTransactions.getScope();
+            assertTrue(scope.canEnlist("resource1"));
+            scope.enlist("resource1", resource);
+            assertSame(resource, scope.getResource("resource1"));
+            return message;
+        });
+        EasyMock.replay(tm, next, resource);
+
+        TxStatistics statistics = new TxStatistics();
+        TxInterceptor interceptor = new TxInterceptor(tm, TxAction.BEGIN_LAZY, statistics, monitor);
+        interceptor.setNext(next);
+
+        interceptor.invoke(message);
+
+        assertNull(LocalTransactions.getScope());
+        assertEquals(1, statistics.getCommitted());
+        assertEquals(0, statistics.getGlobal());
+        EasyMock.verify(tm, next, resource);
+    }
+
+    public void testLazyBeginPromoted() throws Exception {
+        EasyMock.expect(tm.getTransaction()).andReturn(null);
+        tm.begin();
+        EasyMock.expect(tm.getStatus()).andReturn(Status.STATUS_ACTIVE);
+        tm.commit();
+        EasyMock.expect(next.invoke(EasyMock.isA(Message.class))).andAnswer(() -> {
+            LocalTransactionScope scope = LocalTransactions.getScope();
+            scope.promote();
+            assertFalse(scope.canEnlist("resource1"));
+            assertTrue(scope.isPromoted());
+            return message;
+        });
+        EasyMock.replay(tm, next);
+
+        TxStatistics statistics = new TxStatistics();
+        TxInterceptor interceptor = new TxInterceptor(tm, TxAction.BEGIN_LAZY, statistics, monitor);
+        interceptor.setNext(next);
+
+        interceptor.invoke(message);
+
+        assertEquals(1, statistics.getCommitted());
+        assertEquals(1, statistics.getGlobal());
+        EasyMock.verify(tm, next);
+    }
+
+    public void testLazyBeginRefusesPromotionWithLocalResource() throws Exception {
+        LocalResource resource = EasyMock.createMock(LocalResource.class);
+        resource.rollback();
+        resource.release();
+        EasyMock.expect(tm.getTransaction()).andReturn(null);
+        EasyMock.expect(next.invoke(EasyMock.isA(Message.class))).andAnswer(() -> {
+            LocalTransactionScope scope = LocalTransactions.getScope();
+            assertTrue(scope.canEnlist("resource1"));
+            scope.enlist("resource1", resource);
+            scope.canEnlist("resource2");
+            fail();
+            return message;
+        });
+        EasyMock.replay(tm, next, resource);
+
+        TxStatistics statistics = new TxStatistics();
+        TxInterceptor interceptor = new TxInterceptor(tm, TxAction.BEGIN_LAZY, statistics, monitor);
+        interceptor.setNext(next);
+
+        try {
+            interceptor.invoke(message);
+            fail();
+        } catch (ServiceRuntimeException e) {
+            // expected
+        }
+
+        assertEquals(0, statistics.getCommitted());
+        assertEquals(0, statistics.getGlobal());
+        EasyMock.verify(tm, next, resource);
+    }
+
+    public void testLazyBeginRefusesGlobalOperationAfterLocalResource() throws Exception {
+        LocalResource resource = EasyMock.createMock(LocalResource.class);
+        resource.rollback();
+        resource.release();
+        Interceptor globalNext = EasyMock.createMock(Interceptor.class);
+        TxInterceptor global = new TxInterceptor(tm, TxAction.BEGIN, monitor);
+        global.setNext(globalNext);
+        EasyMock.expect(tm.getTransaction()).andReturn(null);
+        EasyMock.expect(next.invoke(EasyMock.isA(Message.class))).andAnswer(() -> {
+            LocalTransactions.getScope().enlist("resource1", resource);
+            return global.invoke(message);
+        });
+        EasyMock.replay(tm, next, globalNext, resource);
+
+        TxStatistics statistics = new TxStatistics();
+        TxInterceptor interceptor = new TxInterceptor(tm, TxAction.BEGIN_LAZY, statistics, monitor);
+        interceptor.setNext(next);
+
+        try {
+            interceptor.invoke(message);
+            fail();
+        } catch (ServiceRuntimeException e) {
+            // expected
+        }
+
+        assertNull(LocalTransactions.getScope());
+        assertEquals(0, statistics.getCommitted());
+        assertEquals(0, statistics.getGlobal());
+        EasyMock.verify(tm, next, globalNext, resource);
+    }
+
+    public void testLazyBeginRollbackOnFault() throws Exception {
+        Message fault = new MessageImpl();
+        fault.setBodyWithFault("");
+        LocalResource resource = EasyMock.createMock(LocalResource.class);
+        resource.rollback();
+        resource.release();
+        EasyMock.expect(tm.getTransaction()).andReturn(null);
+        EasyMock.expect(next.invoke(EasyMock.isA(Message.class))).andAnswer(() -> {
+            LocalTransactions.getScope().enlist("resource1", resource);
+            return fault;
+        });
+        EasyMock.replay(tm, next, resource);
+
+        TxInterceptor interceptor = new TxInterceptor(tm, TxAction.BEGIN_LAZY, monitor);
+        interceptor.setNext(next);
+
+        interceptor.invoke(message);
+
+        EasyMock.verify(tm, next, resource);
+    }
+
+    public void testBeginPromotesEnclosingScope() throws Exception {
+        LocalTransactionScope scope = EasyMock.createMock(LocalTransactionScope.class);
+        scope.promote();
+        EasyMock.expect(next.invoke(EasyMock.isA(Message.class))).andReturn(message);
+        EasyMock.replay(tm, next, scope);
+
+        TxInterceptor interceptor = new TxInterceptor(tm, TxAction.BEGIN, monitor);
+        interceptor.setNext(next);
+
+        LocalTransactions.setScope(scope);
+        try {
+            interceptor.invoke(message);
+        } finally {
+            LocalTransactions.setScope(null);
+        }
+
+        EasyMock.verify(tm, next, scope);
+    }
+
     @Override
     protected void setUp() throws Exception {
         super.setUp();
@@ -0,0 +1,57 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads values into a cache on a miss. Implemented by components that are configured as the loader for a cache using {@link
+ * org.fabric3.api.annotation.Cache#loader()}.
+ */
+public interface CacheLoader<K, V> {
+
+    /**
+     * Loads the value for a key.
+     *
+     * @param key the key
+     * @return the value or null if one does not exist
+     * @throws Exception if there is an error loading the value
+     */
+    V load(K key) throws Exception;
+
+    /**
+     * Loads values for a set of keys. Implementations should override this method if values can be loaded more efficiently in bulk, for example in a single
+     * query. The default implementation loads keys individually.
+     *
+     * @param keys the keys
+     * @return the loaded values keyed by key. Keys without a value may be omitted.
+     * @throws Exception if there is an error loading the values
+     */
+    default Map<K, V> loadAll(Collection<? extends K> keys) throws Exception {
+        Map<K, V> values = new LinkedHashMap<>();
+        for (K key : keys) {
+            V value = load(key);
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,45 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A cache that loads missing values using a {@link CacheLoader}. Concurrent misses for the same key result in a single load whose result is shared by all
+ * waiting threads.
+ *
+ * {@link #get(Object)} loads the value if it is not cached. Other map operations act on the underlying cache directly.
+ */
+public interface LoadingCache<K, V> extends ConcurrentMap<K, V> {
+
+    /**
+     * Returns the values for a set of keys, loading values for missing keys in a single batch.
+     *
+     * @param keys the keys
+     * @return the values keyed by key. Keys without a value are omitted.
+     */
+    Map<K, V> getAll(Iterable<? extends K> keys);
+
+    /**
+     * Asynchronously reloads the value for a key. The current value, if any, continues to be returned until the reload completes.
+     *
+     * @param key the key
+     */
+    void refresh(K key);
+
+}
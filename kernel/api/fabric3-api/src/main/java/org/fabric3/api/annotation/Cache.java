@@ -35,4 +35,20 @@ public @interface Cache {
      */
     public abstract String name() default "default";
 
+    /**
+     * Denotes the name of a component implementing {@link org.fabric3.api.CacheLoader} in the same composite that loads values on a cache miss. If
+     * specified, the cache is provided as a {@link org.fabric3.api.LoadingCache}.
+     *
+     * @return the loader component name or an empty string if values are not loaded
+     */
+    public abstract String loader() default "";
+
+    /**
+     * Denotes the time in milliseconds after a value is loaded that it is asynchronously reloaded when next read. The previous value is returned until the
+     * reload completes. Only valid when a loader is specified.
+     *
+     * @return the refresh time or -1 if values are not refreshed
+     */
+    public abstract long refreshAfterWrite() default -1;
+
 }
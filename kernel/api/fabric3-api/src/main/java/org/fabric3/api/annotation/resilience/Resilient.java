@@ -0,0 +1,95 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.api.annotation.resilience;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.oasisopen.sca.annotation.Intent;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Applies resilience policy to invocations made through a reference. The annotation is placed on the reference service interface or one of its methods, in
+ * which case it overrides a type-level annotation. The policy applies to all wires for the reference regardless of the binding used.
+ *
+ * Only unchecked exceptions and timeouts are treated as failures; checked exceptions declared by an operation are considered application responses.
+ */
+@Target({TYPE, METHOD})
+@Retention(RUNTIME)
+@Inherited
+@Intent(Resilient.RESILIENCE)
+public @interface Resilient {
+    String RESILIENCE = "{urn:fabric3.org}resilience";
+
+    /**
+     * The time in milliseconds to wait for an invocation attempt to complete or -1 to wait indefinitely.
+     *
+     * @return the timeout
+     */
+    long timeout() default -1;
+
+    /**
+     * The number of times a failed invocation is retried.
+     *
+     * @return the number of retries
+     */
+    int retries() default 0;
+
+    /**
+     * The initial time in milliseconds to back off before retrying. The back off doubles for each retry up to {@link #maxBackoff()}, and a random delay between
+     * zero and that value is used.
+     *
+     * @return the initial backoff
+     */
+    long backoff() default 100;
+
+    /**
+     * The maximum time in milliseconds to back off before retrying.
+     *
+     * @return the maximum backoff
+     */
+    long maxBackoff() default 10000;
+
+    /**
+     * The latency percentile, for example 95, after which a hedged request is sent if the original has not completed. The first response received is used.
+     * Hedging must only be enabled for idempotent operations. A value of -1 disables hedging.
+     *
+     * @return the hedging percentile
+     */
+    double hedgePercentile() default -1;
+
+    /**
+     * The number of consecutive failures after which the circuit is opened and invocations are rejected without being attempted, or -1 to disable circuit
+     * breaking.
+     *
+     * @return the failure threshold
+     */
+    int failureThreshold() default -1;
+
+    /**
+     * The time in milliseconds an open circuit rejects invocations before a single probe invocation is allowed through to determine if the circuit can be
+     * closed.
+     *
+     * @return the open time
+     */
+    long openTime() default 30000;
+
+}
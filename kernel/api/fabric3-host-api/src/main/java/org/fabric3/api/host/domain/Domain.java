@@ -62,5 +62,13 @@ public interface Domain {
      */
     void undeploy(Composite composite) throws Fabric3Exception;
 
+    /**
+     * Redeploys a composite that has changed. Where possible, only the components, channels and wires that differ from the deployed version are disposed and
+     * reprovisioned; unchanged components keep their running instances. If the composite has not been deployed, it is included in the domain.
+     *
+     * @param composite the updated composite
+     * @throws Fabric3Exception if an error is encountered during redeployment
+     */
+    void update(Composite composite) throws Fabric3Exception;
 
 }
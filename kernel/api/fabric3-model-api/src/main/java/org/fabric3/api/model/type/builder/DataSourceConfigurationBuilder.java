@@ -65,6 +65,12 @@ public class DataSourceConfigurationBuilder extends AbstractBuilder {
         return this;
     }
 
+    public DataSourceConfigurationBuilder leakThreshold(int threshold) {
+        checkState();
+        configuration.setLeakThreshold(threshold);
+        return this;
+    }
+
     public DataSourceConfigurationBuilder maxIdle(int idle) {
         checkState();
         configuration.setMaxIdle(idle);
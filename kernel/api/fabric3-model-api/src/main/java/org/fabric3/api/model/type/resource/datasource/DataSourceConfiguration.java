@@ -42,7 +42,11 @@ public class DataSourceConfiguration implements Serializable {
     private int maxIdle = -1;
     private int poolSize = -1;
     private int reap = -1;
+    private int leakThreshold = -1;
     private String query;
+    private String provider;
+    private int statementCacheSize = -1;
+    private boolean localTransactions;
 
     private Properties properties = new Properties();
 
@@ -165,6 +169,19 @@ public class DataSourceConfiguration implements Serializable {
         this.reap = reap;
     }
 
+    /**
+     * Returns the time in seconds a borrowed connection may be held before it is reported as leaked or -1 if leak detection is disabled.
+     *
+     * @return the leak threshold
+     */
+    public int getLeakThreshold() {
+        return leakThreshold;
+    }
+
+    public void setLeakThreshold(int leakThreshold) {
+        this.leakThreshold = leakThreshold;
+    }
+
     public String getQuery() {
         return query;
     }
@@ -173,6 +190,46 @@ public class DataSourceConfiguration implements Serializable {
         this.query = query;
     }
 
+    /**
+     * Returns the name of the provider that creates the datasource or null if the default provider should be used.
+     *
+     * @return the provider name or null
+     */
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    /**
+     * Returns the maximum number of prepared statements cached per connection or -1 if the provider default should be used.
+     *
+     * @return the statement cache size
+     */
+    public int getStatementCacheSize() {
+        return statementCacheSize;
+    }
+
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Returns true if the datasource participates in lazily started local transactions. Only non-XA datasources created by providers that support local
+     * transactions honor this setting.
+     *
+     * @return true if the datasource participates in local transactions
+     */
+    public boolean isLocalTransactions() {
+        return localTransactions;
+    }
+
+    public void setLocalTransactions(boolean localTransactions) {
+        this.localTransactions = localTransactions;
+    }
+
     /**
      * Sets a driver-specific property.
      *
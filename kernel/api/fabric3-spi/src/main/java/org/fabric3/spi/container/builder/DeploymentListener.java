@@ -0,0 +1,34 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.container.builder;
+
+import org.fabric3.api.host.Fabric3Exception;
+
+/**
+ * Receives a callback when the runtime has executed all commands of a deployment. Extensions that stage changes made while wires and components are provisioned
+ * can use the callback to apply them once per deployment.
+ */
+public interface DeploymentListener {
+
+    /**
+     * Callback when all commands of a deployment have been executed.
+     *
+     * @throws Fabric3Exception if staged changes cannot be applied
+     */
+    void onDeploymentCompleted() throws Fabric3Exception;
+
+}
@@ -37,4 +37,13 @@ public interface InterceptorBuilder<PID extends PhysicalInterceptor> {
      */
     Interceptor build(PID definition) throws Fabric3Exception;
 
+    /**
+     * Releases resources held for an interceptor when the wire it was built for is disconnected.
+     *
+     * @param definition metadata used for building the interceptor
+     * @throws Fabric3Exception if an error occurs disposing the interceptor
+     */
+    default void dispose(PID definition) throws Fabric3Exception {
+    }
+
 }
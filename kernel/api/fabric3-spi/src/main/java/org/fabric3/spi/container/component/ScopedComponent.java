@@ -18,6 +18,10 @@
  */
 package org.fabric3.spi.container.component;
 
+import java.net.URI;
+import java.util.Collections;
+import java.util.Set;
+
 import org.fabric3.api.host.Fabric3Exception;
 
 /**
@@ -33,6 +37,16 @@ public interface ScopedComponent extends AtomicComponent {
      */
     boolean isEagerInit();
 
+    /**
+     * Returns the URIs of the components this component is wired to. Scope containers use the dependencies to order eager initialization so that independent
+     * components can be initialized concurrently.
+     *
+     * @return the URIs of the components this component is wired to
+     */
+    default Set<URI> getDependencies() {
+        return Collections.emptySet();
+    }
+
     /**
      * Create a new implementation instance, fully injected with all property and reference values. The instance's lifecycle callbacks must not have been
      * called.
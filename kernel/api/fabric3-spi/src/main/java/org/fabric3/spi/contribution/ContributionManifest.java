@@ -18,6 +18,7 @@
  */
 package org.fabric3.spi.contribution;
 
+import javax.xml.namespace.QName;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -42,6 +43,7 @@ public class ContributionManifest implements Serializable {
     private List<Library> libraries = new ArrayList<>();
     private Set<Capability> requiredCapabilities = new HashSet<>();
     private Set<Capability> providedCapabilities = new HashSet<>();
+    private Set<QName> providedTypes = new HashSet<>();
     private List<Deployable> deployables = new ArrayList<>();
     private List<String> extensionPoints = new ArrayList<>();
     private List<String> extend = new ArrayList<>();
@@ -191,6 +193,25 @@ public class ContributionManifest implements Serializable {
         return providedCapabilities;
     }
 
+    /**
+     * Adds a binding, implementation, resource or intent type provided by this extension contribution.
+     *
+     * @param type the qualified name of the type
+     */
+    public void addProvidedType(QName type) {
+        providedTypes.add(type);
+    }
+
+    /**
+     * Returns the binding, implementation, resource and intent types provided by this extension contribution. Extensions that declare the types they provide
+     * may be activated on demand when a contribution first uses one of the types.
+     *
+     * @return the types provided by this contribution
+     */
+    public Set<QName> getProvidedTypes() {
+        return providedTypes;
+    }
+
     /**
      * Returns the list of extension points provided by this contribution.
      *
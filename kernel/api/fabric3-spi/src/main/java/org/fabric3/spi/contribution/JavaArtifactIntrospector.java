@@ -22,6 +22,7 @@ import java.net.URL;
 
 import org.fabric3.api.annotation.model.Component;
 import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 
 /**
  * Introspects a Java class and determines if it is a contribution resource, e.g. an annotated component or model provider class.
@@ -50,12 +51,12 @@ public interface JavaArtifactIntrospector {
         if (Modifier.isAbstract(clazz.getModifiers())) {
             return false;
         }
-        for (Annotation annotation : clazz.getAnnotations()) {
+        for (Annotation annotation : ClassMetadata.get(clazz).getAnnotations()) {
             if (Component.class.equals(annotation.annotationType())) {
                 return true;
             }
             // check the meta annotations
-            for (Annotation metaAnnotation : annotation.annotationType().getDeclaredAnnotations()) {
+            for (Annotation metaAnnotation : ClassMetadata.get(annotation.annotationType()).getDeclaredAnnotations()) {
                 if (Component.class.equals((metaAnnotation.annotationType()))) {
                     return true;
                 }
@@ -5,6 +5,7 @@ package org.fabric3.spi.discovery;
  */
 public class ServiceEntry extends AbstractEntry {
     private String path;
+    private int weight = 1;
 
     public ServiceEntry() {
     }
@@ -34,4 +35,23 @@ public class ServiceEntry extends AbstractEntry {
         check();
         this.path = path;
     }
+
+    /**
+     * Returns the relative weight clients use when load balancing requests across entries for the same service.
+     *
+     * @return the weight
+     */
+    public int getWeight() {
+        return weight;
+    }
+
+    /**
+     * Sets the relative weight clients use when load balancing requests across entries for the same service.
+     *
+     * @param weight the weight
+     */
+    public void setWeight(int weight) {
+        check();
+        this.weight = weight;
+    }
 }
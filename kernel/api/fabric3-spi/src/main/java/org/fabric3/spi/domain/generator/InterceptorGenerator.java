@@ -40,4 +40,16 @@ public interface InterceptorGenerator {
      */
     Optional<PhysicalInterceptor> generate(LogicalOperation source, LogicalOperation target) throws Fabric3Exception;
 
+    /**
+     * Generates a physical interceptor for an operation on a reference configured with a binding. In this case, the target operation is provided by a remote
+     * transport and is not known. By default, interceptors are not added to bound reference wires.
+     *
+     * @param source the reference operation
+     * @return the definition
+     * @throws Fabric3Exception if an exception occurs during generation
+     */
+    default Optional<PhysicalInterceptor> generateBoundReference(LogicalOperation source) throws Fabric3Exception {
+        return Optional.empty();
+    }
+
 }
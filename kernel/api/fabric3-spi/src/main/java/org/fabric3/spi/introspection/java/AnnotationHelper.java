@@ -15,11 +15,11 @@ public class AnnotationHelper {
      * @return the annotation or null if not present
      */
     public static <A extends Annotation> A findAnnotation(Class<A> annotationClass, Class<?> type) {
-        for (Annotation annotation : type.getAnnotations()) {
+        for (Annotation annotation : ClassMetadata.get(type).getAnnotations()) {
             if (annotationClass.equals(annotation.annotationType())) {
                 return annotationClass.cast(annotation);
             }
-            for (Annotation metaAnnotation : annotation.annotationType().getDeclaredAnnotations()) {
+            for (Annotation metaAnnotation : ClassMetadata.get(annotation.annotationType()).getDeclaredAnnotations()) {
                 if (annotationClass.equals(metaAnnotation.annotationType())) {
                     return annotationClass.cast(metaAnnotation);
                 }
@@ -0,0 +1,254 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.introspection.java;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached reflection metadata for a class, shared by introspection, contract processing and component builders.
+ *
+ * The JDK returns a copy of member and annotation arrays on each reflective call. This class performs each lookup once and returns the same arrays thereafter.
+ * Callers must therefore not modify returned arrays.
+ *
+ * Metadata is stored with the class using a {@link ClassValue} and does not hold a strong reference to the class or its classloader from outside. It is
+ * released along with the class when a contribution is uninstalled and its classloader discarded.
+ */
+public final class ClassMetadata {
+    private static final ClassValue<ClassMetadata> CACHE = new ClassValue<ClassMetadata>() {
+        protected ClassMetadata computeValue(Class<?> type) {
+            return new ClassMetadata(type);
+        }
+    };
+
+    private Class<?> type;
+
+    // lazily initialized; races are benign as the computed values are equivalent
+    private volatile Method[] declaredMethods;
+    private volatile Method[] methods;
+    private volatile Field[] declaredFields;
+    private volatile Map<String, Field> fieldsByName;
+    private volatile Constructor<?>[] declaredConstructors;
+    private volatile Annotation[] annotations;
+    private volatile Annotation[] declaredAnnotations;
+    private volatile Type genericSuperclass;
+    private volatile Type[] genericInterfaces;
+    private volatile boolean genericsResolved;
+
+    private Map<AnnotatedElement, Annotation[]> memberAnnotations = new ConcurrentHashMap<>();
+    private Map<Executable, Annotation[][]> parameterAnnotations = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the metadata for a class.
+     *
+     * @param type the class
+     * @return the metadata
+     */
+    public static ClassMetadata get(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Returns the declared annotations of a class, field, method or constructor. Annotations of fields and methods are cached with the metadata of their
+     * declaring class.
+     *
+     * @param element the annotated element
+     * @return the annotations
+     */
+    public static Annotation[] getDeclaredAnnotations(AnnotatedElement element) {
+        if (element instanceof Class) {
+            return get((Class<?>) element).getDeclaredAnnotations();
+        } else if (element instanceof Field) {
+            return get(((Field) element).getDeclaringClass()).getMemberAnnotations(element);
+        } else if (element instanceof Executable) {
+            return get(((Executable) element).getDeclaringClass()).getMemberAnnotations(element);
+        }
+        return element.getDeclaredAnnotations();
+    }
+
+    /**
+     * Returns the parameter annotations of a method or constructor.
+     *
+     * @param executable the method or constructor
+     * @return the annotations
+     */
+    public static Annotation[][] getParameterAnnotations(Executable executable) {
+        ClassMetadata metadata = get(executable.getDeclaringClass());
+        return metadata.parameterAnnotations.computeIfAbsent(executable, Executable::getParameterAnnotations);
+    }
+
+    private ClassMetadata(Class<?> type) {
+        this.type = type;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Returns the methods declared by the class.
+     *
+     * @return the methods
+     */
+    public Method[] getDeclaredMethods() {
+        Method[] current = declaredMethods;
+        if (current == null) {
+            current = type.getDeclaredMethods();
+            declaredMethods = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the public methods of the class, including those inherited.
+     *
+     * @return the methods
+     */
+    public Method[] getMethods() {
+        Method[] current = methods;
+        if (current == null) {
+            current = type.getMethods();
+            methods = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the fields declared by the class.
+     *
+     * @return the fields
+     */
+    public Field[] getDeclaredFields() {
+        Field[] current = declaredFields;
+        if (current == null) {
+            current = type.getDeclaredFields();
+            declaredFields = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the field with the given name declared by the class or the nearest superclass declaring it.
+     *
+     * @param name the field name
+     * @return the field or null if not found
+     */
+    public Field findField(String name) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            Field field = get(current).getFieldsByName().get(name);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the constructors declared by the class.
+     *
+     * @return the constructors
+     */
+    public Constructor<?>[] getDeclaredConstructors() {
+        Constructor<?>[] current = declaredConstructors;
+        if (current == null) {
+            current = type.getDeclaredConstructors();
+            declaredConstructors = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the annotations present on the class, including those inherited.
+     *
+     * @return the annotations
+     */
+    public Annotation[] getAnnotations() {
+        Annotation[] current = annotations;
+        if (current == null) {
+            current = type.getAnnotations();
+            annotations = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the annotations declared on the class.
+     *
+     * @return the annotations
+     */
+    public Annotation[] getDeclaredAnnotations() {
+        Annotation[] current = declaredAnnotations;
+        if (current == null) {
+            current = type.getDeclaredAnnotations();
+            declaredAnnotations = current;
+        }
+        return current;
+    }
+
+    /**
+     * Returns the generic superclass of the class.
+     *
+     * @return the generic superclass or null
+     */
+    public Type getGenericSuperclass() {
+        resolveGenerics();
+        return genericSuperclass;
+    }
+
+    /**
+     * Returns the generic interfaces directly implemented by the class.
+     *
+     * @return the generic interfaces
+     */
+    public Type[] getGenericInterfaces() {
+        resolveGenerics();
+        return genericInterfaces;
+    }
+
+    private Annotation[] getMemberAnnotations(AnnotatedElement member) {
+        return memberAnnotations.computeIfAbsent(member, AnnotatedElement::getDeclaredAnnotations);
+    }
+
+    private Map<String, Field> getFieldsByName() {
+        Map<String, Field> current = fieldsByName;
+        if (current == null) {
+            current = new HashMap<>();
+            for (Field field : getDeclaredFields()) {
+                current.put(field.getName(), field);
+            }
+            fieldsByName = current;
+        }
+        return current;
+    }
+
+    private void resolveGenerics() {
+        if (!genericsResolved) {
+            genericSuperclass = type.getGenericSuperclass();
+            genericInterfaces = type.getGenericInterfaces();
+            genericsResolved = true;
+        }
+    }
+
+}
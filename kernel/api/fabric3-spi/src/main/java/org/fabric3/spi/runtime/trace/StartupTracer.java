@@ -0,0 +1,87 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.runtime.trace;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Records timed spans for the work performed while a runtime boots, such as processing contributions, deploying composites, initializing components and
+ * executing deployment commands.
+ *
+ * Spans started on the same thread nest: a span started while another is open on that thread is recorded as its child. Recording stops when {@link
+ * #complete()} is called, after which {@link #start(String, String)} returns a span that does nothing when closed.
+ */
+public interface StartupTracer {
+
+    /**
+     * A span that records nothing.
+     */
+    Span NO_SPAN = () -> {
+    };
+
+    /**
+     * A tracer that records nothing.
+     */
+    StartupTracer NO_OP = (category, name) -> NO_SPAN;
+
+    /**
+     * Starts a span. The span must be closed on the thread that started it.
+     *
+     * @param category the span category, for example {@code contribution} or {@code command}
+     * @param name     the span name
+     * @return the span
+     */
+    Span start(String category, String name);
+
+    /**
+     * Returns true if spans are being recorded. Callers may use this to avoid computing span names that are expensive to create.
+     *
+     * @return true if spans are being recorded
+     */
+    default boolean isActive() {
+        return false;
+    }
+
+    /**
+     * Stops recording spans.
+     */
+    default void complete() {
+    }
+
+    /**
+     * Returns the recorded spans in the order they were closed.
+     *
+     * @return the recorded spans
+     */
+    default List<TraceSpan> getSpans() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * A timed unit of work.
+     */
+    interface Span extends AutoCloseable {
+
+        /**
+         * Ends the span.
+         */
+        void close();
+
+    }
+
+}
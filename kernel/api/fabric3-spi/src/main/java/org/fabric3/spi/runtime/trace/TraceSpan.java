@@ -0,0 +1,83 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.runtime.trace;
+
+/**
+ * A span recorded by the {@link StartupTracer}. Times are in nanoseconds relative to when the tracer was created.
+ */
+public class TraceSpan {
+    private String category;
+    private String name;
+    private long threadId;
+    private String threadName;
+    private int depth;
+    private long start;
+    private long duration;
+
+    /**
+     * Constructor.
+     *
+     * @param category   the span category
+     * @param name       the span name
+     * @param threadId   the id of the thread the span was recorded on
+     * @param threadName the name of the thread the span was recorded on
+     * @param depth      the number of enclosing spans open on the thread when the span started
+     * @param start      the start time
+     * @param duration   the duration
+     */
+    public TraceSpan(String category, String name, long threadId, String threadName, int depth, long start, long duration) {
+        this.category = category;
+        this.name = name;
+        this.threadId = threadId;
+        this.threadName = threadName;
+        this.depth = depth;
+        this.start = start;
+        this.duration = duration;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getThreadId() {
+        return threadId;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public String toString() {
+        return category + ":" + name;
+    }
+}
@@ -56,6 +56,19 @@ public interface AuthorizationService {
      */
     void checkHasRole(SecuritySubject subject, List<String> roles);
 
+    /**
+     * Determines if the subject has one of the roles in the role set. Implementations that support interned roles should override this method to avoid
+     * comparing role names.
+     *
+     * @param subject the subject
+     * @param roles   the roles
+     * @throws AuthorizationException if the user does not have a roles or there is a general error performing authorization. If the user does not have at least
+     *                                one role, NotAuthorizedException will be thrown.
+     */
+    default void checkHasRole(SecuritySubject subject, RoleSet roles) {
+        checkHasRole(subject, roles.getNames());
+    }
+
     /**
      * Determines if the subject has a permission.
      *
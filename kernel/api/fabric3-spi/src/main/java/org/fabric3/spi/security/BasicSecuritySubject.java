@@ -19,7 +19,9 @@ package org.fabric3.spi.security;
 import javax.security.auth.Subject;
 import java.security.Principal;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.fabric3.api.Role;
@@ -32,12 +34,18 @@ public class BasicSecuritySubject implements SecuritySubject, Principal {
     private String username;
     private String password;
     private Set<Role> roles;
+    private RoleSet roleSet;
     private Subject jaasSubject;
 
     public BasicSecuritySubject(String username, String password, Set<Role> roles) {
         this.username = username;
         this.password = password;
         this.roles = roles;
+        List<String> names = new ArrayList<>(roles.size());
+        for (Role role : roles) {
+            names.add(role.getName());
+        }
+        this.roleSet = RoleSet.of(names);
         Set<Principal> principals = new HashSet<Principal>(roles);
         principals.add(this);
         jaasSubject = new Subject(true, principals, Collections.emptySet(), Collections.emptySet());
@@ -56,9 +64,27 @@ public class BasicSecuritySubject implements SecuritySubject, Principal {
         return roles;
     }
 
-    @SuppressWarnings({"SuspiciousMethodCalls"})
+    /**
+     * Returns the subject roles as an interned role set.
+     *
+     * @return the role set
+     */
+    public RoleSet getRoleSet() {
+        return roleSet;
+    }
+
     public boolean hasRole(String name) {
-        return roles.contains(new Role(name));
+        return roleSet.contains(name);
+    }
+
+    /**
+     * Returns true if the subject has at least one of the roles.
+     *
+     * @param roles the roles
+     * @return true if the subject has at least one of the roles
+     */
+    public boolean hasAnyRole(RoleSet roles) {
+        return roleSet.intersects(roles);
     }
 
     public <T> T getDelegate(Class<T> type) {
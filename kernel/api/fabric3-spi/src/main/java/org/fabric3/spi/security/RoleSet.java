@@ -0,0 +1,129 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.security;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An immutable set of role names represented as a bitset.
+ *
+ * Role names are interned to integer ids the first time they are encountered so that role checks performed on each invocation are reduced to bitset
+ * intersections. Role sets are intended to be created when a wire or subject is built rather than during an invocation.
+ */
+public final class RoleSet {
+    private static final Map<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    public static final RoleSet EMPTY = new RoleSet(new BitSet(), Collections.emptyList());
+
+    private final BitSet bits;
+    private final List<String> names;
+
+    /**
+     * Creates a role set.
+     *
+     * @param names the role names
+     * @return the role set
+     */
+    public static RoleSet of(Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return EMPTY;
+        }
+        BitSet bits = new BitSet();
+        for (String name : names) {
+            bits.set(intern(name));
+        }
+        return new RoleSet(bits, Collections.unmodifiableList(new ArrayList<>(names)));
+    }
+
+    /**
+     * Returns the id for the role name, assigning one if the name has not been previously interned.
+     *
+     * @param name the role name
+     * @return the id
+     */
+    public static int intern(String name) {
+        Integer id = IDS.get(name);
+        if (id != null) {
+            return id;
+        }
+        return IDS.computeIfAbsent(name, k -> COUNTER.getAndIncrement());
+    }
+
+    private RoleSet(BitSet bits, List<String> names) {
+        this.bits = bits;
+        this.names = names;
+    }
+
+    /**
+     * Returns true if this set contains the role.
+     *
+     * @param name the role name
+     * @return true if this set contains the role
+     */
+    public boolean contains(String name) {
+        Integer id = IDS.get(name);
+        return id != null && bits.get(id);
+    }
+
+    /**
+     * Returns true if this set contains at least one role in the given set.
+     *
+     * @param roles the roles
+     * @return true if this set contains at least one role
+     */
+    public boolean intersects(RoleSet roles) {
+        return bits.intersects(roles.bits);
+    }
+
+    /**
+     * Returns true if this set contains all roles in the given set.
+     *
+     * @param roles the roles
+     * @return true if this set contains all roles
+     */
+    public boolean containsAll(RoleSet roles) {
+        BitSet missing = (BitSet) roles.bits.clone();
+        missing.andNot(bits);
+        return missing.isEmpty();
+    }
+
+    /**
+     * Returns the role names in this set.
+     *
+     * @return the role names
+     */
+    public List<String> getNames() {
+        return names;
+    }
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    public String toString() {
+        return names.toString();
+    }
+
+}
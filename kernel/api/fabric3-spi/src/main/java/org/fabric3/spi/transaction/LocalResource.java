@@ -0,0 +1,43 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.transaction;
+
+/**
+ * A resource such as a JDBC connection participating in a {@link LocalTransactionScope} using its native, one-phase transaction.
+ */
+public interface LocalResource {
+
+    /**
+     * Commits work performed using the resource.
+     *
+     * @throws Exception if there is an error committing
+     */
+    void commit() throws Exception;
+
+    /**
+     * Rolls back work performed using the resource.
+     *
+     * @throws Exception if there is an error rolling back
+     */
+    void rollback() throws Exception;
+
+    /**
+     * Releases the resource after the scope has completed.
+     */
+    void release();
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.transaction;
+
+import org.oasisopen.sca.ServiceRuntimeException;
+
+/**
+ * A unit of work that completes a single resource using its native one-phase transaction, starting a global transaction only when one is required.
+ *
+ * The first resource used in the scope is enlisted as a {@link LocalResource} and completed using its native one-phase transaction. A scope can be promoted
+ * to a global transaction before a local resource is enlisted, in which case resources are enlisted with the transaction manager as usual. Once a local
+ * resource is enlisted, promotion is refused since work already performed on the local resource cannot be made atomic with the global transaction.
+ */
+public interface LocalTransactionScope {
+
+    /**
+     * Returns the local resource enlisted for the key.
+     *
+     * @param key the key identifying the resource, for example a DataSource
+     * @return the local resource or null if the resource for the key is not enlisted locally
+     */
+    LocalResource getResource(Object key);
+
+    /**
+     * Determines if a resource for the key can be enlisted as the local resource. If the scope has been promoted, false is returned. If true is returned,
+     * the caller must enlist the resource using {@link #enlist(Object, LocalResource)}.
+     *
+     * @param key the key identifying the resource
+     * @return true if the resource can be enlisted locally, false if it must participate in the global transaction
+     * @throws ServiceRuntimeException if another resource is enlisted locally
+     */
+    boolean canEnlist(Object key);
+
+    /**
+     * Enlists the local resource for the scope.
+     *
+     * @param key      the key identifying the resource
+     * @param resource the resource
+     */
+    void enlist(Object key, LocalResource resource);
+
+    /**
+     * Promotes the scope to a global transaction if it has not already been promoted. Used by resources that can only participate in a global transaction.
+     *
+     * @throws ServiceRuntimeException if a local resource is enlisted
+     */
+    void promote();
+
+    /**
+     * Returns true if the scope has been promoted to a global transaction.
+     *
+     * @return true if the scope has been promoted
+     */
+    boolean isPromoted();
+
+}
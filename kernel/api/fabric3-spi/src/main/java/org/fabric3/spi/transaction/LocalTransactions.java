@@ -0,0 +1,50 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.transaction;
+
+/**
+ * Associates the active {@link LocalTransactionScope} with the current thread.
+ */
+public final class LocalTransactions {
+    private static final ThreadLocal<LocalTransactionScope> SCOPE = new ThreadLocal<>();
+
+    private LocalTransactions() {
+    }
+
+    /**
+     * Returns the scope active on the current thread.
+     *
+     * @return the scope or null if one is not active
+     */
+    public static LocalTransactionScope getScope() {
+        return SCOPE.get();
+    }
+
+    /**
+     * Sets the scope active on the current thread.
+     *
+     * @param scope the scope or null to clear the active scope
+     */
+    public static void setScope(LocalTransactionScope scope) {
+        if (scope == null) {
+            SCOPE.remove();
+        } else {
+            SCOPE.set(scope);
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.spi.introspection.java;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.oasisopen.sca.annotation.Property;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ *
+ */
+public class ClassMetadataTestCase extends TestCase {
+
+    public void testSameInstance() throws Exception {
+        ClassMetadata metadata = ClassMetadata.get(Foo.class);
+        assertSame(metadata, ClassMetadata.get(Foo.class));
+        assertSame(metadata.getDeclaredMethods(), metadata.getDeclaredMethods());
+        assertSame(metadata.getDeclaredFields(), metadata.getDeclaredFields());
+        assertSame(metadata.getMethods(), metadata.getMethods());
+        assertSame(metadata.getDeclaredConstructors(), metadata.getDeclaredConstructors());
+    }
+
+    public void testMemberAnnotations() throws Exception {
+        Method method = Foo.class.getDeclaredMethod("setValue", String.class);
+        Annotation[] annotations = ClassMetadata.getDeclaredAnnotations(method);
+        assertEquals(1, annotations.length);
+        assertEquals(Property.class, annotations[0].annotationType());
+        assertSame(annotations, ClassMetadata.getDeclaredAnnotations(method));
+
+        Constructor<?> constructor = Foo.class.getDeclaredConstructor(Runnable.class);
+        Annotation[][] parameterAnnotations = ClassMetadata.getParameterAnnotations(constructor);
+        assertEquals(Reference.class, parameterAnnotations[0][0].annotationType());
+        assertSame(parameterAnnotations, ClassMetadata.getParameterAnnotations(constructor));
+    }
+
+    public void testFindField() throws Exception {
+        Field field = ClassMetadata.get(Foo.class).findField("base");
+        assertEquals(Base.class, field.getDeclaringClass());
+        assertEquals(field, ClassMetadata.get(Foo.class).findField("base"));
+        assertNull(ClassMetadata.get(Foo.class).findField("missing"));
+    }
+
+    public void testGenerics() throws Exception {
+        ParameterizedType type = (ParameterizedType) ClassMetadata.get(Foo.class).getGenericSuperclass();
+        assertEquals(Base.class, type.getRawType());
+        assertEquals(String.class, type.getActualTypeArguments()[0]);
+    }
+
+    private static class Base<T> {
+        protected List<T> base;
+    }
+
+    private static class Foo extends Base<String> {
+        protected String value;
+
+        public Foo(@Reference Runnable runnable) {
+        }
+
+        @Property
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -56,6 +56,7 @@ import org.fabric3.spi.contribution.ResourceElement;
 import org.fabric3.spi.contribution.manifest.QNameSymbol;
 import org.fabric3.spi.introspection.DefaultIntrospectionContext;
 import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.runtime.trace.StartupTracer;
 import org.oasisopen.sca.annotation.EagerInit;
 import org.oasisopen.sca.annotation.Reference;
 
@@ -71,6 +72,7 @@ public class ContributionServiceImpl implements ContributionService {
     private DependencyResolver dependencyResolver;
     private ContributionServiceMonitor monitor;
     private List<ContributionServiceListener> listeners;
+    private StartupTracer tracer = StartupTracer.NO_OP;
 
     public ContributionServiceImpl(@Reference ProcessorRegistry processorRegistry,
                                    @Reference MetaDataStore metaDataStore,
@@ -92,6 +94,16 @@ public class ContributionServiceImpl implements ContributionService {
         this.listeners = listeners;
     }
 
+    /**
+     * Sets the tracer used to record the time taken to process contributions.
+     *
+     * @param tracer the tracer
+     */
+    @Reference(required = false)
+    public void setTracer(StartupTracer tracer) {
+        this.tracer = tracer;
+    }
+
     public Set<URI> getContributions() {
         Set<Contribution> contributions = metaDataStore.getContributions();
         Set<URI> uris = new HashSet<>(contributions.size());
@@ -378,7 +390,12 @@ public class ContributionServiceImpl implements ContributionService {
      */
     private void processManifest(Contribution contribution) {
         IntrospectionContext context = new DefaultIntrospectionContext();
-        processorRegistry.processManifest(contribution, context);
+        StartupTracer.Span span = tracer.start("manifest", contribution.getUri().toString());
+        try {
+            processorRegistry.processManifest(contribution, context);
+        } finally {
+            span.close();
+        }
         if (context.hasErrors()) {
             URI uri = contribution.getUri();
             ArtifactValidationFailure failure = new ArtifactValidationFailure(uri, "the contribution manifest (sca-contribution.xml)");
@@ -406,8 +423,29 @@ public class ContributionServiceImpl implements ContributionService {
      */
     private void processContents(Contribution contribution, ClassLoader loader) {
         URI contributionUri = contribution.getUri();
+        StartupTracer.Span span = tracer.start("contribution", contributionUri.toString());
+        try {
+            processContents(contribution, contributionUri, loader);
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Indexes and introspects contribution contents.
+     *
+     * @param contribution    the contribution to process
+     * @param contributionUri the contribution URI
+     * @param loader          the classloader to load resources in
+     */
+    private void processContents(Contribution contribution, URI contributionUri, ClassLoader loader) {
         IntrospectionContext context = new DefaultIntrospectionContext(contributionUri, loader);
-        processorRegistry.indexContribution(contribution, context);
+        StartupTracer.Span span = tracer.start("introspection", "index");
+        try {
+            processorRegistry.indexContribution(contribution, context);
+        } finally {
+            span.close();
+        }
         if (context.hasErrors()) {
             throw new ValidationException(context.getErrors(), context.getWarnings());
         } else if (context.hasWarnings()) {
@@ -416,7 +454,12 @@ public class ContributionServiceImpl implements ContributionService {
         }
         metaDataStore.store(contribution);
         context = new DefaultIntrospectionContext(contributionUri, loader);
-        processorRegistry.processContribution(contribution, context);
+        span = tracer.start("introspection", "process");
+        try {
+            processorRegistry.processContribution(contribution, context);
+        } finally {
+            span.close();
+        }
         validateContribution(contribution, context);
         if (context.hasErrors()) {
             throw new ValidationException(context.getErrors(), context.getWarnings());
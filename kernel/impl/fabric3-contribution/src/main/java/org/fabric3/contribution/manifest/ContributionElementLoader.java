@@ -40,6 +40,7 @@ import org.fabric3.spi.introspection.IntrospectionContext;
 import org.fabric3.spi.introspection.xml.InvalidQNamePrefix;
 import org.fabric3.spi.introspection.xml.InvalidValue;
 import org.fabric3.spi.introspection.xml.LoaderRegistry;
+import org.fabric3.spi.introspection.xml.LoaderUtil;
 import org.fabric3.spi.introspection.xml.MissingAttribute;
 import org.fabric3.spi.introspection.xml.TypeLoader;
 import org.fabric3.spi.introspection.xml.UnrecognizedAttribute;
@@ -63,6 +64,7 @@ public class ContributionElementLoader implements TypeLoader<ContributionManifes
     private static final QName SCAN = new QName(F3, "scan");
     private static final QName PROVIDES_CAPABILITY = new QName(F3, "provides.capability");
     private static final QName REQUIRES_CAPABILITY = new QName(F3, "requires.capability");
+    private static final QName PROVIDES_TYPE = new QName(F3, "provides.type");
 
     private final LoaderRegistry registry;
 
@@ -136,6 +138,8 @@ public class ContributionElementLoader implements TypeLoader<ContributionManifes
                         parseRequiredCapabilities(manifest, reader, context);
                     } else if (PROVIDES_CAPABILITY.equals(element)) {
                         parseProvidedCapabilities(manifest, reader, context);
+                    } else if (PROVIDES_TYPE.equals(element)) {
+                        parseProvidedType(manifest, reader, context);
                     } else if (SCAN.equals(element)) {
                         validateScanAttributes(reader, context);
                         String excludeAttr = reader.getAttributeValue(null, "exclude");
@@ -194,6 +198,23 @@ public class ContributionElementLoader implements TypeLoader<ContributionManifes
         manifest.addProvidedCapability(capability);
     }
 
+    private void parseProvidedType(ContributionManifest manifest, XMLStreamReader reader, IntrospectionContext context) {
+        Location location = reader.getLocation();
+        String name = reader.getAttributeValue(null, "name");
+        if (name == null) {
+            MissingAttribute error = new MissingAttribute("Type name must be specified", location);
+            context.addError(error);
+            return;
+        }
+        QName type = LoaderUtil.getQName(name, null, reader.getNamespaceContext());
+        if (type.getNamespaceURI().isEmpty()) {
+            URI uri = context.getContributionUri();
+            context.addError(new InvalidQNamePrefix("The type " + name + " specified in the contribution manifest file for " + uri + " is invalid", location));
+            return;
+        }
+        manifest.addProvidedType(type);
+    }
+
     private void parseRequiredCapabilities(ContributionManifest manifest, XMLStreamReader reader, IntrospectionContext context) {
         Location location = reader.getLocation();
         String name = reader.getAttributeValue(null, "name");
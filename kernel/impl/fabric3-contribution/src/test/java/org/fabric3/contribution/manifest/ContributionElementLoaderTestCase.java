@@ -43,6 +43,7 @@ public class ContributionElementLoaderTestCase extends TestCase {
     private static final QName DEPLOYABLE = new QName("urn:fabric3.org", "ControllerExtension");
     private static final Capability REQUIRED_CAPABILITY = new Capability("some-required-capability");
     private static final Capability PROVIDED_CAPABILITY = new Capability("some-provided-capability");
+    private static final QName PROVIDED_TYPE = new QName("urn:fabric3.org", "binding.some");
 
     private static final String XML = "<contribution xmlns='http://docs.oasis-open.org/ns/opencsa/sca/200912'\n" +
                                       "              xmlns:f3='urn:fabric3.org'" +
@@ -54,6 +55,7 @@ public class ContributionElementLoaderTestCase extends TestCase {
                                       "    <f3:provides name='some-extension'/>" +
                                       "    <f3:requires.capability name='some-required-capability'/>" +
                                       "    <f3:provides.capability name='some-provided-capability'/>" +
+                                      "    <f3:provides.type name='f3:binding.some'/>" +
                                       "</contribution>";
 
     private ContributionElementLoader loader;
@@ -85,6 +87,7 @@ public class ContributionElementLoaderTestCase extends TestCase {
         assertTrue(manifest.getExports().contains(javaExport));
         assertTrue(manifest.getRequiredCapabilities().contains(REQUIRED_CAPABILITY));
         assertTrue(manifest.getProvidedCapabilities().contains(PROVIDED_CAPABILITY));
+        assertTrue(manifest.getProvidedTypes().contains(PROVIDED_TYPE));
         assertTrue(manifest.isExtension());
         assertFalse(context.hasErrors());
 
@@ -58,6 +58,7 @@ import org.fabric3.fabric.domain.DistributedDomain;
 import org.fabric3.fabric.domain.LocalDeployer;
 import org.fabric3.fabric.domain.LogicalComponentManagerImpl;
 import org.fabric3.fabric.domain.collector.CollectorImpl;
+import org.fabric3.fabric.domain.differ.DifferImpl;
 import org.fabric3.fabric.domain.generator.channel.ChannelCommandGeneratorImpl;
 import org.fabric3.fabric.domain.generator.channel.ChannelGeneratorImpl;
 import org.fabric3.fabric.domain.generator.channel.ConnectionGeneratorImpl;
@@ -101,6 +102,8 @@ import org.fabric3.fabric.node.nonmanaged.NonManagedComponentSourceWireAttacher;
 import org.fabric3.fabric.node.nonmanaged.NonManagedConnectionSourceAttacher;
 import org.fabric3.fabric.node.nonmanaged.NonManagedConnectionTargetAttacher;
 import org.fabric3.fabric.runtime.event.EventServiceImpl;
+import org.fabric3.fabric.runtime.extension.ExtensionActivatorImpl;
+import org.fabric3.fabric.runtime.trace.StartupProfilerImpl;
 import org.fabric3.fabric.security.KeyStoreManagerImpl;
 import org.fabric3.fabric.synthesizer.SingletonComponentSynthesizer;
 import org.fabric3.fabric.transport.TransportService;
@@ -163,6 +166,10 @@ public class FabricProvider {
 
         compositeBuilder.component(newBuilder(EventServiceImpl.class).build());
 
+        compositeBuilder.component(newBuilder("ExtensionActivator", ExtensionActivatorImpl.class).reference("domain", "RuntimeDomain").build());
+
+        compositeBuilder.component(newBuilder("StartupProfiler", StartupProfilerImpl.class).build());
+
         compositeBuilder.component(newBuilder(TransportService.class).build());
 
         compositeBuilder.component(newBuilder(PortAllocatorImpl.class).build());
@@ -295,6 +302,8 @@ public class FabricProvider {
         compositeBuilder.component(newBuilder(DocumentLoaderImpl.class).build());
 
         compositeBuilder.component(newBuilder(CollectorImpl.class).build());
+
+        compositeBuilder.component(newBuilder(DifferImpl.class).build());
     }
 
     private static void addScopeSubsystem(CompositeBuilder compositeBuilder) {
@@ -102,6 +102,7 @@ public class ConnectorImpl implements Connector {
             }
             targetAttacher.detach(source, target);
             sourceAttacher.detach(source, target);
+            disposeInterceptors(physicalWire);
         }
     }
 
@@ -119,4 +120,15 @@ public class ConnectorImpl implements Connector {
         return wire;
     }
 
+    private void disposeInterceptors(PhysicalWire physicalWire) throws Fabric3Exception {
+        for (PhysicalOperation operation : physicalWire.getOperations()) {
+            for (PhysicalInterceptor physicalInterceptor : operation.getInterceptors()) {
+                InterceptorBuilder<? super PhysicalInterceptor> builder = Cast.cast(interceptorBuilders.get(physicalInterceptor.getClass()));
+                if (builder != null) {
+                    builder.dispose(physicalInterceptor);
+                }
+            }
+        }
+    }
+
 }
@@ -22,7 +22,9 @@ package org.fabric3.fabric.container.command;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.fabric3.spi.runtime.trace.StartupTracer;
 import org.oasisopen.sca.annotation.EagerInit;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  *
@@ -30,6 +32,17 @@ import org.oasisopen.sca.annotation.EagerInit;
 @EagerInit
 public class CommandExecutorRegistryImpl implements CommandExecutorRegistry {
     private Map<Class<? extends Command>, CommandExecutor<?>> executors = new HashMap<>();
+    private StartupTracer tracer = StartupTracer.NO_OP;
+
+    /**
+     * Sets the tracer used to record the time taken to execute commands.
+     *
+     * @param tracer the tracer
+     */
+    @Reference(required = false)
+    public void setTracer(StartupTracer tracer) {
+        this.tracer = tracer;
+    }
 
     public <T extends Command> void register(Class<T> type, CommandExecutor<T> executor) {
         executors.put(type, executor);
@@ -42,6 +55,11 @@ public class CommandExecutorRegistryImpl implements CommandExecutorRegistry {
         if (executor == null) {
             throw new AssertionError("No registered executor for command: " + clazz.getName());
         }
-        executor.execute(command);
+        StartupTracer.Span span = tracer.start("command", clazz.getSimpleName());
+        try {
+            executor.execute(command);
+        } finally {
+            span.close();
+        }
     }
 }
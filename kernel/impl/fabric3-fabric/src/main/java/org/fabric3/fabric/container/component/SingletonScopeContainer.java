@@ -20,17 +20,23 @@
 package org.fabric3.fabric.container.component;
 
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 import org.fabric3.api.annotation.monitor.Monitor;
@@ -38,11 +44,18 @@ import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.model.type.component.Scope;
 import org.fabric3.spi.container.component.GroupInitializationException;
 import org.fabric3.spi.container.component.ScopedComponent;
+import org.fabric3.spi.runtime.trace.StartupTracer;
 import org.oasisopen.sca.annotation.Destroy;
+import org.oasisopen.sca.annotation.Property;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Abstract container for components that have only one implementation instance.  Components deployed via a deployable composite are associated with the
  * same context. When a context starts and stops, components will receive initialization and destruction callbacks. Eager initialization is also supported.
+ *
+ * By default, eagerly initialized components in a context are initialized serially in the order they were registered. If a parallelism greater than 1 is
+ * configured, components that do not depend on each other are initialized concurrently on the runtime executor; a component is only initialized after the
+ * components it is wired to in the same context.
  */
 public abstract class SingletonScopeContainer extends AbstractScopeContainer {
     private static final Object EMPTY = new Object();
@@ -59,6 +72,13 @@ public abstract class SingletonScopeContainer extends AbstractScopeContainer {
     // components that are in the process of being created
     private final Map<ScopedComponent, CountDownLatch> pending;
 
+    // the maximum number of components to eagerly initialize concurrently
+    private int parallelism = 1;
+
+    private ExecutorService executorService;
+
+    private StartupTracer tracer = StartupTracer.NO_OP;
+
     protected SingletonScopeContainer(Scope scope, @Monitor ScopeContainerMonitor monitor) {
         super(scope, monitor);
         instances = new ConcurrentHashMap<>();
@@ -66,6 +86,37 @@ public abstract class SingletonScopeContainer extends AbstractScopeContainer {
         destroyQueues = new LinkedHashMap<>();
     }
 
+    /**
+     * Sets the maximum number of components to eagerly initialize concurrently. The default of 1 initializes components serially in the order they were
+     * registered.
+     *
+     * @param parallelism the maximum number of components to initialize concurrently
+     */
+    @Property(required = false)
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Sets the runtime executor used to initialize components concurrently. If the executor is not available, components are initialized serially.
+     *
+     * @param executorService the executor
+     */
+    @Reference(name = "executorService", required = false)
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    /**
+     * Sets the tracer used to record the time taken to eagerly initialize components.
+     *
+     * @param tracer the tracer
+     */
+    @Reference(required = false)
+    public void setTracer(StartupTracer tracer) {
+        this.tracer = tracer;
+    }
+
     public void register(ScopedComponent component) {
         super.register(component);
         if (component.isEagerInit()) {
@@ -95,6 +146,7 @@ public abstract class SingletonScopeContainer extends AbstractScopeContainer {
                 }
             }
         }
+        destroyInstance(component);
     }
 
     public void startContext(URI contribution) throws GroupInitializationException {
@@ -175,7 +227,9 @@ public abstract class SingletonScopeContainer extends AbstractScopeContainer {
                     destroyQueues.put(uri, queue);
                 }
             }
-            queue.add(new Pair(component, instance));
+            synchronized (queue) {
+                queue.add(new Pair(component, instance));
+            }
             //}
             instances.put(component, instance);
             latch.countDown();
@@ -233,28 +287,142 @@ public abstract class SingletonScopeContainer extends AbstractScopeContainer {
     }
 
     /**
-     * Initialize an ordered list of components. The list is traversed in order and the getWrapper() method called for each to associate an instance with the
-     * supplied context.
+     * Initialize an ordered list of components. If the list contains more than one component, parallelism is enabled and the runtime executor is available,
+     * components are initialized concurrently according to their dependencies. Otherwise, the list is traversed in order and the getInstance() method called for each.
      *
      * @param components the components to be initialized
      * @throws GroupInitializationException if one or more components threw an exception during initialization
      */
     private void initializeComponents(List<ScopedComponent> components) throws GroupInitializationException {
-        Set<URI> causes = null;
+        Set<ScopedComponent> failed;
+        if (parallelism > 1 && executorService != null && components.size() > 1) {
+            failed = initializeConcurrently(components);
+        } else {
+            failed = new LinkedHashSet<>();
+            for (ScopedComponent component : components) {
+                initialize(component, failed);
+            }
+        }
+        if (!failed.isEmpty()) {
+            Set<URI> causes = new LinkedHashSet<>();
+            for (ScopedComponent component : components) {
+                if (failed.contains(component)) {
+                    causes.add(component.getUri());
+                }
+            }
+            throw new GroupInitializationException(causes);
+        }
+    }
+
+    /**
+     * Initializes components concurrently on the runtime executor. A component is scheduled once the components it is wired to in the list have been
+     * initialized, and no more than the configured parallelism are initialized at the same time. Components in a dependency cycle are initialized serially
+     * on the calling thread after all other components.
+     *
+     * @param components the components to be initialized
+     * @return the components that failed to initialize
+     */
+    private Set<ScopedComponent> initializeConcurrently(List<ScopedComponent> components) {
+        Map<URI, ScopedComponent> byUri = new HashMap<>();
         for (ScopedComponent component : components) {
-            try {
-                getInstance(component);
-            } catch (Exception e) {
-                if (causes == null) {
-                    causes = new LinkedHashSet<>();
+            byUri.put(component.getUri(), component);
+        }
+        Map<ScopedComponent, Integer> remaining = new HashMap<>();
+        Map<ScopedComponent, List<ScopedComponent>> dependents = new HashMap<>();
+        Deque<ScopedComponent> ready = new ArrayDeque<>();
+        for (ScopedComponent component : components) {
+            int count = 0;
+            for (URI uri : component.getDependencies()) {
+                ScopedComponent dependency = byUri.get(uri);
+                if (dependency != null && dependency != component) {
+                    dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(component);
+                    count++;
                 }
-                URI uri = component.getUri();
-                monitor.initializationError(uri, component.getContributionUri(), e);
-                causes.add(uri);
+            }
+            remaining.put(component, count);
+            if (count == 0) {
+                ready.add(component);
             }
         }
-        if (causes != null) {
-            throw new GroupInitializationException(causes);
+
+        Set<ScopedComponent> failed = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        BlockingQueue<ScopedComponent> completed = new LinkedBlockingQueue<>();
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        int running = 0;
+        try {
+            while (true) {
+                while (running < parallelism && !ready.isEmpty()) {
+                    ScopedComponent component = ready.poll();
+                    executorService.execute(() -> initialize(component, failed, loader, completed));
+                    running++;
+                }
+                if (running == 0) {
+                    break;
+                }
+                ScopedComponent done = completed.take();
+                running--;
+                remaining.remove(done);
+                for (ScopedComponent dependent : dependents.getOrDefault(done, Collections.emptyList())) {
+                    int count = remaining.get(dependent) - 1;
+                    remaining.put(dependent, count);
+                    if (count == 0) {
+                        ready.add(dependent);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Fabric3Exception("Interrupted initializing components", e);
+        }
+
+        // components left over are part of a dependency cycle
+        for (ScopedComponent component : components) {
+            if (remaining.containsKey(component)) {
+                initialize(component, failed);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Initializes a component on an executor thread using the context classloader of the initiating thread. Completion is always signalled so the initiating
+     * thread does not wait indefinitely if an error is thrown.
+     *
+     * @param component the component
+     * @param failed    the components that failed to initialize
+     * @param loader    the context classloader of the initiating thread
+     * @param completed the queue to signal completion on
+     */
+    private void initialize(ScopedComponent component, Set<ScopedComponent> failed, ClassLoader loader, BlockingQueue<ScopedComponent> completed) {
+        Thread thread = Thread.currentThread();
+        ClassLoader old = thread.getContextClassLoader();
+        try {
+            thread.setContextClassLoader(loader);
+            initialize(component, failed);
+        } catch (Error e) {
+            failed.add(component);
+            throw e;
+        } finally {
+            thread.setContextClassLoader(old);
+            completed.add(component);
+        }
+    }
+
+    /**
+     * Initializes a component, recording it as failed if an error is thrown.
+     *
+     * @param component the component
+     * @param failed    the components that failed to initialize
+     */
+    private void initialize(ScopedComponent component, Set<ScopedComponent> failed) {
+        StartupTracer.Span span = tracer.isActive() ? tracer.start("component", component.getUri().toString()) : StartupTracer.NO_SPAN;
+        try {
+            getInstance(component);
+        } catch (Exception e) {
+            monitor.initializationError(component.getUri(), component.getContributionUri(), e);
+            failed.add(component);
+        } finally {
+            span.close();
         }
     }
 
@@ -285,6 +453,41 @@ public abstract class SingletonScopeContainer extends AbstractScopeContainer {
         }
     }
 
+    /**
+     * Destroys the instance of a component that is removed while its context remains active, e.g. during an incremental redeployment.
+     *
+     * @param component the component
+     */
+    @SuppressWarnings({"SynchronizationOnLocalVariableOrMethodParameter"})
+    private void destroyInstance(ScopedComponent component) {
+        List<Pair> queue;
+        synchronized (destroyQueues) {
+            queue = destroyQueues.get(component.getContributionUri());
+        }
+        if (queue == null) {
+            return;
+        }
+        Pair toDestroy = null;
+        synchronized (queue) {
+            for (Iterator<Pair> iterator = queue.iterator(); iterator.hasNext(); ) {
+                Pair pair = iterator.next();
+                if (pair.component == component) {
+                    toDestroy = pair;
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+        if (toDestroy == null) {
+            return;
+        }
+        try {
+            component.stopInstance(toDestroy.instance);
+        } catch (Fabric3Exception e) {
+            monitor.destructionError(component.getUri(), component.getContributionUri(), e);
+        }
+    }
+
     private class Pair {
         private ScopedComponent component;
         private Object instance;
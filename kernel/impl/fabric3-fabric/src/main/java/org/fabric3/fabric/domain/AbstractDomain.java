@@ -20,7 +20,11 @@ package org.fabric3.fabric.domain;
 
 import javax.xml.namespace.QName;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.fabric3.api.host.Fabric3Exception;
@@ -31,6 +35,8 @@ import org.fabric3.api.host.runtime.HostInfo;
 import org.fabric3.api.model.type.RuntimeMode;
 import org.fabric3.api.model.type.component.Composite;
 import org.fabric3.fabric.domain.collector.Collector;
+import org.fabric3.fabric.domain.differ.CompositeDiff;
+import org.fabric3.fabric.domain.differ.Differ;
 import org.fabric3.fabric.domain.generator.Deployment;
 import org.fabric3.fabric.domain.generator.Generator;
 import org.fabric3.fabric.domain.instantiator.InstantiationContext;
@@ -40,7 +46,16 @@ import org.fabric3.spi.contribution.ContributionState;
 import org.fabric3.spi.contribution.MetaDataStore;
 import org.fabric3.spi.contribution.ResourceElement;
 import org.fabric3.spi.contribution.manifest.QNameSymbol;
+import org.fabric3.spi.model.instance.LogicalBinding;
+import org.fabric3.spi.model.instance.LogicalChannel;
+import org.fabric3.spi.model.instance.LogicalComponent;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+import org.fabric3.spi.model.instance.LogicalReference;
+import org.fabric3.spi.model.instance.LogicalService;
+import org.fabric3.spi.model.instance.LogicalState;
+import org.fabric3.spi.model.instance.LogicalWire;
+import org.fabric3.spi.runtime.trace.StartupTracer;
+import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Base class for a domain.
@@ -56,6 +71,8 @@ public abstract class AbstractDomain implements Domain {
     protected Collector collector;
     protected ContributionHelper contributionHelper;
     protected HostInfo info;
+    protected Differ differ;
+    protected StartupTracer tracer = StartupTracer.NO_OP;
 
     /**
      * Constructor.
@@ -87,8 +104,23 @@ public abstract class AbstractDomain implements Domain {
         this.info = info;
     }
 
+    /**
+     * Sets the tracer used to record the time taken to instantiate, generate and deploy composites.
+     *
+     * @param tracer the tracer
+     */
+    @Reference(required = false)
+    public void setTracer(StartupTracer tracer) {
+        this.tracer = tracer;
+    }
+
     public synchronized void include(Composite composite) throws Fabric3Exception {
-        instantiateAndDeploy(composite);
+        StartupTracer.Span span = tracer.start("composite", composite.getName().toString());
+        try {
+            instantiateAndDeploy(composite);
+        } finally {
+            span.close();
+        }
     }
 
     public synchronized void include(List<URI> uris) throws Fabric3Exception {
@@ -125,6 +157,41 @@ public abstract class AbstractDomain implements Domain {
         contribution.undeploy();
     }
 
+    public synchronized void update(Composite composite) throws Fabric3Exception {
+        LogicalCompositeComponent domain = logicalComponentManager.getRootComponent();
+        CompositeDiff diff = differ == null ? null : differ.diff(composite, domain);
+        if (diff == null || !diff.isDeployed()) {
+            instantiateAndDeploy(composite);
+            return;
+        } else if (!diff.isIncremental()) {
+            undeploy(composite);
+            instantiateAndDeploy(composite);
+            return;
+        }
+        ResourceElement<QNameSymbol, Composite> element = findComposite(composite);
+        if (diff.isEmpty()) {
+            element.setValue(composite);
+            return;
+        }
+
+        // mark changed and removed components and channels along with wires that target them and generate the commands to dispose them
+        collector.markForUpdate(diff, domain);
+        Deployment undeployment = generator.generate(domain);
+        UpdateRollback rollback = new UpdateRollback(domain, diff);
+        collector.collect(domain);
+
+        // instantiate changed and added components and channels and reattach wires before anything is undeployed so errors leave the runtime untouched
+        InstantiationContext context = logicalModelInstantiator.update(composite, diff, domain);
+        if (context.hasErrors()) {
+            rollback.restore(domain);
+            throw new AssemblyException(context.getErrors());
+        }
+        deployer.deploy(undeployment);
+        deploy(domain);
+        logicalComponentManager.replaceRootComponent(domain);
+        element.setValue(composite);
+    }
+
     /**
      * Include all deployables contained in the list of contributions in the domain.
      *
@@ -135,7 +202,12 @@ public abstract class AbstractDomain implements Domain {
     private synchronized void include(List<URI> uris, boolean recover) throws Fabric3Exception {
         Set<Contribution> contributions = contributionHelper.findContributions(uris);
         List<Composite> deployables = contributionHelper.getDeployables(contributions);
-        instantiateAndDeploy(deployables, contributions, recover);
+        StartupTracer.Span span = tracer.start("deployment", uris.toString());
+        try {
+            instantiateAndDeploy(deployables, contributions, recover);
+        } finally {
+            span.close();
+        }
     }
 
     /**
@@ -157,7 +229,13 @@ public abstract class AbstractDomain implements Domain {
             }
         }
 
-        InstantiationContext context = logicalModelInstantiator.include(deployables, domain);
+        InstantiationContext context;
+        StartupTracer.Span span = tracer.start("deployment", "instantiate");
+        try {
+            context = logicalModelInstantiator.include(deployables, domain);
+        } finally {
+            span.close();
+        }
         if (context.hasErrors()) {
             throw new AssemblyException(context.getErrors());
         }
@@ -181,6 +259,32 @@ public abstract class AbstractDomain implements Domain {
     private void instantiateAndDeploy(Composite composite) throws Fabric3Exception {
         LogicalCompositeComponent domain = logicalComponentManager.getRootComponent();
 
+        ResourceElement<QNameSymbol, Composite> element = findComposite(composite);
+        Contribution contribution = element.getResource().getContribution();
+
+        InstantiationContext context;
+        StartupTracer.Span span = tracer.start("deployment", "instantiate");
+        try {
+            context = logicalModelInstantiator.include(composite, domain);
+        } finally {
+            span.close();
+        }
+        if (context.hasErrors()) {
+            throw new AssemblyException(context.getErrors());
+        }
+        deploy(domain);
+        logicalComponentManager.replaceRootComponent(domain);
+        contribution.deploy();
+    }
+
+    /**
+     * Returns the metadata store entry for the composite, verifying its contribution is installed.
+     *
+     * @param composite the composite
+     * @return the entry
+     * @throws Fabric3Exception if the composite is not found or its contribution is not installed
+     */
+    private ResourceElement<QNameSymbol, Composite> findComposite(Composite composite) throws Fabric3Exception {
         QName name = composite.getName();
         QNameSymbol symbol = new QNameSymbol(name);
         ResourceElement<QNameSymbol, Composite> element = metadataStore.find(Composite.class, symbol);
@@ -191,14 +295,7 @@ public abstract class AbstractDomain implements Domain {
         if (ContributionState.STORED == contribution.getState()) {
             throw new Fabric3Exception("Contribution is not installed: " + contribution.getUri());
         }
-
-        InstantiationContext context = logicalModelInstantiator.include(composite, domain);
-        if (context.hasErrors()) {
-            throw new AssemblyException(context.getErrors());
-        }
-        deploy(domain);
-        logicalComponentManager.replaceRootComponent(domain);
-        contribution.deploy();
+        return element;
     }
 
     /**
@@ -209,9 +306,87 @@ public abstract class AbstractDomain implements Domain {
      */
     private void deploy(LogicalCompositeComponent domain) throws Fabric3Exception {
         // generate and provision any new components and new wires
-        Deployment deployment = generator.generate(domain);
+        Deployment deployment;
+        StartupTracer.Span span = tracer.start("deployment", "generate");
+        try {
+            deployment = generator.generate(domain);
+        } finally {
+            span.close();
+        }
         collector.markAsProvisioned(domain);
-        deployer.deploy(deployment);
+        span = tracer.start("deployment", "deploy");
+        try {
+            deployer.deploy(deployment);
+        } finally {
+            span.close();
+        }
+    }
+
+    /**
+     * Records the logical elements collected for an incremental update so they can be restored if the updated composite cannot be instantiated. Since
+     * instantiation happens before the collected elements are undeployed, restoring the logical model is sufficient to revert the update.
+     */
+    private static class UpdateRollback {
+        private List<LogicalComponent<?>> components = new ArrayList<>();
+        private List<LogicalChannel> channels = new ArrayList<>();
+        private Map<LogicalReference, List<LogicalWire>> wires = new HashMap<>();
+        private List<LogicalReference> rewiredReferences;
+
+        public UpdateRollback(LogicalCompositeComponent domain, CompositeDiff diff) {
+            domain.getComponents().stream().filter(component -> component.getState() == LogicalState.MARKED).forEach(components::add);
+            domain.getChannels().stream().filter(channel -> channel.getState() == LogicalState.MARKED).forEach(channels::add);
+            for (Map.Entry<LogicalReference, List<LogicalWire>> entry : domain.getWires().entrySet()) {
+                for (LogicalWire wire : entry.getValue()) {
+                    if (wire.getState() == LogicalState.MARKED) {
+                        wires.computeIfAbsent(entry.getKey(), k -> new ArrayList<>()).add(wire);
+                    }
+                }
+            }
+            rewiredReferences = new ArrayList<>(diff.getRewiredReferences());
+        }
+
+        /**
+         * Removes the elements instantiated for the update and returns the collected elements to the domain in the provisioned state.
+         *
+         * @param domain the domain composite
+         */
+        public void restore(LogicalCompositeComponent domain) {
+            domain.getComponents().removeIf(component -> component.getState() == LogicalState.NEW);
+            domain.getChannels().removeIf(channel -> channel.getState() == LogicalState.NEW);
+            for (Iterator<List<LogicalWire>> iterator = domain.getWires().values().iterator(); iterator.hasNext(); ) {
+                List<LogicalWire> list = iterator.next();
+                list.removeIf(wire -> wire.getState() == LogicalState.NEW);
+                if (list.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+
+            for (LogicalComponent<?> component : components) {
+                component.setState(LogicalState.PROVISIONED);
+                for (LogicalService service : component.getServices()) {
+                    service.getBindings().forEach(binding -> binding.setState(LogicalState.PROVISIONED));
+                }
+                for (LogicalReference reference : component.getReferences()) {
+                    reference.getBindings().forEach(binding -> binding.setState(LogicalState.PROVISIONED));
+                }
+                domain.addComponent(component);
+            }
+            for (LogicalChannel channel : channels) {
+                channel.setState(LogicalState.PROVISIONED);
+                LogicalBinding<?> binding = channel.getBinding();
+                if (binding != null) {
+                    binding.setState(LogicalState.PROVISIONED);
+                }
+                domain.addChannel(channel);
+            }
+            for (Map.Entry<LogicalReference, List<LogicalWire>> entry : wires.entrySet()) {
+                for (LogicalWire wire : entry.getValue()) {
+                    wire.setState(LogicalState.PROVISIONED);
+                    domain.addWire(entry.getKey(), wire);
+                }
+            }
+            rewiredReferences.forEach(reference -> reference.setResolved(true));
+        }
     }
 
 }
@@ -21,6 +21,7 @@ package org.fabric3.fabric.domain;
 import org.fabric3.api.host.domain.Domain;
 import org.fabric3.api.host.runtime.HostInfo;
 import org.fabric3.fabric.domain.collector.Collector;
+import org.fabric3.fabric.domain.differ.Differ;
 import org.fabric3.fabric.domain.generator.Generator;
 import org.fabric3.fabric.domain.instantiator.LogicalModelInstantiator;
 import org.fabric3.spi.contribution.MetaDataStore;
@@ -52,4 +53,14 @@ public class DistributedDomain extends AbstractDomain implements Domain {
         this.deployer = deployer;
     }
 
+    /**
+     * Sets the differ used to calculate incremental updates. If not set, updated composites are fully redeployed.
+     *
+     * @param differ the differ
+     */
+    @Reference(required = false)
+    public void setDiffer(Differ differ) {
+        this.differ = differ;
+    }
+
 }
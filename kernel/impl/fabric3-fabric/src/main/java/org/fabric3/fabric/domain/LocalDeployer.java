@@ -19,6 +19,7 @@
  */
 package org.fabric3.fabric.domain;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.fabric3.api.host.Fabric3Exception;
@@ -27,6 +28,7 @@ import org.fabric3.fabric.container.command.Command;
 import org.fabric3.spi.container.component.ScopeRegistry;
 import org.fabric3.fabric.container.command.CommandExecutorRegistry;
 import org.fabric3.fabric.domain.generator.Deployment;
+import org.fabric3.spi.container.builder.DeploymentListener;
 import org.oasisopen.sca.annotation.Reference;
 
 /**
@@ -35,15 +37,24 @@ import org.oasisopen.sca.annotation.Reference;
 public class LocalDeployer implements Deployer {
     private CommandExecutorRegistry executorRegistry;
     private ScopeRegistry scopeRegistry;
+    private List<DeploymentListener> listeners = Collections.emptyList();
 
     public LocalDeployer(@Reference CommandExecutorRegistry executorRegistry, @Reference ScopeRegistry scopeRegistry) {
         this.executorRegistry = executorRegistry;
         this.scopeRegistry = scopeRegistry;
     }
 
+    @Reference(required = false)
+    public void setListeners(List<DeploymentListener> listeners) {
+        this.listeners = listeners;
+    }
+
     public void deploy(Deployment deployment) throws Fabric3Exception {
         List<Command> commands = deployment.getCommands();
         execute(commands);
+        for (DeploymentListener listener : listeners) {
+            listener.onDeploymentCompleted();
+        }
         if (scopeRegistry != null) {
             scopeRegistry.getScopeContainer(Scope.COMPOSITE).reinject();
         }
@@ -20,6 +20,7 @@ package org.fabric3.fabric.domain.collector;
 
 import java.net.URI;
 
+import org.fabric3.fabric.domain.differ.CompositeDiff;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
 
 /**
@@ -42,6 +43,15 @@ public interface Collector {
      */
     void markForCollection(URI contribution, LogicalCompositeComponent composite);
 
+    /**
+     * Marks changed and removed components and channels of an updated composite for collection. Wires of remaining components that target a changed or
+     * removed component are also marked.
+     *
+     * @param diff      the differences between the updated composite and its deployed state
+     * @param composite the composite containing the deployed components
+     */
+    void markForUpdate(CompositeDiff diff, LogicalCompositeComponent composite);
+
     /**
      * Recursively collects marked components by removing them from the given composite.
      *
@@ -24,6 +24,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
+import org.fabric3.fabric.domain.differ.CompositeDiff;
 import org.fabric3.spi.model.instance.LogicalBinding;
 import org.fabric3.spi.model.instance.LogicalChannel;
 import org.fabric3.spi.model.instance.LogicalComponent;
@@ -84,20 +85,7 @@ public class CollectorImpl implements Collector {
                 if (component instanceof LogicalCompositeComponent) {
                     markForCollection(contributionUri, (LogicalCompositeComponent) component);
                 }
-                component.setState(MARKED);
-                for (LogicalService service : component.getServices()) {
-                    for (LogicalBinding<?> binding : service.getBindings()) {
-                        binding.setState(MARKED);
-                    }
-                }
-                for (LogicalReference reference : component.getReferences()) {
-                    for (LogicalBinding<?> binding : reference.getBindings()) {
-                        binding.setState(MARKED);
-                    }
-                    for (LogicalWire wire : composite.getWires(reference)) {
-                        wire.setState(MARKED);
-                    }
-                }
+                mark(component, composite);
 
             } else {
                 // mark service and callback bindings that were dynamically added to satisfy a wire when the deployable was provisioned
@@ -141,6 +129,32 @@ public class CollectorImpl implements Collector {
         }
     }
 
+    public void markForUpdate(CompositeDiff diff, LogicalCompositeComponent composite) {
+        String base = composite.getUri().toString();
+        for (String name : diff.getCollectedComponents()) {
+            LogicalComponent<?> component = composite.getComponent(URI.create(base + "/" + name));
+            if (component != null) {
+                mark(component, composite);
+            }
+        }
+        for (LogicalReference reference : diff.getRewiredReferences()) {
+            for (LogicalWire wire : reference.getWires()) {
+                wire.setState(MARKED);
+            }
+        }
+        for (String name : diff.getCollectedChannels()) {
+            LogicalChannel channel = composite.getChannel(URI.create(base + "/" + name));
+            if (channel == null) {
+                continue;
+            }
+            channel.setState(MARKED);
+            LogicalBinding<?> binding = channel.getBinding();
+            if (binding != null) {
+                binding.setState(MARKED);
+            }
+        }
+    }
+
     public void collect(LogicalCompositeComponent composite) {
         Iterator<LogicalComponent<?>> iter = composite.getComponents().iterator();
         while (iter.hasNext()) {
@@ -194,6 +208,29 @@ public class CollectorImpl implements Collector {
         }
     }
 
+    /**
+     * Marks a component, its bindings and its reference wires for collection.
+     *
+     * @param component the component
+     * @param composite the composite containing the component
+     */
+    private void mark(LogicalComponent<?> component, LogicalCompositeComponent composite) {
+        component.setState(MARKED);
+        for (LogicalService service : component.getServices()) {
+            for (LogicalBinding<?> binding : service.getBindings()) {
+                binding.setState(MARKED);
+            }
+        }
+        for (LogicalReference reference : component.getReferences()) {
+            for (LogicalBinding<?> binding : reference.getBindings()) {
+                binding.setState(MARKED);
+            }
+            for (LogicalWire wire : composite.getWires(reference)) {
+                wire.setState(MARKED);
+            }
+        }
+    }
+
     /**
      * Removes marked bindings
      *
@@ -0,0 +1,161 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.domain.differ;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.fabric3.spi.model.instance.LogicalReference;
+
+/**
+ * The result of comparing a composite definition against its deployed logical state. Components and channels are tracked by name. References are tracked
+ * as logical instances since they belong to components that remain deployed and only need to be rewired.
+ */
+public class CompositeDiff {
+    private boolean deployed;
+    private boolean incremental;
+
+    private Set<String> addedComponents = new LinkedHashSet<>();
+    private Set<String> changedComponents = new LinkedHashSet<>();
+    private Set<String> removedComponents = new LinkedHashSet<>();
+
+    private Set<String> addedChannels = new LinkedHashSet<>();
+    private Set<String> changedChannels = new LinkedHashSet<>();
+    private Set<String> removedChannels = new LinkedHashSet<>();
+
+    private List<LogicalReference> rewiredReferences = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param deployed    true if the composite is currently deployed to the domain
+     * @param incremental true if the changes can be applied incrementally. If false, the composite must be undeployed and included again.
+     */
+    public CompositeDiff(boolean deployed, boolean incremental) {
+        this.deployed = deployed;
+        this.incremental = incremental;
+    }
+
+    /**
+     * Returns true if the composite is currently deployed to the domain.
+     *
+     * @return true if the composite is currently deployed to the domain
+     */
+    public boolean isDeployed() {
+        return deployed;
+    }
+
+    /**
+     * Returns true if the changes can be applied incrementally.
+     *
+     * @return true if the changes can be applied incrementally
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    /**
+     * Returns true if the composite definition does not differ from the deployed state.
+     *
+     * @return true if there are no changes
+     */
+    public boolean isEmpty() {
+        return addedComponents.isEmpty() && changedComponents.isEmpty() && removedComponents.isEmpty() && addedChannels.isEmpty() && changedChannels.isEmpty()
+               && removedChannels.isEmpty();
+    }
+
+    public Set<String> getAddedComponents() {
+        return addedComponents;
+    }
+
+    public Set<String> getChangedComponents() {
+        return changedComponents;
+    }
+
+    public Set<String> getRemovedComponents() {
+        return removedComponents;
+    }
+
+    public Set<String> getAddedChannels() {
+        return addedChannels;
+    }
+
+    public Set<String> getChangedChannels() {
+        return changedChannels;
+    }
+
+    public Set<String> getRemovedChannels() {
+        return removedChannels;
+    }
+
+    /**
+     * Returns the references of deployed components that are wired to changed or removed components. These wires must be detached and, for changed
+     * components, re-attached to the rebuilt instance.
+     *
+     * @return the references
+     */
+    public List<LogicalReference> getRewiredReferences() {
+        return rewiredReferences;
+    }
+
+    /**
+     * Returns the names of components that must be (re)instantiated, i.e. added and changed components.
+     *
+     * @return the component names
+     */
+    public Set<String> getInstantiatedComponents() {
+        Set<String> names = new LinkedHashSet<>(addedComponents);
+        names.addAll(changedComponents);
+        return names;
+    }
+
+    /**
+     * Returns the names of deployed components that must be collected, i.e. changed and removed components.
+     *
+     * @return the component names
+     */
+    public Set<String> getCollectedComponents() {
+        Set<String> names = new LinkedHashSet<>(changedComponents);
+        names.addAll(removedComponents);
+        return names;
+    }
+
+    /**
+     * Returns the names of channels that must be (re)instantiated, i.e. added and changed channels.
+     *
+     * @return the channel names
+     */
+    public Set<String> getInstantiatedChannels() {
+        Set<String> names = new LinkedHashSet<>(addedChannels);
+        names.addAll(changedChannels);
+        return names;
+    }
+
+    /**
+     * Returns the names of deployed channels that must be collected, i.e. changed and removed channels.
+     *
+     * @return the channel names
+     */
+    public Set<String> getCollectedChannels() {
+        Set<String> names = new LinkedHashSet<>(changedChannels);
+        names.addAll(removedChannels);
+        return names;
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.domain.differ;
+
+import org.fabric3.api.model.type.component.Composite;
+import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+
+/**
+ * Compares a composite definition with the logical state of a previously deployed version of the composite. Used to redeploy only the components, channels
+ * and wires affected by a change.
+ */
+public interface Differ {
+
+    /**
+     * Compares the composite with its deployed state in the domain.
+     *
+     * @param composite the new composite definition
+     * @param domain    the domain composite
+     * @return the differences
+     */
+    CompositeDiff diff(Composite composite, LogicalCompositeComponent domain);
+
+}
@@ -0,0 +1,418 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.domain.differ;
+
+import javax.xml.namespace.QName;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.fabric3.api.model.type.component.Binding;
+import org.fabric3.api.model.type.component.Channel;
+import org.fabric3.api.model.type.component.Component;
+import org.fabric3.api.model.type.component.ComponentType;
+import org.fabric3.api.model.type.component.Composite;
+import org.fabric3.api.model.type.component.Consumer;
+import org.fabric3.api.model.type.component.Implementation;
+import org.fabric3.api.model.type.component.Producer;
+import org.fabric3.api.model.type.component.PropertyValue;
+import org.fabric3.api.model.type.component.Reference;
+import org.fabric3.api.model.type.component.Service;
+import org.fabric3.api.model.type.component.Wire;
+import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.api.model.type.contract.Operation;
+import org.fabric3.api.model.type.contract.ServiceContract;
+import org.fabric3.api.model.type.java.JavaImplementation;
+import org.fabric3.spi.model.instance.LogicalChannel;
+import org.fabric3.spi.model.instance.LogicalComponent;
+import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+import org.fabric3.spi.model.instance.LogicalConsumer;
+import org.fabric3.spi.model.instance.LogicalProducer;
+import org.fabric3.spi.model.instance.LogicalReference;
+import org.fabric3.spi.model.instance.LogicalWire;
+import org.fabric3.spi.model.type.system.SystemImplementation;
+import org.w3c.dom.Document;
+
+/**
+ * Default Differ implementation.
+ *
+ * Components are compared structurally using their definitions. Java and system implementations are compared by implementation class. Other implementation
+ * types and bindings carry type-specific configuration the model does not define value equality for, so components and channels that use them are
+ * conservatively treated as changed. Intents and policy sets declared on the component type or its operations are part of the comparison. Composites that
+ * contain includes, composite-level wires, resources or properties cannot be updated incrementally.
+ */
+public class DifferImpl implements Differ {
+
+    public CompositeDiff diff(Composite composite, LogicalCompositeComponent domain) {
+        QName name = composite.getName();
+
+        Composite previous = null;
+        Map<String, LogicalComponent<?>> deployedComponents = new HashMap<>();
+        for (LogicalComponent<?> component : domain.getComponents()) {
+            Composite parent = component.getDefinition().getParent();
+            if (parent != null && name.equals(parent.getName())) {
+                deployedComponents.put(component.getDefinition().getName(), component);
+                previous = parent;
+            }
+        }
+        Map<String, LogicalChannel> deployedChannels = new HashMap<>();
+        for (LogicalChannel channel : domain.getChannels()) {
+            if (name.equals(channel.getDeployable())) {
+                deployedChannels.put(channel.getDefinition().getName(), channel);
+                if (previous == null) {
+                    previous = channel.getDefinition().getParent();
+                }
+            }
+        }
+
+        if (previous == null) {
+            return new CompositeDiff(false, false);
+        } else if (!isIncremental(previous, composite)) {
+            return new CompositeDiff(true, false);
+        }
+
+        CompositeDiff diff = new CompositeDiff(true, true);
+
+        Set<URI> collectedChannels = new HashSet<>();
+        for (Channel channel : composite.getChannels().values()) {
+            LogicalChannel deployed = deployedChannels.get(channel.getName());
+            if (deployed == null) {
+                diff.getAddedChannels().add(channel.getName());
+            } else if (!isSame(deployed.getDefinition(), channel)) {
+                diff.getChangedChannels().add(channel.getName());
+                collectedChannels.add(deployed.getUri());
+            }
+        }
+        deployedChannels.values().stream().filter(channel -> !composite.getChannels().containsKey(channel.getDefinition().getName())).forEach(channel -> {
+            diff.getRemovedChannels().add(channel.getDefinition().getName());
+            collectedChannels.add(channel.getUri());
+        });
+
+        Set<URI> collectedComponents = new HashSet<>();
+        for (Component<?> definition : composite.getComponents().values()) {
+            LogicalComponent<?> deployed = deployedComponents.get(definition.getName());
+            if (deployed == null) {
+                diff.getAddedComponents().add(definition.getName());
+            } else if (!isSame(deployed, definition) || isConnected(deployed, collectedChannels)) {
+                diff.getChangedComponents().add(definition.getName());
+                collectedComponents.add(deployed.getUri());
+            }
+        }
+        deployedComponents.values().stream().filter(component -> !composite.getComponents().containsKey(component.getDefinition().getName())).forEach(
+                component -> {
+                    diff.getRemovedComponents().add(component.getDefinition().getName());
+                    collectedComponents.add(component.getUri());
+                });
+
+        // references of components that remain deployed must be rewired if they target a collected component or a child of a collected composite
+        Set<URI> collected = new HashSet<>();
+        for (LogicalComponent<?> component : domain.getComponents()) {
+            if (collectedComponents.contains(component.getUri())) {
+                addComponentAndChildren(component, collected);
+            }
+        }
+        findRewiredReferences(domain, collected, diff);
+        return diff;
+    }
+
+    private void addComponentAndChildren(LogicalComponent<?> component, Set<URI> uris) {
+        uris.add(component.getUri());
+        if (component instanceof LogicalCompositeComponent) {
+            for (LogicalComponent<?> child : ((LogicalCompositeComponent) component).getComponents()) {
+                addComponentAndChildren(child, uris);
+            }
+        }
+    }
+
+    /**
+     * Adds references wired to a collected component, recursing into composite components that remain deployed since their children may be wired to
+     * components outside the composite.
+     *
+     * @param composite the composite to scan
+     * @param collected the URIs of collected components, including children of collected composites
+     * @param diff      the diff to add rewired references to
+     */
+    private void findRewiredReferences(LogicalCompositeComponent composite, Set<URI> collected, CompositeDiff diff) {
+        for (LogicalComponent<?> component : composite.getComponents()) {
+            if (collected.contains(component.getUri())) {
+                continue;
+            }
+            for (LogicalReference reference : component.getReferences()) {
+                for (LogicalWire wire : reference.getWires()) {
+                    if (wire.getTarget() != null && collected.contains(wire.getTarget().getParent().getUri())) {
+                        diff.getRewiredReferences().add(reference);
+                        break;
+                    }
+                }
+            }
+            if (component instanceof LogicalCompositeComponent) {
+                findRewiredReferences((LogicalCompositeComponent) component, collected, diff);
+            }
+        }
+    }
+
+    /**
+     * Returns true if the differences between composite versions are limited to components and channels.
+     *
+     * @param previous  the deployed composite
+     * @param composite the new composite
+     * @return true if the composite can be updated incrementally
+     */
+    private boolean isIncremental(Composite previous, Composite composite) {
+        if (!previous.getIncludes().isEmpty() || !composite.getIncludes().isEmpty()) {
+            return false;
+        }
+        if (!previous.getResources().isEmpty() || !composite.getResources().isEmpty()) {
+            return false;
+        }
+        if (!previous.getProperties().isEmpty() || !composite.getProperties().isEmpty()) {
+            return false;
+        }
+        if (!Objects.equals(previous.getContributionUri(), composite.getContributionUri())) {
+            return false;
+        }
+        List<Wire> previousWires = previous.getWires();
+        List<Wire> wires = composite.getWires();
+        if (previousWires.size() != wires.size()) {
+            return false;
+        }
+        for (int i = 0; i < wires.size(); i++) {
+            Wire previousWire = previousWires.get(i);
+            Wire wire = wires.get(i);
+            if (!Objects.equals(previousWire.getReferenceTarget(), wire.getReferenceTarget())
+                || !Objects.equals(previousWire.getServiceTarget(), wire.getServiceTarget())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSame(LogicalComponent<?> deployed, Component<?> definition) {
+        Component<?> previous = deployed.getDefinition();
+        if (deployed instanceof LogicalCompositeComponent || definition.getComponentType() instanceof Composite) {
+            // nested composites are always rebuilt
+            return false;
+        }
+        if (!Objects.equals(previous.getContributionUri(), definition.getContributionUri()) || !Objects.equals(previous.getKey(), definition.getKey())
+            || previous.getOrder() != definition.getOrder()) {
+            return false;
+        }
+        if (!isSame(previous.getImplementation(), definition.getImplementation())) {
+            return false;
+        }
+        if (!isSameComponentType(previous.getComponentType(), definition.getComponentType())) {
+            return false;
+        }
+        if (!previous.getPropertyValues().keySet().equals(definition.getPropertyValues().keySet())) {
+            return false;
+        }
+        for (PropertyValue value : definition.getPropertyValues().values()) {
+            if (!isSame(previous.getPropertyValues().get(value.getName()), value)) {
+                return false;
+            }
+        }
+        if (!previous.getServices().keySet().equals(definition.getServices().keySet())) {
+            return false;
+        }
+        for (Service<Component> service : definition.getServices().values()) {
+            Service<Component> previousService = previous.getServices().get(service.getName());
+            if (!isSame(previousService.getBindings(), service.getBindings()) || !isSame(previousService.getCallbackBindings(),
+                                                                                           service.getCallbackBindings())) {
+                return false;
+            }
+        }
+        if (!previous.getReferences().keySet().equals(definition.getReferences().keySet())) {
+            return false;
+        }
+        for (Reference<Component> reference : definition.getReferences().values()) {
+            Reference<Component> previousReference = previous.getReferences().get(reference.getName());
+            if (!previousReference.getTargets().equals(reference.getTargets()) || previousReference.getMultiplicity() != reference.getMultiplicity()
+                || previousReference.isKeyed() != reference.isKeyed() || !isSame(previousReference.getBindings(), reference.getBindings()) || !isSame(
+                    previousReference.getCallbackBindings(),
+                    reference.getCallbackBindings())) {
+                return false;
+            }
+        }
+        if (!previous.getProducers().keySet().equals(definition.getProducers().keySet())) {
+            return false;
+        }
+        for (Producer<Component> producer : definition.getProducers().values()) {
+            Producer<Component> previousProducer = previous.getProducers().get(producer.getName());
+            if (!previousProducer.getTargets().equals(producer.getTargets()) || !isSame(previousProducer.getBindings(), producer.getBindings())) {
+                return false;
+            }
+        }
+        if (!previous.getConsumers().keySet().equals(definition.getConsumers().keySet())) {
+            return false;
+        }
+        for (Consumer<Component> consumer : definition.getConsumers().values()) {
+            Consumer<Component> previousConsumer = previous.getConsumers().get(consumer.getName());
+            if (!previousConsumer.getSources().equals(consumer.getSources()) || previousConsumer.getSequence() != consumer.getSequence()
+                || previousConsumer.isDirect() != consumer.isDirect() || !Objects.equals(previousConsumer.getGroup(), consumer.getGroup()) || !isSame(
+                    previousConsumer.getBindings(),
+                    consumer.getBindings())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSameComponentType(ComponentType previous, ComponentType type) {
+        if (previous == type) {
+            return true;
+        } else if (previous == null || type == null) {
+            return false;
+        }
+        if (!previous.getServices().keySet().equals(type.getServices().keySet()) || !previous.getReferences().keySet().equals(type.getReferences().keySet())
+            || !previous.getProducers().keySet().equals(type.getProducers().keySet()) || !previous.getConsumers().keySet().equals(type.getConsumers().keySet())
+            || !previous.getProperties().keySet().equals(type.getProperties().keySet()) || !previous.getResourceReferences().keySet().equals(
+                type.getResourceReferences().keySet())) {
+            return false;
+        }
+        // intents and policy sets are attached to the component type and to operations, where they determine the interceptors and wire configuration
+        if (!new HashSet<>(previous.getPolicies()).equals(new HashSet<>(type.getPolicies()))) {
+            return false;
+        }
+        return isSamePolicies(previous.getServices(), type.getServices(), Service::getServiceContract)
+               && isSamePolicies(previous.getReferences(), type.getReferences(), Reference::getServiceContract)
+               && isSamePolicies(previous.getProducers(), type.getProducers(), Producer::getServiceContract)
+               && isSamePolicies(previous.getConsumers(), type.getConsumers(), Consumer::getServiceContract);
+    }
+
+    private <T> boolean isSamePolicies(Map<String, T> previous, Map<String, T> current, Function<T, ServiceContract> contract) {
+        for (Map.Entry<String, T> entry : current.entrySet()) {
+            if (!isSamePolicies(contract.apply(previous.get(entry.getKey())), contract.apply(entry.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSamePolicies(ServiceContract previous, ServiceContract contract) {
+        if (previous == null || contract == null) {
+            return previous == contract;
+        }
+        Map<String, Operation> previousOperations = new HashMap<>();
+        for (Operation operation : previous.getOperations()) {
+            previousOperations.put(getSignature(operation), operation);
+        }
+        if (previousOperations.size() != contract.getOperations().size()) {
+            return false;
+        }
+        for (Operation operation : contract.getOperations()) {
+            Operation previousOperation = previousOperations.get(getSignature(operation));
+            if (previousOperation == null || !new HashSet<>(previousOperation.getPolicies()).equals(new HashSet<>(operation.getPolicies()))) {
+                return false;
+            }
+            Map<QName, Serializable> previousMetadata = previousOperation.getMetadata();
+            Map<QName, Serializable> metadata = operation.getMetadata();
+            if (!previousMetadata.keySet().equals(metadata.keySet())) {
+                return false;
+            }
+            for (Map.Entry<QName, Serializable> entry : metadata.entrySet()) {
+                // metadata types without value equality are conservatively treated as changed
+                if (!Objects.deepEquals(previousMetadata.get(entry.getKey()), entry.getValue())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private String getSignature(Operation operation) {
+        StringBuilder builder = new StringBuilder(operation.getName());
+        for (DataType type : operation.getInputTypes()) {
+            builder.append(':').append(type.getType().getName());
+        }
+        return builder.toString();
+    }
+
+    private boolean isSame(Implementation<?> previous, Implementation<?> implementation) {
+        if (previous == null || implementation == null) {
+            return previous == implementation;
+        }
+        if (previous instanceof JavaImplementation && implementation instanceof JavaImplementation) {
+            JavaImplementation previousJava = (JavaImplementation) previous;
+            JavaImplementation java = (JavaImplementation) implementation;
+            return previousJava.getImplementationClass() == java.getImplementationClass() && previousJava.getInstance() == java.getInstance();
+        } else if (previous instanceof SystemImplementation && implementation instanceof SystemImplementation) {
+            return ((SystemImplementation) previous).getImplementationClass() == ((SystemImplementation) implementation).getImplementationClass();
+        }
+        // other implementation types may carry configuration that cannot be compared
+        return false;
+    }
+
+    private boolean isSame(PropertyValue previous, PropertyValue value) {
+        if (!Objects.equals(previous.getSource(), value.getSource()) || !Objects.equals(previous.getFile(), value.getFile()) || !Objects.equals(previous.getType(),
+                                                                                                                                                 value.getType())
+            || !Objects.equals(previous.getElement(), value.getElement()) || previous.getMany() != value.getMany() || !Objects.equals(previous.getInstanceValue(),
+                                                                                                                                      value.getInstanceValue())) {
+            return false;
+        }
+        Document previousDocument = previous.getValue();
+        Document document = value.getValue();
+        if (previousDocument == null || document == null) {
+            return previousDocument == document;
+        }
+        return previousDocument.isEqualNode(document);
+    }
+
+    private boolean isSame(Channel previous, Channel channel) {
+        return Objects.equals(previous.getType(), channel.getType()) && previous.isLocal() == channel.isLocal() && Objects.equals(previous.getContributionUri(),
+                                                                                                                                  channel.getContributionUri())
+               && previous.getConnectionTypes().equals(channel.getConnectionTypes()) && Objects.equals(previous.getMetadata(Object.class),
+                                                                                                        channel.getMetadata(Object.class)) && isSame(
+                previous.getBindings(),
+                channel.getBindings());
+    }
+
+    private boolean isSame(List<Binding> previous, List<Binding> bindings) {
+        // binding configuration is binding-specific and cannot be compared, so only unbound elements are considered unchanged
+        return previous.isEmpty() && bindings.isEmpty();
+    }
+
+    /**
+     * Returns true if the deployed component has a producer or consumer connected to one of the given channels.
+     *
+     * @param deployed the deployed component
+     * @param channels the channel URIs
+     * @return true if the component is connected
+     */
+    private boolean isConnected(LogicalComponent<?> deployed, Set<URI> channels) {
+        if (channels.isEmpty()) {
+            return false;
+        }
+        for (LogicalProducer producer : deployed.getProducers()) {
+            if (producer.getTargets().stream().anyMatch(channels::contains)) {
+                return true;
+            }
+        }
+        for (LogicalConsumer consumer : deployed.getConsumers()) {
+            if (consumer.getSources().stream().anyMatch(channels::contains)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -20,15 +20,19 @@
 package org.fabric3.fabric.domain.generator;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.fabric3.fabric.container.command.Command;
 
 /**
- * A collection of {@link Command}s that perform a deployment.
+ * A collection of {@link Command}s that perform a deployment. Commands are kept in insertion order and indexed by their equality so duplicates can be
+ * detected in constant time.
  */
 public class Deployment {
     private List<Command> commands = new ArrayList<>();
+    private Set<Command> index = new HashSet<>();
 
     public List<Command> getCommands() {
         return commands;
@@ -36,10 +40,26 @@ public class Deployment {
 
     public void addCommand(Command command) {
         commands.add(command);
+        index.add(command);
     }
 
     public void addCommands(List<Command> list) {
         commands.addAll(list);
+        index.addAll(list);
+    }
+
+    /**
+     * Adds the command if an equal command has not already been added.
+     *
+     * @param command the command
+     * @return true if the command was added
+     */
+    public boolean addCommandIfAbsent(Command command) {
+        if (!index.add(command)) {
+            return false;
+        }
+        commands.add(command);
+        return true;
     }
 
 }
@@ -21,7 +21,9 @@ package org.fabric3.fabric.domain.generator.context;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.Names;
@@ -38,17 +40,15 @@ import org.oasisopen.sca.annotation.EagerInit;
 public class StartContextCommandGeneratorImpl implements StartContextCommandGenerator {
 
     public List<Command> generate(List<LogicalComponent<?>> components) throws Fabric3Exception {
-        List<Command> commands = new ArrayList<>();
+        Set<Command> commands = new LinkedHashSet<>();
         components.stream().filter(component -> component.getState() == LogicalState.NEW).forEach(component -> {
             URI uri = component.getDefinition().getContributionUri();
             // only log application composite deployments
             boolean log = !component.getUri().toString().startsWith(Names.RUNTIME_NAME);
             StartContextCommand command = new StartContextCommand(uri, log);
-            if (!commands.contains(command)) {
-                commands.add(command);
-            }
+            commands.add(command);
         });
-        return commands;
+        return new ArrayList<>(commands);
     }
 
 }
@@ -20,7 +20,10 @@ package org.fabric3.fabric.domain.generator.context;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.Names;
@@ -35,17 +38,22 @@ import org.fabric3.spi.model.instance.LogicalState;
 public class StopContextCommandGeneratorImpl implements StopContextCommandGenerator {
 
     public List<Command> generate(List<LogicalComponent<?>> components) throws Fabric3Exception {
-        List<Command> commands = new ArrayList<>();
+        // contexts are only stopped when all of their components are undeployed; otherwise, remaining component instances would be destroyed when an
+        // updated composite is redeployed incrementally
+        Set<URI> active = components.stream().filter(component -> component.getState() != LogicalState.MARKED).map(component -> component.getDefinition()
+                .getContributionUri()).collect(Collectors.toSet());
+        Set<Command> commands = new LinkedHashSet<>();
         components.stream().filter(component -> component.getState() == LogicalState.MARKED).forEach(component -> {
             URI uri = component.getDefinition().getContributionUri();
+            if (active.contains(uri)) {
+                return;
+            }
             // only log application composite deployments
             boolean log = !component.getUri().toString().startsWith(Names.RUNTIME_NAME);
             StopContextCommand command = new StopContextCommand(uri, log);
-            if (!commands.contains(command)) {
-                commands.add(command);
-            }
+            commands.add(command);
         });
-        return commands;
+        return new ArrayList<>(commands);
     }
 
 }
@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.fabric3.api.annotation.monitor.Monitor;
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.fabric.domain.generator.CommandGenerator;
 import org.fabric3.fabric.domain.generator.context.StartContextCommandGenerator;
@@ -34,21 +35,31 @@ import org.fabric3.fabric.domain.generator.resource.DomainResourceCommandGenerat
 import org.fabric3.fabric.container.command.Command;
 import org.fabric3.fabric.domain.generator.Deployment;
 import org.fabric3.fabric.domain.generator.Generator;
+import org.fabric3.spi.model.instance.LogicalBinding;
 import org.fabric3.spi.model.instance.LogicalComponent;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+import org.fabric3.spi.model.instance.LogicalReference;
 import org.fabric3.spi.model.instance.LogicalResource;
+import org.fabric3.spi.model.instance.LogicalService;
+import org.fabric3.spi.model.instance.LogicalState;
+import org.fabric3.spi.model.instance.LogicalWire;
 import org.oasisopen.sca.annotation.Constructor;
 import org.oasisopen.sca.annotation.EagerInit;
 import org.oasisopen.sca.annotation.Reference;
 
 /**
  * Default Generator implementation.
+ *
+ * Logical components, bindings and wires are marked {@link LogicalState#NEW} or {@link LogicalState#MARKED} while a deployment is in progress and reset to
+ * {@link LogicalState#PROVISIONED} once it completes. Command generators are therefore only invoked for components that are changed or wired to changed
+ * components; provisioned components elsewhere in the domain are skipped.
  */
 @EagerInit
 public class GeneratorImpl implements Generator {
     private List<CommandGenerator> commandGenerators;
     private StartContextCommandGenerator startContextCommandGenerator;
     private StopContextCommandGenerator stopContextCommandGenerator;
+    private GeneratorMonitor monitor;
 
     /**
      * Injected after bootstrap.
@@ -59,16 +70,20 @@ public class GeneratorImpl implements Generator {
     @Constructor
     public GeneratorImpl(@Reference List<CommandGenerator> commandGenerators,
                          @Reference StartContextCommandGenerator startContextCommandGenerator,
-                         @Reference StopContextCommandGenerator stopContextCommandGenerator) {
+                         @Reference StopContextCommandGenerator stopContextCommandGenerator,
+                         @Monitor GeneratorMonitor monitor) {
         this.startContextCommandGenerator = startContextCommandGenerator;
         this.stopContextCommandGenerator = stopContextCommandGenerator;
+        this.monitor = monitor;
         // sort the command generators
         this.commandGenerators = sortGenerators(commandGenerators);
     }
 
     public Deployment generate(LogicalCompositeComponent domain) throws Fabric3Exception {
+        long start = System.nanoTime();
 
-        List<LogicalComponent<?>> components = domain.getComponents().stream().collect(Collectors.toList());
+        List<LogicalComponent<?>> components = new ArrayList<>(domain.getComponents());
+        List<LogicalComponent<?>> changed = components.stream().filter(this::isChanged).collect(Collectors.toList());
 
         Deployment deployment = new Deployment();
 
@@ -84,16 +99,15 @@ public class GeneratorImpl implements Generator {
             }
         }
 
-        for (CommandGenerator<?> generator : commandGenerators) {
-            for (LogicalComponent<?> component : components) {
+        long[] times = new long[commandGenerators.size()];
+        for (int i = 0; i < times.length; i++) {
+            CommandGenerator<?> generator = commandGenerators.get(i);
+            long generatorStart = System.nanoTime();
+            for (LogicalComponent<?> component : changed) {
                 Optional<? extends Command> command = generator.generate(component);
-                command.ifPresent(generated -> {
-                    if (!deployment.getCommands().contains(generated)) {
-                        deployment.addCommand(generated);
-                    }
-                });
-
+                command.ifPresent(deployment::addCommandIfAbsent);
             }
+            times[i] = System.nanoTime() - generatorStart;
         }
 
         // generate commands for domain-level resources being undeployed
@@ -107,9 +121,66 @@ public class GeneratorImpl implements Generator {
         List<Command> startCommands = startContextCommandGenerator.generate(components);
         deployment.addCommands(startCommands);
 
+        if (!changed.isEmpty()) {
+            double elapsed = (System.nanoTime() - start) / 1000000.0;
+            monitor.generated(deployment.getCommands().size(), changed.size(), components.size(), elapsed, getBreakdown(times));
+        }
         return deployment;
     }
 
+    /**
+     * Returns true if commands may need to be generated for the component, i.e. it is being deployed or undeployed, a service or reference binding is being
+     * added or removed, or one of its wires or wire targets is being added or removed.
+     *
+     * @param component the component
+     * @return true if the component is changed
+     */
+    private boolean isChanged(LogicalComponent<?> component) {
+        if (component.getState() != LogicalState.PROVISIONED) {
+            return true;
+        }
+        for (LogicalService service : component.getServices()) {
+            if (isChanged(service.getBindings()) || isChanged(service.getCallbackBindings())) {
+                return true;
+            }
+        }
+        for (LogicalReference reference : component.getReferences()) {
+            if (isChanged(reference.getBindings()) || isChanged(reference.getCallbackBindings())) {
+                return true;
+            }
+            for (LogicalWire wire : reference.getWires()) {
+                if (wire.getState() != LogicalState.PROVISIONED) {
+                    return true;
+                }
+                LogicalService target = wire.getTarget();
+                if (target != null && target.getParent().getState() != LogicalState.PROVISIONED) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isChanged(List<LogicalBinding<?>> bindings) {
+        for (LogicalBinding<?> binding : bindings) {
+            if (binding.getState() != LogicalState.PROVISIONED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String getBreakdown(long[] times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(commandGenerators.get(i).getClass().getSimpleName()).append("=").append(String.format("%.3f", times[i] / 1000000.0));
+        }
+        return builder.toString();
+    }
+
     private List<CommandGenerator> sortGenerators(List<? extends CommandGenerator> commandGenerators) {
         Comparator<CommandGenerator> generatorComparator = (first, second) -> first.getOrder() - second.getOrder();
         List<CommandGenerator> sorted = new ArrayList<>(commandGenerators);
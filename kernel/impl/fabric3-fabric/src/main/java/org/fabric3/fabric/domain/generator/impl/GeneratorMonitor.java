@@ -0,0 +1,29 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.domain.generator.impl;
+
+import org.fabric3.api.annotation.monitor.Debug;
+
+/**
+ *
+ */
+public interface GeneratorMonitor {
+
+    @Debug("Generated {0} commands for {1} of {2} components in {3} ms. Generator times (ms): {4}")
+    void generated(int commands, int changed, int total, double elapsed, String breakdown);
+
+}
@@ -37,6 +37,16 @@ public interface PhysicalOperationGenerator {
      */
     Set<PhysicalOperation> generateOperations(List<LogicalOperation> operations) throws Fabric3Exception;
 
+    /**
+     * Generates PhysicalOperationDefinitions for a reference configured with a binding, including interceptors for policies that are independent of the
+     * binding.
+     *
+     * @param operations the logical reference operations to generate from
+     * @return the PhysicalOperationDefinition
+     * @throws Fabric3Exception if there is an error generating the operations
+     */
+    Set<PhysicalOperation> generateBoundReferenceOperations(List<LogicalOperation> operations) throws Fabric3Exception;
+
     /**
      * Generates a PhysicalOperationDefinition when the source reference and target service contracts are different.
      *
@@ -57,6 +57,22 @@ public class PhysicalOperationGeneratorImpl implements PhysicalOperationGenerato
         return physicalOperations;
     }
 
+    public Set<PhysicalOperation> generateBoundReferenceOperations(List<LogicalOperation> operations) {
+        Set<PhysicalOperation> physicalOperations = new HashSet<>(operations.size());
+        List<InterceptorGenerator> generators = generatorRegistry.getInterceptorGenerators();
+        for (LogicalOperation operation : operations) {
+            PhysicalOperation physicalOperation = generate(operation);
+            Set<PhysicalInterceptor> interceptors = new LinkedHashSet<>();
+            for (InterceptorGenerator interceptorGenerator : generators) {
+                Optional<PhysicalInterceptor> optional = interceptorGenerator.generateBoundReference(operation);
+                optional.ifPresent(interceptors::add);
+            }
+            physicalOperation.setInterceptors(interceptors);
+            physicalOperations.add(physicalOperation);
+        }
+        return physicalOperations;
+    }
+
     public Set<PhysicalOperation> generateOperations(List<LogicalOperation> sources, List<LogicalOperation> targets, boolean remote) {
         Set<PhysicalOperation> physicalOperations = new HashSet<>(sources.size());
         for (LogicalOperation source : sources) {
@@ -159,7 +159,7 @@ public class WireGeneratorImpl implements WireGenerator {
         target.setClassLoader(targetLoader);
 
         // generate the metadata for interceptors that are attached to wire invocation chains, e.g. policy implemented by an interceptor
-        Set<PhysicalOperation> physicalOperations = operationGenerator.generateOperations(operations);
+        Set<PhysicalOperation> physicalOperations = operationGenerator.generateBoundReferenceOperations(operations);
         return new PhysicalWire(source, target, physicalOperations);
     }
 
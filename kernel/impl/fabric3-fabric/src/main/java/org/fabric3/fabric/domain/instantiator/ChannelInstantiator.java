@@ -16,6 +16,8 @@
  */
 package org.fabric3.fabric.domain.instantiator;
 
+import java.util.Set;
+
 import org.fabric3.api.model.type.component.Composite;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
 
@@ -33,4 +35,14 @@ public interface ChannelInstantiator {
      */
     void instantiateChannels(Composite composite, LogicalCompositeComponent parent, InstantiationContext context);
 
+    /**
+     * Instantiates a subset of the channels declared in a composite.
+     *
+     * @param composite the composite
+     * @param names     the names of the channels to instantiate
+     * @param parent    the logical composite where the channels will be added
+     * @param context   the instantiation context.
+     */
+    void instantiateChannels(Composite composite, Set<String> names, LogicalCompositeComponent parent, InstantiationContext context);
+
 }
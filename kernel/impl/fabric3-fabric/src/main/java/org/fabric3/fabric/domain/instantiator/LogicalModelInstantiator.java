@@ -21,6 +21,7 @@ package org.fabric3.fabric.domain.instantiator;
 import java.util.List;
 
 import org.fabric3.api.model.type.component.Composite;
+import org.fabric3.fabric.domain.differ.CompositeDiff;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
 
 /**
@@ -46,4 +47,15 @@ public interface LogicalModelInstantiator {
      */
     InstantiationContext include(List<Composite> composites, LogicalCompositeComponent domain);
 
+    /**
+     * Instantiates the added and changed components and channels of an updated composite in a domain. Wires of deployed components that targeted changed
+     * components are re-instantiated.
+     *
+     * @param composite the updated composite
+     * @param diff      the differences between the updated composite and its deployed state
+     * @param domain    the target composite in which the composite is deployed
+     * @return the instantiation context that results from this update operation
+     */
+    InstantiationContext update(Composite composite, CompositeDiff diff, LogicalCompositeComponent domain);
+
 }
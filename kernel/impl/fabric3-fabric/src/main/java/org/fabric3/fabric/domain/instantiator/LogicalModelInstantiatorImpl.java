@@ -32,9 +32,11 @@ import org.fabric3.api.model.type.component.Implementation;
 import org.fabric3.api.model.type.component.Include;
 import org.fabric3.api.model.type.component.Property;
 import org.fabric3.api.model.type.component.Resource;
+import org.fabric3.fabric.domain.differ.CompositeDiff;
 import org.fabric3.spi.model.instance.LogicalComponent;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
 import org.fabric3.spi.model.instance.LogicalProperty;
+import org.fabric3.spi.model.instance.LogicalReference;
 import org.fabric3.spi.model.instance.LogicalResource;
 import org.fabric3.spi.model.type.component.CompositeImplementation;
 import org.oasisopen.sca.annotation.Constructor;
@@ -85,6 +87,36 @@ public class LogicalModelInstantiatorImpl implements LogicalModelInstantiator {
         return include(domain, composite, true);
     }
 
+    public InstantiationContext update(Composite composite, CompositeDiff diff, LogicalCompositeComponent domain) {
+        InstantiationContext context = new InstantiationContext();
+
+        List<LogicalComponent<?>> newComponents = new ArrayList<>();
+        for (String name : diff.getInstantiatedComponents()) {
+            Component<? extends Implementation<?>> definition = composite.getComponents().get(name);
+            newComponents.add(instantiate(definition, domain, context));
+        }
+        for (LogicalComponent<?> component : newComponents) {
+            wireInstantiator.instantiateReferenceWires(component, context);
+        }
+
+        // reattach references of deployed components that targeted a changed component
+        for (LogicalReference reference : diff.getRewiredReferences()) {
+            reference.setResolved(false);
+            wireInstantiator.instantiateReferenceWires(reference, context);
+        }
+
+        if (channelInstantiator != null) {
+            channelInstantiator.instantiateChannels(composite, diff.getInstantiatedChannels(), domain, context);
+        }
+
+        if (domain.isAutowire()) {
+            for (LogicalComponent<?> component : domain.getComponents()) {
+                autowireInstantiator.instantiate(component, context);
+            }
+        }
+        return context;
+    }
+
     private InstantiationContext include(LogicalCompositeComponent domain, Composite composite, boolean synthetic) {
         InstantiationContext context = new InstantiationContext();
 
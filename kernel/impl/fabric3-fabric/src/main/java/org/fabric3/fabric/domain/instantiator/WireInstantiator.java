@@ -21,6 +21,7 @@ package org.fabric3.fabric.domain.instantiator;
 import org.fabric3.api.model.type.component.Composite;
 import org.fabric3.spi.model.instance.LogicalComponent;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+import org.fabric3.spi.model.instance.LogicalReference;
 
 /**
  * Instantiates explicit wires, i.e. those declared by a <code>wire<code> wire element or using the <code>target</code> attribute on a
@@ -49,4 +50,12 @@ public interface WireInstantiator {
      * @param context   the instantiation context.
      */
     void instantiateReferenceWires(LogicalComponent<?> component, InstantiationContext context);
+
+    /**
+     * Instantiates wires declared using the <code>target</code> attribute for a single reference.
+     *
+     * @param reference the logical reference
+     * @param context   the instantiation context.
+     */
+    void instantiateReferenceWires(LogicalReference reference, InstantiationContext context);
 }
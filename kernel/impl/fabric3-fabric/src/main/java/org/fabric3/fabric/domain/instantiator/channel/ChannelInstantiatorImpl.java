@@ -17,6 +17,7 @@
 package org.fabric3.fabric.domain.instantiator.channel;
 
 import java.net.URI;
+import java.util.Set;
 
 import org.fabric3.api.model.type.component.Binding;
 import org.fabric3.api.model.type.component.Channel;
@@ -34,20 +35,33 @@ public class ChannelInstantiatorImpl implements ChannelInstantiator {
 
     public void instantiateChannels(Composite composite, LogicalCompositeComponent parent, InstantiationContext context) {
         for (Channel definition : composite.getChannels().values()) {
-            URI uri = URI.create(parent.getUri() + "/" + definition.getName());
-            if (parent.getChannel(uri) != null) {
-                DuplicateChannel error = new DuplicateChannel(uri, parent);
-                context.addError(error);
-                continue;
-            }
-            LogicalChannel channel = new LogicalChannel(uri, definition, parent);
-            for (Binding binding : definition.getBindings()) {
-                LogicalBinding<Binding> logicalBinding = new LogicalBinding<>(binding, channel);
-                channel.addBinding(logicalBinding);
+            instantiateChannel(definition, composite, parent, context);
+        }
+    }
+
+    public void instantiateChannels(Composite composite, Set<String> names, LogicalCompositeComponent parent, InstantiationContext context) {
+        for (String name : names) {
+            Channel definition = composite.getChannels().get(name);
+            if (definition != null) {
+                instantiateChannel(definition, composite, parent, context);
             }
-            channel.setDeployable(composite.getName());
-            parent.addChannel(channel);
         }
     }
 
+    private void instantiateChannel(Channel definition, Composite composite, LogicalCompositeComponent parent, InstantiationContext context) {
+        URI uri = URI.create(parent.getUri() + "/" + definition.getName());
+        if (parent.getChannel(uri) != null) {
+            DuplicateChannel error = new DuplicateChannel(uri, parent);
+            context.addError(error);
+            return;
+        }
+        LogicalChannel channel = new LogicalChannel(uri, definition, parent);
+        for (Binding binding : definition.getBindings()) {
+            LogicalBinding<Binding> logicalBinding = new LogicalBinding<>(binding, channel);
+            channel.addBinding(logicalBinding);
+        }
+        channel.setDeployable(composite.getName());
+        parent.addChannel(channel);
+    }
+
 }
\ No newline at end of file
@@ -88,7 +88,7 @@ public class WireInstantiatorImpl implements WireInstantiator {
         }
     }
 
-    private void instantiateReferenceWires(LogicalReference reference, InstantiationContext context) {
+    public void instantiateReferenceWires(LogicalReference reference, InstantiationContext context) {
         LogicalCompositeComponent parent = reference.getParent().getParent();
         Reference componentReference = reference.getComponentReference();
         Reference<ComponentType> definition = reference.getDefinition();
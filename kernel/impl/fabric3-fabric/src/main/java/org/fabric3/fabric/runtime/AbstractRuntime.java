@@ -41,6 +41,7 @@ import org.fabric3.fabric.container.component.ScopeContainerMonitor;
 import org.fabric3.fabric.container.component.ScopeRegistryImpl;
 import org.fabric3.fabric.domain.LogicalComponentManagerImpl;
 import org.fabric3.fabric.management.DelegatingManagementService;
+import org.fabric3.fabric.runtime.trace.StartupTracerImpl;
 import org.fabric3.monitor.proxy.JDKMonitorProxyService;
 import org.fabric3.monitor.proxy.MonitorProxyServiceImpl;
 import org.fabric3.spi.classloader.ClassLoaderRegistry;
@@ -54,6 +55,7 @@ import org.fabric3.spi.contribution.MetaDataStore;
 import org.fabric3.spi.contribution.ProcessorRegistry;
 import org.fabric3.fabric.domain.LogicalComponentManager;
 import org.fabric3.spi.management.ManagementService;
+import org.fabric3.spi.runtime.trace.StartupTracer;
 
 /**
  *
@@ -73,12 +75,14 @@ public abstract class AbstractRuntime implements Fabric3Runtime, RuntimeServices
     private ManagementService managementService;
     private MBeanServer mbServer;
     private DestinationRouter router;
+    private StartupTracer startupTracer;
     private MonitorLevel level = MonitorLevel.INFO;
 
     protected AbstractRuntime(RuntimeConfiguration configuration) {
         hostInfo = configuration.getHostInfo();
         mbServer = configuration.getMBeanServer();
         router = configuration.getDestinationRouter();
+        startupTracer = new StartupTracerImpl();
         System.setProperty(JAVA_LIBRARY_PATH, new File(hostInfo.getTempDir(), "native").getAbsolutePath());
     }
 
@@ -119,6 +123,7 @@ public abstract class AbstractRuntime implements Fabric3Runtime, RuntimeServices
 
         ScopeContainerMonitor monitor = monitorService.createMonitor(ScopeContainerMonitor.class);
         scopeContainer = new CompositeScopeContainer(monitor);
+        scopeContainer.setTracer(startupTracer);
         scopeContainer.start();
         scopeRegistry = new ScopeRegistryImpl();
         scopeRegistry.register(scopeContainer);
@@ -185,4 +190,8 @@ public abstract class AbstractRuntime implements Fabric3Runtime, RuntimeServices
         return router;
     }
 
+    public StartupTracer getStartupTracer() {
+        return startupTracer;
+    }
+
 }
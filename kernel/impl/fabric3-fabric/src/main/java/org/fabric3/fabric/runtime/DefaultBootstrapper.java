@@ -64,6 +64,7 @@ import org.fabric3.spi.introspection.java.IntrospectionHelper;
 import org.fabric3.spi.management.ManagementService;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
 import org.fabric3.spi.model.instance.LogicalProperty;
+import org.fabric3.spi.runtime.trace.StartupTracer;
 import org.w3c.dom.Document;
 import static org.fabric3.api.host.Names.BOOT_CONTRIBUTION;
 import static org.fabric3.api.host.Names.HOST_CONTRIBUTION;
@@ -93,6 +94,7 @@ public class DefaultBootstrapper implements Bootstrapper {
     private MBeanServer mbeanServer;
     private ManagementService managementService;
     private HostInfo hostInfo;
+    private StartupTracer tracer;
 
     private Domain runtimeDomain;
 
@@ -138,6 +140,7 @@ public class DefaultBootstrapper implements Bootstrapper {
         mbeanServer = runtimeServices.getMBeanServer();
         managementService = runtimeServices.getManagementService();
         hostInfo = runtimeServices.getHostInfo();
+        tracer = runtimeServices.getStartupTracer();
 
         synthesizer = new SingletonComponentSynthesizer(implementationIntrospector, instantiator, lcm, componentManager, contractProcessor, scopeContainer);
 
@@ -151,7 +154,8 @@ public class DefaultBootstrapper implements Bootstrapper {
                                                               lcm,
                                                               metaDataStore,
                                                               managementService,
-                                                              hostInfo);
+                                                              hostInfo,
+                                                              tracer);
 
         // register the runtime domain component
         registerComponent("RuntimeDomain", Domain.class, runtimeDomain, true);
@@ -191,6 +195,7 @@ public class DefaultBootstrapper implements Bootstrapper {
             registerComponent("MBeanServer", MBeanServer.class, mbeanServer, false);
         }
         registerComponent("ManagementService", ManagementService.class, managementService, true);
+        registerComponent("StartupTracer", StartupTracer.class, tracer, false);
 
         // services available through the inward facing RuntimeServices SPI
         registerComponent("ComponentManager", ComponentManager.class, componentManager, true);
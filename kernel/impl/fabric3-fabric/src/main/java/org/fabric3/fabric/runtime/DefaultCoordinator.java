@@ -19,8 +19,10 @@
 package org.fabric3.fabric.runtime;
 
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.host.contribution.ContributionOrder;
@@ -31,6 +33,8 @@ import org.fabric3.api.host.runtime.BootConfiguration;
 import org.fabric3.api.host.runtime.Fabric3Runtime;
 import org.fabric3.api.host.runtime.RuntimeCoordinator;
 import org.fabric3.api.host.runtime.RuntimeState;
+import org.fabric3.fabric.runtime.extension.ExtensionActivator;
+import org.fabric3.fabric.runtime.trace.StartupProfiler;
 import org.fabric3.spi.runtime.event.EventService;
 import org.fabric3.spi.runtime.event.ExtensionsInitialized;
 import org.fabric3.spi.runtime.event.JoinDomain;
@@ -39,6 +43,7 @@ import org.fabric3.spi.runtime.event.RuntimeDestroyed;
 import org.fabric3.spi.runtime.event.RuntimeRecover;
 import org.fabric3.spi.runtime.event.RuntimeStart;
 import org.fabric3.spi.runtime.event.RuntimeStop;
+import org.fabric3.spi.runtime.trace.StartupTracer;
 import static org.fabric3.api.host.Names.APPLICATION_DOMAIN_URI;
 import static org.fabric3.api.host.Names.RUNTIME_DOMAIN_SERVICE_URI;
 
@@ -46,13 +51,18 @@ import static org.fabric3.api.host.Names.RUNTIME_DOMAIN_SERVICE_URI;
  * Default implementation of the RuntimeCoordinator.
  */
 public class DefaultCoordinator implements RuntimeCoordinator {
+    private static final URI RUNTIME_SERVICES = URI.create("fabric3://RuntimeServices");
+
     private RuntimeState state = RuntimeState.UNINITIALIZED;
     private BootConfiguration configuration;
     private Fabric3Runtime runtime;
+    private StartupTracer tracer;
 
     public DefaultCoordinator(BootConfiguration configuration) {
         this.configuration = configuration;
         runtime = configuration.getRuntime();
+        RuntimeServices runtimeServices = runtime.getComponent(RuntimeServices.class, RUNTIME_SERVICES);
+        tracer = runtimeServices == null ? StartupTracer.NO_OP : runtimeServices.getStartupTracer();
     }
 
     public RuntimeState getState() {
@@ -66,37 +76,83 @@ public class DefaultCoordinator implements RuntimeCoordinator {
     }
 
     public void boot() throws Fabric3Exception {
-        runtime.boot();
-        Bootstrapper bootstrapper = new DefaultBootstrapper(configuration);
-
-        // boot runtime domain
-        bootstrapper.bootRuntimeDomain();
-
-        // initialize core system components
-        bootstrapper.bootSystem();
+        StartupTracer.Span phase = tracer.start("phase", "boot");
+        try {
+            runtime.boot();
+            Bootstrapper bootstrapper = new DefaultBootstrapper(configuration);
+
+            // boot runtime domain
+            StartupTracer.Span step = tracer.start("phase", "bootRuntimeDomain");
+            try {
+                bootstrapper.bootRuntimeDomain();
+            } finally {
+                step.close();
+            }
 
+            // initialize core system components
+            step = tracer.start("phase", "bootSystem");
+            try {
+                bootstrapper.bootSystem();
+            } finally {
+                step.close();
+            }
+        } finally {
+            phase.close();
+        }
     }
 
     public void load() throws Fabric3Exception {
-        // load and initialize runtime extension components and the local runtime domain
-        loadExtensions();
-
-        EventService eventService = runtime.getComponent(EventService.class);
-        eventService.publish(new ExtensionsInitialized());
+        StartupTracer.Span phase = tracer.start("phase", "load");
+        try {
+            // load and initialize runtime extension components and the local runtime domain
+            StartupTracer.Span step = tracer.start("phase", "loadExtensions");
+            try {
+                loadExtensions();
+            } finally {
+                step.close();
+            }
 
-        // initiate local runtime recovery
-        recover(eventService);
+            EventService eventService = runtime.getComponent(EventService.class);
+            eventService.publish(new ExtensionsInitialized());
+
+            // initiate local runtime recovery
+            step = tracer.start("phase", "recover");
+            try {
+                recover(eventService);
+            } finally {
+                step.close();
+            }
+        } finally {
+            phase.close();
+        }
     }
 
     public void joinDomain() {
         EventService eventService = runtime.getComponent(EventService.class);
 
-        eventService.publish(new JoinDomain());
-        eventService.publish(new JoinDomainCompleted());
+        StartupTracer.Span phase = tracer.start("phase", "joinDomain");
+        try {
+            eventService.publish(new JoinDomain());
+            eventService.publish(new JoinDomainCompleted());
+        } finally {
+            phase.close();
+        }
 
         // signal runtime start
-        eventService.publish(new RuntimeStart());
+        phase = tracer.start("phase", "start");
+        try {
+            eventService.publish(new RuntimeStart());
+        } finally {
+            phase.close();
+        }
         state = RuntimeState.STARTED;
+
+        // stop recording and report where startup time was spent
+        tracer.complete();
+        StartupProfiler profiler = runtime.getComponent(StartupProfiler.class);
+        if (profiler != null) {
+            profiler.report();
+        }
     }
 
     public void shutdown() throws Fabric3Exception {
@@ -122,13 +178,25 @@ public class DefaultCoordinator implements RuntimeCoordinator {
         try {
             // process manifests and order the contributions
             ContributionOrder order = contributionService.processManifests(contributions);
-            order.getBaseContributions().forEach(contributionService::processContents);
+
+            // extensions that can be activated on demand are skipped
+            List<URI> extensions = new ArrayList<>(order.getBaseContributions());
+            extensions.addAll(order.getIsolatedContributions());
+            ExtensionActivator activator = runtime.getComponent(ExtensionActivator.class);
+            Set<URI> deferred = activator.index(extensions, contributionService);
+            List<URI> base = new ArrayList<>(order.getBaseContributions());
+            base.removeAll(deferred);
+
+            base.forEach(contributionService::processContents);
             // base contributions are deployed in batch since they only rely on boot runtime capabilities
-            domain.include(order.getBaseContributions());
+            domain.include(base);
 
             // Isolated contributions must be introspected and deployed individually as they rely on capabilities provided by another contribution.
             // In this case, the providing contribution must be installed and deployed first, precluding batch deployment
             for (URI uri : order.getIsolatedContributions()) {
+                if (deferred.contains(uri)) {
+                    continue;
+                }
                 contributionService.processContents(uri);
                 domain.include(Collections.singletonList(uri));
             }
@@ -31,6 +31,7 @@ import org.fabric3.spi.container.component.ScopeRegistry;
 import org.fabric3.spi.contribution.MetaDataStore;
 import org.fabric3.fabric.domain.LogicalComponentManager;
 import org.fabric3.spi.management.ManagementService;
+import org.fabric3.spi.runtime.trace.StartupTracer;
 
 /**
  * Interface for accessing services provided by a runtime.
@@ -120,4 +121,11 @@ public interface RuntimeServices {
      * Returns the default monitor destination router.
      */
     DestinationRouter getDestinationRouter();
+
+    /**
+     * Returns the tracer for recording the time taken by startup operations.
+     *
+     * @return the tracer
+     */
+    StartupTracer getStartupTracer();
 }
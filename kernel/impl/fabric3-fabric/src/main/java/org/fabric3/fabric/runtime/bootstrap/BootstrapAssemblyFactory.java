@@ -57,6 +57,7 @@ import org.fabric3.fabric.domain.generator.context.StartContextCommandGeneratorI
 import org.fabric3.fabric.domain.generator.context.StopContextCommandGenerator;
 import org.fabric3.fabric.domain.generator.context.StopContextCommandGeneratorImpl;
 import org.fabric3.fabric.domain.generator.impl.GeneratorImpl;
+import org.fabric3.fabric.domain.generator.impl.GeneratorMonitor;
 import org.fabric3.fabric.domain.generator.impl.GeneratorRegistryImpl;
 import org.fabric3.fabric.domain.generator.wire.BoundServiceCommandGenerator;
 import org.fabric3.fabric.domain.generator.wire.OperationResolverImpl;
@@ -131,6 +132,7 @@ import org.fabric3.fabric.domain.generator.wire.WireGenerator;
 import org.fabric3.spi.introspection.java.IntrospectionHelper;
 import org.fabric3.spi.management.ManagementService;
 import org.fabric3.spi.model.type.system.SystemImplementation;
+import org.fabric3.spi.runtime.trace.StartupTracer;
 import org.fabric3.spi.transform.SingleTypeTransformer;
 import org.fabric3.transform.DefaultTransformerRegistry;
 import org.fabric3.transform.property.Property2BooleanTransformer;
@@ -158,27 +160,38 @@ public class BootstrapAssemblyFactory {
                                       LogicalComponentManager logicalComponentManager,
                                       MetaDataStore metaDataStore,
                                       ManagementService managementService,
-                                      HostInfo info) throws Fabric3Exception {
+                                      HostInfo info,
+                                      StartupTracer tracer) throws Fabric3Exception {
 
         CommandExecutorRegistry commandRegistry = createCommandExecutorRegistry(monitorService,
                                                                                 classLoaderRegistry,
                                                                                 scopeRegistry,
                                                                                 componentManager,
                                                                                 managementService,
-                                                                                info);
+                                                                                info,
+                                                                                tracer);
         LocalDeployer deployer = new LocalDeployer(commandRegistry, scopeRegistry);
 
         DefaultContractMatcher matcher = new DefaultContractMatcher();
         JavaContractMatcherExtension javaMatcher = new JavaContractMatcherExtension();
         matcher.addMatcherExtension(javaMatcher);
 
-        Generator generator = createGenerator(matcher, classLoaderRegistry);
+        Generator generator = createGenerator(matcher, classLoaderRegistry, monitorService);
 
         LogicalModelInstantiator logicalModelInstantiator = createLogicalModelGenerator(matcher);
         Collector collector = new CollectorImpl();
         ContributionHelper contributionHelper = new ContributionHelperImpl(metaDataStore, info);
 
-        return new RuntimeDomain(metaDataStore, generator, logicalModelInstantiator, logicalComponentManager, deployer, collector, contributionHelper, info);
+        RuntimeDomain domain = new RuntimeDomain(metaDataStore,
+                                                 generator,
+                                                 logicalModelInstantiator,
+                                                 logicalComponentManager,
+                                                 deployer,
+                                                 collector,
+                                                 contributionHelper,
+                                                 info);
+        domain.setTracer(tracer);
+        return domain;
     }
 
     private static LogicalModelInstantiator createLogicalModelGenerator(ContractMatcher matcher) {
@@ -198,13 +211,15 @@ public class BootstrapAssemblyFactory {
                                                                          ScopeRegistry scopeRegistry,
                                                                          ComponentManager componentManager,
                                                                          ManagementService managementService,
-                                                                         HostInfo info) {
+                                                                         HostInfo info,
+                                                                         StartupTracer tracer) {
 
         DefaultTransformerRegistry transformerRegistry = createTransformerRegistry();
 
         Connector connector = createConnector(componentManager, transformerRegistry, monitorService);
 
         CommandExecutorRegistryImpl commandRegistry = new CommandExecutorRegistryImpl();
+        commandRegistry.setTracer(tracer);
         ContextMonitor contextMonitor = monitorService.createMonitor(ContextMonitor.class);
         commandRegistry.register(StartContextCommand.class, new StartContextCommandExecutor(scopeRegistry, contextMonitor));
         BuildComponentCommandExecutor executor = createBuildComponentExecutor(componentManager,
@@ -297,14 +312,15 @@ public class BootstrapAssemblyFactory {
         return new ConnectorImpl(sourceAttachers, targetAttachers);
     }
 
-    private static Generator createGenerator(ContractMatcher matcher, ClassLoaderRegistry classLoaderRegistry) {
+    private static Generator createGenerator(ContractMatcher matcher, ClassLoaderRegistry classLoaderRegistry, MonitorProxyService monitorService) {
         GeneratorRegistry generatorRegistry = createGeneratorRegistry();
         List<CommandGenerator> commandGenerators = createCommandGenerators(matcher, generatorRegistry, classLoaderRegistry);
 
         StopContextCommandGenerator stopContextGenerator = new StopContextCommandGeneratorImpl();
         StartContextCommandGenerator startContextGenerator = new StartContextCommandGeneratorImpl();
 
-        return new GeneratorImpl(commandGenerators, startContextGenerator, stopContextGenerator);
+        GeneratorMonitor monitor = monitorService.createMonitor(GeneratorMonitor.class);
+        return new GeneratorImpl(commandGenerators, startContextGenerator, stopContextGenerator, monitor);
     }
 
     @SuppressWarnings({"unchecked"})
@@ -0,0 +1,59 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.extension;
+
+import javax.xml.namespace.QName;
+import java.net.URI;
+import java.util.List;
+import java.util.Set;
+
+import org.fabric3.api.host.contribution.ContributionService;
+
+/**
+ * Activates runtime extensions on demand.
+ *
+ * Extensions that declare the binding, implementation, resource and intent types they provide in their manifest can be deferred at boot. A deferred extension
+ * is installed and deployed when a contribution first uses one of its types or imports one of its packages.
+ */
+public interface ExtensionActivator {
+
+    /**
+     * Indexes the types provided by the extensions and determines which extensions can be deferred. Extensions are deferred together with the extensions that
+     * depend on them. Extensions configured to be prewarmed and their dependencies are not deferred.
+     *
+     * @param extensions          the extension contributions in deployment order. The contribution manifests must have been processed.
+     * @param contributionService the contribution service used to install deferred extensions
+     * @return the extensions that are deferred and must not be installed at boot
+     */
+    Set<URI> index(List<URI> extensions, ContributionService contributionService);
+
+    /**
+     * Activates the deferred extensions that provide the types and the deferred extensions they depend on.
+     *
+     * @param types the types
+     * @return the activated extensions in deployment order
+     */
+    List<URI> activate(Set<QName> types);
+
+    /**
+     * Returns the extensions that are deferred and have not yet been activated.
+     *
+     * @return the deferred extensions
+     */
+    Set<URI> getDeferred();
+
+}
@@ -0,0 +1,459 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.extension;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.fabric3.api.annotation.Source;
+import org.fabric3.api.annotation.monitor.Monitor;
+import org.fabric3.api.host.contribution.ContributionService;
+import org.fabric3.api.host.domain.Domain;
+import org.fabric3.api.host.util.IOHelper;
+import org.fabric3.contribution.listener.APIImportListener;
+import org.fabric3.spi.contribution.Capability;
+import org.fabric3.spi.contribution.Contribution;
+import org.fabric3.spi.contribution.ContributionManifest;
+import org.fabric3.spi.contribution.ContributionServiceListener;
+import org.fabric3.spi.contribution.Export;
+import org.fabric3.spi.contribution.Import;
+import org.fabric3.spi.contribution.MetaDataStore;
+import org.fabric3.spi.contribution.manifest.JavaExport;
+import org.fabric3.spi.contribution.manifest.JavaImport;
+import org.fabric3.spi.introspection.xml.LoaderUtil;
+import org.oasisopen.sca.annotation.Property;
+import org.oasisopen.sca.annotation.Reference;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Default ExtensionActivator implementation.
+ *
+ * On-demand activation is enabled by setting the <code>lazy</code> attribute of the <code>extensions</code> element in the runtime system configuration. The
+ * optional <code>prewarm</code> attribute contains a comma or space separated list of extension contribution names (or name prefixes) that are always
+ * activated at boot.
+ *
+ * When a user contribution manifest is processed, the contribution's composite files are scanned for element names and required intents, and its classes are
+ * scanned for references to binding and implementation API packages, for example annotations such as <code>@ZeroMQ</code>. Deferred extensions providing
+ * those types, importing those API packages, or exporting packages imported by the contribution, are installed and deployed to the runtime domain before the
+ * contribution is installed. Since binding and implementation API packages of extensions activated at this point are not yet visible to other listeners,
+ * they are imported into the contribution here.
+ *
+ * Composites deployed programmatically through the Java DSL bypass manifest processing and therefore do not trigger activation. Extensions they require must
+ * be listed in <code>prewarm</code>.
+ */
+public class ExtensionActivatorImpl implements ExtensionActivator, ContributionServiceListener {
+    private static final String COMPOSITE_EXTENSION = ".composite";
+    private static final String CLASS_EXTENSION = ".class";
+
+    // type descriptors of binding and implementation API classes in the class file constant pool
+    private static final Pattern API_REFERENCE = Pattern.compile("L(org/fabric3/api/(?:binding|implementation)/[\\w/$]+);");
+
+    private Domain domain;
+    private MetaDataStore store;
+    private ExtensionActivatorMonitor monitor;
+    private ContributionService contributionService;
+    private XMLInputFactory xmlFactory;
+
+    private boolean lazy;
+    private List<String> prewarm = Collections.emptyList();
+
+    // deferred extensions in deployment order
+    private final List<Contribution> deferred = new ArrayList<>();
+
+    public ExtensionActivatorImpl(@Reference(name = "domain") Domain domain,
+                                  @Reference MetaDataStore store,
+                                  @Monitor ExtensionActivatorMonitor monitor) {
+        this.domain = domain;
+        this.store = store;
+        this.monitor = monitor;
+        this.xmlFactory = XMLInputFactory.newFactory();
+    }
+
+    @Property(required = false)
+    @Source("$systemConfig//f3:runtime/f3:extensions/@lazy")
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    @Property(required = false)
+    @Source("$systemConfig//f3:runtime/f3:extensions/@prewarm")
+    public void setPrewarm(String prewarm) {
+        this.prewarm = Arrays.stream(prewarm.trim().split("[,\\s]+")).filter(s -> !s.isEmpty()).collect(Collectors.toList());
+    }
+
+    public synchronized Set<URI> index(List<URI> extensions, ContributionService contributionService) {
+        this.contributionService = contributionService;
+        if (!lazy) {
+            return Collections.emptySet();
+        }
+        List<Contribution> contributions = extensions.stream().map(store::find).collect(Collectors.toList());
+
+        // defer extensions that provide types and the extensions that depend on them
+        Set<Contribution> deferrable = new HashSet<>();
+        contributions.stream().filter(c -> !c.getManifest().getProvidedTypes().isEmpty() && !isPrewarmed(c)).forEach(deferrable::add);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Contribution contribution : contributions) {
+                if (!deferrable.contains(contribution) && !isPrewarmed(contribution) && dependsOnAny(contribution, deferrable)) {
+                    deferrable.add(contribution);
+                    changed = true;
+                }
+            }
+        }
+
+        // extensions activated at boot require their dependencies
+        changed = true;
+        while (changed) {
+            changed = false;
+            for (Contribution contribution : contributions) {
+                if (deferrable.contains(contribution)) {
+                    continue;
+                }
+                for (Contribution dependency : new ArrayList<>(deferrable)) {
+                    if (dependsOn(contribution, dependency)) {
+                        deferrable.remove(dependency);
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        // extensions that do not provide types are only deferred while an extension they depend on is deferred
+        changed = true;
+        while (changed) {
+            changed = false;
+            for (Contribution contribution : contributions) {
+                if (deferrable.contains(contribution) && contribution.getManifest().getProvidedTypes().isEmpty() && !dependsOnAny(contribution, deferrable)) {
+                    deferrable.remove(contribution);
+                    changed = true;
+                }
+            }
+        }
+
+        deferred.clear();
+        contributions.stream().filter(deferrable::contains).forEach(deferred::add);
+        if (!deferred.isEmpty()) {
+            monitor.deferred(deferred.size());
+        }
+        return getDeferred();
+    }
+
+    public List<URI> activate(Set<QName> types) {
+        return activate(types, Collections.emptySet(), Collections.emptyList(), null);
+    }
+
+    public synchronized Set<URI> getDeferred() {
+        return deferred.stream().map(Contribution::getUri).collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    public void onProcessManifest(Contribution contribution) {
+        ContributionManifest manifest = contribution.getManifest();
+        if (manifest.isExtension() || isEmpty()) {
+            return;
+        }
+        Set<QName> types = new HashSet<>();
+        Set<String> packages = new HashSet<>();
+        scan(contribution, types, packages);
+        List<URI> activated = activate(types, packages, manifest.getImports(), contribution.getUri());
+        for (URI uri : activated) {
+            importApis(store.find(uri), manifest);
+        }
+    }
+
+    public void onStore(Contribution contribution) {
+    }
+
+    public void onInstall(Contribution contribution) {
+    }
+
+    public void onUpdate(Contribution contribution) {
+    }
+
+    public void onUninstall(Contribution contribution) {
+    }
+
+    public void onRemove(Contribution contribution) {
+    }
+
+    private synchronized boolean isEmpty() {
+        return deferred.isEmpty();
+    }
+
+    /**
+     * Activates the deferred extensions that provide the types, import the API packages or export packages matching the imports, together with the deferred
+     * extensions they depend on and the deferred extensions that extend them.
+     *
+     * @param types        the types
+     * @param packages     the binding and implementation API packages referenced by the contribution
+     * @param imports      the imports
+     * @param contribution the contribution requiring the extensions or null
+     * @return the activated extensions in deployment order
+     */
+    private synchronized List<URI> activate(Set<QName> types, Set<String> packages, List<Import> imports, URI contribution) {
+        Set<Contribution> required = new HashSet<>();
+        for (Contribution extension : deferred) {
+            if (providesAny(extension, types) || importsAny(extension, packages) || exportsAny(extension, imports)) {
+                required.add(extension);
+            }
+        }
+        if (required.isEmpty()) {
+            return Collections.emptyList();
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Contribution extension : deferred) {
+                if (required.contains(extension)) {
+                    continue;
+                }
+                boolean addOn = extension.getManifest().getProvidedTypes().isEmpty() && dependsOnAny(extension, required);
+                if (addOn || required.stream().anyMatch(r -> dependsOn(r, extension))) {
+                    required.add(extension);
+                    changed = true;
+                }
+            }
+        }
+        List<Contribution> ordered = deferred.stream().filter(required::contains).collect(Collectors.toList());
+        List<URI> activated = new ArrayList<>();
+        for (Contribution extension : ordered) {
+            URI uri = extension.getUri();
+            contributionService.processContents(uri);
+            domain.include(Collections.singletonList(uri));
+            deferred.remove(extension);
+            activated.add(uri);
+            monitor.activated(uri, contribution);
+        }
+        return activated;
+    }
+
+    /**
+     * Imports the binding and implementation API packages exported by an activated extension into a user contribution.
+     *
+     * @param extension the extension
+     * @param manifest  the user contribution manifest
+     */
+    private void importApis(Contribution extension, ContributionManifest manifest) {
+        for (Export export : extension.getManifest().getExports()) {
+            if (!(export instanceof JavaExport)) {
+                continue;
+            }
+            JavaExport javaExport = (JavaExport) export;
+            String name = javaExport.getPackageInfo().getName();
+            if (name.startsWith(APIImportListener.BINDING_PACKAGE) || name.startsWith(APIImportListener.IMPLEMENTATION_PACKAGE)) {
+                boolean imported = manifest.getImports().stream()
+                        .anyMatch(i -> i instanceof JavaImport && name.equals(((JavaImport) i).getPackageInfo().getName()));
+                if (!imported) {
+                    manifest.addImport(new JavaImport(javaExport.getPackageInfo()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Scans a contribution for the element names and required intents used in its composite files and the binding and implementation API packages referenced
+     * by its classes.
+     *
+     * @param contribution the contribution
+     * @param types        the types
+     * @param packages     the API packages
+     */
+    private void scan(Contribution contribution, Set<QName> types, Set<String> packages) {
+        URL location = contribution.getLocation();
+        if (location == null) {
+            return;
+        }
+        try {
+            if ("file".equals(location.getProtocol()) && new File(location.toURI()).isDirectory()) {
+                List<Path> paths;
+                try (Stream<Path> stream = Files.walk(Paths.get(location.toURI()))) {
+                    paths = stream.filter(p -> p.toString().endsWith(COMPOSITE_EXTENSION) || p.toString().endsWith(CLASS_EXTENSION)).collect(Collectors.toList());
+                }
+                for (Path path : paths) {
+                    try (InputStream stream = Files.newInputStream(path)) {
+                        if (path.toString().endsWith(COMPOSITE_EXTENSION)) {
+                            scan(stream, types);
+                        } else {
+                            scanClass(stream, packages);
+                        }
+                    }
+                }
+            } else {
+                try (JarInputStream stream = new JarInputStream(location.openStream())) {
+                    JarEntry entry;
+                    while ((entry = stream.getNextJarEntry()) != null) {
+                        if (entry.getName().endsWith(COMPOSITE_EXTENSION)) {
+                            scan(stream, types);
+                        } else if (entry.getName().endsWith(CLASS_EXTENSION)) {
+                            scanClass(stream, packages);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException | XMLStreamException e) {
+            monitor.scanError(contribution.getUri(), e);
+        }
+    }
+
+    /**
+     * Records the binding and implementation API packages referenced in a class file. Annotation and field types are stored as type descriptors in the
+     * constant pool, so the class does not need to be loaded.
+     *
+     * @param stream   the class file contents
+     * @param packages the API packages
+     */
+    private void scanClass(InputStream stream, Set<String> packages) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IOHelper.copy(stream, bytes);
+        Matcher matcher = API_REFERENCE.matcher(new String(bytes.toByteArray(), StandardCharsets.ISO_8859_1));
+        while (matcher.find()) {
+            String name = matcher.group(1);
+            packages.add(name.substring(0, name.lastIndexOf('/')).replace('/', '.'));
+        }
+    }
+
+    private void scan(InputStream stream, Set<QName> types) throws XMLStreamException {
+        // closing the reader does not close the underlying stream
+        XMLStreamReader reader = xmlFactory.createXMLStreamReader(stream);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != START_ELEMENT) {
+                    continue;
+                }
+                types.add(reader.getName());
+                String requires = reader.getAttributeValue(null, "requires");
+                if (requires == null) {
+                    continue;
+                }
+                for (String intent : requires.trim().split("\\s+")) {
+                    QName name = LoaderUtil.getQName(intent, null, reader.getNamespaceContext());
+                    if (name != null) {
+                        types.add(name);
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private boolean isPrewarmed(Contribution contribution) {
+        String name = contribution.getUri().toString();
+        return prewarm.stream().anyMatch(name::startsWith);
+    }
+
+    private boolean providesAny(Contribution extension, Set<QName> types) {
+        return extension.getManifest().getProvidedTypes().stream().anyMatch(types::contains);
+    }
+
+    /**
+     * Returns true if an extension imports any of the packages. Imports ending in <code>.*</code> match sub-packages.
+     *
+     * @param extension the extension
+     * @param packages  the package names
+     * @return true if the extension imports any of the packages
+     */
+    private boolean importsAny(Contribution extension, Set<String> packages) {
+        if (packages.isEmpty()) {
+            return false;
+        }
+        for (Import imprt : extension.getManifest().getImports()) {
+            if (!(imprt instanceof JavaImport)) {
+                continue;
+            }
+            String name = ((JavaImport) imprt).getPackageInfo().getName();
+            String prefix = name.endsWith(".*") ? name.substring(0, name.length() - 1) : null;
+            for (String pkg : packages) {
+                if (pkg.equals(name) || (prefix != null && pkg.startsWith(prefix))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean exportsAny(Contribution extension, List<Import> imports) {
+        for (Export export : extension.getManifest().getExports()) {
+            for (Import imprt : imports) {
+                if (export.match(imprt)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean dependsOnAny(Contribution contribution, Set<Contribution> others) {
+        return others.stream().anyMatch(other -> dependsOn(contribution, other));
+    }
+
+    /**
+     * Returns true if a contribution depends on another through a package import, a required capability or an extension point.
+     *
+     * @param contribution the contribution
+     * @param other        the other contribution
+     * @return true if the contribution depends on the other contribution
+     */
+    private boolean dependsOn(Contribution contribution, Contribution other) {
+        if (contribution == other) {
+            return false;
+        }
+        ContributionManifest manifest = contribution.getManifest();
+        ContributionManifest otherManifest = other.getManifest();
+        if (exportsAny(other, manifest.getImports())) {
+            return true;
+        }
+        for (Capability capability : manifest.getRequiredCapabilities()) {
+            if (otherManifest.getProvidedCapabilities().contains(capability)) {
+                return true;
+            }
+        }
+        for (String extend : manifest.getExtends()) {
+            if (otherManifest.getExtensionPoints().contains(extend)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
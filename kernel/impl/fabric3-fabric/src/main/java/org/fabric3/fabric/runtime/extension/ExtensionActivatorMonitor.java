@@ -0,0 +1,38 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.extension;
+
+import java.net.URI;
+
+import org.fabric3.api.annotation.monitor.Info;
+import org.fabric3.api.annotation.monitor.Severe;
+
+/**
+ * Defines monitor events for on-demand extension activation.
+ */
+public interface ExtensionActivatorMonitor {
+
+    @Info("Deferred activation of {0} extensions")
+    void deferred(int number);
+
+    @Info("Activated extension {0} for contribution {1}")
+    void activated(URI extension, URI contribution);
+
+    @Severe("Error scanning contribution {0} for extension types")
+    void scanError(URI uri, Exception e);
+
+}
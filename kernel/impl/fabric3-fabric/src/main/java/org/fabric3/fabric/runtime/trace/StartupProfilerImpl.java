@@ -0,0 +1,150 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.trace;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.fabric3.api.annotation.Source;
+import org.fabric3.api.annotation.management.Management;
+import org.fabric3.api.annotation.management.ManagementOperation;
+import org.fabric3.api.annotation.monitor.Monitor;
+import org.fabric3.api.host.runtime.HostInfo;
+import org.fabric3.spi.runtime.trace.StartupTracer;
+import org.fabric3.spi.runtime.trace.TraceSpan;
+import org.oasisopen.sca.annotation.Property;
+import org.oasisopen.sca.annotation.Reference;
+
+/**
+ * Reports the startup summary to the runtime monitor and writes the startup timeline in the Chrome trace event format. By default, the timeline is written to
+ * {@code startup-trace.json} in the runtime temporary directory.
+ *
+ * The summary and timeline are also available through the management API.
+ */
+@Management(name = "StartupProfiler", path = "/runtime/startup", group = "kernel", description = "Reports where runtime startup time was spent")
+public class StartupProfilerImpl implements StartupProfiler {
+    private static final String TIMELINE_FILE = "startup-trace.json";
+
+    private StartupTracer tracer;
+    private HostInfo info;
+    private StartupProfilerMonitor monitor;
+
+    private int summarySize = 10;
+    private String timeline;
+    private boolean write = true;
+
+    public StartupProfilerImpl(@Reference StartupTracer tracer, @Reference HostInfo info, @Monitor StartupProfilerMonitor monitor) {
+        this.tracer = tracer;
+        this.info = info;
+        this.monitor = monitor;
+    }
+
+    /**
+     * Sets the number of operations reported in the startup summary. A value of 0 disables the summary.
+     *
+     * @param summarySize the number of operations
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:runtime/f3:startup.profile/@summary")
+    public void setSummarySize(int summarySize) {
+        this.summarySize = summarySize;
+    }
+
+    /**
+     * Sets the file the startup timeline is written to. Relative paths are resolved against the runtime temporary directory.
+     *
+     * @param timeline the file
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:runtime/f3:startup.profile/@timeline")
+    public void setTimeline(String timeline) {
+        this.timeline = timeline;
+    }
+
+    /**
+     * Sets whether the startup timeline is written to a file.
+     *
+     * @param write true if the timeline is written
+     */
+    @Property(required = false)
+    @Source("$systemConfig//f3:runtime/f3:startup.profile/@write")
+    public void setWrite(boolean write) {
+        this.write = write;
+    }
+
+    public void report() {
+        List<TraceSpan> spans = tracer.getSpans();
+        if (spans.isEmpty()) {
+            return;
+        }
+        if (summarySize > 0) {
+            monitor.started(StartupReport.getElapsed(spans), formatSummary(spans));
+        }
+        if (write) {
+            writeTimeline(spans);
+        }
+    }
+
+    @ManagementOperation(path = "/", description = "The startup time, self time by category and slowest startup operations")
+    public Map<String, Object> getSummary() {
+        List<TraceSpan> spans = tracer.getSpans();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("elapsed", StartupReport.getElapsed(spans));
+        summary.put("categories", StartupReport.getCategoryTotals(spans));
+        summary.put("slowest", StartupReport.getSlowest(spans, Math.max(summarySize, 10)));
+        return summary;
+    }
+
+    @ManagementOperation(path = "timeline", description = "The startup timeline in the Chrome trace event format")
+    public Map<String, Object> getTimeline() {
+        return StartupReport.getTimeline(tracer.getSpans());
+    }
+
+    private String formatSummary(List<TraceSpan> spans) {
+        StringBuilder builder = new StringBuilder(String.format("  %13s  %13s  %-12s %s%n", "self", "total", "category", "name"));
+        for (Map<String, Object> entry : StartupReport.getSlowest(spans, summarySize)) {
+            String line = String.format("  %10.3f ms  %10.3f ms  %-12s %s%n", entry.get("self"), entry.get("total"), entry.get("category"), entry.get("name"));
+            builder.append(line);
+        }
+        return builder.toString();
+    }
+
+    private void writeTimeline(List<TraceSpan> spans) {
+        File file = timeline == null ? new File(info.getTempDir(), TIMELINE_FILE) : new File(timeline);
+        if (!file.isAbsolute()) {
+            file = new File(info.getTempDir(), timeline);
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(StartupReport.toJson(StartupReport.getTimeline(spans)));
+            monitor.timelineWritten(file.getAbsolutePath());
+        } catch (IOException e) {
+            monitor.timelineError(file.getAbsolutePath(), e);
+        }
+    }
+
+}
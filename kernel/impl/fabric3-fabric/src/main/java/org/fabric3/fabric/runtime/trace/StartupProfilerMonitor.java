@@ -0,0 +1,36 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.trace;
+
+import org.fabric3.api.annotation.monitor.Info;
+import org.fabric3.api.annotation.monitor.Warning;
+
+/**
+ *
+ */
+public interface StartupProfilerMonitor {
+
+    @Info("Runtime started in {0} ms. Slowest operations:\n{1}")
+    void started(double elapsed, String summary);
+
+    @Info("Startup timeline written to {0}")
+    void timelineWritten(String file);
+
+    @Warning("Error writing startup timeline to {0}")
+    void timelineError(String file, Exception e);
+
+}
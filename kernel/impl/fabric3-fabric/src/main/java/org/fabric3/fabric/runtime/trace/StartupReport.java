@@ -0,0 +1,246 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.trace;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.fabric3.spi.runtime.trace.TraceSpan;
+
+/**
+ * Builds reports from recorded startup spans.
+ *
+ * The self time of a span is its duration less the durations of the spans directly nested in it on the same thread. Summaries rank spans by self time so that
+ * enclosing phases do not hide the operations that actually consume startup time.
+ */
+public final class StartupReport {
+    private static final double NANOS_PER_MILLI = 1000000d;
+
+    private StartupReport() {
+    }
+
+    /**
+     * Returns the time from tracer creation until the last recorded span ended.
+     *
+     * @param spans the spans
+     * @return the time in milliseconds
+     */
+    public static double getElapsed(List<TraceSpan> spans) {
+        long end = 0;
+        for (TraceSpan span : spans) {
+            end = Math.max(end, span.getStart() + span.getDuration());
+        }
+        return toMillis(end);
+    }
+
+    /**
+     * Returns the spans with the highest self time, in descending order.
+     *
+     * @param spans the spans
+     * @param count the maximum number of spans to return
+     * @return the spans as category, name, thread, total and self time entries
+     */
+    public static List<Map<String, Object>> getSlowest(List<TraceSpan> spans, int count) {
+        Map<TraceSpan, Long> selfTimes = getSelfTimes(spans);
+        List<TraceSpan> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparing((TraceSpan span) -> selfTimes.get(span)).reversed());
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        for (TraceSpan span : sorted.subList(0, Math.min(count, sorted.size()))) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("category", span.getCategory());
+            entry.put("name", span.getName());
+            entry.put("thread", span.getThreadName());
+            entry.put("total", toMillis(span.getDuration()));
+            entry.put("self", toMillis(selfTimes.get(span)));
+            slowest.add(entry);
+        }
+        return slowest;
+    }
+
+    /**
+     * Returns the self time of spans summed by category.
+     *
+     * @param spans the spans
+     * @return the times in milliseconds keyed by category
+     */
+    public static Map<String, Double> getCategoryTotals(List<TraceSpan> spans) {
+        Map<TraceSpan, Long> selfTimes = getSelfTimes(spans);
+        Map<String, Long> totals = new TreeMap<>();
+        for (TraceSpan span : spans) {
+            totals.merge(span.getCategory(), selfTimes.get(span), Long::sum);
+        }
+        Map<String, Double> millis = new TreeMap<>();
+        totals.forEach((category, total) -> millis.put(category, toMillis(total)));
+        return millis;
+    }
+
+    /**
+     * Returns the spans as a timeline in the Chrome trace event format, which can be loaded into chrome://tracing and compatible viewers.
+     *
+     * @param spans the spans
+     * @return the timeline
+     */
+    public static Map<String, Object> getTimeline(List<TraceSpan> spans) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        Map<Long, String> threads = new TreeMap<>();
+        for (TraceSpan span : spans) {
+            threads.put(span.getThreadId(), span.getThreadName());
+        }
+        for (Map.Entry<Long, String> entry : threads.entrySet()) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("name", "thread_name");
+            event.put("ph", "M");
+            event.put("pid", 1);
+            event.put("tid", entry.getKey());
+            event.put("args", Collections.singletonMap("name", entry.getValue()));
+            events.add(event);
+        }
+        List<TraceSpan> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingLong(TraceSpan::getStart).thenComparingInt(TraceSpan::getDepth));
+        for (TraceSpan span : sorted) {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("name", span.getName());
+            event.put("cat", span.getCategory());
+            event.put("ph", "X");
+            event.put("ts", span.getStart() / 1000);
+            event.put("dur", span.getDuration() / 1000);
+            event.put("pid", 1);
+            event.put("tid", span.getThreadId());
+            events.add(event);
+        }
+        Map<String, Object> timeline = new LinkedHashMap<>();
+        timeline.put("traceEvents", events);
+        timeline.put("displayTimeUnit", "ms");
+        return timeline;
+    }
+
+    /**
+     * Writes a report value as JSON. Supported values are maps, collections, strings, numbers, booleans and null.
+     *
+     * @param value the value
+     * @return the JSON
+     */
+    public static String toJson(Object value) {
+        StringBuilder builder = new StringBuilder();
+        write(value, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Calculates the self time of each span.
+     *
+     * @param spans the spans
+     * @return the self times in nanoseconds
+     */
+    private static Map<TraceSpan, Long> getSelfTimes(List<TraceSpan> spans) {
+        Map<TraceSpan, Long> selfTimes = new IdentityHashMap<>();
+        Map<Long, List<TraceSpan>> byThread = new HashMap<>();
+        for (TraceSpan span : spans) {
+            selfTimes.put(span, span.getDuration());
+            byThread.computeIfAbsent(span.getThreadId(), k -> new ArrayList<>()).add(span);
+        }
+        for (List<TraceSpan> threadSpans : byThread.values()) {
+            threadSpans.sort(Comparator.comparingLong(TraceSpan::getStart).thenComparingInt(TraceSpan::getDepth));
+            LinkedList<TraceSpan> open = new LinkedList<>();
+            for (TraceSpan span : threadSpans) {
+                while (!open.isEmpty() && open.peek().getDepth() >= span.getDepth()) {
+                    open.pop();
+                }
+                TraceSpan parent = open.peek();
+                if (parent != null && parent.getDepth() == span.getDepth() - 1) {
+                    selfTimes.put(parent, selfTimes.get(parent) - span.getDuration());
+                }
+                open.push(span);
+            }
+        }
+        return selfTimes;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / NANOS_PER_MILLI * 1000) / 1000d;
+    }
+
+    private static void write(Object value, StringBuilder builder) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            builder.append(value);
+        } else if (value instanceof Map) {
+            builder.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                write(String.valueOf(entry.getKey()), builder);
+                builder.append(':');
+                write(entry.getValue(), builder);
+            }
+            builder.append('}');
+        } else if (value instanceof Collection) {
+            builder.append('[');
+            boolean first = true;
+            for (Object element : (Collection<?>) value) {
+                if (!first) {
+                    builder.append(',');
+                }
+                first = false;
+                write(element, builder);
+            }
+            builder.append(']');
+        } else {
+            String string = value.toString();
+            builder.append('"');
+            for (int i = 0; i < string.length(); i++) {
+                char c = string.charAt(i);
+                switch (c) {
+                    case '"':
+                        builder.append("\\\"");
+                        break;
+                    case '\\':
+                        builder.append("\\\\");
+                        break;
+                    case '\n':
+                        builder.append("\\n");
+                        break;
+                    case '\r':
+                        builder.append("\\r");
+                        break;
+                    case '\t':
+                        builder.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            builder.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            builder.append(c);
+                        }
+                }
+            }
+            builder.append('"');
+        }
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fabric3.spi.runtime.trace.StartupTracer;
+import org.fabric3.spi.runtime.trace.TraceSpan;
+
+/**
+ * The default tracer, created with the runtime so that the boot phases preceding system component initialization are recorded.
+ *
+ * Recording is bounded by a maximum number of spans. Once the limit is reached or the tracer is completed, new spans are not recorded.
+ */
+public class StartupTracerImpl implements StartupTracer {
+    private static final int MAX_SPANS = 50000;
+
+    private long origin = System.nanoTime();
+    private int maxSpans;
+    private volatile boolean active = true;
+    private Queue<TraceSpan> spans = new ConcurrentLinkedQueue<>();
+    private AtomicInteger count = new AtomicInteger();
+    private ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public StartupTracerImpl() {
+        this(MAX_SPANS);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxSpans the maximum number of spans to record
+     */
+    public StartupTracerImpl(int maxSpans) {
+        this.maxSpans = maxSpans;
+    }
+
+    public Span start(String category, String name) {
+        if (!active) {
+            return NO_SPAN;
+        }
+        return new RecordingSpan(category, name, depth.get());
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void complete() {
+        active = false;
+    }
+
+    public List<TraceSpan> getSpans() {
+        return new ArrayList<>(spans);
+    }
+
+    /**
+     * Returns the time elapsed since the tracer was created.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    public long getElapsed() {
+        return System.nanoTime() - origin;
+    }
+
+    private class RecordingSpan implements Span {
+        private String category;
+        private String name;
+        private int[] threadDepth;
+        private int level;
+        private long start;
+        private boolean closed;
+
+        public RecordingSpan(String category, String name, int[] threadDepth) {
+            this.category = category;
+            this.name = name;
+            this.threadDepth = threadDepth;
+            this.level = threadDepth[0]++;
+            this.start = System.nanoTime();
+        }
+
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long end = System.nanoTime();
+            threadDepth[0] = level;
+            if (count.incrementAndGet() > maxSpans) {
+                return;
+            }
+            Thread thread = Thread.currentThread();
+            spans.add(new TraceSpan(category, name, thread.getId(), thread.getName(), level, start - origin, end - start));
+        }
+    }
+
+}
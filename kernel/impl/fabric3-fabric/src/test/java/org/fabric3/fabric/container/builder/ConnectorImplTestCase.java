@@ -126,6 +126,26 @@ public class ConnectorImplTestCase extends TestCase {
         EasyMock.verify(builder);
     }
 
+    @SuppressWarnings({"unchecked"})
+    public void testDisconnectDisposesInterceptors() throws Exception {
+        SourceWireAttacher sourceAttacher = EasyMock.createNiceMock(SourceWireAttacher.class);
+        TargetWireAttacher targetAttacher = EasyMock.createNiceMock(TargetWireAttacher.class);
+        InterceptorBuilder builder = EasyMock.createMock(InterceptorBuilder.class);
+        builder.dispose(EasyMock.isA(PhysicalInterceptor.class));
+        EasyMock.expectLastCall().times(2);
+        EasyMock.replay(sourceAttacher, targetAttacher, builder);
+
+        connector.sourceAttachers = Collections.singletonMap(MockWireSource.class, sourceAttacher);
+        connector.targetAttachers = Collections.singletonMap(MockWireTarget.class, targetAttacher);
+        connector.interceptorBuilders = Collections.singletonMap(PhysicalInterceptor.class, builder);
+        PhysicalInterceptor physicalInterceptor = new PhysicalInterceptor();
+        operation.addInterceptor(physicalInterceptor);
+        callback.addInterceptor(physicalInterceptor);
+
+        connector.disconnect(physicalWire);
+        EasyMock.verify(builder);
+    }
+
     protected void setUp() throws Exception {
         super.setUp();
         connector = new ConnectorImpl();
@@ -21,6 +21,15 @@ package org.fabric3.fabric.container.component;
 
 import javax.xml.namespace.QName;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import junit.framework.TestCase;
 import org.easymock.EasyMock;
@@ -35,6 +44,7 @@ public class SingletonScopeContainerTestCase extends TestCase {
     private URI contibutionUri;
     private SingletonScopeContainer container;
     private Object instance;
+    private ExecutorService executorService;
 
     public void testRegisterUnregister() throws Exception {
         EasyMock.replay(component);
@@ -48,6 +58,25 @@ public class SingletonScopeContainerTestCase extends TestCase {
         EasyMock.verify(component);
     }
 
+    public void testUnregisterDestroysActiveInstance() throws Exception {
+        EasyMock.expect(component.createInstance()).andReturn(instance);
+        EasyMock.expect(component.getUri()).andReturn(URI.create("component")).anyTimes();
+
+        component.startInstance(EasyMock.isA(Object.class));
+        component.stopInstance(instance);
+
+        EasyMock.replay(component);
+
+        container.register(component);
+        container.startContext(contibutionUri);
+        container.unregister(component);
+
+        // the instance was destroyed on unregistration and must not be destroyed again
+        container.stopContext(contibutionUri);
+
+        EasyMock.verify(component);
+    }
+
     public void testUpdated() throws Exception {
         EasyMock.expect(component.createInstance()).andReturn(instance);
 
@@ -95,6 +124,92 @@ public class SingletonScopeContainerTestCase extends TestCase {
         EasyMock.verify(component);
     }
 
+    public void testConcurrentInitialization() throws Exception {
+        // each instance blocks until the other is being created, which requires them to be initialized concurrently
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ScopedComponent component1 = createComponent("component1", Collections.emptySet(), () -> {
+            barrier.await(5, TimeUnit.SECONDS);
+            return new Object();
+        });
+        ScopedComponent component2 = createComponent("component2", Collections.emptySet(), () -> {
+            barrier.await(5, TimeUnit.SECONDS);
+            return new Object();
+        });
+        EasyMock.replay(component1, component2);
+
+        container.setParallelism(2);
+        container.register(component1);
+        container.register(component2);
+        container.startContext(contibutionUri);
+        container.stopContext(contibutionUri);
+
+        EasyMock.verify(component1, component2);
+    }
+
+    public void testDependencyOrder() throws Exception {
+        List<String> created = Collections.synchronizedList(new ArrayList<>());
+        ScopedComponent component2 = createComponent("component2", Collections.singleton(URI.create("component1")), () -> {
+            created.add("component2");
+            return new Object();
+        });
+        ScopedComponent component1 = createComponent("component1", Collections.emptySet(), () -> {
+            // delay to give the dependent component an opportunity to be initialized out of order
+            Thread.sleep(50);
+            created.add("component1");
+            return new Object();
+        });
+        EasyMock.replay(component1, component2);
+
+        container.setParallelism(2);
+        container.register(component2);
+        container.register(component1);
+        container.startContext(contibutionUri);
+
+        assertEquals(Arrays.asList("component1", "component2"), created);
+        container.stopContext(contibutionUri);
+
+        EasyMock.verify(component1, component2);
+    }
+
+    public void testSerialInitializationByDefault() throws Exception {
+        Thread current = Thread.currentThread();
+        List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+        ScopedComponent component1 = createComponent("component1", Collections.emptySet(), () -> {
+            threads.add(Thread.currentThread());
+            return new Object();
+        });
+        ScopedComponent component2 = createComponent("component2", Collections.emptySet(), () -> {
+            threads.add(Thread.currentThread());
+            return new Object();
+        });
+        EasyMock.replay(component1, component2);
+
+        container.register(component1);
+        container.register(component2);
+        container.startContext(contibutionUri);
+
+        assertEquals(Arrays.asList(current, current), threads);
+        container.stopContext(contibutionUri);
+
+        EasyMock.verify(component1, component2);
+    }
+
+    private ScopedComponent createComponent(String name, Set<URI> dependencies, Creator creator) throws Exception {
+        ScopedComponent component = EasyMock.createMock(ScopedComponent.class);
+        EasyMock.expect(component.getUri()).andReturn(URI.create(name)).anyTimes();
+        EasyMock.expect(component.getContributionUri()).andReturn(contibutionUri).anyTimes();
+        EasyMock.expect(component.isEagerInit()).andReturn(true).anyTimes();
+        EasyMock.expect(component.getDependencies()).andReturn(dependencies).anyTimes();
+        EasyMock.expect(component.createInstance()).andAnswer(creator::create);
+        component.startInstance(EasyMock.isA(Object.class));
+        component.stopInstance(EasyMock.isA(Object.class));
+        return component;
+    }
+
+    private interface Creator {
+        Object create() throws Exception;
+    }
+
     @Override
     protected void setUp() throws Exception {
         super.setUp();
@@ -102,6 +217,8 @@ public class SingletonScopeContainerTestCase extends TestCase {
         EasyMock.replay(monitor);
         container = new SingletonScopeContainer(Scope.COMPOSITE, monitor) {
         };
+        executorService = Executors.newFixedThreadPool(2);
+        container.setExecutorService(executorService);
 
         contibutionUri = URI.create("deployable");
 
@@ -113,4 +230,10 @@ public class SingletonScopeContainerTestCase extends TestCase {
 
     }
 
+    @Override
+    protected void tearDown() throws Exception {
+        super.tearDown();
+        executorService.shutdownNow();
+    }
+
 }
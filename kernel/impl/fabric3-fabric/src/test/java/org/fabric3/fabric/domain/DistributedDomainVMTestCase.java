@@ -28,6 +28,7 @@ import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.easymock.IMocksControl;
 import org.fabric3.api.host.Names;
+import org.fabric3.api.host.domain.AssemblyException;
 import org.fabric3.api.host.runtime.DefaultHostInfoBuilder;
 import org.fabric3.api.host.runtime.HostInfo;
 import org.fabric3.api.model.type.RuntimeMode;
@@ -35,13 +36,18 @@ import org.fabric3.api.model.type.component.Component;
 import org.fabric3.api.model.type.component.Composite;
 import org.fabric3.fabric.domain.collector.Collector;
 import org.fabric3.fabric.domain.collector.CollectorImpl;
+import org.fabric3.fabric.domain.differ.CompositeDiff;
+import org.fabric3.fabric.domain.differ.Differ;
 import org.fabric3.fabric.domain.generator.Deployment;
 import org.fabric3.fabric.domain.generator.Generator;
+import org.fabric3.fabric.domain.instantiator.DuplicateProperty;
 import org.fabric3.fabric.domain.instantiator.InstantiationContext;
 import org.fabric3.fabric.domain.instantiator.LogicalModelInstantiator;
 import org.fabric3.spi.contribution.Contribution;
 import org.fabric3.spi.contribution.MetaDataStore;
+import org.fabric3.spi.model.instance.LogicalComponent;
 import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+import org.fabric3.spi.model.instance.LogicalState;
 
 /**
  * Verifies the distributed domain when run in Single-VM, transactional mode.
@@ -56,6 +62,7 @@ public class DistributedDomainVMTestCase extends TestCase {
     private Generator generator;
     private Deployer deployer;
     private LogicalComponentManagerImpl lcm;
+    private Differ differ;
 
     private Component component;
     private Composite composite;
@@ -98,6 +105,56 @@ public class DistributedDomainVMTestCase extends TestCase {
         control.verify();
     }
 
+    public void testUpdate() throws Exception {
+        IAnswer<InstantiationContext> answer = DomainTestCaseHelper.createAnswer(component);
+        EasyMock.expect(instantiator.include(EasyMock.eq(composite), EasyMock.isA(LogicalCompositeComponent.class))).andStubAnswer(answer);
+        EasyMock.expect(instantiator.update(EasyMock.eq(composite), EasyMock.isA(CompositeDiff.class), EasyMock.isA(LogicalCompositeComponent.class)))
+                .andAnswer(createUpdateAnswer(false));
+        EasyMock.expect(differ.diff(EasyMock.eq(composite), EasyMock.isA(LogicalCompositeComponent.class))).andReturn(createDiff());
+
+        EasyMock.expect(generator.generate(EasyMock.isA(LogicalCompositeComponent.class))).andReturn(new Deployment()).times(3);
+        deployer.deploy(EasyMock.isA(Deployment.class));
+        EasyMock.expectLastCall().times(3);
+        control.replay();
+
+        domain.include(composite);
+        LogicalComponent<?> original = lcm.getRootComponent().getComponent(COMPONENT_URI);
+
+        domain.update(composite);
+
+        LogicalComponent<?> updated = lcm.getRootComponent().getComponent(COMPONENT_URI);
+        assertNotSame(original, updated);
+        assertEquals(LogicalState.PROVISIONED, updated.getState());
+        control.verify();
+    }
+
+    public void testUpdateErrorRestoresDeployedComponents() throws Exception {
+        IAnswer<InstantiationContext> answer = DomainTestCaseHelper.createAnswer(component);
+        EasyMock.expect(instantiator.include(EasyMock.eq(composite), EasyMock.isA(LogicalCompositeComponent.class))).andStubAnswer(answer);
+        EasyMock.expect(instantiator.update(EasyMock.eq(composite), EasyMock.isA(CompositeDiff.class), EasyMock.isA(LogicalCompositeComponent.class)))
+                .andAnswer(createUpdateAnswer(true));
+        EasyMock.expect(differ.diff(EasyMock.eq(composite), EasyMock.isA(LogicalCompositeComponent.class))).andReturn(createDiff());
+
+        // the update is not deployed since instantiation fails
+        EasyMock.expect(generator.generate(EasyMock.isA(LogicalCompositeComponent.class))).andReturn(new Deployment()).times(2);
+        deployer.deploy(EasyMock.isA(Deployment.class));
+        control.replay();
+
+        domain.include(composite);
+        LogicalComponent<?> original = lcm.getRootComponent().getComponent(COMPONENT_URI);
+
+        try {
+            domain.update(composite);
+            fail();
+        } catch (AssemblyException e) {
+            // expected
+        }
+
+        assertSame(original, lcm.getRootComponent().getComponent(COMPONENT_URI));
+        assertEquals(LogicalState.PROVISIONED, original.getState());
+        control.verify();
+    }
+
     @SuppressWarnings({"unchecked"})
     @Override
     protected void setUp() throws Exception {
@@ -124,6 +181,8 @@ public class DistributedDomainVMTestCase extends TestCase {
         deployer = control.createMock(Deployer.class);
         Collector collector = new CollectorImpl();
         domain = new DistributedDomain(store, lcm, generator, instantiator, deployer, collector, helper, info);
+        differ = control.createMock(Differ.class);
+        domain.setDiffer(differ);
 
         Contribution contribution = DomainTestCaseHelper.createContribution(store);
         component = new Component("component");
@@ -131,4 +190,24 @@ public class DistributedDomainVMTestCase extends TestCase {
         composite = DomainTestCaseHelper.createComposite(contribution, component, store);
     }
 
+    private CompositeDiff createDiff() {
+        CompositeDiff diff = new CompositeDiff(true, true);
+        diff.getChangedComponents().add("component");
+        return diff;
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private IAnswer<InstantiationContext> createUpdateAnswer(boolean error) {
+        return () -> {
+            LogicalCompositeComponent domainComposite = (LogicalCompositeComponent) EasyMock.getCurrentArguments()[2];
+            LogicalComponent logicalComponent = new LogicalComponent(COMPONENT_URI, component, domainComposite);
+            domainComposite.addComponent(logicalComponent);
+            InstantiationContext context = new InstantiationContext();
+            if (error) {
+                context.addError(new DuplicateProperty("property", domainComposite));
+            }
+            return context;
+        };
+    }
+
 }
@@ -0,0 +1,51 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.domain;
+
+import java.util.Collections;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.fabric.container.command.Command;
+import org.fabric3.fabric.container.command.CommandExecutorRegistry;
+import org.fabric3.fabric.domain.generator.Deployment;
+import org.fabric3.spi.container.builder.DeploymentListener;
+
+/**
+ *
+ */
+public class LocalDeployerTestCase extends TestCase {
+
+    public void testListenerCalledAfterCommands() throws Exception {
+        Command command = EasyMock.createMock(Command.class);
+        CommandExecutorRegistry registry = EasyMock.createStrictMock(CommandExecutorRegistry.class);
+        DeploymentListener listener = EasyMock.createStrictMock(DeploymentListener.class);
+
+        registry.execute(command);
+        listener.onDeploymentCompleted();
+        EasyMock.replay(command, registry, listener);
+
+        LocalDeployer deployer = new LocalDeployer(registry, null);
+        deployer.setListeners(Collections.singletonList(listener));
+        Deployment deployment = new Deployment();
+        deployment.addCommand(command);
+        deployer.deploy(deployment);
+
+        EasyMock.verify(command, registry, listener);
+    }
+
+}
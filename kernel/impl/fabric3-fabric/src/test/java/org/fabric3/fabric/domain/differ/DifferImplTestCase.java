@@ -0,0 +1,182 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.domain.differ;
+
+import javax.xml.namespace.QName;
+import java.net.URI;
+
+import junit.framework.TestCase;
+import org.fabric3.api.model.type.component.Component;
+import org.fabric3.api.model.type.component.Composite;
+import org.fabric3.api.model.type.component.Reference;
+import org.fabric3.api.model.type.component.Service;
+import org.fabric3.api.model.type.component.Target;
+import org.fabric3.api.model.type.component.Wire;
+import org.fabric3.api.model.type.java.InjectingComponentType;
+import org.fabric3.api.model.type.java.JavaImplementation;
+import org.fabric3.spi.model.instance.LogicalComponent;
+import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+import org.fabric3.spi.model.instance.LogicalReference;
+import org.fabric3.spi.model.instance.LogicalService;
+import org.fabric3.spi.model.instance.LogicalWire;
+import org.fabric3.spi.model.type.component.CompositeImplementation;
+
+/**
+ *
+ */
+public class DifferImplTestCase extends TestCase {
+    private static final QName NAME = new QName("test", "composite");
+    private static final URI CONTRIBUTION = URI.create("contribution");
+
+    private DifferImpl differ;
+    private LogicalCompositeComponent domain;
+
+    public void testNotDeployed() throws Exception {
+        CompositeDiff diff = differ.diff(createComposite(String.class, Integer.class), domain);
+        assertFalse(diff.isDeployed());
+    }
+
+    public void testUnchanged() throws Exception {
+        deploy(createComposite(String.class, Integer.class));
+
+        CompositeDiff diff = differ.diff(createComposite(String.class, Integer.class), domain);
+        assertTrue(diff.isDeployed());
+        assertTrue(diff.isIncremental());
+        assertTrue(diff.isEmpty());
+    }
+
+    public void testChangedComponentRewiresReferences() throws Exception {
+        deploy(createComposite(String.class, Integer.class));
+
+        CompositeDiff diff = differ.diff(createComposite(String.class, Long.class), domain);
+        assertTrue(diff.isIncremental());
+        assertTrue(diff.getChangedComponents().contains("target"));
+        assertFalse(diff.getChangedComponents().contains("source"));
+        assertEquals(1, diff.getRewiredReferences().size());
+        assertEquals("reference", diff.getRewiredReferences().get(0).getDefinition().getName());
+    }
+
+    public void testAddedAndRemovedComponents() throws Exception {
+        deploy(createComposite(String.class, Integer.class));
+
+        Composite composite = createComposite(String.class, Integer.class);
+        composite.getComponents().remove("target");
+        composite.add(createComponent("other", Integer.class));
+        CompositeDiff diff = differ.diff(composite, domain);
+
+        assertTrue(diff.getAddedComponents().contains("other"));
+        assertTrue(diff.getRemovedComponents().contains("target"));
+        assertTrue(diff.getCollectedComponents().contains("target"));
+        assertEquals(1, diff.getRewiredReferences().size());
+    }
+
+    public void testChangedPolicyIsChange() throws Exception {
+        deploy(createComposite(String.class, Integer.class));
+        JavaImplementation deployed = (JavaImplementation) domain.getComponent(URI.create("domain/target")).getDefinition().getImplementation();
+        deployed.setComponentType(new InjectingComponentType());
+
+        Composite composite = createComposite(String.class, Integer.class);
+        InjectingComponentType type = new InjectingComponentType();
+        type.addPolicy("managedTransaction");
+        ((JavaImplementation) composite.getComponents().get("target").getImplementation()).setComponentType(type);
+        CompositeDiff diff = differ.diff(composite, domain);
+
+        assertTrue(diff.getChangedComponents().contains("target"));
+        assertFalse(diff.getChangedComponents().contains("source"));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testChangedComponentRewiresNestedReferences() throws Exception {
+        deploy(createComposite(String.class, Integer.class));
+        LogicalService service = domain.getComponent(URI.create("domain/target")).getService("service");
+
+        Component<CompositeImplementation> nestedDefinition = new Component<>("nested", new CompositeImplementation());
+        LogicalCompositeComponent nested = new LogicalCompositeComponent(URI.create("domain/nested"), nestedDefinition, domain);
+        domain.addComponent(nested);
+        Component<JavaImplementation> childDefinition = createComponent("child", String.class);
+        Reference reference = new Reference<>("reference");
+        childDefinition.add(reference);
+        LogicalComponent<?> child = new LogicalComponent(URI.create("domain/nested/child"), childDefinition, nested);
+        nested.addComponent(child);
+        LogicalReference childReference = new LogicalReference(URI.create("domain/nested/child#reference"), reference, child);
+        child.addReference(childReference);
+        nested.addWire(childReference, new LogicalWire(nested, childReference, service, CONTRIBUTION));
+
+        CompositeDiff diff = differ.diff(createComposite(String.class, Long.class), domain);
+
+        assertEquals(2, diff.getRewiredReferences().size());
+        assertTrue(diff.getRewiredReferences().contains(childReference));
+    }
+
+    public void testCompositeWiresNotIncremental() throws Exception {
+        deploy(createComposite(String.class, Integer.class));
+
+        Composite composite = createComposite(String.class, Integer.class);
+        composite.add(new Wire(new Target("source", "reference"), new Target("target")));
+        CompositeDiff diff = differ.diff(composite, domain);
+
+        assertTrue(diff.isDeployed());
+        assertFalse(diff.isIncremental());
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        differ = new DifferImpl();
+        domain = new LogicalCompositeComponent(URI.create("domain"), null, null);
+    }
+
+    private Composite createComposite(Class<?> sourceClass, Class<?> targetClass) {
+        Composite composite = new Composite(NAME);
+        composite.setContributionUri(CONTRIBUTION);
+        Component<JavaImplementation> source = createComponent("source", sourceClass);
+        source.add(new Reference<>("reference"));
+        composite.add(source);
+        Component<JavaImplementation> target = createComponent("target", targetClass);
+        target.add(new Service<>("service"));
+        composite.add(target);
+        return composite;
+    }
+
+    private Component<JavaImplementation> createComponent(String name, Class<?> implementationClass) {
+        Component<JavaImplementation> component = new Component<>(name, new JavaImplementation(implementationClass));
+        component.setContributionUri(CONTRIBUTION);
+        return component;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void deploy(Composite composite) {
+        LogicalComponent<?> source = createLogicalComponent(composite.getComponents().get("source"));
+        LogicalComponent<?> target = createLogicalComponent(composite.getComponents().get("target"));
+
+        Reference reference = source.getDefinition().getReferences().get("reference");
+        LogicalReference logicalReference = new LogicalReference(URI.create("domain/source#reference"), reference, source);
+        source.addReference(logicalReference);
+        Service service = target.getDefinition().getServices().get("service");
+        LogicalService logicalService = new LogicalService(URI.create("domain/target#service"), service, target);
+        target.addService(logicalService);
+
+        domain.addWire(logicalReference, new LogicalWire(domain, logicalReference, logicalService, CONTRIBUTION));
+    }
+
+    @SuppressWarnings("unchecked")
+    private LogicalComponent<?> createLogicalComponent(Component<?> definition) {
+        LogicalComponent<?> component = new LogicalComponent(URI.create("domain/" + definition.getName()), definition, domain);
+        domain.addComponent(component);
+        return component;
+    }
+
+}
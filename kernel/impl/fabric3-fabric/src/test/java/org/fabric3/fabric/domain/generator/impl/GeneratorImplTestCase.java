@@ -0,0 +1,130 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.domain.generator.impl;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.model.type.component.Component;
+import org.fabric3.fabric.container.command.Command;
+import org.fabric3.fabric.container.command.StartComponentCommand;
+import org.fabric3.fabric.domain.generator.CommandGenerator;
+import org.fabric3.fabric.domain.generator.Deployment;
+import org.fabric3.fabric.domain.generator.context.StartContextCommandGeneratorImpl;
+import org.fabric3.fabric.domain.generator.context.StopContextCommandGeneratorImpl;
+import org.fabric3.spi.model.instance.LogicalComponent;
+import org.fabric3.spi.model.instance.LogicalCompositeComponent;
+import org.fabric3.spi.model.instance.LogicalReference;
+import org.fabric3.spi.model.instance.LogicalService;
+import org.fabric3.spi.model.instance.LogicalState;
+import org.fabric3.spi.model.instance.LogicalWire;
+
+/**
+ *
+ */
+public class GeneratorImplTestCase extends TestCase {
+    private static final URI CONTRIBUTION = URI.create("contribution");
+
+    private LogicalCompositeComponent domain;
+    private RecordingGenerator first;
+    private RecordingGenerator second;
+    private GeneratorImpl generator;
+
+    public void testOnlyChangedComponentsGenerated() throws Exception {
+        createComponent("provisioned", LogicalState.PROVISIONED);
+        createComponent("source", LogicalState.PROVISIONED);
+        createComponent("target", LogicalState.NEW);
+        createWire("source", "target");
+
+        generator.generate(domain);
+
+        assertEquals(2, first.visited.size());
+        assertTrue(first.visited.contains(URI.create("source")));
+        assertTrue(first.visited.contains(URI.create("target")));
+        assertFalse(first.visited.contains(URI.create("provisioned")));
+    }
+
+    public void testDuplicateCommandsRemoved() throws Exception {
+        createComponent("component1", LogicalState.NEW);
+        createComponent("component2", LogicalState.NEW);
+
+        Deployment deployment = generator.generate(domain);
+
+        List<Command> commands = new ArrayList<>(deployment.getCommands());
+        commands.removeIf(command -> !(command instanceof StartComponentCommand));
+        assertEquals(2, commands.size());
+        assertEquals(URI.create("component1"), ((StartComponentCommand) commands.get(0)).getUri());
+        assertEquals(URI.create("component2"), ((StartComponentCommand) commands.get(1)).getUri());
+        assertEquals(2, second.visited.size());
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        domain = new LogicalCompositeComponent(URI.create("domain"), null, null);
+        first = new RecordingGenerator(1);
+        second = new RecordingGenerator(2);
+        List<CommandGenerator> generators = new ArrayList<>();
+        generators.add(second);
+        generators.add(first);
+        GeneratorMonitor monitor = EasyMock.createNiceMock(GeneratorMonitor.class);
+        EasyMock.replay(monitor);
+        generator = new GeneratorImpl(generators, new StartContextCommandGeneratorImpl(), new StopContextCommandGeneratorImpl(), monitor);
+    }
+
+    private void createComponent(String name, LogicalState state) {
+        URI uri = URI.create(name);
+        LogicalComponent<?> component = new LogicalComponent<>(uri, new Component<>(name), domain);
+        component.getDefinition().setContributionUri(CONTRIBUTION);
+        component.setState(state);
+        component.addService(new LogicalService(URI.create(name + "#service"), null, component));
+        component.addReference(new LogicalReference(URI.create(name + "#reference"), null, component));
+        domain.addComponent(component);
+    }
+
+    private void createWire(String source, String target) {
+        LogicalReference reference = domain.getComponent(URI.create(source)).getReference("reference");
+        LogicalService service = domain.getComponent(URI.create(target)).getService("service");
+        LogicalWire wire = new LogicalWire(domain, reference, service, CONTRIBUTION);
+        wire.setState(LogicalState.PROVISIONED);
+        domain.addWire(reference, wire);
+    }
+
+    /**
+     * Generates an equal start command for each component it is invoked with.
+     */
+    private class RecordingGenerator implements CommandGenerator<StartComponentCommand> {
+        private int order;
+        private List<URI> visited = new ArrayList<>();
+
+        public RecordingGenerator(int order) {
+            this.order = order;
+        }
+
+        public int getOrder() {
+            return order;
+        }
+
+        public Optional<StartComponentCommand> generate(LogicalComponent<?> component) {
+            visited.add(component.getUri());
+            return Optional.of(new StartComponentCommand(component.getUri()));
+        }
+    }
+}
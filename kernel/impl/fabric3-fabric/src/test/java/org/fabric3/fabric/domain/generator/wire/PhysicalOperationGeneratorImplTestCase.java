@@ -22,6 +22,7 @@ import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import junit.framework.TestCase;
@@ -34,9 +35,11 @@ import org.fabric3.api.model.type.contract.Operation;
 import org.fabric3.api.model.type.java.InjectingComponentType;
 import org.fabric3.fabric.domain.generator.GeneratorRegistry;
 import org.fabric3.spi.contract.OperationResolver;
+import org.fabric3.spi.domain.generator.InterceptorGenerator;
 import org.fabric3.spi.model.instance.LogicalComponent;
 import org.fabric3.spi.model.instance.LogicalOperation;
 import org.fabric3.spi.model.instance.LogicalService;
+import org.fabric3.spi.model.physical.PhysicalInterceptor;
 import org.fabric3.spi.model.physical.PhysicalOperation;
 import org.fabric3.spi.model.type.java.JavaType;
 
@@ -109,6 +112,27 @@ public class PhysicalOperationGeneratorImplTestCase extends TestCase {
         EasyMock.verify(resolver, registry);
     }
 
+    public void testGenerateBoundReferenceOperation() throws Exception {
+        LogicalOperation operation = createOperation();
+        PhysicalInterceptor interceptor = new PhysicalInterceptor();
+
+        InterceptorGenerator interceptorGenerator = EasyMock.createMock(InterceptorGenerator.class);
+        EasyMock.expect(interceptorGenerator.generateBoundReference(operation)).andReturn(Optional.of(interceptor));
+
+        OperationResolver resolver = EasyMock.createMock(OperationResolver.class);
+        GeneratorRegistry registry = EasyMock.createMock(GeneratorRegistry.class);
+        EasyMock.expect(registry.getInterceptorGenerators()).andReturn(Collections.singletonList(interceptorGenerator));
+        EasyMock.replay(resolver, registry, interceptorGenerator);
+
+        PhysicalOperationGeneratorImpl generator = new PhysicalOperationGeneratorImpl(resolver, registry);
+
+        Set<PhysicalOperation> definitions = generator.generateBoundReferenceOperations(Collections.singletonList(operation));
+
+        PhysicalOperation definition = definitions.iterator().next();
+        assertTrue(definition.getInterceptors().contains(interceptor));
+        EasyMock.verify(resolver, registry, interceptorGenerator);
+    }
+
     @SuppressWarnings({"unchecked"})
     private LogicalOperation createOperation() {
         MockImplementation implementation = new MockImplementation();
@@ -96,7 +96,7 @@ public class WireGeneratorImplTestCase extends TestCase {
         ComponentGenerator componentGenerator = setupSourceComponentGenerator(registry);
         WireBindingGenerator bindingGenerator = setupTargetBindingGenerator(registry);
         ContractMatcher matcher = EasyMock.createMock(ContractMatcher.class);
-        PhysicalOperationGenerator operationGenerator = setupOperationGenerator();
+        PhysicalOperationGenerator operationGenerator = setupReferenceOperationGenerator();
 
         EasyMock.replay(registry, matcher, operationGenerator, componentGenerator, bindingGenerator);
 
@@ -181,6 +181,14 @@ public class WireGeneratorImplTestCase extends TestCase {
         return operationGenerator;
     }
 
+    @SuppressWarnings({"unchecked"})
+    private PhysicalOperationGenerator setupReferenceOperationGenerator() throws Fabric3Exception {
+        PhysicalOperationGenerator operationGenerator = EasyMock.createMock(PhysicalOperationGenerator.class);
+        Set<PhysicalOperation> set = Collections.<PhysicalOperation>singleton(new MockOperation());
+        EasyMock.expect(operationGenerator.generateBoundReferenceOperations(EasyMock.isA(List.class))).andReturn(set);
+        return operationGenerator;
+    }
+
     @SuppressWarnings({"unchecked"})
     private PhysicalOperationGenerator setupLocalOperationGenerator() throws Fabric3Exception {
         PhysicalOperationGenerator operationGenerator = EasyMock.createMock(PhysicalOperationGenerator.class);
@@ -0,0 +1,197 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.extension;
+
+import javax.xml.namespace.QName;
+import java.io.File;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import junit.framework.TestCase;
+import org.easymock.EasyMock;
+import org.fabric3.api.host.contribution.ContributionService;
+import org.fabric3.api.host.domain.Domain;
+import org.fabric3.spi.contribution.Contribution;
+import org.fabric3.spi.contribution.ContributionManifest;
+import org.fabric3.spi.contribution.MetaDataStore;
+import org.fabric3.spi.contribution.manifest.JavaExport;
+import org.fabric3.spi.contribution.manifest.JavaImport;
+import org.fabric3.spi.contribution.manifest.PackageInfo;
+
+/**
+ *
+ */
+public class ExtensionActivatorImplTestCase extends TestCase {
+    private static final QName BINDING = new QName("urn:fabric3.org", "binding.test");
+
+    private static final URI BINDING_EXTENSION = URI.create("binding-extension");
+    private static final URI ADD_ON = URI.create("add-on");
+    private static final URI OTHER = URI.create("other");
+    private static final URI PREWARMED = URI.create("prewarmed");
+    private static final URI ANNOTATION_BINDING = URI.create("annotation-binding");
+
+    private Map<URI, Contribution> contributions = new HashMap<>();
+    private MetaDataStore store;
+    private Domain domain;
+    private ContributionService contributionService;
+    private ExtensionActivatorImpl activator;
+
+    public void testNotLazy() throws Exception {
+        EasyMock.replay(store, domain, contributionService);
+
+        activator.setLazy(false);
+        assertTrue(activator.index(Arrays.asList(BINDING_EXTENSION, ADD_ON, OTHER), contributionService).isEmpty());
+
+        EasyMock.verify(store, domain, contributionService);
+    }
+
+    public void testDeferWithAddOn() throws Exception {
+        EasyMock.replay(store, domain, contributionService);
+
+        Set<URI> deferred = activator.index(Arrays.asList(BINDING_EXTENSION, ADD_ON, OTHER), contributionService);
+        assertEquals(new HashSet<>(Arrays.asList(BINDING_EXTENSION, ADD_ON)), deferred);
+
+        EasyMock.verify(store, domain, contributionService);
+    }
+
+    public void testPrewarmedDependency() throws Exception {
+        EasyMock.replay(store, domain, contributionService);
+
+        activator.setPrewarm("prewarmed");
+        Set<URI> deferred = activator.index(Arrays.asList(BINDING_EXTENSION, ADD_ON, OTHER, PREWARMED), contributionService);
+        assertTrue(deferred.isEmpty());
+
+        EasyMock.verify(store, domain, contributionService);
+    }
+
+    public void testActivate() throws Exception {
+        contributionService.processContents(BINDING_EXTENSION);
+        contributionService.processContents(ADD_ON);
+        domain.include(Collections.singletonList(BINDING_EXTENSION));
+        domain.include(Collections.singletonList(ADD_ON));
+        EasyMock.replay(store, domain, contributionService);
+
+        activator.index(Arrays.asList(BINDING_EXTENSION, ADD_ON, OTHER), contributionService);
+        assertEquals(Arrays.asList(BINDING_EXTENSION, ADD_ON), activator.activate(Collections.singleton(BINDING)));
+        assertTrue(activator.getDeferred().isEmpty());
+
+        EasyMock.verify(store, domain, contributionService);
+    }
+
+    public void testActivateOnProcessManifest() throws Exception {
+        File directory = Files.createTempDirectory("f3-activator").toFile();
+        File composite = new File(directory, "test.composite");
+        String xml = "<composite xmlns='http://docs.oasis-open.org/ns/opencsa/sca/200912' xmlns:f3='urn:fabric3.org' name='Test'>" +
+                     "<component name='Component'><service name='Service'><f3:binding.test/></service></component>" +
+                     "</composite>";
+        Files.write(composite.toPath(), xml.getBytes());
+
+        contributionService.processContents(BINDING_EXTENSION);
+        contributionService.processContents(ADD_ON);
+        domain.include(Collections.singletonList(BINDING_EXTENSION));
+        domain.include(Collections.singletonList(ADD_ON));
+        EasyMock.replay(store, domain, contributionService);
+
+        activator.index(Arrays.asList(BINDING_EXTENSION, ADD_ON, OTHER), contributionService);
+
+        Contribution contribution = new Contribution(URI.create("application"), null, directory.toURI().toURL(), -1, null);
+        contribution.setManifest(new ContributionManifest());
+        activator.onProcessManifest(contribution);
+
+        // the binding API exported by the activated extension is imported
+        JavaImport imprt = (JavaImport) contribution.getManifest().getImports().get(0);
+        assertEquals("org.fabric3.api.binding.test", imprt.getPackageInfo().getName());
+
+        EasyMock.verify(store, domain, contributionService);
+        composite.delete();
+        directory.delete();
+    }
+
+    public void testActivateOnApiReference() throws Exception {
+        File directory = Files.createTempDirectory("f3-activator").toFile();
+        File classFile = new File(directory, "Client.class");
+        // the class references an annotation from the binding API package in its constant pool
+        Files.write(classFile.toPath(), "\u0001Lorg/fabric3/api/binding/annotated/annotation/Annotated;\u0001".getBytes());
+
+        contributionService.processContents(ANNOTATION_BINDING);
+        domain.include(Collections.singletonList(ANNOTATION_BINDING));
+        EasyMock.replay(store, domain, contributionService);
+
+        activator.index(Arrays.asList(BINDING_EXTENSION, ADD_ON, ANNOTATION_BINDING), contributionService);
+
+        Contribution contribution = new Contribution(URI.create("application"), null, directory.toURI().toURL(), -1, null);
+        contribution.setManifest(new ContributionManifest());
+        activator.onProcessManifest(contribution);
+
+        assertEquals(new HashSet<>(Arrays.asList(BINDING_EXTENSION, ADD_ON)), activator.getDeferred());
+
+        EasyMock.verify(store, domain, contributionService);
+        classFile.delete();
+        directory.delete();
+    }
+
+    protected void setUp() throws Exception {
+        super.setUp();
+        // the binding extension provides a type and exports its API and SPI
+        ContributionManifest manifest = createContribution(BINDING_EXTENSION);
+        manifest.addProvidedType(BINDING);
+        manifest.addExport(new JavaExport(new PackageInfo("org.fabric3.api.binding.test")));
+        manifest.addExport(new JavaExport(new PackageInfo("org.fabric3.binding.test.spi")));
+
+        // the add-on depends on the binding extension
+        manifest = createContribution(ADD_ON);
+        manifest.addImport(new JavaImport(new PackageInfo("org.fabric3.binding.test.spi")));
+
+        createContribution(OTHER);
+
+        // the prewarmed extension depends on the binding extension
+        manifest = createContribution(PREWARMED);
+        manifest.addImport(new JavaImport(new PackageInfo("org.fabric3.binding.test.spi")));
+
+        // the annotation binding is only referenced through its API package
+        manifest = createContribution(ANNOTATION_BINDING);
+        manifest.addProvidedType(new QName("urn:fabric3.org", "binding.annotated"));
+        manifest.addImport(new JavaImport(new PackageInfo("org.fabric3.api.binding.annotated.*")));
+
+        store = EasyMock.createMock(MetaDataStore.class);
+        EasyMock.expect(store.find(EasyMock.isA(URI.class))).andAnswer(() -> contributions.get((URI) EasyMock.getCurrentArguments()[0])).anyTimes();
+
+        domain = EasyMock.createMock(Domain.class);
+        contributionService = EasyMock.createMock(ContributionService.class);
+
+        ExtensionActivatorMonitor monitor = EasyMock.createNiceMock(ExtensionActivatorMonitor.class);
+        EasyMock.replay(monitor);
+        activator = new ExtensionActivatorImpl(domain, store, monitor);
+        activator.setLazy(true);
+    }
+
+    private ContributionManifest createContribution(URI uri) {
+        Contribution contribution = new Contribution(uri);
+        ContributionManifest manifest = new ContributionManifest();
+        manifest.setExtension(true);
+        contribution.setManifest(manifest);
+        contributions.put(uri, contribution);
+        return manifest;
+    }
+
+}
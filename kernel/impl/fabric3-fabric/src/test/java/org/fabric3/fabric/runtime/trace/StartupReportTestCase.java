@@ -0,0 +1,82 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.trace;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import junit.framework.TestCase;
+import org.fabric3.spi.runtime.trace.TraceSpan;
+
+/**
+ *
+ */
+public class StartupReportTestCase extends TestCase {
+    private static final long MILLIS = 1000000;
+
+    private List<TraceSpan> spans;
+
+    public void testSlowest() throws Exception {
+        List<Map<String, Object>> slowest = StartupReport.getSlowest(spans, 2);
+
+        assertEquals(2, slowest.size());
+        assertEquals("fabric3://runtime/Component", slowest.get(0).get("name"));
+        assertEquals(60d, slowest.get(0).get("self"));
+        assertEquals("load", slowest.get(1).get("name"));
+        assertEquals(30d, slowest.get(1).get("self"));
+        assertEquals(100d, slowest.get(1).get("total"));
+    }
+
+    public void testCategoryTotals() throws Exception {
+        Map<String, Double> totals = StartupReport.getCategoryTotals(spans);
+
+        assertEquals(30d, totals.get("phase"));
+        assertEquals(10d, totals.get("contribution"));
+        assertEquals(60d, totals.get("component"));
+        assertEquals(100d, StartupReport.getElapsed(spans));
+    }
+
+    @SuppressWarnings("unchecked")
+    public void testTimeline() throws Exception {
+        Map<String, Object> timeline = StartupReport.getTimeline(spans);
+
+        List<Map<String, Object>> events = (List<Map<String, Object>>) timeline.get("traceEvents");
+        // one thread name event and three spans
+        assertEquals(4, events.size());
+        assertEquals("M", events.get(0).get("ph"));
+        assertEquals("load", events.get(1).get("name"));
+        assertEquals(100000L, events.get(1).get("dur"));
+
+        String json = StartupReport.toJson(timeline);
+        assertTrue(json.startsWith("{\"traceEvents\":[{\"name\":\"thread_name\""));
+        assertTrue(json.contains("\"cat\":\"component\""));
+    }
+
+    public void testJsonEscaping() throws Exception {
+        assertEquals("[\"a\\\"b\\\\c\\n\",1,null,true]", StartupReport.toJson(Arrays.asList("a\"b\\c\n", 1, null, true)));
+    }
+
+    public void setUp() throws Exception {
+        super.setUp();
+        TraceSpan load = new TraceSpan("phase", "load", 1, "main", 0, 0, 100 * MILLIS);
+        TraceSpan contribution = new TraceSpan("contribution", "extension", 1, "main", 1, 0, 10 * MILLIS);
+        TraceSpan component = new TraceSpan("component", "fabric3://runtime/Component", 1, "main", 1, 20 * MILLIS, 60 * MILLIS);
+        // spans are recorded in the order they are closed
+        spans = Arrays.asList(contribution, component, load);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Fabric3
+ * Copyright (c) 2009-2015 Metaform Systems
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.fabric3.fabric.runtime.trace;
+
+import java.util.List;
+
+import junit.framework.TestCase;
+import org.fabric3.spi.runtime.trace.StartupTracer;
+import org.fabric3.spi.runtime.trace.TraceSpan;
+
+/**
+ *
+ */
+public class StartupTracerImplTestCase extends TestCase {
+
+    public void testNesting() throws Exception {
+        StartupTracerImpl tracer = new StartupTracerImpl();
+        StartupTracer.Span load = tracer.start("phase", "load");
+        StartupTracer.Span extension = tracer.start("contribution", "extension");
+        Thread.sleep(1);
+        extension.close();
+        tracer.start("command", "build").close();
+        load.close();
+
+        List<TraceSpan> spans = tracer.getSpans();
+        assertEquals(3, spans.size());
+        TraceSpan inner = spans.get(0);
+        assertEquals("extension", inner.getName());
+        assertEquals(1, inner.getDepth());
+        assertEquals(1, spans.get(1).getDepth());
+        TraceSpan outer = spans.get(2);
+        assertEquals("load", outer.getName());
+        assertEquals(0, outer.getDepth());
+        assertTrue(outer.getStart() <= inner.getStart());
+        assertTrue(outer.getDuration() >= inner.getDuration());
+    }
+
+    public void testThreadDepth() throws Exception {
+        StartupTracerImpl tracer = new StartupTracerImpl();
+        StartupTracer.Span outer = tracer.start("phase", "boot");
+        Thread thread = new Thread(() -> tracer.start("component", "component").close());
+        thread.start();
+        thread.join();
+        outer.close();
+
+        TraceSpan span = tracer.getSpans().get(0);
+        assertEquals(0, span.getDepth());
+        assertEquals(thread.getId(), span.getThreadId());
+    }
+
+    public void testComplete() throws Exception {
+        StartupTracerImpl tracer = new StartupTracerImpl();
+        tracer.start("phase", "boot").close();
+        assertTrue(tracer.isActive());
+        tracer.complete();
+
+        assertFalse(tracer.isActive());
+        assertSame(StartupTracer.NO_SPAN, tracer.start("command", "build"));
+        assertEquals(1, tracer.getSpans().size());
+    }
+
+    public void testMaxSpans() throws Exception {
+        StartupTracerImpl tracer = new StartupTracerImpl(2);
+        for (int i = 0; i < 5; i++) {
+            tracer.start("command", "build").close();
+        }
+        assertEquals(2, tracer.getSpans().size());
+    }
+
+}
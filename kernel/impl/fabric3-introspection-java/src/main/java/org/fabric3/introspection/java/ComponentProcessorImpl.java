@@ -25,6 +25,7 @@ import java.util.Map;
 import org.fabric3.api.annotation.model.Implementation;
 import org.fabric3.api.model.type.component.Component;
 import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.ComponentAnnotationMapper;
 import org.fabric3.spi.introspection.java.ComponentProcessor;
 import org.fabric3.spi.introspection.java.ImplementationProcessor;
@@ -61,7 +62,7 @@ public class ComponentProcessorImpl implements ComponentProcessor {
     @SuppressWarnings("unchecked")
     public void process(Component<?> component, Class clazz, IntrospectionContext context) {
         String implementationType = "java";   // default to Java the implementation type
-        for (Annotation annotation : clazz.getAnnotations()) {
+        for (Annotation annotation : ClassMetadata.get(clazz).getAnnotations()) {
             Implementation implementation = annotation.annotationType().getAnnotation(Implementation.class);
             if (implementation != null) {
                 implementationType = implementation.value();
@@ -27,6 +27,7 @@ import java.util.Map;
 
 import org.fabric3.api.model.type.java.InjectingComponentType;
 import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.annotation.AnnotationProcessor;
 import org.fabric3.spi.introspection.java.annotation.ClassVisitor;
 import org.fabric3.spi.introspection.java.annotation.PolicyAnnotationProcessor;
@@ -104,19 +105,19 @@ public class DefaultClassVisitor implements ClassVisitor {
     }
 
     private void visitClass(InjectingComponentType componentType, Class<?> clazz, IntrospectionContext context) {
-        for (Annotation annotation : clazz.getDeclaredAnnotations()) {
+        for (Annotation annotation : ClassMetadata.get(clazz).getDeclaredAnnotations()) {
             visitType(annotation, clazz, componentType, context);
         }
     }
 
     private void visitFields(InjectingComponentType componentType, Class<?> clazz, Class<?> implClass, IntrospectionContext context) {
-        for (Field field : clazz.getDeclaredFields()) {
-            Annotation[] annotations = field.getDeclaredAnnotations();
+        for (Field field : ClassMetadata.get(clazz).getDeclaredFields()) {
+            Annotation[] annotations = ClassMetadata.getDeclaredAnnotations(field);
             for (Annotation annotation : annotations) {
                 visitField(annotation, field, implClass, componentType, context);
             }
             for (Annotation annotation : annotations) {
-                for (Annotation metaAnnotation : annotation.annotationType().getDeclaredAnnotations()) {
+                for (Annotation metaAnnotation : ClassMetadata.get(annotation.annotationType()).getDeclaredAnnotations()) {
                     if (skipAnnotation(metaAnnotation)) {
                         continue;
                     }
@@ -127,13 +128,13 @@ public class DefaultClassVisitor implements ClassVisitor {
     }
 
     private void visitMethods(InjectingComponentType componentType, Class<?> clazz, Class<?> implClass, IntrospectionContext context) {
-        for (Method method : clazz.getDeclaredMethods()) {
-            Annotation[] declaredAnnotations = method.getDeclaredAnnotations();
+        for (Method method : ClassMetadata.get(clazz).getDeclaredMethods()) {
+            Annotation[] declaredAnnotations = ClassMetadata.getDeclaredAnnotations(method);
             for (Annotation annotation : declaredAnnotations) {
                 visitMethod(annotation, method, implClass, componentType, context);
             }
             for (Annotation annotation : declaredAnnotations) {
-                for (Annotation metaAnnotation : annotation.annotationType().getDeclaredAnnotations()) {
+                for (Annotation metaAnnotation : ClassMetadata.get(annotation.annotationType()).getDeclaredAnnotations()) {
                     if (skipAnnotation(metaAnnotation)) {
                         continue;
                     }
@@ -141,7 +142,7 @@ public class DefaultClassVisitor implements ClassVisitor {
                 }
             }
 
-            Annotation[][] parameterAnnotations = method.getParameterAnnotations();
+            Annotation[][] parameterAnnotations = ClassMetadata.getParameterAnnotations(method);
             for (int i = 0; i < parameterAnnotations.length; i++) {
                 Annotation[] annotations = parameterAnnotations[i];
                 for (Annotation annotation : annotations) {
@@ -152,19 +153,19 @@ public class DefaultClassVisitor implements ClassVisitor {
     }
 
     private void visitConstructors(InjectingComponentType componentType, Class<?> clazz, Class<?> implClass, IntrospectionContext context) {
-        for (Constructor<?> constructor : clazz.getDeclaredConstructors()) {
-            for (Annotation annotation : constructor.getDeclaredAnnotations()) {
+        for (Constructor<?> constructor : ClassMetadata.get(clazz).getDeclaredConstructors()) {
+            for (Annotation annotation : ClassMetadata.getDeclaredAnnotations(constructor)) {
                 visitConstructor(annotation, constructor, implClass, componentType, context);
             }
 
-            Annotation[][] parameterAnnotations = constructor.getParameterAnnotations();
+            Annotation[][] parameterAnnotations = ClassMetadata.getParameterAnnotations(constructor);
             for (int i = 0; i < parameterAnnotations.length; i++) {
                 Annotation[] annotations = parameterAnnotations[i];
                 for (Annotation annotation : annotations) {
                     visitConstructorParameter(annotation, constructor, i, implClass, componentType, context);
                 }
                 for (Annotation annotation : annotations) {
-                    for (Annotation metaAnnotation : annotation.annotationType().getDeclaredAnnotations()) {
+                    for (Annotation metaAnnotation : ClassMetadata.get(annotation.annotationType()).getDeclaredAnnotations()) {
                         if (skipAnnotation(metaAnnotation)) {
                             continue;
                         }
@@ -185,7 +186,7 @@ public class DefaultClassVisitor implements ClassVisitor {
                 policyProcessor.process(annotation, componentType, context);
             }
             // check for meta-annotation
-            for (Annotation metaAnnotation : annotation.annotationType().getDeclaredAnnotations()) {
+            for (Annotation metaAnnotation : ClassMetadata.get(annotation.annotationType()).getDeclaredAnnotations()) {
                 if (skipAnnotation(metaAnnotation)) {
                     continue;
                 }
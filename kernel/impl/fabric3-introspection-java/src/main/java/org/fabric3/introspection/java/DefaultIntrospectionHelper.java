@@ -49,6 +49,7 @@ import org.fabric3.api.model.type.java.InjectableType;
 import org.fabric3.api.model.type.java.Signature;
 import org.fabric3.spi.introspection.ImplementationNotFoundException;
 import org.fabric3.spi.introspection.TypeMapping;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.IntrospectionHelper;
 import org.fabric3.spi.introspection.java.MultiplicityType;
 import org.fabric3.spi.model.type.java.JavaGenericType;
@@ -262,7 +263,7 @@ public class DefaultIntrospectionHelper implements IntrospectionHelper {
         Set<Signature> exclude = getOperations(services);
         Set<Method> methods = new HashSet<>();
         while (type != null) {
-            for (Method method : type.getDeclaredMethods()) {
+            for (Method method : ClassMetadata.get(type).getDeclaredMethods()) {
                 // check method accessibility
                 int modifiers = method.getModifiers();
                 if (Modifier.isStatic(modifiers) || Modifier.isAbstract(modifiers)) {
@@ -328,7 +329,7 @@ public class DefaultIntrospectionHelper implements IntrospectionHelper {
         Set<Field> fields = new HashSet<>();
         Set<String> exclude = new HashSet<>();
         while (type != null) {
-            for (Field field : type.getDeclaredFields()) {
+            for (Field field : ClassMetadata.get(type).getDeclaredFields()) {
                 // check field accessibility
                 int modifiers = field.getModifiers();
                 if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers)) {
@@ -354,8 +355,9 @@ public class DefaultIntrospectionHelper implements IntrospectionHelper {
 
     public void resolveTypeParameters(Class<?> type, TypeMapping typeMapping) {
         while (type != null) {
-            addTypeBindings(type.getGenericSuperclass(), typeMapping);
-            for (Type interfaceType : type.getGenericInterfaces()) {
+            ClassMetadata metadata = ClassMetadata.get(type);
+            addTypeBindings(metadata.getGenericSuperclass(), typeMapping);
+            for (Type interfaceType : metadata.getGenericInterfaces()) {
                 addTypeBindings(interfaceType, typeMapping);
             }
             type = type.getSuperclass();
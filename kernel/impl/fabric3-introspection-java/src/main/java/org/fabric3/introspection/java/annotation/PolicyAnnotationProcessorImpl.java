@@ -29,6 +29,7 @@ import org.fabric3.api.model.type.PolicyAware;
 import org.fabric3.api.model.type.component.ComponentType;
 import org.fabric3.api.model.type.contract.Operation;
 import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.InvalidAnnotation;
 import org.fabric3.spi.introspection.java.annotation.PolicyAnnotationProcessor;
 import org.oasisopen.sca.annotation.Intent;
@@ -103,7 +104,7 @@ public class PolicyAnnotationProcessorImpl implements PolicyAnnotationProcessor
     private String[] getMetadataValue(Annotation annotation, Class<? extends Annotation> metadataAnnotClass, IntrospectionContext context)
             throws IllegalAccessException, InvocationTargetException {
         Class<? extends Annotation> annotClass = annotation.annotationType();
-        for (Method method : annotClass.getMethods()) {
+        for (Method method : ClassMetadata.get(annotClass).getMethods()) {
             if (method.isAnnotationPresent(metadataAnnotClass)) {
                 // iterate methods until one with @Qualified is found
                 Class<?> type = method.getReturnType();
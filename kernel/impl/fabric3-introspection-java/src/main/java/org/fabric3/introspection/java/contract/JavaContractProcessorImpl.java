@@ -29,6 +29,7 @@ import org.fabric3.api.model.type.contract.DataType;
 import org.fabric3.api.model.type.contract.Operation;
 import org.fabric3.spi.introspection.IntrospectionContext;
 import org.fabric3.spi.introspection.TypeMapping;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.IntrospectionHelper;
 import org.fabric3.spi.introspection.java.contract.InterfaceIntrospector;
 import org.fabric3.spi.introspection.java.contract.JavaContractProcessor;
@@ -124,13 +125,12 @@ public class JavaContractProcessorImpl implements JavaContractProcessor {
                                                  boolean remotable,
                                                  IntrospectionContext context,
                                                  ModelObject... modelObjects) {
-        Method[] methods = interfaze.getMethods();
+        Method[] methods = ClassMetadata.get(interfaze).getMethods();
         List<Operation> operations = new ArrayList<>(methods.length);
 
+        TypeMapping typeMapping = getTypeMapping(interfaze, baseClass, context);
         for (Method method : methods) {
             String name = method.getName();
-
-            TypeMapping typeMapping = getTypeMapping(interfaze, baseClass, context);
             DataType returnType = introspectReturnType(method, typeMapping);
             List<DataType> paramTypes = introspectParameterTypes(method, typeMapping);
             List<DataType> faultTypes = introspectFaultTypes(method, typeMapping);
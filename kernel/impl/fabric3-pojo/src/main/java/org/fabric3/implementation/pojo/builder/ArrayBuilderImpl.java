@@ -64,7 +64,13 @@ public class ArrayBuilderImpl extends AbstractPropertyBuilder implements ArrayBu
             Object val = transformer.transform(node, classLoader);
             Array.set(array, i, val);
         }
-        return () -> array;
+        // values are converted once; each instance receives a copy of the array so prepared values are never shared
+        int length = nodes.getLength();
+        return () -> {
+            Object copy = Array.newInstance(componentType, length);
+            System.arraycopy(array, 0, copy, 0, length);
+            return copy;
+        };
     }
 
 }
\ No newline at end of file
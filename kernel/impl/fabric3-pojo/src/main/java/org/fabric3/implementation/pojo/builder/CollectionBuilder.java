@@ -25,14 +25,15 @@ import org.fabric3.spi.model.type.java.JavaGenericType;
 import org.w3c.dom.Document;
 
 /**
- * Builds a Supplier that creates a property value collection from a DOM.
+ * Builds a Supplier that creates a property value collection from a DOM. The DOM is converted once when the Supplier is created; each call to the
+ * Supplier returns a new collection containing the converted values.
  */
 public interface CollectionBuilder {
 
     /**
      * Creates the Supplier for the property value.
      *
-     * @param collection  the collection
+     * @param factory     creates the collection returned by the Supplier
      * @param name        the property name
      * @param type        the property type
      * @param value       the DOM
@@ -40,6 +41,9 @@ public interface CollectionBuilder {
      * @return the Supplier
      * @throws Fabric3Exception if there is an error creating the Supplier
      */
-    <T> Supplier<Collection<T>> createSupplier(Collection<T> collection, String name, JavaGenericType type, Document value, ClassLoader classLoader)
-            throws Fabric3Exception;
+    <T> Supplier<Collection<T>> createSupplier(Supplier<Collection<T>> factory,
+                                               String name,
+                                               JavaGenericType type,
+                                               Document value,
+                                               ClassLoader classLoader) throws Fabric3Exception;
 }
\ No newline at end of file
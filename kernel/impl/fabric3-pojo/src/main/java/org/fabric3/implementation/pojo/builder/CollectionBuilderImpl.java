@@ -45,8 +45,11 @@ public class CollectionBuilderImpl extends AbstractPropertyBuilder implements Co
     }
 
     @SuppressWarnings({"unchecked"})
-    public <T> Supplier<Collection<T>> createSupplier(Collection<T> collection, String name, JavaGenericType dataType, Document value, ClassLoader
-            classLoader) {
+    public <T> Supplier<Collection<T>> createSupplier(Supplier<Collection<T>> factory,
+                                                      String name,
+                                                      JavaGenericType dataType,
+                                                      Document value,
+                                                      ClassLoader classLoader) {
         List<JavaTypeInfo> typeInfos = dataType.getTypeInfo().getParameterTypesInfos();
         if (typeInfos.size() < 1) {
             // programming error
@@ -61,12 +64,17 @@ public class CollectionBuilderImpl extends AbstractPropertyBuilder implements Co
 
         Element root = value.getDocumentElement();
         NodeList nodes = root.getChildNodes();
+        List<T> values = new ArrayList<>(nodes.getLength());
         for (int i = 0; i < nodes.getLength(); i++) {
             Node node = nodes.item(i).getFirstChild();
-            T val = (T) transformer.transform(node, classLoader);
-            collection.add(val);
+            values.add((T) transformer.transform(node, classLoader));
         }
-        return () -> collection;
+        // values are converted once; each instance receives its own collection so prepared values are never shared
+        return () -> {
+            Collection<T> collection = factory.get();
+            collection.addAll(values);
+            return collection;
+        };
     }
 
 }
\ No newline at end of file
@@ -17,11 +17,8 @@
 
 package org.fabric3.implementation.pojo.builder;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -36,22 +33,16 @@ import org.oasisopen.sca.annotation.Reference;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 import static org.fabric3.spi.model.type.TypeConstants.PROPERTY_TYPE;
 
 /**
- *
+ * Builds Map property values. Map entries are converted once when the Supplier is created by walking the property DOM in place; each call to the Supplier
+ * returns a new map containing the converted entries.
  */
 public class MapBuilderImpl extends AbstractPropertyBuilder implements MapBuilder {
-    private DocumentBuilder documentBuilder;
 
     public MapBuilderImpl(@Reference TransformerRegistry registry) {
         super(registry);
-        try {
-            documentBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        } catch (ParserConfigurationException e) {
-            throw new AssertionError(e);
-        }
     }
 
     @SuppressWarnings({"unchecked"})
@@ -71,72 +62,57 @@ public class MapBuilderImpl extends AbstractPropertyBuilder implements MapBuilde
         Transformer<Node, ?> keyTransformer = getTransformer(name, PROPERTY_TYPE, new JavaType(keyType), keyTypes);
         Transformer<Node, ?> valueTransformer = getTransformer(name, PROPERTY_TYPE, new JavaType(valueType), valueTypes);
 
-        Map<Object, Object> map = new HashMap<>();
+        Map<Object, Object> map = new LinkedHashMap<>();
         Element root = value.getDocumentElement();
 
-        Element topValue = normalizeValues(root);
-        if (topValue == null) {
-            throw new Fabric3Exception("Invalid Map format: no top-level value tag for " + name);
+        // entries may be contained in a single top-level <value> element or spread across multiple <value> elements
+        boolean found = false;
+        for (Element topValue = firstChild(root); topValue != null; topValue = nextSibling(topValue)) {
+            if (!"value".equals(topValue.getNodeName())) {
+                continue;
+            }
+            found = true;
+            for (Element entry = firstChild(topValue); entry != null; entry = nextSibling(entry)) {
+                Element keyNode = null;
+                Element valNode = null;
+                for (Element child = firstChild(entry); child != null; child = nextSibling(child)) {
+                    if ("key".equals(child.getNodeName())) {
+                        keyNode = child;
+                    } else if ("value".equals(child.getNodeName())) {
+                        valNode = child;
+                    }
+                }
+                if (keyNode == null || valNode == null) {
+                    throw new Fabric3Exception("Invalid Map format: keys and values must be the same length for " + name);
+                }
+                Object key = keyTransformer.transform(keyNode, classLoader);
+                Object val = valueTransformer.transform(valNode, classLoader);
+                map.put(key, val);
+            }
         }
-
-        NodeList keys = topValue.getElementsByTagName("key");
-        NodeList values = topValue.getElementsByTagName("value");
-        if (keys.getLength() != values.getLength()) {
-            throw new Fabric3Exception("Invalid Map format: keys and values must be the same length for " + name);
-        } else if (keys.getLength() == 0) {
+        if (!found) {
+            throw new Fabric3Exception("Invalid Map format: no top-level value tag for " + name);
+        } else if (map.isEmpty()) {
             throw new Fabric3Exception("Invalid Map format: there must be a key and value node for property " + name);
         }
-        for (int i = 0; i < keys.getLength(); i++) {
-            Element keyNode = (Element) keys.item(i);
-            Element valNode = (Element) values.item(i);
-            Object key = keyTransformer.transform(keyNode, classLoader);
-            Object val = valueTransformer.transform(valNode, classLoader);
-            map.put(key, val);
-
-        }
-        return () -> map;
+        return () -> new LinkedHashMap<>(map);
 
     }
 
-    /**
-     * Combines multiple &lt;value&gt; elements containing Map entries into a single &lt;value&gt; element;
-     *
-     * @param root the root property node
-     * @return the normalized value or null if the property format is invalid
-     */
-    private Element normalizeValues(Element root) {
-        NodeList nodes = root.getChildNodes();
-        if (nodes.getLength() == 0) {
-            // no child value elements
-            return null;
-        } else if (nodes.getLength() == 1) {
-            if (nodes.item(0).getNodeName().equals("value")) {
-                // single value, return it
-                return (Element) nodes.item(0);
-            } else {
-                return null;
-            }
-        } else {
-            // combine the multiple value elements
-            List<Element> entries = new ArrayList<>();
-            for (int i = 0; i < nodes.getLength(); i++) {
-                if (nodes.item(i).getNodeName().equals("value")) {
-                    entries.add((Element) nodes.item(i).getFirstChild());
-                }
-            }
-            if (entries.isEmpty()) {
-                return null;
-            }
+    private Element firstChild(Node node) {
+        Node child = node.getFirstChild();
+        while (child != null && child.getNodeType() != Node.ELEMENT_NODE) {
+            child = child.getNextSibling();
+        }
+        return (Element) child;
+    }
 
-            Document document = documentBuilder.newDocument();
-            Element newRoot = document.createElement("value");
-            document.appendChild(newRoot);
-            for (Element entry : entries) {
-                document.adoptNode(entry);
-                newRoot.appendChild(entry);
-            }
-            return newRoot;
+    private Element nextSibling(Node node) {
+        Node sibling = node.getNextSibling();
+        while (sibling != null && sibling.getNodeType() != Node.ELEMENT_NODE) {
+            sibling = sibling.getNextSibling();
         }
+        return (Element) sibling;
     }
 
-}
\ No newline at end of file
+}
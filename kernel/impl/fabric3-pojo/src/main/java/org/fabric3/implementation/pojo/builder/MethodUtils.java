@@ -21,6 +21,7 @@ import java.net.URI;
 import java.util.List;
 
 import org.fabric3.api.host.Fabric3Exception;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.model.physical.PhysicalOperation;
 import org.fabric3.spi.model.physical.PhysicalWireSource;
 import org.fabric3.spi.model.physical.PhysicalWireTarget;
@@ -44,7 +45,7 @@ public final class MethodUtils {
         Method method = null;
         if (operation.isRemotable()) {
             // if the operation is remotable, do not match on parameter types since method names cannot be overloaded
-            Method[] methods = implementationClass.getMethods();
+            Method[] methods = ClassMetadata.get(implementationClass).getMethods();
             String name = operation.getName();
             for (Method entry : methods) {
                 if (name.equals(entry.getName())) {
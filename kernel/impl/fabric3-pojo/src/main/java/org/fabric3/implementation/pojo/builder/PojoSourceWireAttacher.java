@@ -19,11 +19,13 @@
  */
 package org.fabric3.implementation.pojo.builder;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.fabric3.api.host.Fabric3Exception;
 import org.fabric3.api.model.type.contract.DataType;
+import org.fabric3.implementation.pojo.component.PojoComponent;
 import org.fabric3.implementation.pojo.provision.PojoWireSource;
 import org.fabric3.spi.model.physical.PhysicalWireTarget;
 import org.fabric3.spi.model.type.TypeConstants;
@@ -31,6 +33,7 @@ import org.fabric3.spi.model.type.java.JavaType;
 import org.fabric3.spi.transform.Transformer;
 import org.fabric3.spi.transform.TransformerRegistry;
 import org.fabric3.spi.util.ClassLoading;
+import org.fabric3.spi.util.UriHelper;
 
 /**
  * Contains functionality common to Java-based SourceWireAttachers.
@@ -75,6 +78,36 @@ public abstract class PojoSourceWireAttacher {
 
     }
 
+    /**
+     * Records the target component of a wire as a dependency of the source component.
+     *
+     * @param component the source component
+     * @param source    the source metadata
+     * @param target    the target metadata
+     */
+    protected void addDependency(PojoComponent component, PojoWireSource source, PhysicalWireTarget target) {
+        URI uri = target.getUri();
+        if (uri == null) {
+            return;
+        }
+        component.addDependency(source.getInjectable(), UriHelper.getDefragmentedName(uri));
+    }
+
+    /**
+     * Removes the target component of a detached wire from the dependencies of the source component.
+     *
+     * @param component the source component
+     * @param source    the source metadata
+     * @param target    the target metadata
+     */
+    protected void removeDependency(PojoComponent component, PojoWireSource source, PhysicalWireTarget target) {
+        URI uri = target.getUri();
+        if (uri == null) {
+            return;
+        }
+        component.removeDependency(source.getInjectable(), UriHelper.getDefragmentedName(uri));
+    }
+
     @SuppressWarnings("unchecked")
     private Object createKey(DataType targetType, String value, ClassLoader classLoader) throws Fabric3Exception {
         Class<?> type = targetType.getType();
@@ -56,11 +56,11 @@ public class PropertySupplierBuilderImpl implements PropertySupplierBuilder {
         } else if (Map.class.equals(type)) {
             return mapBuilder.createSupplier(name, (JavaGenericType) dataType, value, classLoader);
         } else if (List.class.equals(type)) {
-            return collectionBuilder.createSupplier(new ArrayList<>(), name, (JavaGenericType) dataType, value, classLoader);
+            return collectionBuilder.createSupplier(ArrayList::new, name, (JavaGenericType) dataType, value, classLoader);
         } else if (Set.class.equals(type)) {
-            return collectionBuilder.createSupplier(new HashSet<>(), name, (JavaGenericType) dataType, value, classLoader);
+            return collectionBuilder.createSupplier(HashSet::new, name, (JavaGenericType) dataType, value, classLoader);
         } else if (LinkedList.class.equals(type)) {
-            return collectionBuilder.createSupplier(new LinkedList<>(), name, (JavaGenericType) dataType, value, classLoader);
+            return collectionBuilder.createSupplier(LinkedList::new, name, (JavaGenericType) dataType, value, classLoader);
         } else {
             return objectBuilder.createSupplier(name, dataType, value, classLoader);
         }
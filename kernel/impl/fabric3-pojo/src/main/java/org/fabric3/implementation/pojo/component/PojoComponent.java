@@ -20,7 +20,12 @@
 package org.fabric3.implementation.pojo.component;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
 
@@ -47,6 +52,7 @@ public abstract class PojoComponent implements ScopedComponent {
     private MonitorLevel level = MonitorLevel.INFO;
     private AtomicBoolean recreate = new AtomicBoolean(true);
     private Object cachedInstance;
+    private Map<String, Set<URI>> dependencies = new ConcurrentHashMap<>();
 
     public PojoComponent(URI componentId, ImplementationManagerFactory factory, ScopeContainer scopeContainer, boolean eager, URI contributionUri) {
         this.uri = componentId;
@@ -98,6 +104,38 @@ public abstract class PojoComponent implements ScopedComponent {
         return eager;
     }
 
+    public Set<URI> getDependencies() {
+        if (dependencies.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<URI> set = new HashSet<>();
+        dependencies.values().forEach(set::addAll);
+        return set;
+    }
+
+    /**
+     * Records that the reference identified by the injectable is wired to a component.
+     *
+     * @param injectable the injectable identifying the reference
+     * @param target     the target component URI
+     */
+    public void addDependency(Injectable injectable, URI target) {
+        dependencies.computeIfAbsent(injectable.getName(), k -> ConcurrentHashMap.newKeySet()).add(target);
+    }
+
+    /**
+     * Records that the reference identified by the injectable is no longer wired to a component. Other targets of the reference are retained.
+     *
+     * @param injectable the injectable identifying the reference
+     * @param target     the target component URI
+     */
+    public void removeDependency(Injectable injectable, URI target) {
+        dependencies.computeIfPresent(injectable.getName(), (k, targets) -> {
+            targets.remove(target);
+            return targets.isEmpty() ? null : targets;
+        });
+    }
+
     public Object getInstance() throws Fabric3Exception {
         if (cachedInstance != null) {
             return cachedInstance;
@@ -44,6 +44,7 @@ import org.fabric3.implementation.pojo.supplier.SetMultiplicitySupplier;
 import org.fabric3.implementation.pojo.supplier.UpdatableSupplier;
 import org.fabric3.spi.container.injection.InjectionAttributes;
 import org.fabric3.spi.container.injection.Injector;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.model.type.java.ConstructorInjectionSite;
 import org.fabric3.spi.model.type.java.FieldInjectionSite;
 import org.fabric3.spi.model.type.java.MethodInjectionSite;
@@ -331,15 +332,11 @@ public class ImplementationManagerFactoryImpl implements ImplementationManagerFa
     }
 
     private Field getField(String name) throws NoSuchFieldException {
-        Class<?> clazz = implementationClass;
-        while (clazz != null) {
-            try {
-                return clazz.getDeclaredField(name);
-            } catch (NoSuchFieldException e) {
-                clazz = clazz.getSuperclass();
-            }
+        Field field = ClassMetadata.get(implementationClass).findField(name);
+        if (field == null) {
+            throw new NoSuchFieldException(name);
         }
-        throw new NoSuchFieldException(name);
+        return field;
     }
 
     private Supplier<?> createSupplier(Class<?> referenceType) {
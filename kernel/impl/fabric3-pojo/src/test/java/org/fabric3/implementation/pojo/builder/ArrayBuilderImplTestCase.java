@@ -69,6 +69,7 @@ public class ArrayBuilderImplTestCase extends TestCase {
         assertEquals(2, array.length);
         assertEquals("test1", array[0]);
         assertEquals("test2", array[1]);
+        assertNotSame(array, supplier.get());
     }
 
     @Override
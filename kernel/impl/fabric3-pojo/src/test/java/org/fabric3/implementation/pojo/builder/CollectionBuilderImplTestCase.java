@@ -68,13 +68,17 @@ public class CollectionBuilderImplTestCase extends TestCase {
         value.setTextContent("test2");
         values.appendChild(value);
 
-        ArrayList<String> arrayList = new ArrayList<>();
-        Supplier<?> supplier = builder.createSupplier(arrayList, "test", type, document, getClass().getClassLoader());
+        Supplier<?> supplier = builder.createSupplier(ArrayList::new, "test", type, document, getClass().getClassLoader());
 
         List result = (List) supplier.get();
         assertEquals(2, result.size());
         assertEquals("test1", result.get(0));
         assertEquals("test2", result.get(1));
+
+        // each instance receives its own copy of the prepared values
+        result.clear();
+        assertNotSame(result, supplier.get());
+        assertEquals(2, ((List) supplier.get()).size());
     }
 
     @Override
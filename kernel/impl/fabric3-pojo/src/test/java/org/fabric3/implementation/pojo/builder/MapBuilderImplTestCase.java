@@ -77,6 +77,10 @@ public class MapBuilderImplTestCase extends TestCase {
         assertEquals(2, result.size());
         assertEquals("val1", result.get("key1"));
         assertEquals("val2", result.get("key2"));
+
+        // the property DOM is not modified
+        assertEquals(2, values.getChildNodes().getLength());
+        assertNotSame(result, supplier.get());
     }
 
     @SuppressWarnings({"unchecked"})
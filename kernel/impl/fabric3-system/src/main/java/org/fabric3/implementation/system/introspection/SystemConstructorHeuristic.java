@@ -22,6 +22,7 @@ import java.lang.reflect.Constructor;
 
 import org.fabric3.api.model.type.java.InjectingComponentType;
 import org.fabric3.spi.introspection.IntrospectionContext;
+import org.fabric3.spi.introspection.java.ClassMetadata;
 import org.fabric3.spi.introspection.java.HeuristicProcessor;
 import org.fabric3.spi.introspection.java.NoConstructorFound;
 import org.fabric3.spi.introspection.java.annotation.AmbiguousConstructor;
@@ -51,7 +52,7 @@ public class SystemConstructorHeuristic implements HeuristicProcessor {
      * @return the constructor to use
      */
     Constructor<?> findConstructor(Class<?> implClass, InjectingComponentType componentType, IntrospectionContext context) {
-        Constructor<?>[] constructors = implClass.getDeclaredConstructors();
+        Constructor<?>[] constructors = ClassMetadata.get(implClass).getDeclaredConstructors();
         Constructor<?> selected = null;
         if (constructors.length == 1) {
             selected = constructors[0];
@@ -82,6 +82,7 @@ public class SystemSourceWireAttacher extends PojoSourceWireAttacher implements
                 callbackUri = uri.toString();
             }
             Supplier<?> factory = proxyService.createSupplier(type, wire, callbackUri);
+            addDependency(component, source, target);
 
             if (source.isKeyed() || source.isOrdered()) {
                 Object key = getKey(source, target);
@@ -103,12 +104,14 @@ public class SystemSourceWireAttacher extends PojoSourceWireAttacher implements
         SystemComponent component = (SystemComponent) manager.getComponent(sourceName);
         Injectable injectable = source.getInjectable();
         component.removeSupplier(injectable);
+        removeDependency(component, source, target);
     }
 
     public void attachSupplier(SystemWireSource source, Supplier<?> supplier, PhysicalWireTarget target) {
         URI sourceId = UriHelper.getDefragmentedName(source.getUri());
         SystemComponent component = (SystemComponent) manager.getComponent(sourceId);
         Injectable injectable = source.getInjectable();
+        addDependency(component, source, target);
         if (source.isKeyed() || source.isOrdered()) {
             Object key = getKey(source, target);
             int order = source.getOrder();